@@ -0,0 +1,80 @@
+package logic.bench;
+
+import logic.Field;
+import logic.GameRandom;
+import logic.Position;
+import logic.Treasure;
+import logic.player.AIMove;
+import logic.player.AIUtil;
+import logic.player.PlayerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Benchmark der Berechnung eines vollständigen KI-Zuges über
+ * {@link AIUtil#calcAIMove(Field, Position, Treasure, PlayerType,
+ * logic.player.TranspositionTable, java.util.Random)} für beide KI-Typen, ohne
+ * Transpositionstabelle. Die Einschübe werden dabei wie im Spiel parallel auf dem Pool von
+ * {@link AIUtil} ausgewertet.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AIBenchmark {
+
+    /**
+     * Anzahl der Spalten und Reihen des Spielfeldes.
+     */
+    @Param({"5", "7", "9"})
+    public int size;
+
+    /**
+     * Startwert der Erzeugung des Spielfeldes.
+     */
+    @Param({"42"})
+    public long seed;
+
+    /**
+     * KI-Typ.
+     */
+    @Param({"AI_NORMAL", "AI_EXTENDED"})
+    public PlayerType playerType;
+
+    private Field field;
+    private Position currPos;
+    private Treasure treasure;
+    private GameRandom random;
+
+    @Setup
+    public void setUp() {
+        field = BoardFixtures.create(size, seed);
+        currPos = new Position(0, 0);
+        treasure = BoardFixtures.pickTreasure(field, seed);
+        random = new GameRandom(seed);
+    }
+
+    @Benchmark
+    public AIMove calcAIMove() {
+        return AIUtil.calcAIMove(field, currPos, treasure, playerType, null, random);
+    }
+}
@@ -0,0 +1,58 @@
+package logic.bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Startet die Benchmarks mit den übergebenen JMH-Optionen und aktiviert dabei immer den
+ * {@link GCProfiler}, sodass zu jedem Ergebnis die Allokationsrate
+ * ({@code gc.alloc.rate.norm} in Byte je Aufruf) ausgegeben wird.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public final class BenchmarkMain {
+
+    /**
+     * Privater Konstruktor.
+     */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Startet die Benchmarks, z.B. {@code java -jar benchmarks.jar AIBenchmark -rf json}.
+     *
+     * @param args JMH-Optionen
+     * @throws CommandLineOptionException Bei ungültigen Optionen
+     * @throws RunnerException            Bei Fehlern während der Ausführung
+     * @throws IOException                Bei Fehlern der Ausgabe von Hilfe oder Auflistung
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException,
+            IOException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+        // Hilfe und Auflistung der Benchmarks übernimmt der Einstiegspunkt von JMH
+        if (cmdOptions.shouldHelp() || cmdOptions.shouldList()) {
+            Main.main(args);
+            return;
+        }
+
+        Options options = new OptionsBuilder()
+                .parent(cmdOptions)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
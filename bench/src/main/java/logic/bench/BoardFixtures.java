@@ -0,0 +1,145 @@
+package logic.bench;
+
+import logic.Direction;
+import logic.Field;
+import logic.Game;
+import logic.GameRandom;
+import logic.Position;
+import logic.Treasure;
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+import logic.tile.TileRotation;
+import logic.tile.TileShape;
+import logic.tile.TileState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Erzeugt reproduzierbare Spielfelder für die Benchmarks.
+ * <p>
+ * Spielfelder der Standardgröße werden wie im Spiel über
+ * {@link Field#Field(int, int, List, java.util.Random)} erzeugt. Da dieser Konstruktor nur die
+ * Gängekarten eines 7x7-Spielfeldes kennt, werden Spielfelder anderer (ungerader) Größen nach
+ * denselben Regeln aufgebaut: statische Gängekarten auf den Feldern mit geraden Koordinaten,
+ * Einschubpositionen in den Reihen und Spalten mit ungeraden Koordinaten und zufällig rotierte
+ * dynamische Gängekarten im Verhältnis der Karten des Spiels.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public final class BoardFixtures {
+
+    /**
+     * Größe des Spielfeldes im Spiel.
+     */
+    public static final int DEFAULT_SIZE = 7;
+
+    /**
+     * Anteile der dynamischen Gängekarten (L, I, T) wie im Spiel.
+     */
+    private static final int L_WEIGHT = 15;
+    private static final int I_WEIGHT = 13;
+    private static final int T_WEIGHT = 6;
+
+    /**
+     * Privater Konstruktor.
+     */
+    private BoardFixtures() {
+    }
+
+    /**
+     * Erzeugt ein quadratisches Spielfeld der übergebenen Größe mit allen Schätzen, die darauf
+     * Platz finden.
+     *
+     * @param size Anzahl der Spalten und Reihen (ungerade, mindestens 5)
+     * @param seed Startwert des Zufallszahlengenerators
+     * @return Spielfeld
+     */
+    public static Field create(int size, long seed) {
+        GameRandom rnd = new GameRandom(seed);
+
+        if (size == DEFAULT_SIZE) {
+            List<Treasure> treasures = new ArrayList<>(
+                    Arrays.asList(Treasure.values()).subList(1, Game.MAX_TREASURESIZE + 1));
+            return new Field(size, size, treasures, rnd);
+        }
+
+        if (size < 5 || size % 2 == 0) {
+            throw new IllegalArgumentException("Ungültige Größe des Spielfeldes: " + size);
+        }
+
+        TileRotation[] rotations = TileRotation.values();
+        Tile[][] board = new Tile[size][size];
+        List<Position> emptyDynamic = new ArrayList<>();
+
+        for (int col = 0; col < size; col++) {
+            for (int row = 0; row < size; row++) {
+                if (col % 2 == 0 && row % 2 == 0) {
+                    board[col][row] = new Tile(TileShape.T, TileState.STATIC,
+                            rotations[rnd.nextInt(rotations.length)]);
+                } else {
+                    board[col][row] = randomDynamicTile(rnd);
+                    emptyDynamic.add(new Position(col, row));
+                }
+            }
+        }
+
+        // Schätze auf zufällige dynamische Gängekarten verteilen
+        int treasureCnt = Math.min(Game.MAX_TREASURESIZE, emptyDynamic.size());
+        for (int treasureIdx = 1; treasureIdx <= treasureCnt; treasureIdx++) {
+            Position pos = emptyDynamic.remove(rnd.nextInt(emptyDynamic.size()));
+            board[pos.getX()][pos.getY()].setTreasure(Treasure.values()[treasureIdx]);
+        }
+
+        // Einschubpositionen (außerhalb des Spielfeldes) in allen ungeraden Reihen und Spalten
+        Map<Position, Direction> insetPositions = new HashMap<>();
+        for (int idx = 1; idx < size; idx += 2) {
+            insetPositions.put(new Position(0, idx + 1), Direction.RIGHT);
+            insetPositions.put(new Position(size + 1, idx + 1), Direction.LEFT);
+            insetPositions.put(new Position(idx + 1, 0), Direction.DOWN);
+            insetPositions.put(new Position(idx + 1, size + 1), Direction.UP);
+        }
+
+        FreeWayCard freeWayCard = new FreeWayCard(randomDynamicTile(rnd), new Position(-1, -1));
+        return new Field(board, freeWayCard, insetPositions);
+    }
+
+    /**
+     * Liefert einen Schatz, welcher sich auf dem übergebenen Spielfeld befindet.
+     *
+     * @param field Spielfeld
+     * @param seed  Startwert, über welchen der Schatz gewählt wird
+     * @return Schatz auf dem Spielfeld
+     */
+    public static Treasure pickTreasure(Field field, long seed) {
+        GameRandom rnd = new GameRandom(seed);
+        Treasure treasure;
+        do {
+            treasure = Treasure.values()[1 + rnd.nextInt(Game.MAX_TREASURESIZE)];
+        } while (field.getTreasurePos(treasure).getX() == -1);
+
+        return treasure;
+    }
+
+    /**
+     * Erzeugt eine zufällig rotierte dynamische Gängekarte.
+     *
+     * @param rnd Zufallszahlengenerator
+     * @return Gängekarte
+     */
+    private static Tile randomDynamicTile(GameRandom rnd) {
+        int shape = rnd.nextInt(L_WEIGHT + I_WEIGHT + T_WEIGHT);
+        TileShape type = shape < L_WEIGHT ? TileShape.L
+                : shape < L_WEIGHT + I_WEIGHT ? TileShape.I : TileShape.T;
+        TileRotation[] rotations = TileRotation.values();
+
+        return new Tile(type, TileState.DYNAMIC, rotations[rnd.nextInt(rotations.length)]);
+    }
+}
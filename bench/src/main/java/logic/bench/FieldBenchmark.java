@@ -0,0 +1,69 @@
+package logic.bench;
+
+import logic.Field;
+import logic.Position;
+import logic.Treasure;
+import logic.tile.Tile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Benchmarks der Zugriffe auf das {@link Field Spielfeld}: tiefe Kopie des Spielfeldes und
+ * Suche der Position eines Schatzes.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldBenchmark {
+
+    /**
+     * Anzahl der Spalten und Reihen des Spielfeldes.
+     */
+    @Param({"5", "7", "9"})
+    public int size;
+
+    /**
+     * Startwert der Erzeugung des Spielfeldes.
+     */
+    @Param({"42"})
+    public long seed;
+
+    private Field field;
+    private Treasure treasure;
+
+    @Setup
+    public void setUp() {
+        field = BoardFixtures.create(size, seed);
+        treasure = BoardFixtures.pickTreasure(field, seed);
+    }
+
+    @Benchmark
+    public Tile[][] copyOfField() {
+        return field.copyOfField();
+    }
+
+    @Benchmark
+    public Position getTreasurePos() {
+        return field.getTreasurePos(treasure);
+    }
+}
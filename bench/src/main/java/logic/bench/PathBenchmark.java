@@ -0,0 +1,74 @@
+package logic.bench;
+
+import logic.Field;
+import logic.Position;
+import logic.path.PathNode;
+import logic.path.PathUtil;
+import logic.path.SearchResult;
+import logic.tile.Tile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Benchmarks der Pfadsuche in {@link PathUtil}: Breitensuche aller erreichbaren Positionen und
+ * A*-Suche von einer Ecke zu einem Schatz.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+    /**
+     * Anzahl der Spalten und Reihen des Spielfeldes.
+     */
+    @Param({"5", "7", "9"})
+    public int size;
+
+    /**
+     * Startwert der Erzeugung des Spielfeldes.
+     */
+    @Param({"42"})
+    public long seed;
+
+    private Tile[][] board;
+    private Position startPos;
+    private Position targetPos;
+
+    @Setup
+    public void setUp() {
+        Field field = BoardFixtures.create(size, seed);
+        board = field.getBoard();
+        startPos = new Position(0, 0);
+        targetPos = field.getTreasurePos(BoardFixtures.pickTreasure(field, seed));
+    }
+
+    @Benchmark
+    public PathNode[][] getPossiblePositions() {
+        return PathUtil.getPossiblePositions(board, startPos);
+    }
+
+    @Benchmark
+    public SearchResult aStarSearch() {
+        return PathUtil.aStarSearch(board, startPos, targetPos);
+    }
+}
@@ -0,0 +1,86 @@
+package logic.bench;
+
+import logic.Direction;
+import logic.Field;
+import logic.Position;
+import logic.Shift;
+import logic.ShiftUndo;
+import logic.tile.Tile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Benchmarks der Einschuboperation: das reine Verschieben einer Reihe über
+ * {@link Shift#executeShift(Object[][])} und das von der KI genutzte Ausführen und
+ * Rückgängigmachen über {@link Field#applyShift(Shift)} und {@link Field#undoShift(ShiftUndo)}.
+ * <p>
+ * {@link Shift#executeShift(Object[][])} verschiebt die Reihe zyklisch, sodass das Spielfeld
+ * nach {@code size} Aufrufen wieder im Ausgangszustand ist und nicht kopiert werden muss.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShiftBenchmark {
+
+    /**
+     * Anzahl der Spalten und Reihen des Spielfeldes.
+     */
+    @Param({"5", "7", "9"})
+    public int size;
+
+    /**
+     * Startwert der Erzeugung des Spielfeldes.
+     */
+    @Param({"42"})
+    public long seed;
+
+    private Field field;
+    private Tile[][] board;
+    private Shift shift;
+
+    @Setup
+    public void setUp() {
+        field = BoardFixtures.create(size, seed);
+        board = field.copyOfField();
+
+        // Einschub von links in die zweite Reihe (logische Reihe 1, die bei jeder Größe
+        // verschiebbar ist)
+        Position insetPos = new Position(0, 2);
+        shift = new Shift(Direction.RIGHT, insetPos, field.getFreeWayCard(),
+                field.getAffectedTileSizeOfPush(Direction.RIGHT));
+    }
+
+    @Benchmark
+    public Tile executeShift() {
+        return shift.executeShift(board);
+    }
+
+    @Benchmark
+    public long applyAndUndoShift() {
+        ShiftUndo undo = field.applyShift(shift);
+        long hash = field.getHash();
+        field.undoShift(undo);
+
+        return hash;
+    }
+}
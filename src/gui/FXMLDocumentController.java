@@ -21,13 +21,18 @@ import javafx.scene.shape.Rectangle;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import logic.Game;
+import logic.data.Data;
+import logic.data.SaveService;
 import logic.player.PlayerType;
 import logic.RotateDirection;
+import logic.replay.AutoSave;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -48,6 +53,19 @@ public class FXMLDocumentController implements Initializable {
      */
     private static final int RECT_ARC = 40;
 
+    /**
+     * Automatische Sicherung des laufenden Spiels.
+     */
+    private static final File AUTO_SAVE_FILE = new File(System.getProperty("user.dir"),
+            "autosave.events");
+
+    /**
+     * Automatische Sicherung des vorherigen Spiels, welche beim Start eines neuen Spiels aus
+     * {@link #AUTO_SAVE_FILE} hervorgeht und z.B. nach einem Absturz geladen werden kann.
+     */
+    private static final File PREVIOUS_AUTO_SAVE_FILE = new File(System.getProperty("user.dir"),
+            "autosave.previous.events");
+
     @FXML
     private MenuItem saveGame;
 
@@ -219,6 +237,11 @@ public class FXMLDocumentController implements Initializable {
      */
     private Game game;
 
+    /**
+     * Automatische Sicherung des Spiels.
+     */
+    private AutoSave autoSave;
+
     /**
      * Initialisierung von Grid und Logik.
      *
@@ -295,9 +318,32 @@ public class FXMLDocumentController implements Initializable {
         this.game = new Game(gui, playerNames, cardsSize, treasuresSizePerPlayer, playerTypes,
                 activePlayer, gamefieldGrd.getRowCount() - 2,
                 gamefieldGrd.getColumnCount() - 2);
+        startAutoSave();
         ap.setDisable(false);
     }
 
+    /**
+     * Sichert das Spiel automatisch auf dem Thread des {@link SaveService}. Die Sicherung des
+     * vorherigen Spiels wird zuvor in {@link #PREVIOUS_AUTO_SAVE_FILE} umbenannt, damit sie nicht
+     * durch den ersten Zug dieses Spiels ersetzt wird.
+     */
+    private void startAutoSave() {
+        SaveService saveService = SaveService.getInstance();
+        saveService.execute(() -> {
+            if (AUTO_SAVE_FILE.exists()) {
+                try {
+                    Files.move(AUTO_SAVE_FILE.toPath(), PREVIOUS_AUTO_SAVE_FILE.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+
+        autoSave = new AutoSave(AUTO_SAVE_FILE, saveService);
+        game.setAutoSave(autoSave);
+    }
+
 
     /**
      * Handhabt einen Klick auf das GridPane.
@@ -351,6 +397,7 @@ public class FXMLDocumentController implements Initializable {
     @FXML
     private void handleStartNewGame() throws Exception {
         this.game.interruptGame();
+        this.autoSave.close();
         Stage stage = (Stage) gamefieldGrd.getScene().getWindow();
         stage.close();
 
@@ -382,6 +429,9 @@ public class FXMLDocumentController implements Initializable {
             FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter(
                     "JSON files (*.JSON)", "*.JSON");
             fileChooser.getExtensionFilters().add(extFilter);
+            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                    "Binary save files (*" + Data.BINARY_EXTENSION + ")",
+                    "*" + Data.BINARY_EXTENSION));
 
             if (currDir != null) {
                 //ensure the dialog opens in the correct directory
@@ -432,12 +482,32 @@ public class FXMLDocumentController implements Initializable {
         }
     }
 
+    /**
+     * Handhabt den Klick auf das {@link MenuItem} <i>Automatische Sicherung laden</i>, indem das
+     * vorherige Spiel zu Beginn seines letzten gesicherten Zuges fortgesetzt wird.
+     */
+    @FXML
+    private void handleLoadAutoSave() {
+        if (game.checkForInvalidInteraction(false)) {
+            // Ausstehende Schreibvorgänge abwarten, damit die Sicherung vollständig ist
+            try {
+                SaveService.getInstance().flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            game.loadAutoSave(PREVIOUS_AUTO_SAVE_FILE);
+        }
+    }
+
     /**
      * Handhabt einen Klick auf das {@link MenuItem} <i>Spiel beenden</i>, indem die Applikation
      * geschlossen wird
      */
     @FXML
     private void handleCloseGame() {
+        autoSave.close();
         Platform.exit();
         System.exit(0);
     }
@@ -5,6 +5,7 @@ import javafx.animation.ParallelTransition;
 import javafx.animation.RotateTransition;
 import javafx.animation.SequentialTransition;
 import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -763,6 +764,16 @@ public class JavaFXGUI implements GUIConnector {
         loadGame.setDisable(value);
     }
 
+    /**
+     * Führt die übergebene Aktion auf dem JavaFX-Application-Thread aus.
+     *
+     * @param action Auszuführende Aktion
+     */
+    @Override
+    public void runLater(Runnable action) {
+        Platform.runLater(action);
+    }
+
     /**
      * Weist den Pfeil-ImageViews zur Rotation der freien Gängekarte, die entsprechenden Grafiken
      * zu.
@@ -30,6 +30,14 @@ public enum Direction {
      */
     private final Position dir;
 
+    /**
+     * Bit dieser Richtung innerhalb einer Ausgangs-Maske (siehe {@link logic.tile.Tile#exitMask()}).
+     * <p>
+     * Das Bit entspricht {@code 1 << ordinal()}, d.h. {@code UP = 0001}, {@code RIGHT = 0010},
+     * {@code DOWN = 0100} und {@code LEFT = 1000}.
+     */
+    private final int bit;
+
     /**
      * Konstruktor.
      *
@@ -37,6 +45,7 @@ public enum Direction {
      */
     Direction(Position dir) {
         this.dir = dir;
+        this.bit = 1 << ordinal();
     }
 
     /**
@@ -48,6 +57,15 @@ public enum Direction {
         return dir;
     }
 
+    /**
+     * Liefert das Bit dieser Richtung innerhalb einer 4-Bit-Ausgangs-Maske.
+     *
+     * @return Bit dieser Richtung
+     */
+    public int getBit() {
+        return bit;
+    }
+
     /**
      * Liefert zu dieser Richtung die <b>entgegengesetzte Richtung</b>.
      *
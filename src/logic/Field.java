@@ -1,9 +1,9 @@
 package logic;
 
-import gui.FXMLDocumentController;
 import logic.tile.*;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -50,11 +50,69 @@ public class Field {
      */
     private FreeWayCard freeWayCard;
 
+    /**
+     * Zobrist-Hash der Gängekarten und der freien Gängekarte, welcher bei Änderungen über die
+     * Methoden dieser Klasse inkrementell aktualisiert wird.
+     */
+    private long hash;
+
+    /**
+     * Zobrist-Schlüssel für die Größe dieses Spielfeldes (wird beim ersten Zugriff ermittelt).
+     */
+    private Zobrist zobrist;
+
+    /**
+     * Einschübe für die Geometrie dieses Spielfeldes (wird beim ersten Zugriff ermittelt).
+     */
+    private ShiftTable shiftTable;
+
+    /**
+     * Zellindex ({@code col * rowCount + row}) je Schatz ({@link Treasure#ordinal()}),
+     * {@link #FREE_WAY_CARD_CELL}, wenn der Schatz auf der freien Gängekarte liegt,
+     * {@link #ABSENT_CELL} oder {@link #UNKNOWN_CELL}. Wird von den Methoden dieser Klasse
+     * inkrementell aktualisiert und bei jedem Zugriff geprüft, sodass auch direkte Änderungen der
+     * Gängekarten erkannt werden. Ein fehlender Schatz, welcher direkt auf eine Gängekarte gelegt
+     * wird, wird erst nach {@link #recomputeHash()} gefunden.
+     */
+    private final int[] treasureCells = unknownTreasureCells();
+
+    /**
+     * Positionen je Zellindex, damit {@link #getTreasurePos(Treasure)} keine Positionen erzeugt.
+     */
+    private Position[] cellPositions;
+
+    /**
+     * Gibt an, ob ein Schatz mehrfach vorkommt. In diesem Fall wird wie bisher das Spielfeld
+     * durchsucht, sodass die erste Gängekarte (spaltenweise) geliefert wird.
+     */
+    private boolean duplicateTreasures;
+
+    /**
+     * Zellindex eines Schatzes, der auf der freien Gängekarte liegt.
+     */
+    public static final int FREE_WAY_CARD_CELL = -1;
+
+    /**
+     * Zellindex eines Schatzes, dessen Position nicht bekannt ist.
+     */
+    private static final int UNKNOWN_CELL = -2;
+
+    /**
+     * Zellindex eines Schatzes, der beim letzten vollständigen Durchsuchen weder auf dem
+     * Spielfeld noch auf der freien Gängekarte lag.
+     */
+    private static final int ABSENT_CELL = -3;
+
+    /**
+     * Position, welche für einen Schatz auf der freien Gängekarte geliefert wird.
+     */
+    private static final Position FREE_WAY_CARD_POS = new Position(-1, -1);
+
     /**
      * Konstruktor zur Erzeugung des Spielfeldes.
      * <p>
      * Hierbei wird das Spielfeld <i>dynamisch</i> erzeugt, sodass, auch wenn über den
-     * {@link FXMLDocumentController} ein {@link javafx.scene.layout.GridPane}
+     * {@link gui.FXMLDocumentController} ein {@link javafx.scene.layout.GridPane}
      * mit anderen Größen definiert wird, das Spielfeld erzeugt werden kann.
      * <p>
      * Eine entsprechende Anpassung der Anzahl der Gängekarten ({@code T_CARDSIZE},
@@ -64,12 +122,21 @@ public class Field {
      * @param colcount y-Länge des Spielfeldes
      */
     public Field(int rowcount, int colcount, List<Treasure> treasures) {
+        this(rowcount, colcount, treasures, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Konstruktor zur Erzeugung des Spielfeldes mit einem vorgegebenen Zufallszahlengenerator,
+     * sodass das Spielfeld reproduzierbar ist.
+     *
+     * @param rowcount x-Länge des Spielfeldes
+     * @param colcount y-Länge des Spielfeldes
+     * @param rnd      Zufallszahlengenerator
+     */
+    public Field(int rowcount, int colcount, List<Treasure> treasures, Random rnd) {
         this.board = new Tile[colcount][rowcount];
         this.insetPositions = new HashMap<>();
 
-        // Randomisierter Zahlengenerator
-        final Random rnd = new Random();
-
         // Rotationen
         final TileRotation[] rotations = TileRotation.values();
         final int rotationsLen = rotations.length;
@@ -94,7 +161,7 @@ public class Field {
         }
 
         // Mischen der dynamischen Gängekarten
-        Collections.shuffle(tiles);
+        Collections.shuffle(tiles, rnd);
 
         // Erzeugen und Zuweisen der mittleren statischen Gängekarten
         initializeMiddleStaticWayCards();
@@ -103,7 +170,7 @@ public class Field {
         initializeStaticWayCards(colcount, rowcount);
 
         // Mischen der Schatzkarten
-        Collections.shuffle(treasures);
+        Collections.shuffle(treasures, rnd);
 
         // Zuweisen der variablen Gängekarten zum Spielfeld
         int tileCounter = 0;
@@ -137,6 +204,8 @@ public class Field {
                 currTile.setTreasure(currTreasure);
             }
         }
+
+        recomputeHash();
     }
 
     /**
@@ -149,9 +218,30 @@ public class Field {
      *                       Einschubrichtungen
      */
     public Field(Tile[][] board, FreeWayCard freeWayCard, Map<Position, Direction> insetPositions) {
+        this(board, freeWayCard, insetPositions, null, null);
+    }
+
+    /**
+     * Konstruktor, welcher die Zobrist-Schlüssel und die Einschübe eines Spielfeldes gleicher
+     * Geometrie übernimmt.
+     *
+     * @param board          Das Spielfeld {@link Tile Tile-Array}
+     * @param freeWayCard    {@link FreeWayCard Die freie Gängekarte}
+     * @param insetPositions Mapping der Einschubposition zu ihren korrespondierenden
+     *                       Einschubrichtungen
+     * @param zobrist        Zobrist-Schlüssel oder {@code null}, wenn sie beim ersten Zugriff
+     *                       ermittelt werden sollen
+     * @param shiftTable     Einschübe oder {@code null}, wenn sie beim ersten Zugriff ermittelt
+     *                       werden sollen
+     */
+    private Field(Tile[][] board, FreeWayCard freeWayCard, Map<Position, Direction> insetPositions,
+                  Zobrist zobrist, ShiftTable shiftTable) {
         this.board = board;
         this.freeWayCard = freeWayCard;
         this.insetPositions = insetPositions;
+        this.zobrist = zobrist;
+        this.shiftTable = shiftTable;
+        recomputeHash();
     }
 
     /**
@@ -168,6 +258,21 @@ public class Field {
         return copyField;
     }
 
+    /**
+     * Liefert eine Kopie dieses Spielfeldes für die Berechnung von KI-Zügen.
+     * <p>
+     * Kopiert wird lediglich das Array der Gängekarten, die Gängekarten selbst, die freie
+     * Gängekarte und die Einschubpositionen werden geteilt. Da {@link #applyShift(Shift)} und
+     * {@link #undoShift(ShiftUndo)} keine Gängekarten verändern, können Einschübe auf mehreren
+     * Kopien gleichzeitig ausprobiert werden. Die unveränderlichen Zobrist-Schlüssel und
+     * Einschübe werden ebenfalls geteilt.
+     *
+     * @return Kopie des Spielfeldes
+     */
+    public Field copyForCalculation() {
+        return new Field(copyOfField(), freeWayCard, insetPositions, zobrist(), shiftTable());
+    }
+
     /**
      * Lädt das übergebene Feld und freie Gängekarte auf dieses Feld und die freie Gängekarte.
      *
@@ -184,6 +289,7 @@ public class Field {
         }
 
         this.freeWayCard = freeWayCard;
+        recomputeHash();
     }
 
     /**
@@ -193,7 +299,7 @@ public class Field {
      */
     public void removeStartPosTreasures(Position[] startPos) {
         for (Position pos : startPos) {
-            board[pos.getX()][pos.getY()].setTreasure(Treasure.EMPTY);
+            setTreasure(pos, Treasure.EMPTY);
         }
     }
 
@@ -248,6 +354,7 @@ public class Field {
 
 
         this.freeWayCard = freeWayCard;
+        recomputeHash();
     }
 
     /**
@@ -256,6 +363,9 @@ public class Field {
      * @param shift Informationen des Einschiebevorganges
      */
     public void shift(Shift shift) {
+        // Schlüssel der betroffenen Gängekarten und der freien Gängekarte heraus rechnen
+        hash ^= affectedHash(shift);
+
         // Einschubvorgang ausführen
         Tile freeWayCards = shift.executeShift(board);
 
@@ -270,6 +380,83 @@ public class Field {
         Position newFreeWayCardPos = shift.getLastAffectedPosition()
                 .addPos(shift.getPushDir().getDirPos());
         this.freeWayCard = new FreeWayCard(freeWayCards, newFreeWayCardPos);
+
+        // Schlüssel der neuen Belegung hinein rechnen
+        hash ^= affectedHash(shift);
+        indexTreasures(shift);
+    }
+
+    /**
+     * Führt den Einschiebevorgang <b>auf diesem Spielfeld</b> aus, ohne das Spielfeld zu kopieren,
+     * und liefert die Informationen, um ihn mit {@link #undoShift(ShiftUndo)} rückgängig zu machen.
+     * <p>
+     * Die freie Gängekarte selbst wird dabei nicht verändert, sondern mit der übergebenen Rotation
+     * als neue Gängekarte eingeschoben. Gedacht ist diese Methode für die Berechnung von KI-Zügen,
+     * in welcher viele mögliche Einschübe nacheinander ausprobiert werden. Mehrere Berechnungen
+     * können parallel auf Kopien des Spielfeldes ({@link #copyForCalculation()}) erfolgen.
+     *
+     * @param shift    Informationen des Einschiebevorganges
+     * @param rotation Rotation, mit welcher die freie Gängekarte eingeschoben wird
+     * @return Informationen zum Rückgängigmachen des Einschiebevorganges
+     */
+    public ShiftUndo applyShift(Shift shift, TileRotation rotation) {
+        FreeWayCard oldFreeWayCard = this.freeWayCard;
+        hash ^= affectedHash(shift);
+        ShiftUndo undo = new ShiftUndo(shift, shift.executeShift(board), oldFreeWayCard);
+
+        // Freie Gängekarte mit der übergebenen Rotation an die erste Stelle setzen
+        Position pos = shift.getLogicalStartPos();
+        board[pos.getX()][pos.getY()] = new Tile(oldFreeWayCard.getType(),
+                oldFreeWayCard.getState(), rotation, oldFreeWayCard.getTreasure());
+
+        // Herausgeschobene Gängekarte wird zur freien Gängekarte
+        Position newFreeWayCardPos = shift.getLastAffectedPosition()
+                .addPos(shift.getPushDir().getDirPos());
+        this.freeWayCard = new FreeWayCard(undo.getDisplacedTile(), newFreeWayCardPos);
+        hash ^= affectedHash(shift);
+        indexTreasures(shift);
+
+        return undo;
+    }
+
+    /**
+     * Führt den Einschiebevorgang mit der aktuellen Rotation der freien Gängekarte aus.
+     *
+     * @param shift Informationen des Einschiebevorganges
+     * @return Informationen zum Rückgängigmachen des Einschiebevorganges
+     * @see #applyShift(Shift, TileRotation)
+     */
+    public ShiftUndo applyShift(Shift shift) {
+        return applyShift(shift, freeWayCard.getRotated());
+    }
+
+    /**
+     * Macht einen mit {@link #applyShift(Shift)} ausgeführten Einschiebevorgang rückgängig und
+     * stellt den exakten vorherigen Zustand (Gängekarten und freie Gängekarte) wieder her.
+     *
+     * @param undo Informationen des rückgängig zu machenden Einschiebevorganges
+     */
+    public void undoShift(ShiftUndo undo) {
+        Shift shift = undo.getShift();
+        Position[] affectedPositions = shift.getAffectedPositions();
+        int affectedTilesSize = affectedPositions.length;
+        hash ^= affectedHash(shift);
+
+        // Reihe/Spalte entgegen der Einschubrichtung zurückschieben
+        for (int i = 0; i < affectedTilesSize - 1; i++) {
+            Position pos = affectedPositions[i].getLogicalPos();
+            Position nextPos = affectedPositions[i + 1].getLogicalPos();
+            board[pos.getX()][pos.getY()] = board[nextPos.getX()][nextPos.getY()];
+        }
+
+        // Herausgeschobene Gängekarte zurücklegen
+        Position lastPos = shift.getLastAffectedPosition().getLogicalPos();
+        board[lastPos.getX()][lastPos.getY()] = undo.getDisplacedTile();
+
+        // Freie Gängekarte wiederherstellen
+        this.freeWayCard = undo.getOldFreeWayCard();
+        hash ^= affectedHash(shift);
+        indexTreasures(shift);
     }
 
     /**
@@ -288,6 +475,159 @@ public class Field {
         return affectedTilesSize;
     }
 
+    /**
+     * Setzt den Schatz der Gängekarte an der übergebenen Position und aktualisiert den Hash.
+     *
+     * @param pos      Position der Gängekarte (ohne Umrandung)
+     * @param treasure Neuer Schatz
+     */
+    public void setTreasure(Position pos, Treasure treasure) {
+        Tile tile = board[pos.getX()][pos.getY()];
+        int cell = pos.getX() * getRowCount() + pos.getY();
+        Treasure oldTreasure = tile.getTreasure();
+
+        hash ^= zobrist().tileKey(pos.getX(), pos.getY(), tile);
+        tile.setTreasure(treasure);
+        hash ^= zobrist().tileKey(pos.getX(), pos.getY(), tile);
+
+        // Index des entfernten Schatzes verwerfen und den neuen Schatz eintragen, insofern er
+        // nicht bereits an anderer Stelle liegt
+        if (oldTreasure != null && oldTreasure != Treasure.EMPTY
+                && treasureCells[oldTreasure.ordinal()] == cell) {
+            treasureCells[oldTreasure.ordinal()] = UNKNOWN_CELL;
+        }
+        if (treasure != null && treasure != Treasure.EMPTY) {
+            int knownCell = treasureCells[treasure.ordinal()];
+            if (knownCell != cell && isTreasureAt(treasure, knownCell)) {
+                duplicateTreasures = true;
+            } else {
+                treasureCells[treasure.ordinal()] = cell;
+            }
+        }
+    }
+
+    /**
+     * Rotiert die freie Gängekarte und aktualisiert den Hash.
+     *
+     * @param rotation Neue Rotation der freien Gängekarte
+     */
+    public void setFreeWayCardRotation(TileRotation rotation) {
+        hash ^= zobrist().freeWayCardKey(freeWayCard);
+        freeWayCard.setRotated(rotation);
+        hash ^= zobrist().freeWayCardKey(freeWayCard);
+    }
+
+    /**
+     * Liefert den Zobrist-Hash der Gängekarten und der freien Gängekarte.
+     * <p>
+     * Werden Gängekarten direkt (und nicht über diese Klasse) verändert, muss der Hash mit
+     * {@link #recomputeHash()} neu berechnet werden.
+     *
+     * @return Zobrist-Hash des Spielfeldes
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Liefert den Zobrist-Hash wie {@link #getHash()}, jedoch ohne die Rotation der freien
+     * Gängekarte. Die KI wertet jeden Einschub mit allen Rotationen aus, sodass sich
+     * Spielzustände, die sich nur in dieser Rotation unterscheiden, die Einträge der
+     * {@link logic.player.TranspositionTable Transpositionstabelle} teilen.
+     *
+     * @return Zobrist-Hash des Spielfeldes ohne Rotation der freien Gängekarte
+     */
+    public long getHashWithoutRotation() {
+        return freeWayCard == null ? hash : hash ^ zobrist().freeWayCardRotationKey(freeWayCard);
+    }
+
+    /**
+     * Berechnet den Zobrist-Hash und den Index der Schätze des Spielfeldes vollständig neu.
+     *
+     * @return Neu berechneter Hash
+     */
+    public long recomputeHash() {
+        this.hash = zobrist().hash(board, freeWayCard);
+        indexTreasures();
+
+        return hash;
+    }
+
+    /**
+     * Berechnet den Hash der Gängekarten (ohne freie Gängekarte), der sich nach Ausführung der
+     * übergebenen Einschuboperation mit der übergebenen Rotation ergeben würde. Das Spielfeld
+     * wird dabei nicht verändert.
+     *
+     * @param shift    Einschuboperation
+     * @param rotation Rotation der eingeschobenen Gängekarte
+     * @return Hash der Gängekarten nach dem Einschub
+     */
+    public long boardHashAfterShift(Shift shift, TileRotation rotation) {
+        Zobrist zobrist = zobrist();
+        long boardHash = hash ^ zobrist.freeWayCardKey(freeWayCard);
+
+        // Jede betroffene Gängekarte rückt eine Position weiter, an die erste Stelle tritt die
+        // freie Gängekarte
+        Tile prevTile = new Tile(freeWayCard.getType(), freeWayCard.getState(), rotation,
+                freeWayCard.getTreasure());
+        for (Position pos : shift.getAffectedPositions()) {
+            int col = pos.getX() - 1;
+            int row = pos.getY() - 1;
+            Tile currTile = board[col][row];
+            boardHash ^= zobrist.tileKey(col, row, currTile) ^ zobrist.tileKey(col, row, prevTile);
+            prevTile = currTile;
+        }
+
+        return boardHash;
+    }
+
+    /**
+     * Liefert die Zobrist-Schlüssel für die Größe dieses Spielfeldes.
+     *
+     * @return Zobrist-Schlüssel
+     */
+    public Zobrist zobrist() {
+        if (zobrist == null) {
+            zobrist = Zobrist.forSize(getColCount(), getRowCount());
+        }
+
+        return zobrist;
+    }
+
+    /**
+     * Liefert die vorberechneten Einschübe für die Größe und die Einschubpositionen dieses
+     * Spielfeldes.
+     *
+     * @return Tabelle der Einschübe
+     */
+    public ShiftTable shiftTable() {
+        if (shiftTable == null) {
+            shiftTable = ShiftTable.forGeometry(getColCount(), getRowCount(), insetPositions);
+        }
+
+        return shiftTable;
+    }
+
+    /**
+     * Berechnet die XOR-Verknüpfung der Schlüssel aller von der Einschuboperation betroffenen
+     * Gängekarten und der freien Gängekarte in ihrer aktuellen Belegung.
+     *
+     * @param shift Einschuboperation
+     * @return Teil-Hash der betroffenen Gängekarten
+     */
+    private long affectedHash(Shift shift) {
+        Zobrist zobrist = zobrist();
+        long affected = freeWayCard == null ? 0 : zobrist.freeWayCardKey(freeWayCard);
+
+        for (Position pos : shift.getAffectedPositions()) {
+            int col = pos.getX() - 1;
+            int row = pos.getY() - 1;
+            affected ^= zobrist.tileKey(col, row, board[col][row]);
+        }
+
+        return affected;
+    }
+
     /**
      * Gibt das Spielfeld zurück
      *
@@ -335,22 +675,179 @@ public class Field {
     }
 
     /**
-     * Gibt die Position des übergebenen Schatzes auf dem Spielfeld zurück.
+     * Gibt die Position des übergebenen Schatzes auf dem Spielfeld zurück. Die Position wird
+     * über den Index der Schätze ermittelt und nicht neu erzeugt.
      *
      * @param treasure Übergebener Schatz
      * @return Position (Spiellogik) des Schatzes auf dem Spielfeld
      */
     public Position getTreasurePos(Treasure treasure) {
+        int cell = getTreasureCell(treasure);
+
+        // Ist der Schatz nicht gefunden worden, so muss er auf der freien Gängekarte liegen
+        return cell == FREE_WAY_CARD_CELL ? FREE_WAY_CARD_POS : cellPositions[cell];
+    }
+
+    /**
+     * Liefert den Zellindex ({@code col * rowCount + row}) des übergebenen Schatzes.
+     * <p>
+     * Der Index wird bei Einschüben nur für die verschobene Reihe bzw. Spalte aktualisiert. Da
+     * Gängekarten auch direkt verändert werden können, wird der gespeicherte Index vor der
+     * Rückgabe geprüft und bei einer Abweichung das Spielfeld einmalig neu durchsucht. Ist die
+     * Position unbekannt, wird zuvor die freie Gängekarte geprüft. Ein Schatz, der beim letzten
+     * Durchsuchen fehlte, sowie {@link Treasure#EMPTY} führen zu keinem erneuten Durchsuchen.
+     *
+     * @param treasure Übergebener Schatz
+     * @return Zellindex oder {@link #FREE_WAY_CARD_CELL}, wenn der Schatz nicht auf dem
+     * Spielfeld liegt
+     */
+    public int getTreasureCell(Treasure treasure) {
+        if (duplicateTreasures) {
+            return scanTreasure(treasure);
+        }
+        if (treasure == Treasure.EMPTY) {
+            return FREE_WAY_CARD_CELL;
+        }
+
+        int cell = treasureCells[treasure.ordinal()];
+
+        if (!isTreasureAt(treasure, cell)) {
+            if (cell < FREE_WAY_CARD_CELL && isTreasureAt(treasure, FREE_WAY_CARD_CELL)) {
+                // Der Schatz liegt auf der freien Gängekarte, das Spielfeld muss nicht
+                // durchsucht werden
+                cell = FREE_WAY_CARD_CELL;
+                treasureCells[treasure.ordinal()] = cell;
+            } else if (cell != ABSENT_CELL) {
+                indexTreasures();
+                cell = treasureCells[treasure.ordinal()];
+            }
+        }
+
+        return cell < FREE_WAY_CARD_CELL ? FREE_WAY_CARD_CELL : cell;
+    }
+
+    /**
+     * Durchsucht das gesamte Spielfeld spaltenweise nach dem übergebenen Schatz.
+     *
+     * @param treasure Schatz
+     * @return Zellindex der ersten Gängekarte mit dem Schatz oder {@link #FREE_WAY_CARD_CELL}
+     */
+    private int scanTreasure(Treasure treasure) {
+        int rowCount = getRowCount();
         for (int col = 0; col < board.length; col++) {
-            for (int row = 0; row < board[0].length; row++) {
+            for (int row = 0; row < rowCount; row++) {
                 if (board[col][row].getTreasure() == treasure) {
-                    return new Position(col, row);
+                    return col * rowCount + row;
                 }
             }
         }
 
-        // Ist der Schatz nicht gefunden worden, so muss er auf der freien Gängekarte liegen
-        return new Position(-1, -1);
+        return FREE_WAY_CARD_CELL;
+    }
+
+    /**
+     * Prüft, ob sich der übergebene Schatz an dem übergebenen Zellindex befindet.
+     *
+     * @param treasure Schatz
+     * @param cell     Zellindex oder {@link #FREE_WAY_CARD_CELL}
+     * @return True, wenn der Schatz dort liegt, ansonsten false
+     */
+    private boolean isTreasureAt(Treasure treasure, int cell) {
+        if (cell == FREE_WAY_CARD_CELL) {
+            return freeWayCard != null && freeWayCard.getTreasure() == treasure;
+        }
+        if (cell < FREE_WAY_CARD_CELL) {
+            return false;
+        }
+
+        int rowCount = getRowCount();
+        return board[cell / rowCount][cell % rowCount].getTreasure() == treasure;
+    }
+
+    /**
+     * Erzeugt einen Index der Schätze, in welchem kein Schatz bekannt ist.
+     *
+     * @return Index der Schätze
+     */
+    private static int[] unknownTreasureCells() {
+        int[] cells = new int[Treasure.values().length];
+        Arrays.fill(cells, UNKNOWN_CELL);
+
+        return cells;
+    }
+
+    /**
+     * Baut den Index der Schätze für das gesamte Spielfeld neu auf.
+     */
+    private void indexTreasures() {
+        int colCount = getColCount();
+        int rowCount = getRowCount();
+
+        if (cellPositions == null || cellPositions.length != colCount * rowCount) {
+            cellPositions = new Position[colCount * rowCount];
+            for (int col = 0; col < colCount; col++) {
+                for (int row = 0; row < rowCount; row++) {
+                    cellPositions[col * rowCount + row] = Position.of(col, row);
+                }
+            }
+        }
+        Arrays.fill(treasureCells, UNKNOWN_CELL);
+        duplicateTreasures = false;
+        for (int col = 0; col < colCount; col++) {
+            for (int row = 0; row < rowCount; row++) {
+                indexTreasure(board[col][row].getTreasure(), col * rowCount + row);
+            }
+        }
+        if (freeWayCard != null) {
+            indexTreasure(freeWayCard.getTreasure(), FREE_WAY_CARD_CELL);
+        }
+
+        // Nicht gefundene Schätze vermerken, damit sie nicht bei jeder Suche erneut gesucht werden
+        for (int i = 0; i < treasureCells.length; i++) {
+            if (treasureCells[i] == UNKNOWN_CELL) {
+                treasureCells[i] = ABSENT_CELL;
+            }
+        }
+    }
+
+    /**
+     * Trägt einen Schatz beim vollständigen Aufbau des Index ein.
+     *
+     * @param treasure Schatz ({@code null} oder {@link Treasure#EMPTY} werden ignoriert)
+     * @param cell     Zellindex oder {@link #FREE_WAY_CARD_CELL}
+     */
+    private void indexTreasure(Treasure treasure, int cell) {
+        if (treasure != null && treasure != Treasure.EMPTY) {
+            if (treasureCells[treasure.ordinal()] == UNKNOWN_CELL) {
+                treasureCells[treasure.ordinal()] = cell;
+            } else {
+                duplicateTreasures = true;
+            }
+        }
+    }
+
+    /**
+     * Aktualisiert den Index der Schätze für die von der Einschuboperation betroffene Reihe
+     * bzw. Spalte und die freie Gängekarte.
+     *
+     * @param shift Einschuboperation
+     */
+    private void indexTreasures(Shift shift) {
+        int rowCount = getRowCount();
+
+        for (Position pos : shift.getAffectedPositions()) {
+            int col = pos.getX() - 1;
+            int row = pos.getY() - 1;
+            Treasure treasure = board[col][row].getTreasure();
+            if (treasure != null && treasure != Treasure.EMPTY) {
+                treasureCells[treasure.ordinal()] = col * rowCount + row;
+            }
+        }
+
+        Treasure freeTreasure = freeWayCard.getTreasure();
+        if (freeTreasure != null && freeTreasure != Treasure.EMPTY) {
+            treasureCells[freeTreasure.ordinal()] = FREE_WAY_CARD_CELL;
+        }
     }
 
     /**
@@ -410,8 +907,8 @@ public class Field {
 
         for (int startPosIdx = 0; startPosIdx < startPositionsLen; startPosIdx++) {
             Position startPos = startPositions[startPosIdx];
-            board[startPos.getX()][startPos.getY()]
-                    .setTreasure(Treasure.values()[treasuresLength - startPositionsLen + startPosIdx]);
+            setTreasure(startPos,
+                    Treasure.values()[treasuresLength - startPositionsLen + startPosIdx]);
         }
     }
 
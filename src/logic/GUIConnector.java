@@ -1,10 +1,5 @@
 package logic;
 
-import javafx.animation.FadeTransition;
-import javafx.animation.RotateTransition;
-import javafx.animation.SequentialTransition;
-import javafx.scene.control.Alert;
-import javafx.scene.shape.Rectangle;
 import logic.path.PathNode;
 import logic.player.AIMove;
 import logic.player.Player;
@@ -82,10 +77,10 @@ public interface GUIConnector {
      * Erzeugt die Animationen eines KI-Zuges.
      *
      * <ul>
-     *     <li>{@link RotateTransition} für die Rotation der freien Gängekarte</li>
+     *     <li>{@link javafx.animation.RotateTransition} für die Rotation der freien Gängekarte</li>
      *     <li>
-     *         {@link SequentialTransition} für die verschiedenen Animationen der Einschuboperation
-     *         und der darauf anschließenden Spieler-Bewegung
+     *         {@link javafx.animation.SequentialTransition} für die verschiedenen Animationen der
+     *         Einschuboperation und der darauf anschließenden Spieler-Bewegung
      *     </li>
      * </ul>
      *
@@ -102,9 +97,10 @@ public interface GUIConnector {
 
     /**
      * Hebt die Gängekarte an der übergebenen Position hervor, indem der das dazugehörige
-     * {@link Rectangle} aus {@code hoverViews} mit einer {@link FadeTransition} hervorgehoben und
-     * beim Loslassen der Taste {@code KeyCode.H} mittels einer anderen {@link FadeTransition}
-     * die Hervorhebung zurückgesetzt wird.
+     * {@link javafx.scene.shape.Rectangle} aus {@code hoverViews} mit einer
+     * {@link javafx.animation.FadeTransition} hervorgehoben und beim Loslassen der Taste
+     * {@code KeyCode.H} mittels einer anderen {@link javafx.animation.FadeTransition} die
+     * Hervorhebung zurückgesetzt wird.
      *
      * @param posToHighlight Position die hervorgehoben werden soll
      * @param playerIdx      Spieler-Index
@@ -146,7 +142,7 @@ public interface GUIConnector {
 
 
     /**
-     * Die {@link Rectangle} der Felder auf dem Feld entsprechende Farben zuweisen.
+     * Die {@link javafx.scene.shape.Rectangle} der Felder auf dem Feld entsprechende Farben zuweisen.
      *
      * <ul>
      *      <li>Grün → betretbar</li>
@@ -168,7 +164,7 @@ public interface GUIConnector {
                     Game game);
 
     /**
-     * Erzeugt eine {@link RotateTransition} und führt diese aus.
+     * Erzeugt eine {@link javafx.animation.RotateTransition} und führt diese aus.
      *
      * @param rotation Rotation in die rotiert werden soll
      * @param rotDir   Rotationsrichtung
@@ -183,7 +179,8 @@ public interface GUIConnector {
     void setFreeWayCard(Tile tile);
 
     /**
-     * Zeigt eine {@link Alert Warnung}, bei einer fehlerhaften Benutzereingabe.
+     * Zeigt eine {@link javafx.scene.control.Alert Warnung}, bei einer fehlerhaften
+     * Benutzereingabe.
      *
      * @param message Nachricht die dem Benutzer angezeigt wird
      */
@@ -211,5 +208,13 @@ public interface GUIConnector {
      */
     void disableField(boolean value);
 
+    /**
+     * Führt die übergebene Aktion auf dem Thread der Oberfläche aus. Genutzt wird dies, um das
+     * Ergebnis eines im Hintergrund berechneten KI-Zuges an die Oberfläche zu übergeben.
+     *
+     * @param action Auszuführende Aktion
+     */
+    void runLater(Runnable action);
+
 
 }
@@ -2,20 +2,24 @@ package logic;
 
 import com.google.gson.JsonSyntaxException;
 import logic.data.Data;
+import logic.data.GameArchive;
 import logic.data.InvalidGameDataException;
+import logic.data.SaveService;
 import logic.path.PathNode;
 import logic.path.PathUtil;
 import logic.player.AIUtil;
 import logic.player.AIMove;
 import logic.player.Player;
 import logic.player.PlayerType;
+import logic.player.TranspositionTable;
+import logic.replay.AutoSave;
+import logic.replay.EventLogWriter;
+import logic.replay.GameReplay;
 import logic.tile.FreeWayCard;
 import logic.tile.Tile;
 import logic.tile.TileRotation;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,6 +28,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -57,6 +69,21 @@ public class Game {
      */
     public static final int MAX_TREASURESIZE = 24;
 
+    /**
+     * Standard-Executor zur Berechnung von KI-Zügen. Der Thread ist ein Daemon-Thread, damit er
+     * das Beenden der Anwendung nicht verhindert.
+     */
+    private static final Executor DEFAULT_AI_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ai-turn");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Speicherobergrenze der Transpositionstabelle der KI in Byte.
+     */
+    private static final long TRANSPOSITION_TABLE_BYTES = 16L * 1024 * 1024;
+
     /**
      * Die Steuerung der Benutzeroberfläche
      */
@@ -87,10 +114,102 @@ public class Game {
      */
     private boolean pushed;
 
+    /**
+     * Index des Spielers, welcher gewonnen hat (-1, solange kein Gewinner feststeht).
+     */
+    private int winner = -1;
+
+    /**
+     * Zufallszahlengenerator des Spiels, aus welchem auch die Zufallszahlengeneratoren der
+     * KI-Berechnungen abgeleitet werden.
+     */
+    private final GameRandom random;
+
     /**
      * Gibt, an ob das Spiel unterbrochen wurde.
      */
-    private boolean interrupted;
+    private volatile boolean interrupted;
+
+    /**
+     * Executor, auf welchem KI-Züge im Hintergrund berechnet werden.
+     */
+    private final Executor aiExecutor;
+
+    /**
+     * Pool, auf welchem die möglichen Einschübe eines KI-Zuges parallel ausgewertet werden.
+     */
+    private final ForkJoinPool aiPool;
+
+    /**
+     * Die aktuell laufende Berechnung eines KI-Zuges ({@code null}, wenn keine läuft).
+     */
+    private CompletableFuture<AIMove> aiComputation;
+
+    /**
+     * Abbruchsignal der laufenden Berechnung eines KI-Zuges. Ein Abbruch des Futures allein
+     * beendet die Berechnung nicht, erst das Signal gibt den Executor wieder frei.
+     */
+    private AtomicBoolean aiCancelled;
+
+    /**
+     * Gibt an, ob der Zug des nächsten KI-Spielers bereits während der Animationen des aktuellen
+     * Zuges berechnet wird.
+     */
+    private boolean pondering = true;
+
+    /**
+     * Vorausberechnung des Zuges des nächsten KI-Spielers ({@code null}, wenn keine läuft).
+     */
+    private CompletableFuture<AIMove> ponderComputation;
+
+    /**
+     * Abbruchsignal der Vorausberechnung.
+     */
+    private AtomicBoolean ponderCancelled;
+
+    /**
+     * Index des Spielers, für den die Vorausberechnung erfolgt.
+     */
+    private int ponderPlayer;
+
+    /**
+     * Spielzustand, auf dem die Vorausberechnung basiert.
+     */
+    private long ponderVersion;
+
+    /**
+     * Version des Spielzustandes, welche bei jeder Änderung von Spielfeld oder Spielerpositionen
+     * erhöht wird. Weicht sie von {@link #ponderVersion} ab, ist die Vorausberechnung veraltet.
+     */
+    private long stateVersion;
+
+    /**
+     * Transpositionstabelle der KI-Spieler, welche über alle Züge des Spiels erhalten bleibt.
+     */
+    private final TranspositionTable transpositionTable =
+            new TranspositionTable(TRANSPOSITION_TABLE_BYTES);
+
+    /**
+     * Logger, in welchen der Spielverlauf geschrieben wird.
+     */
+    private final Logger logger;
+
+    /**
+     * Ereignisdatei, in welche der Spielverlauf aufgezeichnet wird ({@code null}, wenn nicht
+     * aufgezeichnet wird).
+     */
+    private final EventLogWriter eventLog;
+
+    /**
+     * Automatische Sicherung des Spiels nach jedem Zug ({@code null}, wenn nicht gesichert wird).
+     */
+    private AutoSave autoSave;
+
+    /**
+     * Zobrist-Hash der Spielerpositionen, welcher bei jeder Bewegung eines Spielers inkrementell
+     * aktualisiert wird.
+     */
+    private long playerHash;
 
     /**
      * Konstruktor.
@@ -103,10 +222,84 @@ public class Game {
      */
     public Game(GUIConnector gui, List<String> playerNames, int cardSize, int cardSizePerPlayer,
                 List<PlayerType> playerTypes, List<Boolean> activePlayer, int x, int y) {
+        this(gui, playerNames, cardSize, cardSizePerPlayer, playerTypes, activePlayer, x, y,
+                DEFAULT_AI_EXECUTOR);
+    }
+
+    /**
+     * Konstruktor mit einem eigenen Executor zur Berechnung der KI-Züge.
+     *
+     * @param gui         Die Benutzeroberfläche, über welche Aktualisierungen an dieser stattfinden
+     * @param cardSize    Anzahl der Schatzkarten, die jeder Spieler hat
+     * @param playerTypes Spielertypen der Spieler (menschlich, normale KI, erweiterte KI)
+     * @param x           Breite des Spielfeldes
+     * @param y           Höhe des Spielfeldes
+     * @param aiExecutor  Executor, auf welchem KI-Züge berechnet werden
+     */
+    public Game(GUIConnector gui, List<String> playerNames, int cardSize, int cardSizePerPlayer,
+                List<PlayerType> playerTypes, List<Boolean> activePlayer, int x, int y,
+                Executor aiExecutor) {
+        this(gui, playerNames, cardSize, cardSizePerPlayer, playerTypes, activePlayer, x, y,
+                aiExecutor, true, new GameRandom(), Logger.getInstance(),
+                EventLogWriter.getInstance());
+    }
+
+    /**
+     * Konstruktor, bei welchem die Vorausberechnung bereits vor dem ersten Zug festgelegt wird.
+     * Alle zufälligen Entscheidungen (Schatzkarten, Spielfeld und KI-Züge) werden aus dem
+     * übergebenen Zufallszahlengenerator abgeleitet, sodass ein Spiel reproduzierbar ist.
+     *
+     * @param gui         Die Benutzeroberfläche, über welche Aktualisierungen an dieser stattfinden
+     * @param cardSize    Anzahl der Schatzkarten, die jeder Spieler hat
+     * @param playerTypes Spielertypen der Spieler (menschlich, normale KI, erweiterte KI)
+     * @param x           Breite des Spielfeldes
+     * @param y           Höhe des Spielfeldes
+     * @param aiExecutor  Executor, auf welchem KI-Züge berechnet werden
+     * @param pondering   Gibt an, ob der Zug des nächsten KI-Spielers vorausberechnet wird
+     * @param random      Zufallszahlengenerator des Spiels
+     * @param logger      Logger, in welchen der Spielverlauf geschrieben wird
+     * @param eventLog    Ereignisdatei, in welche der Spielverlauf aufgezeichnet wird
+     *                    ({@code null}, wenn nicht aufgezeichnet wird)
+     */
+    Game(GUIConnector gui, List<String> playerNames, int cardSize, int cardSizePerPlayer,
+         List<PlayerType> playerTypes, List<Boolean> activePlayer, int x, int y,
+         Executor aiExecutor, boolean pondering, GameRandom random, Logger logger,
+         EventLogWriter eventLog) {
+        this(gui, playerNames, cardSize, cardSizePerPlayer, playerTypes, activePlayer, x, y,
+                aiExecutor, ForkJoinPool.commonPool(), pondering, random, logger, eventLog);
+    }
+
+    /**
+     * Konstruktor mit einem eigenen Pool, auf welchem die möglichen Einschübe der KI-Züge
+     * ausgewertet werden, sodass parallel laufende Spiele sich nicht gegenseitig beeinflussen.
+     *
+     * @param gui         Die Benutzeroberfläche, über welche Aktualisierungen an dieser stattfinden
+     * @param cardSize    Anzahl der Schatzkarten, die jeder Spieler hat
+     * @param playerTypes Spielertypen der Spieler (menschlich, normale KI, erweiterte KI)
+     * @param x           Breite des Spielfeldes
+     * @param y           Höhe des Spielfeldes
+     * @param aiExecutor  Executor, auf welchem KI-Züge berechnet werden
+     * @param aiPool      Pool, auf welchem die möglichen Einschübe ausgewertet werden
+     * @param pondering   Gibt an, ob der Zug des nächsten KI-Spielers vorausberechnet wird
+     * @param random      Zufallszahlengenerator des Spiels
+     * @param logger      Logger, in welchen der Spielverlauf geschrieben wird
+     * @param eventLog    Ereignisdatei, in welche der Spielverlauf aufgezeichnet wird
+     *                    ({@code null}, wenn nicht aufgezeichnet wird)
+     */
+    Game(GUIConnector gui, List<String> playerNames, int cardSize, int cardSizePerPlayer,
+         List<PlayerType> playerTypes, List<Boolean> activePlayer, int x, int y,
+         Executor aiExecutor, ForkJoinPool aiPool, boolean pondering, GameRandom random,
+         Logger logger, EventLogWriter eventLog) {
 
         assert cardSize <= MAX_TREASURESIZE;
 
         this.gui = gui;
+        this.logger = logger;
+        this.eventLog = eventLog;
+        this.aiExecutor = aiExecutor;
+        this.aiPool = aiPool;
+        this.pondering = pondering;
+        this.random = random;
         this.possiblePositions = new PathNode[x][y];
 
         // Hinzufügen aller Karten
@@ -115,13 +308,14 @@ public class Game {
         gui.createTreasureImg();
 
         // Mischen der Karten
-        Collections.shuffle(treasureCards);
+        Collections.shuffle(treasureCards, random);
 
         // Spielerzeugung und Zuteilung von Schatzkarten
         createPlayer(playerNames, activePlayer, treasureCards, playerTypes, cardSizePerPlayer);
 
         // Erzeugen des Spielfeldes
-        this.field = new Field(x, y, treasureCards);
+        this.field = new Field(x, y, treasureCards, random);
+        recomputePlayerHash();
 
         // Initialisieren des Spielfeldes auf der GUI
         gui.initializeField(field.getBoard(), field.getInsetPositions(), field.getFreeWayCard());
@@ -129,6 +323,9 @@ public class Game {
         // Spiel beginnen
         currentPlayer = MAX_PLAYERS - 1;
         interrupted = false;
+        if (eventLog != null) {
+            eventLog.snapshot(field, players, currentPlayer);
+        }
         nextTurn();
     }
 
@@ -140,10 +337,29 @@ public class Game {
      * @param currentPlayer
      */
     Game(GUIConnector gui, Field field, Player[] players, int currentPlayer) {
+        this(gui, field, players, currentPlayer, Runnable::run);
+    }
+
+    /**
+     * Konstruktor zu Testzwecken mit einem eigenen Executor zur Berechnung der KI-Züge.
+     *
+     * @param gui           Die Benutzeroberfläche
+     * @param field         Das Spielfeld
+     * @param players       Die Spieler
+     * @param currentPlayer Spieler, welcher derzeit am Zug ist
+     * @param aiExecutor    Executor, auf welchem KI-Züge berechnet werden
+     */
+    Game(GUIConnector gui, Field field, Player[] players, int currentPlayer, Executor aiExecutor) {
         this.gui = gui;
         this.field = field;
         this.players = players;
         this.currentPlayer = currentPlayer;
+        this.aiExecutor = aiExecutor;
+        this.aiPool = ForkJoinPool.commonPool();
+        this.random = new GameRandom();
+        this.logger = Logger.getInstance();
+        this.eventLog = null;
+        recomputePlayerHash();
     }
 
 
@@ -169,7 +385,13 @@ public class Game {
             gui.nextPlayer(oldPlayerIdx, currentPlayer);
 
             // Logging
-            Logger.getInstance().log(Logger.PLAYER_ONTURN, currentPlayer);
+            logger.log(Logger.PLAYER_ONTURN, currentPlayer);
+            if (eventLog != null) {
+                eventLog.turnStart(currentPlayer);
+            }
+            if (autoSave != null) {
+                autoSave.turnStart(field, players, currentPlayer);
+            }
 
             // Überprüfen ob nächster Spieler menschlich oder KI ist
             PlayerType currPlayerType = nextPlayer.getDirectedBy();
@@ -219,6 +441,11 @@ public class Game {
                 // Einschiebeoperation durchführen
                 shift(shift);
 
+                // Die für den aktuellen Spieler möglichen Positionen sowie entsprechende Pfade
+                // berechnen
+                Position currPos = players[currentPlayer].getPosition();
+                this.possiblePositions = PathUtil.getPossiblePositions(field.getBoard(), currPos);
+
                 // Einschubanimation erzeugen und ausführen
                 gui.animateHumanShift(shift, possiblePositions);
 
@@ -241,6 +468,9 @@ public class Game {
                     nextTreasure = players[currentPlayer].getCurrTreasure();
                 }
 
+                // Der Spielzustand steht fest, nächsten KI-Zug während der Animation berechnen
+                startPondering();
+
                 // Animation ausführen
                 gui.movePlayer(currentPlayer, this.possiblePositions[x - 1][y - 1].createPath(),
                         collectedTreasure, nextTreasure, this);
@@ -258,40 +488,212 @@ public class Game {
     /**
      * Steuerung eines KI-Zuges. Je nach Spielertyp werden unterschiedliche Vorgehensweisen
      * zur Berechnung eines Pfades zum gesuchten Schatz genutzt.
+     * <p>
+     * Der KI-Zug wird auf einer Kopie des Spielfeldes im Hintergrund berechnet, sodass die
+     * Oberfläche währenddessen bedienbar bleibt. Das Ergebnis wird über
+     * {@link GUIConnector#runLater(Runnable)} auf dem Thread der Oberfläche ausgeführt.
      *
      * @param playerType KI-Spielertyp (normal oder erweitert)
      */
     public void handleAIMove(PlayerType playerType) {
+        CompletableFuture<AIMove> computation;
+        AtomicBoolean cancelled;
+
+        // Je KI-Zug wird genau ein Generator abgeleitet, unabhängig davon, ob die
+        // Vorausberechnung genutzt wird
+        GameRandom aiRandom = random.split();
+
+        // Vorausberechnung nutzen, insofern sie für diesen Spieler und den aktuellen Spielzustand
+        // gestartet wurde, ansonsten neu berechnen
+        if (ponderComputation != null && ponderPlayer == currentPlayer
+                && ponderVersion == stateVersion) {
+            computation = ponderComputation;
+            cancelled = ponderCancelled;
+        } else {
+            cancelPondering();
+            cancelled = new AtomicBoolean();
+            computation = CompletableFuture.supplyAsync(
+                    createAICalculation(currentPlayer, playerType, aiRandom, cancelled),
+                    aiExecutor);
+        }
+        ponderComputation = null;
+        ponderCancelled = null;
+
+        // Ergebnis auf dem Thread der Oberfläche ausführen, insofern das Spiel nicht
+        // zwischenzeitlich unterbrochen wurde
+        aiComputation = computation;
+        aiCancelled = cancelled;
+        computation.whenComplete((aiMove, e) -> {
+            if (e == null) {
+                gui.runLater(() -> {
+                    if (!interrupted && aiComputation == computation) {
+                        aiComputation = null;
+                        aiCancelled = null;
+                        executeAIMove(aiMove);
+                    }
+                });
+            } else if (!isCancellation(e)) {
+                // Fehlgeschlagene Berechnung melden und das Spiel mit einem Ersatzzug fortsetzen
+                gui.runLater(() -> {
+                    if (!interrupted && aiComputation == computation) {
+                        aiComputation = null;
+                        aiCancelled = null;
+                        gui.showErrorAlert(String.format(Message.AI_MOVE_FAILED.getMessage(),
+                                e instanceof CompletionException ? e.getCause() : e));
+                        executeAIMove(createFallbackMove());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Erzeugt einen einfachen Ersatzzug für den Fall, dass die Berechnung des KI-Zuges
+     * fehlgeschlagen ist. Die freie Gängekarte wird ohne Drehung an der ersten erlaubten
+     * Einschubposition eingeschoben und der Spieler bleibt auf seiner Position.
+     *
+     * @return Ersatzzug
+     */
+    private AIMove createFallbackMove() {
+        FreeWayCard freeWayCard = field.getFreeWayCard();
+        Position insetPos = null;
+        for (Position pos : field.getInsetPositions().keySet()) {
+            if (!pos.equals(freeWayCard.getPosition())) {
+                insetPos = pos;
+                break;
+            }
+        }
+
+        return new AIMove(freeWayCard.getRotated(), insetPos);
+    }
+
+    /**
+     * Gibt an, ob eine Berechnung eines KI-Zuges abgebrochen wurde.
+     *
+     * @param e Exception, mit welcher die Berechnung beendet wurde
+     * @return true, wenn die Berechnung abgebrochen wurde, ansonsten false
+     */
+    private static boolean isCancellation(Throwable e) {
+        if (e instanceof CompletionException) {
+            e = e.getCause();
+        }
+
+        return e instanceof CancellationException;
+    }
+
+    /**
+     * Erzeugt die Berechnung eines KI-Zuges für den übergebenen Spieler auf einer Kopie des
+     * aktuellen Spielfeldes. Alle Eingaben werden beim Aufruf festgehalten, sodass die
+     * Berechnung auf einem anderen Thread ausgeführt werden kann.
+     *
+     * @param playerIdx  Index des KI-Spielers
+     * @param playerType KI-Spielertyp (normal oder erweitert)
+     * @param aiRandom   Zufallszahlengenerator der Berechnung
+     * @param cancelled  Abbruchsignal, welches die KI während der Berechnung prüft
+     * @return Berechnung des KI-Zuges
+     */
+    private Supplier<AIMove> createAICalculation(int playerIdx, PlayerType playerType,
+                                                 GameRandom aiRandom, AtomicBoolean cancelled) {
         // Aktueller Spieler
-        Player currPlayer = players[currentPlayer];
+        Player currPlayer = players[playerIdx];
         Position currPlayerPos = currPlayer.getPosition();
         Treasure currPlayerTrs = currPlayer.getCurrTreasure();
         PlayerType currPlayerType = currPlayer.getDirectedBy();
 
-        AIMove aiMove;
+        // Die KI rechnet auf einer eigenen Kopie des Spielfeldes und mit einem eigenen
+        // Zufallszahlengenerator, sodass das Ergebnis nicht vom ausführenden Thread abhängt
+        Field fieldCopy = field.copyForCalculation();
 
         // Überprüfen ob der nächste Spieler zu seiner Startposition muss
-        if (players[nextActivePlayer()].getTreasureCards().size() == 1
+        int nextPlayer = nextActivePlayer(playerIdx);
+        if (players[nextPlayer].getTreasureCards().size() == 1
                 && currPlayerType == PlayerType.AI_EXTENDED) {
 
             // Position und Schatz des nächsten Spielers
-            int nextPlayer = nextActivePlayer();
-            if (nextPlayer != currentPlayer) {
+            if (nextPlayer != playerIdx) {
                 Player nextPlayerObj = players[nextPlayer];
                 Position nextPlayerPos = nextPlayerObj.getPosition();
                 Treasure nextPlayerTreasure = nextPlayerObj.getCurrTreasure();
-                aiMove = AIUtil.calcAIMove(field, currPlayerPos, currPlayerTrs, nextPlayerPos, nextPlayerTreasure);
+                return () -> AIUtil.calcAIMove(fieldCopy, currPlayerPos, currPlayerTrs,
+                        nextPlayerPos, nextPlayerTreasure, transpositionTable, aiRandom, aiPool,
+                        cancelled);
             } else {
-                aiMove = AIUtil.calcAIMove(field, currPlayerPos, currPlayerTrs, currPlayerType);
+                return () -> AIUtil.calcAIMove(fieldCopy, currPlayerPos, currPlayerTrs,
+                        currPlayerType, transpositionTable, aiRandom, aiPool,
+                        cancelled);
             }
-        } else {
-            // Berechnung des KI-Zuges
-            aiMove = AIUtil.calcAIMove(field, currPlayerPos, currPlayerTrs, playerType);
         }
 
+        // Berechnung des KI-Zuges
+        return () -> AIUtil.calcAIMove(fieldCopy, currPlayerPos, currPlayerTrs, playerType,
+                transpositionTable, aiRandom, aiPool,
+                        cancelled);
+    }
+
+    /**
+     * Startet die Vorausberechnung des Zuges des nächsten Spielers, insofern dieser eine KI ist.
+     * <p>
+     * Aufgerufen wird diese Methode, sobald der Zug des aktuellen Spielers in der Logik
+     * abgeschlossen ist, sodass die Berechnung parallel zu den Animationen erfolgt.
+     */
+    private void startPondering() {
+        cancelPondering();
+
+        if (pondering && !interrupted && !hasPlayerWon(currentPlayer)) {
+            int nextPlayer = nextActivePlayer();
+            PlayerType nextPlayerType = players[nextPlayer].getDirectedBy();
+
+            if (nextPlayerType == PlayerType.AI_NORMAL
+                    || nextPlayerType == PlayerType.AI_EXTENDED) {
+                ponderPlayer = nextPlayer;
+                ponderVersion = stateVersion;
+                ponderCancelled = new AtomicBoolean();
+                // Der Generator entspricht dem, welcher beim Zug des Spielers abgeleitet wird
+                ponderComputation = CompletableFuture.supplyAsync(
+                        createAICalculation(nextPlayer, nextPlayerType, random.copy().split(),
+                                ponderCancelled), aiExecutor);
+            }
+        }
+    }
+
+    /**
+     * Bricht eine laufende Vorausberechnung ab. Die Suche der KI endet beim nächsten
+     * ausgewerteten Einschub, sodass eine nachfolgende Berechnung nicht auf sie warten muss.
+     */
+    private void cancelPondering() {
+        if (ponderComputation != null) {
+            ponderCancelled.set(true);
+            ponderComputation.cancel(true);
+            ponderComputation = null;
+            ponderCancelled = null;
+        }
+    }
+
+    /**
+     * Aktiviert oder deaktiviert die Vorausberechnung des Zuges des nächsten KI-Spielers während
+     * der Animationen.
+     *
+     * @param pondering True, um die Vorausberechnung zu aktivieren, ansonsten false
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) {
+            cancelPondering();
+        }
+    }
+
+    /**
+     * Führt einen berechneten KI-Zug in der Logik aus und weist die Oberfläche an, ihn zu
+     * animieren.
+     *
+     * @param aiMove Berechneter KI-Zug
+     */
+    private void executeAIMove(AIMove aiMove) {
+        Player currPlayer = players[currentPlayer];
+
         // Freie Gängekarte auf die berechnete Rotation setzen
         TileRotation rotation = aiMove.getFreeWayCardRot();
-        field.getFreeWayCard().setRotated(rotation);
+        field.setFreeWayCardRotation(rotation);
 
         // Einschiebeoperation erzeugen
         Shift shift = createShift(aiMove.getInsetPos(), field.getFreeWayCard());
@@ -305,6 +707,10 @@ public class Game {
             targetPos = currPlayer.getPosition();
         }
 
+        // Pfad erzeugen (nur zur berechneten Zielposition)
+        List<Position> path = PathUtil.findPath(field.getBoard(), currPlayer.getPosition(),
+                targetPos).createPath();
+
         Treasure collectedTreasure = movePlayer(currentPlayer, targetPos);
         Treasure nextTreasure = null;
 
@@ -312,8 +718,8 @@ public class Game {
             nextTreasure = players[currentPlayer].getCurrTreasure();
         }
 
-        // Pfad erzeugen
-        List<Position> path = possiblePositions[targetPos.getX()][targetPos.getY()].createPath();
+        // Der Spielzustand steht fest, nächsten KI-Zug während der Animationen berechnen
+        startPondering();
 
         // Animationen ausführen
         gui.aiMove(shift, aiMove, currentPlayer, collectedTreasure, nextTreasure, path, this);
@@ -331,7 +737,8 @@ public class Game {
 
         // Rotation ausführen
         gui.rotateFreeWayCard(nextRotation, rotDir);
-        field.getFreeWayCard().setRotated(nextRotation);
+        field.setFreeWayCardRotation(nextRotation);
+        stateVersion++;
     }
 
     /**
@@ -352,34 +759,71 @@ public class Game {
     }
 
     /**
-     * Speichert die aktuelle Spielsituation in der übergebene {@link File Datei}.
+     * Speichert die aktuelle Spielsituation in der übergebene {@link File Datei}. Endet der Name
+     * der Datei auf {@link Data#BINARY_EXTENSION}, wird das binäre Format verwendet, ansonsten JSON.
+     * <p>
+     * Es wird lediglich ein {@link #createSnapshot() Abbild} der Spielsituation erzeugt, welches
+     * vom {@link SaveService} im Hintergrund geschrieben wird.
      *
      * @param savedFile Datei
      */
     public void saveGame(File savedFile) {
-        // Entfernen der letzten Schätze, welche die Startpositionen darstellen
-        for (int playerIdx = 0; playerIdx < MAX_PLAYERS; playerIdx++) {
-            players[playerIdx].getTreasureCards()
-                    .remove(Treasure.values()[MAX_TREASURESIZE + playerIdx + 1]);
-        }
+        SaveService.getInstance().saveGame(createSnapshot(), savedFile);
+    }
 
-        // Entfernen der letzten Schätze, auf dem Spielfeld
-        field.removeStartPosTreasures(START_POSITIONS);
+    /**
+     * Speichert die aktuelle Spielsituation unter der übergebenen Kennung im
+     * {@link GameArchive Archiv}. Der Spielstand wird vom {@link SaveService} im Hintergrund
+     * geschrieben.
+     *
+     * @param archive Archiv
+     * @param id      Kennung des Spielstandes
+     */
+    public void saveGame(GameArchive archive, String id) {
+        SaveService.getInstance().saveGame(createSnapshot(), archive, id);
+    }
 
-        // Speichervorgang
-        Data data = new Data(field.getBoard(), field.getFreeWayCard(), currentPlayer, players);
+    /**
+     * Erzeugt einen unveränderlichen Spielstand der aktuellen Spielsituation. Gängekarten, freie
+     * Gängekarte und Spieler werden kopiert, die Schätze der Startpositionen dabei ausgelassen, sodass
+     * das laufende Spiel weder verändert wird noch den Spielstand verändern kann.
+     *
+     * @return Spielstand
+     */
+    Data createSnapshot() {
+        Tile[][] board = field.getBoard();
+        Tile[][] snapshot = new Tile[board.length][];
+        for (int col = 0; col < board.length; col++) {
+            snapshot[col] = new Tile[board[col].length];
+            for (int row = 0; row < board[col].length; row++) {
+                Tile tile = board[col][row];
+                snapshot[col][row] = new Tile(tile.getType(), tile.getState(), tile.getRotated(),
+                        tile.getTreasure());
+            }
+        }
 
-        try {
-            data.saveGame(new FileOutputStream(savedFile));
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Schätze der Startpositionen entfernen
+        for (Position startPos : START_POSITIONS) {
+            snapshot[startPos.getX()][startPos.getY()].setTreasure(Treasure.EMPTY);
         }
 
-        // Schätze wieder hinzufügen
-        for (int playerIdx = 0; playerIdx < MAX_PLAYERS; playerIdx++) {
-            players[playerIdx].getTreasureCards()
-                    .add(Treasure.values()[MAX_TREASURESIZE + playerIdx + 1]);
+        FreeWayCard freeWayCard = field.getFreeWayCard();
+        FreeWayCard freeWayCardSnapshot = new FreeWayCard(new Tile(freeWayCard.getType(),
+                freeWayCard.getState(), freeWayCard.getRotated(), freeWayCard.getTreasure()),
+                freeWayCard.getPosition());
+
+        Player[] playersSnapshot = new Player[players.length];
+        for (int playerIdx = 0; playerIdx < players.length; playerIdx++) {
+            Player player = players[playerIdx];
+            Queue<Treasure> treasureCards = new LinkedList<>(player.getTreasureCards());
+            treasureCards.remove(Treasure.values()[MAX_TREASURESIZE + playerIdx + 1]);
+
+            playersSnapshot[playerIdx] = new Player(player.isInvolved(), player.getName(),
+                    player.getDirectedBy(), player.getPosition(), treasureCards);
         }
+
+        return new Data(snapshot, freeWayCardSnapshot, currentPlayer, playersSnapshot,
+                random.getSeed(), random.getState());
     }
 
     /**
@@ -389,57 +833,161 @@ public class Game {
      */
     public void loadGame(File file) {
         try {
-            Data data = new Data(file, field.getColCount(), field.getRowCount());
+            loadGame(new Data(file, field.getColCount(), field.getRowCount()));
+        } catch (Exception e) {
+            showLoadError(e);
+        }
+    }
 
-            // Spieler-Informationen zurücksetzen
-            gui.resetPlayerInfo();
+    /**
+     * Laden des Spielstandes mit der übergebenen Kennung aus dem {@link GameArchive Archiv}.
+     *
+     * @param archive Archiv
+     * @param id      Kennung des Spielstandes
+     */
+    public void loadGame(GameArchive archive, String id) {
+        try {
+            Data data = archive.get(id, field.getColCount(), field.getRowCount());
+            if (data == null) {
+                throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+            }
 
-            // Spielfeld laden
-            field.loadField(data.getField(), data.getFreeWayCard());
-            field.assignLastTreasures(START_POSITIONS);
-            gui.loadField(field.getBoard(), field.getInsetPositions(), field.getFreeWayCard());
+            loadGame(data);
+        } catch (Exception e) {
+            showLoadError(e);
+        }
+    }
 
-            // Spieler aktualisieren
-            players = data.getPlayers();
-            for (int playerIdx = 0; playerIdx < MAX_PLAYERS; playerIdx++) {
-                Player currPlayer = players[playerIdx];
-                if (currPlayer.isInvolved()) {
-                    currPlayer.getTreasureCards().add(Treasure.values()[MAX_TREASURESIZE + playerIdx + 1]);
-                }
+    /**
+     * Laden einer {@link AutoSave automatischen Sicherung}. Das Spiel wird zu Beginn des letzten
+     * gesicherten Zuges fortgesetzt, ein beendetes Spiel wird mit seinem Gewinner angezeigt.
+     *
+     * @param file Sicherungsdatei
+     */
+    public void loadAutoSave(File file) {
+        try {
+            GameReplay replay = AutoSave.load(file);
+            Field loadedField = replay.getField();
+            Player[] loadedPlayers = replay.getPlayers();
+
+            // Schätze der Startpositionen entfernen, wie in einem gespeicherten Spielstand
+            loadedField.removeStartPosTreasures(START_POSITIONS);
+            for (int playerIdx = 0; playerIdx < loadedPlayers.length; playerIdx++) {
+                loadedPlayers[playerIdx].getTreasureCards()
+                        .remove(Treasure.values()[MAX_TREASURESIZE + playerIdx + 1]);
+            }
 
-                // Spieler-Informationsbox erzeugen
-                gui.createPlayer(playerIdx, players[playerIdx]);
+            Data data = new Data(loadedField.getBoard(), loadedField.getFreeWayCard(),
+                    replay.getCurrentPlayer(), loadedPlayers);
+            loadGame(data, replay.getWinner());
+        } catch (Exception e) {
+            showLoadError(e);
+        }
+    }
 
-                // Überprüfung ob der Spieler bereits alle Schätze gefunden hat
-                if (currPlayer.getTreasureCards().size() == 1) {
-                    gui.showPlayerWinHint(playerIdx);
-                }
-            }
+    /**
+     * Setzt die automatische Sicherung, welche ab dem nächsten Zug geschrieben wird.
+     *
+     * @param autoSave Automatische Sicherung ({@code null}, um nicht mehr zu sichern)
+     */
+    public void setAutoSave(AutoSave autoSave) {
+        this.autoSave = autoSave;
+    }
 
-            // Den momentan, am Zug, spielenden Spieler setzen
-            this.currentPlayer = data.getCurrentPlayer() == 0 ? 3 : data.getCurrentPlayer() - 1;
+    /**
+     * Übernimmt den geladenen Spielstand und setzt das Spiel mit diesem fort.
+     *
+     * @param data Geladener Spielstand
+     */
+    private void loadGame(Data data) {
+        loadGame(data, -1);
+    }
 
-            // Einschub-Zustand zurücksetzen, da nur aus diesem heraus ein Spiel gespeichert werden
-            // kann
-            pushed = false;
+    /**
+     * Übernimmt den geladenen Spielstand und setzt das Spiel mit diesem fort bzw. zeigt den
+     * Gewinner eines bereits beendeten Spiels an.
+     *
+     * @param data   Geladener Spielstand
+     * @param winner Gewinner des Spiels (-1, wenn das Spiel noch nicht beendet ist)
+     */
+    private void loadGame(Data data, int winner) {
+        // Ein KI-Zug des bisherigen Spiels darf nicht auf dem geladenen Spielfeld ausgeführt werden
+        cancelAIComputations();
+
+        // Spieler-Informationen zurücksetzen
+        gui.resetPlayerInfo();
+
+        // Spielfeld laden
+        field.loadField(data.getField(), data.getFreeWayCard());
+        stateVersion++;
+        if (data.getRandomSeed() != null && data.getRandomState() != null) {
+            random.restore(data.getRandomSeed(), data.getRandomState());
+        }
+        this.winner = -1;
+        field.assignLastTreasures(START_POSITIONS);
+        gui.loadField(field.getBoard(), field.getInsetPositions(), field.getFreeWayCard());
+
+        // Spieler aktualisieren
+        players = data.getPlayers();
+        recomputePlayerHash();
+        for (int playerIdx = 0; playerIdx < MAX_PLAYERS; playerIdx++) {
+            Player currPlayer = players[playerIdx];
+            if (currPlayer.isInvolved()) {
+                currPlayer.getTreasureCards().add(Treasure.values()[MAX_TREASURESIZE + playerIdx + 1]);
+            }
 
-            // Spiel starten
-            nextTurn();
+            // Spieler-Informationsbox erzeugen
+            gui.createPlayer(playerIdx, players[playerIdx]);
 
-        } catch (Exception e) {
-            if (e instanceof InvalidGameDataException) {
-                gui.showErrorAlert(e.getMessage());
-            } else if (e instanceof JsonSyntaxException) {
-                gui.showErrorAlert("Spielstandsdatei entspricht nicht der json-Syntax." +
-                        " Überprüfen Sie ob es sich um eine .json-Datei handelt oder ob sie" +
-                        " modifiziert wurde. Stellen Sie sie ggf. auf eine vorherige Version" +
-                        " zurück.");
-            } else if (e instanceof NullPointerException) {
-                gui.showErrorAlert("Spielstand enthält Werte die nicht existent sind.");
-            } else {
-                gui.showErrorAlert("Datei konnte nicht gefunden werden.");
+            // Überprüfung ob der Spieler bereits alle Schätze gefunden hat
+            if (currPlayer.getTreasureCards().size() == 1) {
+                gui.showPlayerWinHint(playerIdx);
             }
+        }
+
+        // Den momentan, am Zug, spielenden Spieler setzen
+        this.currentPlayer = data.getCurrentPlayer() == 0 ? 3 : data.getCurrentPlayer() - 1;
 
+        // Der Gewinner hat bereits den Schatz seiner Startposition gefunden, sodass sein Sieg zu
+        // Beginn des nächsten Zuges erkannt wird
+        if (winner != -1) {
+            players[winner].getTreasureCards().clear();
+            this.currentPlayer = winner;
+        }
+
+        // Einschub-Zustand zurücksetzen, da nur aus diesem heraus ein Spiel gespeichert werden
+        // kann
+        pushed = false;
+
+        // Aufzeichnung mit dem geladenen Spielzustand fortsetzen
+        if (eventLog != null) {
+            eventLog.snapshot(field, players, currentPlayer);
+        }
+        if (autoSave != null) {
+            autoSave.reset();
+        }
+
+        // Spiel starten
+        nextTurn();
+    }
+
+    /**
+     * Zeigt den Fehler beim Laden eines Spielstandes an.
+     *
+     * @param e Aufgetretener Fehler
+     */
+    private void showLoadError(Exception e) {
+        if (e instanceof InvalidGameDataException) {
+            gui.showErrorAlert(e.getMessage());
+        } else if (e instanceof JsonSyntaxException) {
+            gui.showErrorAlert("Spielstandsdatei entspricht nicht der json-Syntax." +
+                    " Überprüfen Sie ob es sich um eine .json-Datei handelt oder ob sie" +
+                    " modifiziert wurde. Stellen Sie sie ggf. auf eine vorherige Version" +
+                    " zurück.");
+        } else if (e instanceof NullPointerException) {
+            gui.showErrorAlert("Spielstand enthält Werte die nicht existent sind.");
+        } else {
+            gui.showErrorAlert("Datei konnte nicht gefunden werden.");
         }
     }
 
@@ -459,10 +1007,27 @@ public class Game {
 
     /**
      * Setzt das {@code interrupted}-Flag auf {@code true}, um das Spiel im nächsten
-     * <i>nextTurn()</i>-Methodenaufruf zu unterbrechen.
+     * <i>nextTurn()</i>-Methodenaufruf zu unterbrechen. Eine laufende Berechnung eines KI-Zuges
+     * wird abgebrochen und gibt den Executor beim nächsten ausgewerteten Einschub frei.
      */
     public void interruptGame() {
         this.interrupted = true;
+
+        cancelAIComputations();
+    }
+
+    /**
+     * Bricht die laufende Berechnung eines KI-Zuges sowie eine Vorausberechnung ab, sodass deren
+     * Ergebnis nicht mehr ausgeführt wird.
+     */
+    private void cancelAIComputations() {
+        if (aiComputation != null) {
+            aiCancelled.set(true);
+            aiComputation.cancel(true);
+            aiComputation = null;
+            aiCancelled = null;
+        }
+        cancelPondering();
     }
 
     /**
@@ -509,14 +1074,14 @@ public class Game {
                 }
 
                 // Logging
-                String treasuresToStr = Logger.getInstance().treasuresToString(currStack);
-                Logger.getInstance().log(Logger.PLAYER_CREATION, playerIdx,
+                String treasuresToStr = logger.treasuresToString(currStack);
+                logger.log(Logger.PLAYER_CREATION, playerIdx,
                         playerTypes.get(playerIdx), treasuresToStr);
 
                 currStack.add(Treasure.values()[MAX_TREASURESIZE + playerIdx + 1]);
             } else { /* nicht involviert */
                 playerStartPos = new Position(0, 0);
-                Logger.getInstance().log(Logger.PLAYER_NOTINVOLVED, playerIdx, currPlayerName);
+                logger.log(Logger.PLAYER_NOTINVOLVED, playerIdx, currPlayerName);
             }
 
             // Aktuellen Spieler erzeugen und zur Spieler-Liste hinzufügen
@@ -535,7 +1100,17 @@ public class Game {
      * @return Index des Spielers im Spieler-Array {@code players}, welcher aktiv ist
      */
     private int nextActivePlayer() {
-        int nextActivePlayerIdx = currentPlayer;
+        return nextActivePlayer(currentPlayer);
+    }
+
+    /**
+     * Liefert den Index des auf den übergebenen Spieler folgenden <i>aktiven</i> Spielers.
+     *
+     * @param playerIdx Index des Spielers, von dem aus gesucht wird
+     * @return Index des Spielers im Spieler-Array {@code players}, welcher aktiv ist
+     */
+    private int nextActivePlayer(int playerIdx) {
+        int nextActivePlayerIdx = playerIdx;
         boolean isInvolved = false;
         while (!isInvolved) {
             nextActivePlayerIdx = (nextActivePlayerIdx + 1) % (MAX_PLAYERS);
@@ -557,11 +1132,9 @@ public class Game {
      * @return Einschuboperation
      */
     private Shift createShift(Position insetPos, FreeWayCard freeWayCard) {
-        // Die Richtung des Einschubvorgangs
-        Direction pushDir = field.getInsetPositions().get(insetPos);
-
-        // Anzahl der betroffenen Gängekarten ermitteln
-        int affectedTilesSize = field.getAffectedTileSizeOfPush(pushDir);
+        // Vorberechneter Einschub der Einschubposition
+        ShiftTable.Entry entry = field.shiftTable().get(insetPos);
+        int rowCount = field.getRowCount();
 
         // Indices der betroffenen Spieler
         List<Integer> affectedPlayer = new ArrayList<>();
@@ -569,18 +1142,13 @@ public class Game {
         // Positionen der betroffenen Spieler
         List<Position> affectedPlayerPos = new ArrayList<>();
 
-        // Betroffene Gängekarten
-        Position[] affectedPositions = new Position[affectedTilesSize];
-
         // Spieler die bereits auf einer betroffenen Gängekarte gefunden wurden
         Set<Player> alreadyAffected = new HashSet<>();
 
         // Iteration aller betroffenen Gängekarten und Überprüfung ob Spieler betroffen sind
-        Position currPos = insetPos;
         Player currPlayer;
-        for (int tileIdx = 0; tileIdx < affectedTilesSize; tileIdx++) {
-            // Nächste Position
-            currPos = currPos.addPos(pushDir.getDirPos());
+        for (int tileIdx = 0; tileIdx < entry.getAffectedCount(); tileIdx++) {
+            int cell = entry.getAffectedCell(tileIdx);
 
             // Überprüfen ob einer der (aktiven) Spieler auf der Position ist
             for (int playerIdx = 0; playerIdx < MAX_PLAYERS; playerIdx++) {
@@ -588,7 +1156,7 @@ public class Game {
                 Position currPlayerPos = currPlayer.getPosition();
 
                 if (currPlayer.isInvolved() && !alreadyAffected.contains(currPlayer)
-                        && currPlayer.getPosition().equals(currPos.getLogicalPos())) {
+                        && currPlayerPos.getX() * rowCount + currPlayerPos.getY() == cell) {
 
                     // Spieler zu den Betroffenen-Listen hinzufügen
                     affectedPlayer.add(playerIdx);
@@ -596,18 +1164,15 @@ public class Game {
                     alreadyAffected.add(currPlayer);
                 }
             }
-
-            // Aktuelle Position zu den betroffenen Position hinzufügen
-            affectedPositions[tileIdx] = currPos;
         }
 
         // Neue freie Gängekarte bestimmen
-        Position lastPos = affectedPositions[affectedTilesSize - 1];
-        Tile newFreeWayCard = field.getBoard()[lastPos.getX() - 1][lastPos.getY() - 1];
+        int exitCell = entry.getExitCell();
+        Tile newFreeWayCard = field.getBoard()[exitCell / rowCount][exitCell % rowCount];
 
         // Einschub erzeugen
-        return new Shift(pushDir, insetPos, affectedPositions, affectedPlayer, affectedPlayerPos,
-                freeWayCard, newFreeWayCard);
+        return new Shift(entry.getPushDir(), insetPos, entry.getAffectedPositions(),
+                affectedPlayer, affectedPlayerPos, freeWayCard, newFreeWayCard);
     }
 
     /**
@@ -621,18 +1186,23 @@ public class Game {
         String rowOrCol = shift.getPushDir() == Direction.LEFT
                 || shift.getPushDir() == Direction.RIGHT ?
                 "row " + (insetPos.getY() - 1) : "col " + (insetPos.getX() - 1);
-        String test = shift.getPushDir().toString();
         FreeWayCard fwc = field.getFreeWayCard();
-        String wayCard = String.format("%s, rot %o, treasure %o", fwc.getType(),
+        logger.log(Logger.SHIFT, currentPlayer, rowOrCol, shift.getPushDir(), fwc.getType(),
                 fwc.getRotated().ordinal(), fwc.getTreasure().ordinal());
-        Logger.getInstance().log(Logger.SHIFT, currentPlayer, rowOrCol, test, wayCard);
+        if (eventLog != null) {
+            eventLog.shift(insetPos, fwc.getRotated());
+        }
+        if (autoSave != null) {
+            autoSave.shift(insetPos, fwc.getRotated());
+        }
 
         // Einschuboperation am logischen Feld ausführen
         field.shift(shift);
+        stateVersion++;
 
         // Die Positionen der betroffenen Spieler aktualisieren
         List<Integer> affectedPlayers = shift.getAffectedPlayer();
-        Logger.getInstance().log("Folgende Spieler sind betroffen: " + affectedPlayers.toString());
+        logger.log("Folgende Spieler sind betroffen: %s", affectedPlayers);
         List<Position> updatedPlayerPos = shift.getUpdatedPlayerPos();
 
         for (int i = 0; i < affectedPlayers.size(); i++) {
@@ -643,16 +1213,13 @@ public class Game {
             Position oldPos = affectedPlayer.getPosition();
 
             // Position des betroffenen Spielers gemäß der Einschuboperation aktualisieren
-            affectedPlayer.setPosition(updatedPlayerPos.get(i));
+            setPlayerPosition(affectedPlayers.get(i), updatedPlayerPos.get(i));
 
             // Logging
-            Logger.getInstance().log(Logger.SHIFT_PLAYER_AFFECTED, affectedPlayers.get(i), oldPos,
+            logger.log(Logger.SHIFT_PLAYER_AFFECTED, affectedPlayers.get(i), oldPos,
                     updatedPlayerPos.get(i));
         }
 
-        // Die für den aktuellen Spieler möglichen Positionen sowie entsprechende Pfade berechnen
-        Position currPos = players[currentPlayer].getPosition();
-        this.possiblePositions = PathUtil.getPossiblePositions(field.getBoard(), currPos);
     }
 
     /**
@@ -670,11 +1237,17 @@ public class Game {
         Player player = players[playerIdx];
 
         // Logging: Spieler-Bewegung
-        Logger.getInstance().log(Logger.MOVE, currentPlayer, player.getPosition().toString(),
-                toPos.toString());
+        logger.log(Logger.MOVE, currentPlayer, player.getPosition(), toPos);
+        if (eventLog != null) {
+            eventLog.move(playerIdx, player.getPosition(), toPos);
+        }
+        if (autoSave != null) {
+            autoSave.move(playerIdx, player.getPosition(), toPos);
+        }
 
         // Zuweisung der neuen (übergebenen) Position
-        player.setPosition(toPos);
+        setPlayerPosition(playerIdx, toPos);
+        stateVersion++;
 
         // Insofern ein Schatz durch die Spieler-Bewegung gefunden wird, wird hier der nächste zu
         // suchende Schatz zugewiesen
@@ -683,7 +1256,7 @@ public class Game {
         // Erreicht der Spieler seinen zu suchenden Schatz
         if (field.getBoard()[toPos.getX()][toPos.getY()].getTreasure() == player.getCurrTreasure()) {
             collectedTreasure = collectTreasure(player);
-            field.getBoard()[toPos.getX()][toPos.getY()].setTreasure(Treasure.EMPTY);
+            field.setTreasure(toPos, Treasure.EMPTY);
         }
 
         return collectedTreasure;
@@ -702,9 +1275,15 @@ public class Game {
         Treasure oldTreasure = player.getTreasureCards().poll();
 
         // Logging: Schatz eingesammelt
-        String treasureToStr = Logger.getInstance().treasuresToString(player.getTreasureCards());
-        Logger.getInstance().log(Logger.TREASURE_COLLECTED, currentPlayer,
-                oldTreasure.ordinal(), oldTreasure.toString(), treasureToStr);
+        String treasureToStr = logger.treasuresToString(player.getTreasureCards());
+        logger.log(Logger.TREASURE_COLLECTED, currentPlayer,
+                oldTreasure.ordinal(), oldTreasure, treasureToStr);
+        if (eventLog != null) {
+            eventLog.treasureCollected(currentPlayer, oldTreasure);
+        }
+        if (autoSave != null) {
+            autoSave.treasureCollected(currentPlayer, oldTreasure);
+        }
 
         // Neuen Schatz liefern
         return oldTreasure;
@@ -743,14 +1322,19 @@ public class Game {
      * @return True, wenn der aktuelle Spieler gewonnen hat, ansonsten false.
      */
     private boolean checkIfPlayerWon() {
-        Player currPlayer = players[currentPlayer];
-        if (currPlayer.isInvolved() && currPlayer.getTreasureCards().size() == 0
-                && currPlayer.getPosition().equals(START_POSITIONS[currentPlayer])) {
+        if (hasPlayerWon(currentPlayer)) {
+            winner = currentPlayer;
             gui.showWinner(players[currentPlayer].getName());
             gui.disableField(false);
 
             // Logging: Aktueller Spieler hat gewonnen
-            Logger.getInstance().log(Logger.PLAYER_WON, currentPlayer);
+            logger.log(Logger.PLAYER_WON, currentPlayer);
+            if (eventLog != null) {
+                eventLog.playerWon(currentPlayer);
+            }
+            if (autoSave != null) {
+                autoSave.playerWon(currentPlayer);
+            }
 
             return true;
         }
@@ -758,6 +1342,110 @@ public class Game {
         return false;
     }
 
+    /**
+     * Weist dem übergebenen Spieler eine neue Position zu und aktualisiert den Hash der
+     * Spielerpositionen.
+     *
+     * @param playerIdx Index des Spielers
+     * @param pos       Neue Position (ohne Umrandung)
+     */
+    private void setPlayerPosition(int playerIdx, Position pos) {
+        Player player = players[playerIdx];
+        playerHash ^= field.zobrist().playerKey(playerIdx, player.getPosition());
+        player.setPosition(pos);
+        playerHash ^= field.zobrist().playerKey(playerIdx, pos);
+    }
+
+    /**
+     * Berechnet den Hash der Spielerpositionen vollständig neu.
+     */
+    private void recomputePlayerHash() {
+        playerHash = 0;
+        for (int playerIdx = 0; playerIdx < players.length; playerIdx++) {
+            playerHash ^= field.zobrist().playerKey(playerIdx, players[playerIdx].getPosition());
+        }
+    }
+
+    /**
+     * Liefert den Zobrist-Hash des aktuellen Spielzustandes, bestehend aus den Gängekarten, der
+     * freien Gängekarte und den Positionen aller Spieler.
+     *
+     * @return Zobrist-Hash des Spielzustandes
+     */
+    public long getStateHash() {
+        return field.getHash() ^ playerHash;
+    }
+
+    /**
+     * Liefert das Spielfeld.
+     *
+     * @return Spielfeld
+     */
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * Liefert den Index des Spielers, welcher gewonnen hat.
+     *
+     * @return Index des Gewinners oder -1, wenn noch kein Gewinner feststeht
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Liefert den Spieler mit dem übergebenen Index.
+     *
+     * @param playerIdx Index des Spielers
+     * @return Spieler
+     */
+    public Player getPlayer(int playerIdx) {
+        return players[playerIdx];
+    }
+
+    /**
+     * Liefert den Startwert des Zufallszahlengenerators, mit welchem das Spiel erzeugt wurde.
+     *
+     * @return Startwert
+     */
+    public long getSeed() {
+        return random.getSeed();
+    }
+
+    /**
+     * Liefert den Zufallszahlengenerator des Spiels, z.B. um dessen Zustand für eine
+     * Wiederholung festzuhalten.
+     *
+     * @return Zufallszahlengenerator
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Liefert die Transpositionstabelle der KI-Spieler dieses Spiels.
+     *
+     * @return Transpositionstabelle
+     */
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    /**
+     * Gibt an, ob der übergebene Spieler alle Schätze gefunden und seine Startposition erreicht
+     * hat.
+     *
+     * @param playerIdx Index des Spielers
+     * @return True, wenn der Spieler gewonnen hat, ansonsten false
+     */
+    private boolean hasPlayerWon(int playerIdx) {
+        Player player = players[playerIdx];
+
+        return player.isInvolved() && player.getTreasureCards().size() == 0
+                && player.getPosition().equals(START_POSITIONS[playerIdx]);
+    }
+
     /**
      * Getter zu Testzwecken.
      *
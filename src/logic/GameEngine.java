@@ -0,0 +1,319 @@
+package logic;
+
+import logic.player.PlayerType;
+import logic.replay.EventLogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse simuliert Spiele, an denen ausschließlich KI-Spieler teilnehmen, ohne
+ * Oberfläche bis zu ihrem Ende.
+ * <p>
+ * Das Spiel wird mit einem {@link HeadlessConnector} erzeugt und die KI-Züge werden auf dem
+ * aufrufenden Thread berechnet. Statt der Animationen startet eine Schleife den jeweils nächsten
+ * Zug, bis ein Spieler gewonnen hat oder die {@link #setMaxTurns(int) maximale Anzahl an Zügen}
+ * erreicht ist. Je Zug wird die Dauer gemessen, der erste Zug beinhaltet dabei die Erzeugung
+ * des Spielfeldes.
+ * <p>
+ * Standardmäßig wird der Spielverlauf nicht protokolliert. Ist das Logging
+ * {@link #setLogging(boolean) aktiviert}, schreibt jedes Spiel in den gemeinsamen
+ * {@link Logger}, ist ein {@link #setLogDirectory(File) Verzeichnis} gesetzt, erhält jedes Spiel
+ * einen eigenen Logger mit einer eigenen Datei. Eine Instanz kann mehrere Spiele nacheinander
+ * simulieren, mehrere Instanzen können parallel genutzt werden.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameEngine {
+
+    /**
+     * Standardmäßige maximale Anzahl an Zügen aller Spieler, nach welcher ein Spiel abgebrochen
+     * wird.
+     */
+    public static final int DEFAULT_MAX_TURNS = 5000;
+
+    /**
+     * Standardmäßige Größe des Spielfeldes.
+     */
+    private static final int DEFAULT_SIZE = 7;
+
+    /**
+     * Spielertypen je Spieler ({@code null}, wenn der Spieler nicht teilnimmt).
+     */
+    private final List<PlayerType> playerTypes;
+
+    /**
+     * Anzahl der Schatzkarten je Spieler.
+     */
+    private final int treasuresPerPlayer;
+
+    /**
+     * Anzahl der Spalten und Reihen des Spielfeldes.
+     */
+    private final int colCount;
+    private final int rowCount;
+
+    /**
+     * Maximale Anzahl an Zügen aller Spieler.
+     */
+    private int maxTurns = DEFAULT_MAX_TURNS;
+
+    /**
+     * Gibt an, ob der {@link Logger} während der Simulation schreibt.
+     */
+    private boolean logging;
+
+    /**
+     * Verzeichnis, in welches jedes Spiel eine eigene Logdatei schreibt ({@code null}, wenn
+     * keine eigenen Logdateien geschrieben werden).
+     */
+    private File logDirectory;
+
+    /**
+     * Verzeichnis, in welches jedes Spiel eine eigene Ereignisdatei schreibt ({@code null}, wenn
+     * nicht aufgezeichnet wird).
+     */
+    private File recordDirectory;
+
+    /**
+     * Pool, auf welchem die möglichen Einschübe der KI-Züge ausgewertet werden.
+     */
+    private ForkJoinPool aiPool = ForkJoinPool.commonPool();
+
+    /**
+     * Konstruktor für ein Spielfeld der Standardgröße.
+     *
+     * @param playerTypes        Spielertypen je Spieler ({@code null}, wenn der Spieler nicht
+     *                           teilnimmt)
+     * @param treasuresPerPlayer Anzahl der Schatzkarten je Spieler
+     */
+    public GameEngine(List<PlayerType> playerTypes, int treasuresPerPlayer) {
+        this(playerTypes, treasuresPerPlayer, DEFAULT_SIZE, DEFAULT_SIZE);
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param playerTypes        Spielertypen je Spieler ({@code null}, wenn der Spieler nicht
+     *                           teilnimmt)
+     * @param treasuresPerPlayer Anzahl der Schatzkarten je Spieler
+     * @param colCount           Anzahl der Spalten des Spielfeldes
+     * @param rowCount           Anzahl der Reihen des Spielfeldes
+     * @throws IllegalArgumentException Wenn nicht genau {@link Game#MAX_PLAYERS} Spielertypen
+     *                                  übergeben werden, ein menschlicher Spieler teilnimmt, kein
+     *                                  Spieler teilnimmt oder nicht genügend Schätze existieren
+     */
+    public GameEngine(List<PlayerType> playerTypes, int treasuresPerPlayer, int colCount,
+                      int rowCount) {
+        if (playerTypes.size() != Game.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Es werden " + Game.MAX_PLAYERS
+                    + " Spielertypen benötigt.");
+        }
+        if (playerTypes.contains(PlayerType.HUMAN)) {
+            throw new IllegalArgumentException("Es können nur KI-Spieler simuliert werden.");
+        }
+
+        long involved = playerTypes.stream().filter(type -> type != null).count();
+        if (involved == 0) {
+            throw new IllegalArgumentException("Es muss mindestens ein Spieler teilnehmen.");
+        }
+        if (treasuresPerPlayer < 1 || involved * treasuresPerPlayer > Game.MAX_TREASURESIZE) {
+            throw new IllegalArgumentException("Ungültige Anzahl an Schatzkarten je Spieler.");
+        }
+
+        this.playerTypes = new ArrayList<>(playerTypes);
+        this.treasuresPerPlayer = treasuresPerPlayer;
+        this.colCount = colCount;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Setzt die maximale Anzahl an Zügen aller Spieler, nach welcher ein Spiel ohne Gewinner
+     * abgebrochen wird.
+     *
+     * @param maxTurns Maximale Anzahl an Zügen
+     */
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Gibt an, ob der {@link Logger} während der Simulation schreiben soll.
+     *
+     * @param logging true, wenn geloggt werden soll, ansonsten false
+     */
+    public void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    /**
+     * Setzt das Verzeichnis, in welches jedes Spiel eine eigene Logdatei
+     * <i>game-&lt;Startwert&gt;.txt</i> schreibt. Dadurch können auch parallel simulierte Spiele
+     * protokolliert werden.
+     *
+     * @param logDirectory Verzeichnis der Logdateien oder {@code null}, wenn keine eigenen
+     *                     Logdateien geschrieben werden sollen
+     */
+    public void setLogDirectory(File logDirectory) {
+        this.logDirectory = logDirectory;
+    }
+
+    /**
+     * Setzt das Verzeichnis, in welches jedes Spiel eine eigene
+     * {@link EventLogWriter Ereignisdatei} <i>game-&lt;Startwert&gt;.events</i> schreibt, mit
+     * welcher das Spiel z.B. zur Untersuchung langsamer KI-Züge nachgespielt werden kann.
+     *
+     * @param recordDirectory Verzeichnis der Ereignisdateien oder {@code null}, wenn nicht
+     *                        aufgezeichnet werden soll
+     */
+    public void setRecordDirectory(File recordDirectory) {
+        this.recordDirectory = recordDirectory;
+    }
+
+    /**
+     * Setzt den Pool, auf welchem die möglichen Einschübe der KI-Züge ausgewertet werden.
+     * Standardmäßig wird {@link ForkJoinPool#commonPool()} genutzt, ein Pool mit der
+     * Parallelität 1 wertet alle Einschübe nacheinander aus.
+     *
+     * @param aiPool Zu nutzender Pool
+     */
+    public void setAIPool(ForkJoinPool aiPool) {
+        this.aiPool = Objects.requireNonNull(aiPool);
+    }
+
+    /**
+     * Simuliert ein Spiel mit einem zufälligen Startwert bis zu seinem Ende.
+     *
+     * @return Ergebnis des Spiels
+     */
+    public GameResult play() {
+        return play(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Simuliert ein Spiel bis zu seinem Ende. Spiele mit gleichem Startwert und gleicher
+     * Konfiguration verlaufen identisch.
+     *
+     * @param seed Startwert des Zufallszahlengenerators des Spiels
+     * @return Ergebnis des Spiels
+     */
+    public GameResult play(long seed) {
+        Logger logger = createLogger(seed);
+        EventLogWriter eventLog = null;
+        try {
+            if (recordDirectory != null) {
+                eventLog = new EventLogWriter(new File(recordDirectory,
+                        "game-" + seed + ".events"));
+            }
+
+            return play(seed, logger, eventLog);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (logger != Logger.getInstance()) {
+                logger.close();
+            }
+            closeEventLog(eventLog);
+        }
+    }
+
+    /**
+     * Schließt die Ereignisdatei eines Spiels.
+     *
+     * @param eventLog Ereignisdatei ({@code null}, wenn nicht aufgezeichnet wurde)
+     */
+    private static void closeEventLog(EventLogWriter eventLog) {
+        if (eventLog != null) {
+            try {
+                eventLog.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Erzeugt den Logger eines Spiels.
+     *
+     * @param seed Startwert des Spiels
+     * @return Logger des Spiels
+     */
+    private Logger createLogger(long seed) {
+        if (logDirectory != null) {
+            return new Logger(new File(logDirectory, "game-" + seed + ".txt"),
+                    Logger.DEFAULT_CAPACITY, Logger.OverflowPolicy.BLOCK, false);
+        }
+
+        return logging ? Logger.getInstance() : Logger.disabled();
+    }
+
+    /**
+     * Simuliert ein Spiel bis zu seinem Ende.
+     *
+     * @param seed     Startwert des Zufallszahlengenerators des Spiels
+     * @param logger   Logger des Spiels
+     * @param eventLog Ereignisdatei des Spiels ({@code null}, wenn nicht aufgezeichnet wird)
+     * @return Ergebnis des Spiels
+     */
+    private GameResult play(long seed, Logger logger, EventLogWriter eventLog) {
+        List<String> playerNames = new ArrayList<>();
+        List<Boolean> activePlayer = new ArrayList<>();
+        List<PlayerType> types = new ArrayList<>();
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            PlayerType type = playerTypes.get(playerIdx);
+            playerNames.add("player" + playerIdx);
+            activePlayer.add(type != null);
+            types.add(type == null ? PlayerType.AI_NORMAL : type);
+        }
+        int cardSize = (int) activePlayer.stream().filter(active -> active).count()
+                * treasuresPerPlayer;
+
+        HeadlessConnector connector = new HeadlessConnector();
+        long[] turnNanos = new long[16];
+        int turns = 0;
+
+        // Der erste Zug wird bereits bei der Erzeugung des Spiels ausgeführt
+        long start = System.nanoTime();
+        Game game = new Game(connector, playerNames, cardSize, treasuresPerPlayer, types,
+                activePlayer, colCount, rowCount, Runnable::run, aiPool, false,
+                new GameRandom(seed), logger, eventLog);
+
+        boolean progress = true;
+        while (progress && game.getWinner() == -1) {
+            if (connector.pollTurnCompleted()) {
+                if (turns == turnNanos.length) {
+                    turnNanos = Arrays.copyOf(turnNanos, 2 * turnNanos.length);
+                }
+                turnNanos[turns++] = System.nanoTime() - start;
+
+                if (turns >= maxTurns) {
+                    break;
+                }
+            } else {
+                // Der Zug konnte nicht ausgeführt werden (z.B. Fehler in der KI)
+                progress = false;
+            }
+
+            if (progress) {
+                start = System.nanoTime();
+                game.nextTurn();
+            }
+        }
+
+        int winner = game.getWinner();
+        String winnerName = winner == -1 ? null : game.getPlayer(winner).getName();
+
+        return new GameResult(seed, winner, winnerName, Arrays.copyOf(turnNanos, turns));
+    }
+}
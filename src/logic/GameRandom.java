@@ -0,0 +1,145 @@
+package logic;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Zufallszahlengenerator eines Spiels, aus welchem alle zufälligen Entscheidungen (Mischen der
+ * Schatzkarten, Erzeugung des Spielfeldes und Auswahl gleichwertiger KI-Züge) abgeleitet
+ * werden.
+ * <p>
+ * Der Generator arbeitet nach dem SplitMix64-Verfahren (wie {@link java.util.SplittableRandom})
+ * und besteht aus einem einzigen {@code long}. Dieser Zustand kann über {@link #getState()}
+ * gespeichert und über {@link #restore(long, long)} wiederhergestellt werden, sodass ein Spiel
+ * auch aus einem Spielstand heraus identisch fortgesetzt werden kann. Über {@link #split()}
+ * werden unabhängige Generatoren für die Berechnungen auf anderen Threads abgeleitet.
+ * <p>
+ * Da {@link Random} erweitert wird, kann der Generator überall genutzt werden, wo ein
+ * {@link Random} erwartet wird (z.B. {@link java.util.Collections#shuffle(java.util.List,
+ * Random)}). Im Gegensatz zu {@link Random} ist er nicht threadsicher.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameRandom extends Random {
+
+    /**
+     * Versionsnummer der Serialisierung.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Schrittweite des Zustandes je erzeugter Zahl.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Startwert, mit welchem der Generator erzeugt wurde.
+     */
+    private long seed;
+
+    /**
+     * Aktueller Zustand.
+     */
+    private long state;
+
+    /**
+     * Konstruktor mit einem zufälligen Startwert.
+     */
+    public GameRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param seed Startwert
+     */
+    public GameRandom(long seed) {
+        super(seed);
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    /**
+     * Liefert den Startwert, mit welchem der Generator erzeugt wurde.
+     *
+     * @return Startwert
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Liefert den aktuellen Zustand des Generators.
+     *
+     * @return Zustand
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Stellt einen zuvor über {@link #getSeed()} und {@link #getState()} festgehaltenen
+     * Generator wieder her.
+     *
+     * @param seed  Startwert
+     * @param state Zustand
+     */
+    public void restore(long seed, long state) {
+        this.seed = seed;
+        this.state = state;
+    }
+
+    /**
+     * Leitet einen neuen, unabhängigen Generator ab. Der Zustand dieses Generators schreitet
+     * dabei um genau einen Schritt voran.
+     *
+     * @return Neuer Generator
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    /**
+     * Liefert eine Kopie dieses Generators, welche dieselben Zahlen erzeugt, ohne diesen
+     * Generator voranzuschreiten.
+     *
+     * @return Kopie des Generators
+     */
+    public GameRandom copy() {
+        GameRandom copy = new GameRandom(seed);
+        copy.state = state;
+
+        return copy;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // Wird bereits vom Konstruktor von Random aufgerufen
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+}
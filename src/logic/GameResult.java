@@ -0,0 +1,143 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Ergebnis eines von der {@link GameEngine} simulierten Spiels: Gewinner, Anzahl der Züge und
+ * die Dauer jedes Zuges.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameResult {
+
+    /**
+     * Startwert des Zufallszahlengenerators des Spiels.
+     */
+    private final long seed;
+
+    /**
+     * Index des Gewinners (-1, wenn das Spiel abgebrochen wurde).
+     */
+    private final int winner;
+
+    /**
+     * Name des Gewinners ({@code null}, wenn das Spiel abgebrochen wurde).
+     */
+    private final String winnerName;
+
+    /**
+     * Dauer jedes Zuges in Nanosekunden.
+     */
+    private final long[] turnNanos;
+
+    /**
+     * Konstruktor.
+     *
+     * @param seed       Startwert des Zufallszahlengenerators des Spiels
+     * @param winner     Index des Gewinners (-1, wenn das Spiel abgebrochen wurde)
+     * @param winnerName Name des Gewinners
+     * @param turnNanos  Dauer jedes Zuges in Nanosekunden
+     */
+    GameResult(long seed, int winner, String winnerName, long[] turnNanos) {
+        this.seed = seed;
+        this.winner = winner;
+        this.winnerName = winnerName;
+        this.turnNanos = turnNanos;
+    }
+
+    /**
+     * Liefert den Startwert, mit welchem das Spiel wiederholt werden kann.
+     *
+     * @return Startwert des Zufallszahlengenerators
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Liefert den Index des Gewinners.
+     *
+     * @return Index des Gewinners oder -1, wenn das Spiel abgebrochen wurde
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Liefert den Namen des Gewinners.
+     *
+     * @return Name des Gewinners oder {@code null}, wenn das Spiel abgebrochen wurde
+     */
+    public String getWinnerName() {
+        return winnerName;
+    }
+
+    /**
+     * Gibt an, ob das Spiel ohne Gewinner abgebrochen wurde.
+     *
+     * @return True, wenn kein Spieler gewonnen hat
+     */
+    public boolean isAborted() {
+        return winner == -1;
+    }
+
+    /**
+     * Liefert die Anzahl der ausgeführten Züge aller Spieler.
+     *
+     * @return Anzahl der Züge
+     */
+    public int getTurns() {
+        return turnNanos.length;
+    }
+
+    /**
+     * Liefert die Dauer des übergebenen Zuges.
+     *
+     * @param turn Index des Zuges
+     * @return Dauer des Zuges in Nanosekunden
+     */
+    public long getTurnNanos(int turn) {
+        return turnNanos[turn];
+    }
+
+    /**
+     * Liefert die Gesamtdauer aller Züge.
+     *
+     * @return Gesamtdauer in Nanosekunden
+     */
+    public long getTotalNanos() {
+        return Arrays.stream(turnNanos).sum();
+    }
+
+    /**
+     * Liefert die maximale Dauer eines Zuges.
+     *
+     * @return Maximale Dauer in Nanosekunden (0, wenn kein Zug ausgeführt wurde)
+     */
+    public long getMaxTurnNanos() {
+        return Arrays.stream(turnNanos).max().orElse(0);
+    }
+
+    /**
+     * Liefert die durchschnittliche Dauer eines Zuges.
+     *
+     * @return Durchschnittliche Dauer in Nanosekunden (0, wenn kein Zug ausgeführt wurde)
+     */
+    public double getAverageTurnNanos() {
+        return Arrays.stream(turnNanos).average().orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult{" +
+                "seed=" + seed +
+                ", winner=" + winner +
+                ", turns=" + getTurns() +
+                ", totalNanos=" + getTotalNanos() +
+                '}';
+    }
+}
@@ -0,0 +1,134 @@
+package logic;
+
+import logic.path.PathNode;
+import logic.player.AIMove;
+import logic.player.Player;
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+import logic.tile.TileRotation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Implementierung des {@link GUIConnector} ohne Oberfläche, genutzt von der {@link GameEngine}
+ * zur Simulation von Spielen.
+ * <p>
+ * Alle Aktualisierungen der Oberfläche werden ignoriert. Statt nach den Animationen eines Zuges
+ * selbst {@link Game#nextTurn()} aufzurufen, wird lediglich festgehalten, dass ein Zug
+ * abgeschlossen ist, sodass der nächste Zug von der aufrufenden Schleife gestartet wird und der
+ * Aufrufstapel nicht mit jedem Zug wächst.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class HeadlessConnector implements GUIConnector {
+
+    /**
+     * Gibt an, ob seit der letzten Abfrage ein Zug abgeschlossen wurde.
+     */
+    private boolean turnCompleted;
+
+    /**
+     * Liefert, ob seit dem letzten Aufruf ein Zug abgeschlossen wurde, und setzt diese
+     * Information zurück.
+     *
+     * @return True, wenn ein Zug abgeschlossen wurde, ansonsten false
+     */
+    public boolean pollTurnCompleted() {
+        boolean completed = turnCompleted;
+        turnCompleted = false;
+
+        return completed;
+    }
+
+    @Override
+    public void aiMove(Shift shift, AIMove aiMove, int playerIdx, Treasure collected,
+                       Treasure nextTreasure, List<Position> path, Game game) {
+        turnCompleted = true;
+    }
+
+    @Override
+    public void movePlayer(int player, List<Position> positions, Treasure collected,
+                           Treasure nextTreasure, Game game) {
+        turnCompleted = true;
+    }
+
+    @Override
+    public void runLater(Runnable action) {
+        action.run();
+    }
+
+    @Override
+    public void createTreasureImg() {
+    }
+
+    @Override
+    public void resetPlayerInfo() {
+    }
+
+    @Override
+    public void createPlayer(int playerIdx, Player player) {
+    }
+
+    @Override
+    public void initializeField(Tile[][] board, Map<Position, Direction> insetPositions,
+                                FreeWayCard freeWayCard) {
+    }
+
+    @Override
+    public void displayInsetArrow(int col, int row, Direction direction) {
+    }
+
+    @Override
+    public void animateHumanShift(Shift shift, PathNode[][] possiblePositions) {
+    }
+
+    @Override
+    public void highlightTreasureToFind(Position posToHighlight, int playerIdx) {
+    }
+
+    @Override
+    public void nextPlayer(int playerIdxBefore, int playerIdx) {
+    }
+
+    @Override
+    public void showPlayerWinHint(int playerIdx) {
+    }
+
+    @Override
+    public void loadField(Tile[][] board, Map<Position, Direction> insetPositions,
+                          FreeWayCard freeWayCard) {
+    }
+
+    @Override
+    public void setPossiblePos(PathNode[][] nodes) {
+    }
+
+    @Override
+    public void rotateFreeWayCard(TileRotation rotation, RotateDirection rotDir) {
+    }
+
+    @Override
+    public void setFreeWayCard(Tile tile) {
+    }
+
+    @Override
+    public void showAlert(String message) {
+    }
+
+    @Override
+    public void showErrorAlert(String message) {
+    }
+
+    @Override
+    public void showWinner(String playerName) {
+    }
+
+    @Override
+    public void disableField(boolean value) {
+    }
+}
@@ -2,10 +2,17 @@ package logic;
 
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -16,33 +23,69 @@ import java.util.Queue;
  * gegebenenfalls erzeugt und befindet sich dann am vom Verzeichnis aus, aus welchem das Programm
  * gestartet ist, im <i>./log</i>-Verzeichnis.
  * <p>
- * Ein Logger hat nur eine Instanz gemäß dem <i>Singleton-Pattern</i> und kann innerhalb der Klassen
- * mit <i>getInstance()</i> aufgerufen werden.
+ * Der Logger des Spiels hat nur eine Instanz gemäß dem <i>Singleton-Pattern</i> und kann
+ * innerhalb der Klassen mit <i>getInstance()</i> aufgerufen werden. Für Spiele ohne Oberfläche
+ * können zusätzlich eigene Logger mit einer eigenen Datei erzeugt werden, sodass mehrere Spiele
+ * parallel protokolliert werden können.
+ * <p>
+ * Einträge werden nicht auf dem aufrufenden Thread geschrieben. Die Vorlage und ihre Parameter
+ * werden in einen begrenzten Ringpuffer eingereiht, welcher ohne Sperren von beliebig vielen
+ * Threads befüllt werden kann. Ein einziger Hintergrund-Thread je Logger entnimmt die Einträge,
+ * erzeugt erst dort die Nachrichten und schreibt sie gesammelt über einen dauerhaft geöffneten
+ * {@link FileChannel}. Parameter werden daher erst später formatiert und dürfen nach dem Aufruf
+ * nicht mehr verändert werden. Ist der Ringpuffer voll, wird gemäß der
+ * {@link OverflowPolicy} gewartet oder der Eintrag verworfen.
  *
  * @author svnsrd  [Repo 37]
- * @version 06.08.2021
+ * @version 12.08.2021
  */
 public class Logger {
 
     /**
-     * Instanz des Loggers.
+     * Verhalten, wenn der Ringpuffer voll ist.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Der aufrufende Thread wartet, bis im Ringpuffer wieder Platz ist.
+         */
+        BLOCK,
+        /**
+         * Der Eintrag wird verworfen und {@link #getDroppedCount() gezählt}.
+         */
+        DROP
+    }
+
+    /**
+     * Standardmäßige Anzahl der Einträge des Ringpuffers.
      */
-    private static final Logger logger = new Logger();
+    public static final int DEFAULT_CAPACITY = 1024;
 
     /**
-     * Schreiber des Loggers.
+     * Maximale Wartezeit des Schreib-Threads, bevor er erneut nach Einträgen sieht.
      */
-    private PrintWriter writer;
+    private static final long PARK_NANOS = 10_000_000L;
 
     /**
      * Aktuelles Verzeichnis aus dem dieses Programm heraus gestartet wurde.
      */
-    private final String userDir = System.getProperty("user.dir");
+    private static final String USER_DIR = System.getProperty("user.dir");
 
     /**
-     * Pfad der Datei und Name der Datei.
+     * Instanz des Loggers.
      */
-    private final String logName = userDir + '/' + "log/" + "log.txt";
+    private static final Logger logger = new Logger(
+            new File(USER_DIR + '/' + "log/" + "log.txt"), DEFAULT_CAPACITY,
+            OverflowPolicy.BLOCK, true);
+
+    /**
+     * Logger, welcher keine Einträge schreibt.
+     */
+    private static final Logger DISABLED = new Logger();
+
+    static {
+        // Ausstehende Einträge beim Beenden des Programms noch schreiben
+        Runtime.getRuntime().addShutdownHook(new Thread(logger::flush, "logger-shutdown"));
+    }
 
     /**
      * Vorlagen für die verschiedenen Logging-Einträge.
@@ -50,7 +93,7 @@ public class Logger {
     public static final String PLAYER_CREATION = "player%o is %s, has treasures %s";
     public static final String PLAYER_NOTINVOLVED = "player%o %s is not involved";
     public static final String PLAYER_ONTURN = "player%o is on the turn";
-    public static final String SHIFT = "player%o shifts %s %s with waycard {%s}";
+    public static final String SHIFT = "player%o shifts %s %s with waycard {%s, rot %o, treasure %o}";
     public static final String MOVE = "player%o moves from %s to %s";
     public static final String PLAYER_WON = "player%o has won!";
     public static final String TREASURE_COLLECTED = "player%o collected Treasure %o (%s), next " +
@@ -59,12 +102,114 @@ public class Logger {
             "from %s to %s";
 
     /**
-     * Privater Konstruktor, welcher die <i>./log/log.txt</i> erzeugt.
+     * Datei, in welche die Einträge geschrieben werden ({@code null}, wenn nicht geschrieben
+     * wird).
      */
-    private Logger() {
+    private final File logFile;
+
+    /**
+     * Gibt an, ob die Einträge zusätzlich an die Ausgabe kommuniziert werden.
+     */
+    private final boolean stdout;
+
+    /**
+     * Einträge des Ringpuffers, welche wiederverwendet werden.
+     */
+    private final Entry[] entries;
+
+    /**
+     * Sequenznummern der Einträge. Ein Eintrag an Position {@code pos} ist frei, wenn seine
+     * Sequenznummer {@code pos} ist, und gefüllt, wenn sie {@code pos + 1} ist.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Maske zur Berechnung des Index im Ringpuffer.
+     */
+    private final int mask;
+
+    /**
+     * Nächste zu belegende Position (von den schreibenden Threads belegt).
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Nächste zu schreibende Position (nur vom Schreib-Thread verändert).
+     */
+    private volatile long head;
+
+    /**
+     * Anzahl der verworfenen Einträge.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Verhalten, wenn der Ringpuffer voll ist.
+     */
+    private volatile OverflowPolicy overflowPolicy;
+
+    /**
+     * Hintergrund-Thread, welcher die Einträge schreibt (wird beim ersten Eintrag gestartet).
+     */
+    private volatile Thread writerThread;
+
+    /**
+     * Gibt an, ob der Schreib-Thread auf neue Einträge wartet.
+     */
+    private volatile boolean sleeping;
+
+    /**
+     * Gibt an, ob der Logger geschlossen wurde.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Gibt an, ob Einträge geschrieben werden. Deaktiviert wird der Logger z.B. bei der
+     * Simulation vieler Spiele ohne Oberfläche.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * Konstruktor, welcher einen Logger für eine eigene Datei erzeugt. Das Verzeichnis wird
+     * gegebenenfalls erzeugt und eine bestehende Datei gelöscht.
+     *
+     * @param logFile        Datei, in welche die Einträge geschrieben werden
+     * @param capacity       Anzahl der Einträge des Ringpuffers (wird auf die nächste
+     *                       Zweierpotenz aufgerundet)
+     * @param overflowPolicy Verhalten, wenn der Ringpuffer voll ist
+     * @param stdout         true, wenn die Einträge zusätzlich an die Ausgabe kommuniziert werden
+     */
+    public Logger(File logFile, int capacity, OverflowPolicy overflowPolicy, boolean stdout) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        this.logFile = logFile;
+        this.stdout = stdout;
+        this.overflowPolicy = overflowPolicy;
+        this.enabled = true;
+        this.entries = new Entry[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+
         createLogFile();
     }
 
+    /**
+     * Privater Konstruktor eines Loggers, welcher keine Einträge schreibt.
+     */
+    private Logger() {
+        this.logFile = null;
+        this.stdout = false;
+        this.overflowPolicy = OverflowPolicy.DROP;
+        this.enabled = false;
+        this.entries = new Entry[0];
+        this.sequences = new AtomicLongArray(0);
+        this.mask = 0;
+    }
+
     /**
      * Liefert die einzige Instanz des Loggers.
      *
@@ -74,6 +219,15 @@ public class Logger {
         return logger;
     }
 
+    /**
+     * Liefert einen Logger, welcher keine Einträge schreibt und nicht aktiviert werden kann.
+     *
+     * @return Deaktivierter Logger
+     */
+    public static Logger disabled() {
+        return DISABLED;
+    }
+
     /**
      * Erzeugt eine Nachricht mit einer übergebenen Vorlage mit übergebenen Parametern.
      *
@@ -84,9 +238,51 @@ public class Logger {
      * @param objects Variable Anzahl von Parametern für die String-Vorlage
      */
     public void log(String message, Object... objects) {
-        String generatedMessage = String.format(message, objects);
+        if (enabled) {
+            enqueue(message, true, null, null, null, objects);
+        }
+    }
 
-        logToFileAndStdout(generatedMessage);
+    /**
+     * Erzeugt eine Nachricht mit einer übergebenen Vorlage und einem Parameter, ohne ein Array
+     * für die Parameter anzulegen.
+     *
+     * @param message String-Vorlage
+     * @param a       Parameter der Vorlage
+     */
+    public void log(String message, Object a) {
+        if (enabled) {
+            enqueue(message, true, a, null, null, null);
+        }
+    }
+
+    /**
+     * Erzeugt eine Nachricht mit einer übergebenen Vorlage und zwei Parametern, ohne ein Array
+     * für die Parameter anzulegen.
+     *
+     * @param message String-Vorlage
+     * @param a       Erster Parameter der Vorlage
+     * @param b       Zweiter Parameter der Vorlage
+     */
+    public void log(String message, Object a, Object b) {
+        if (enabled) {
+            enqueue(message, true, a, b, null, null);
+        }
+    }
+
+    /**
+     * Erzeugt eine Nachricht mit einer übergebenen Vorlage und drei Parametern, ohne ein Array
+     * für die Parameter anzulegen.
+     *
+     * @param message String-Vorlage
+     * @param a       Erster Parameter der Vorlage
+     * @param b       Zweiter Parameter der Vorlage
+     * @param c       Dritter Parameter der Vorlage
+     */
+    public void log(String message, Object a, Object b, Object c) {
+        if (enabled) {
+            enqueue(message, true, a, b, c, null);
+        }
     }
 
     /**
@@ -94,7 +290,80 @@ public class Logger {
      * @param message Übergebene Nachricht
      */
     public void log(String message) {
-        logToFileAndStdout(message);
+        if (enabled) {
+            enqueue(message, false, null, null, null, null);
+        }
+    }
+
+    /**
+     * Aktiviert bzw. deaktiviert das Schreiben von Einträgen.
+     *
+     * @param enabled true, wenn Einträge geschrieben werden sollen, ansonsten false
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled && logFile != null;
+    }
+
+    /**
+     * Gibt an, ob Einträge geschrieben werden.
+     *
+     * @return true, wenn Einträge geschrieben werden, ansonsten false
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Setzt das Verhalten, wenn der Ringpuffer voll ist.
+     *
+     * @param overflowPolicy Verhalten bei vollem Ringpuffer
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Liefert die Anzahl der Einträge, welche aufgrund eines vollen Ringpuffers verworfen wurden.
+     *
+     * @return Anzahl der verworfenen Einträge
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Wartet, bis alle bis zu diesem Aufruf eingereihten Einträge geschrieben wurden.
+     */
+    public void flush() {
+        long target = tail.get();
+        while (head < target && isWriterAlive()) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+
+    /**
+     * Schreibt alle ausstehenden Einträge, beendet den Schreib-Thread und schließt die Datei.
+     * Weitere Einträge werden anschließend verworfen.
+     */
+    public void close() {
+        flush();
+
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            enabled = false;
+            thread = writerThread;
+        }
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     /**
@@ -119,42 +388,218 @@ public class Logger {
     }
 
     /**
-     * Loggt die übergebene Nachricht {@code message} in die Datei <i>./log/log.txt</i> und
-     * kommuniziert diesen Eintrag an die Ausgabe.
+     * Reiht einen Eintrag in den Ringpuffer ein und weckt gegebenenfalls den Schreib-Thread.
      *
-     * @param message Übergebene Nachricht
+     * @param message Nachricht bzw. Vorlage
+     * @param format  true, wenn die Nachricht eine Vorlage ist
+     * @param a       Erster Parameter
+     * @param b       Zweiter Parameter
+     * @param c       Dritter Parameter
+     * @param args    Parameter, wenn mehr als drei übergeben wurden, ansonsten {@code null}
+     */
+    private void enqueue(String message, boolean format, Object a, Object b, Object c,
+                         Object[] args) {
+        if (writerThread == null) {
+            startWriter();
+        }
+
+        long pos = tail.get();
+        int idx;
+        while (true) {
+            idx = (int) pos & mask;
+            long diff = sequences.get(idx) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (diff < 0) { /* Ringpuffer voll */
+                if (overflowPolicy == OverflowPolicy.DROP || closed || !isWriterAlive()) {
+                    dropped.increment();
+                    return;
+                }
+                LockSupport.unpark(writerThread);
+                Thread.onSpinWait();
+            }
+            pos = tail.get();
+        }
+
+        Entry entry = entries[idx];
+        entry.message = message;
+        entry.format = format;
+        entry.a = a;
+        entry.b = b;
+        entry.c = c;
+        entry.args = args;
+        sequences.set(idx, pos + 1);
+
+        if (sleeping) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Startet den Schreib-Thread, insofern er noch nicht gestartet wurde.
+     */
+    private synchronized void startWriter() {
+        if (writerThread == null && !closed) {
+            Thread thread = new Thread(this::writeLoop, "logger-" + logFile.getName());
+            thread.setDaemon(true);
+            thread.start();
+            writerThread = thread;
+        }
+    }
+
+    /**
+     * Gibt an, ob der Schreib-Thread läuft.
+     *
+     * @return true, wenn der Schreib-Thread läuft, ansonsten false
      */
-    private void logToFileAndStdout(String message) {
-        createWriter();
-        System.out.println(message);
-        writer.println(message);
-        writer.flush();
-        writer.close();
+    private boolean isWriterAlive() {
+        Thread thread = writerThread;
+        return thread != null && thread.isAlive();
     }
 
     /**
-     * Erzeugt einen {@link PrintWriter} und weist ihm {@code writer} zu.
+     * Schleife des Schreib-Threads. Die Einträge werden gesammelt formatiert und je Durchlauf
+     * mit einem Schreibvorgang in die Datei geschrieben.
      */
-    private void createWriter() {
-        try {
-            FileWriter fileWriter = new FileWriter(logName, true);
-            writer = new PrintWriter(fileWriter, true);
+    private void writeLoop() {
+        final String separator = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+
+        try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+            while (true) {
+                long pos = head;
+                int idx = (int) pos & mask;
+
+                if (sequences.get(idx) == pos + 1) {
+                    // Alle verfügbaren Einträge entnehmen
+                    do {
+                        Entry entry = entries[idx];
+                        sb.append(entry.toMessage()).append(separator);
+                        entry.clear();
+
+                        sequences.set(idx, pos + entries.length);
+                        pos++;
+                        idx = (int) pos & mask;
+                    } while (sequences.get(idx) == pos + 1 && sb.length() < 1 << 16);
+
+                    write(channel, sb);
+                    head = pos;
+                } else if (closed) {
+                    return;
+                } else {
+                    sleeping = true;
+                    if (sequences.get(idx) != pos + 1) {
+                        LockSupport.parkNanos(this, PARK_NANOS);
+                    }
+                    sleeping = false;
+                }
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Hilfsmethode, welche eine <i>log.txt</i> Datei im Verzeichnis <i>./log</i> erzeugt.
+     * Schreibt die gesammelten Nachrichten in die Datei und gegebenenfalls an die Ausgabe.
+     *
+     * @param channel Geöffnete Datei
+     * @param sb      Gesammelte Nachrichten, werden anschließend geleert
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann
+     */
+    private void write(FileChannel channel, StringBuilder sb) throws IOException {
+        String batch = sb.toString();
+        sb.setLength(0);
+
+        if (stdout) {
+            System.out.print(batch);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(batch.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Hilfsmethode, welche das Verzeichnis der Datei erzeugt bzw. eine bestehende Datei löscht.
      */
     private void createLogFile() {
-        File logFolder = new File(userDir + '/' + "log");
+        File logFolder = logFile.getAbsoluteFile().getParentFile();
         if (!logFolder.exists()) {
-            System.out.println("Creating new log directory in " + userDir);
-            logFolder.mkdir();
+            System.out.println("Creating new log directory in " + logFolder.getParent());
+            logFolder.mkdirs();
         } else {
-            File file = new File(logName);
-            file.delete();
+            logFile.delete();
+        }
+    }
+
+    /**
+     * Eintrag des Ringpuffers. Die Nachricht wird erst vom Schreib-Thread erzeugt.
+     */
+    private static final class Entry {
+
+        private String message;
+        private boolean format;
+        private Object a;
+        private Object b;
+        private Object c;
+        private Object[] args;
+
+        /**
+         * Erzeugt die Nachricht des Eintrages. Passen Vorlage und Parameter nicht zusammen, wird
+         * die Vorlage mit den unformatierten Parametern geliefert, damit der Schreib-Thread nicht
+         * beendet wird.
+         *
+         * @return Nachricht
+         */
+        private String toMessage() {
+            try {
+                if (!format) {
+                    return message;
+                } else if (args != null) {
+                    return String.format(message, args);
+                } else {
+                    return String.format(message, a, b, c);
+                }
+            } catch (RuntimeException e) {
+                return "Invalid log entry (" + e + "): " + message + " "
+                        + Arrays.deepToString(rawArgs());
+            }
+        }
+
+        /**
+         * Liefert die Parameter des Eintrages, wobei nicht übergebene Parameter entfallen.
+         *
+         * @return Parameter des Eintrages
+         */
+        private Object[] rawArgs() {
+            if (args != null) {
+                return args;
+            }
+
+            Object[] raw = {a, b, c};
+            int count = raw.length;
+            while (count > 0 && raw[count - 1] == null) {
+                count--;
+            }
+
+            return Arrays.copyOf(raw, count);
+        }
+
+        /**
+         * Gibt die Referenzen des Eintrages frei.
+         */
+        private void clear() {
+            message = null;
+            a = null;
+            b = null;
+            c = null;
+            args = null;
         }
     }
 }
@@ -45,6 +45,13 @@ public enum Message {
     CANNOT_INTERACT("Den Spielstand können sie nur speichern, wenn sie dran sind und noch" +
             "nicht eingeschoben haben."),
 
+    /**
+     * Nachricht, welche dem Benutzer bei einer fehlgeschlagenen Berechnung eines KI-Zuges
+     * präsentiert wird.
+     */
+    AI_MOVE_FAILED("Der KI-Zug konnte nicht berechnet werden (%s). Es wird ein Ersatzzug" +
+            " ausgeführt."),
+
     /**
      * Gewinner-Nachricht.
      */
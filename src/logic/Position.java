@@ -11,6 +11,31 @@ package logic;
  */
 public class Position {
 
+    /**
+     * Kleinste Koordinate, für die Positionen vorgehalten werden (-1 für die Position der
+     * freien Gängekarte außerhalb des Spielfeldes).
+     */
+    private static final int CACHE_MIN = -2;
+
+    /**
+     * Anzahl der Koordinaten je Achse, für die Positionen vorgehalten werden. Abgedeckt sind
+     * damit Spielfelder bis zu einer Größe von 60x60 inklusive Umrandung.
+     */
+    private static final int CACHE_SIZE = 64;
+
+    /**
+     * Vorgehaltene Positionen, indiziert über {@code (x - CACHE_MIN) * CACHE_SIZE + y - CACHE_MIN}.
+     */
+    private static final Position[] CACHE = new Position[CACHE_SIZE * CACHE_SIZE];
+
+    static {
+        for (int x = 0; x < CACHE_SIZE; x++) {
+            for (int y = 0; y < CACHE_SIZE; y++) {
+                CACHE[x * CACHE_SIZE + y] = new Position(x + CACHE_MIN, y + CACHE_MIN);
+            }
+        }
+    }
+
     /**
      * x-Koordinate einer Position auf dem Spielfeld
      */
@@ -32,6 +57,26 @@ public class Position {
         this.y = y;
     }
 
+    /**
+     * Liefert die Position mit den übergebenen Koordinaten. Da Positionen unveränderlich sind,
+     * werden für die Koordinaten üblicher Spielfelder vorgehaltene Instanzen geliefert, sodass
+     * keine neuen Objekte erzeugt werden.
+     *
+     * @param x x-Koordinate einer Position
+     * @param y y-Koordinate einer Position
+     * @return Position mit den übergebenen Koordinaten
+     */
+    public static Position of(int x, int y) {
+        int cacheX = x - CACHE_MIN;
+        int cacheY = y - CACHE_MIN;
+
+        if (cacheX >= 0 && cacheX < CACHE_SIZE && cacheY >= 0 && cacheY < CACHE_SIZE) {
+            return CACHE[cacheX * CACHE_SIZE + cacheY];
+        }
+
+        return new Position(x, y);
+    }
+
     /**
      * Addiert die x- und y-Koordinate dieser Position mit den der übergebenen Position
      * und liefert dahingehend eine neue Position.
@@ -43,7 +88,7 @@ public class Position {
         int x = this.getX() + otherPos.getX();
         int y = this.getY() + otherPos.getY();
 
-        return new Position(x, y);
+        return Position.of(x, y);
     }
 
     /**
@@ -72,7 +117,7 @@ public class Position {
      * @return Position im gesamten Spielfeld
      */
     public Position getGlobalPos() {
-        return new Position(this.x + 1, this.y + 1);
+        return Position.of(this.x + 1, this.y + 1);
     }
 
     /**
@@ -81,7 +126,7 @@ public class Position {
      * @return Position im Spielfeld ohne Umrandung
      */
     public Position getLogicalPos() {
-        return new Position(this.x - 1, this.y - 1);
+        return Position.of(this.x - 1, this.y - 1);
     }
 
     /**
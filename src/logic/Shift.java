@@ -114,6 +114,22 @@ public class Shift {
         }
     }
 
+    /**
+     * Konstruktor zur Erzeugung einer Einschuboperation aus einem vorberechneten Einschub. Die
+     * betroffenen Positionen werden dabei nicht neu erzeugt, sondern vom Einschub übernommen.
+     *
+     * @param entry       Vorberechneter Einschub der Einschubposition
+     * @param freeWayCard Freie Gängekarte mit der eingeschoben wird
+     */
+    public Shift(ShiftTable.Entry entry, FreeWayCard freeWayCard) {
+        this.pushDir = entry.getPushDir();
+        this.insetPos = entry.getInsetPos();
+        this.freeWayCard = freeWayCard;
+        this.affectedPositions = entry.getAffectedPositions();
+        this.updatedPlayerPos = null;
+        this.affectedPlayer = null;
+    }
+
     /**
      * Führt den Einschubvorgang aus.
      * <p>
@@ -130,9 +146,6 @@ public class Shift {
      * @return Die neue freie Gängekarte
      */
     public <T> T executeShift(T[][] board) {
-        Position adjustPos = new Position(0, 0);
-        Position startPos = affectedPositions[0];
-        Position lastPos = getLastAffectedPosition();
         int affectedTilesSize = affectedPositions.length;
 
         // Sollte ein Spielfeld verwendet werden, das eine unterschiedliche Anzahl von Zeilen
@@ -145,21 +158,19 @@ public class Shift {
         }
 
         // Positionen müssen angepasst werden, wenn das logische Feld verarbeitet wird
-        if (lineLength == affectedTilesSize) {
-            adjustPos = adjustPos.getLogicalPos();
-            startPos = startPos.addPos(adjustPos);
-            lastPos = lastPos.addPos(adjustPos);
-        }
+        int adjust = lineLength == affectedTilesSize ? -1 : 0;
 
-        T newFreeWayCard = board[lastPos.getX()][lastPos.getY()];
+        Position lastPos = getLastAffectedPosition();
+        T newFreeWayCard = board[lastPos.getX() + adjust][lastPos.getY() + adjust];
         for (int i = affectedTilesSize - 1; i > 0; i--) {
-            Position pos = affectedPositions[i].addPos(adjustPos);
-            Position nextPos = affectedPositions[i - 1].addPos(adjustPos);
-            board[pos.getX()][pos.getY()] = board[nextPos.getX()][nextPos.getY()];
+            Position pos = affectedPositions[i];
+            Position nextPos = affectedPositions[i - 1];
+            board[pos.getX() + adjust][pos.getY() + adjust]
+                    = board[nextPos.getX() + adjust][nextPos.getY() + adjust];
         }
 
-
-        board[startPos.getX()][startPos.getY()] = newFreeWayCard;
+        Position startPos = affectedPositions[0];
+        board[startPos.getX() + adjust][startPos.getY() + adjust] = newFreeWayCard;
 
         return newFreeWayCard;
     }
@@ -209,8 +220,12 @@ public class Shift {
      * @return True, wenn die Position betroffen ist, ansonsten false
      */
     public boolean isPositionAffected(Position pos) {
+        // Betroffene Positionen liegen im Spielfeld inklusive Umrandung
+        int globalX = pos.getX() + 1;
+        int globalY = pos.getY() + 1;
+
         for (Position currPos : affectedPositions) {
-            if (currPos.getLogicalPos().equals(pos)) {
+            if (currPos.getX() == globalX && currPos.getY() == globalY) {
                 return true;
             }
         }
@@ -0,0 +1,268 @@
+package logic;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse enthält für eine Spielfeld-Geometrie (Größe und Einschubpositionen) je
+ * Einschubposition die unveränderlichen Informationen der dortigen Einschuboperation: Richtung,
+ * betroffene Positionen bzw. Zellindizes, die herausgeschobene Gängekarte und die
+ * gegenüberliegende Einschubposition.
+ * <p>
+ * Da die möglichen Einschübe eines Spielfeldes feststehen, wird die Tabelle je Geometrie nur
+ * einmal erzeugt und von {@link Shift}, {@link Game} und der KI wiederverwendet, statt die
+ * betroffenen Positionen bei jedem Einschub neu abzulaufen.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public final class ShiftTable {
+
+    /**
+     * Bereits erzeugte Tabellen je Geometrie.
+     */
+    private static final Map<Geometry, ShiftTable> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * Einschübe je Einschubposition (inklusive Umrandung).
+     */
+    private final Map<Position, Entry> entries;
+
+    /**
+     * Konstruktor.
+     *
+     * @param colCount       Anzahl der Spalten (ohne Umrandung)
+     * @param rowCount       Anzahl der Reihen (ohne Umrandung)
+     * @param insetPositions Einschubpositionen mit ihren Einschubrichtungen
+     */
+    private ShiftTable(int colCount, int rowCount, Map<Position, Direction> insetPositions) {
+        Map<Position, Entry> entries = new HashMap<>();
+
+        for (Map.Entry<Position, Direction> inset : insetPositions.entrySet()) {
+            Position insetPos = inset.getKey();
+            Direction pushDir = inset.getValue();
+            int affectedCount = pushDir == Direction.RIGHT || pushDir == Direction.LEFT
+                    ? colCount : rowCount;
+
+            Position[] affectedPositions = new Position[affectedCount];
+            int[] affectedCells = new int[affectedCount];
+            Position currPos = insetPos;
+            for (int i = 0; i < affectedCount; i++) {
+                currPos = currPos.addPos(pushDir.getDirPos());
+                affectedPositions[i] = currPos;
+                affectedCells[i] = (currPos.getX() - 1) * rowCount + currPos.getY() - 1;
+            }
+
+            entries.put(insetPos, new Entry(insetPos, pushDir, affectedPositions, affectedCells,
+                    currPos.addPos(pushDir.getDirPos())));
+        }
+
+        // Gegenüberliegende Einschübe verknüpfen
+        for (Entry entry : entries.values()) {
+            entry.opposite = entries.get(entry.oppositeInsetPos);
+        }
+
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Liefert die Tabelle für die übergebene Geometrie.
+     *
+     * @param colCount       Anzahl der Spalten (ohne Umrandung)
+     * @param rowCount       Anzahl der Reihen (ohne Umrandung)
+     * @param insetPositions Einschubpositionen mit ihren Einschubrichtungen
+     * @return Tabelle der Einschübe
+     */
+    public static ShiftTable forGeometry(int colCount, int rowCount,
+                                         Map<Position, Direction> insetPositions) {
+        return INSTANCES.computeIfAbsent(new Geometry(colCount, rowCount, insetPositions),
+                geometry -> new ShiftTable(colCount, rowCount, geometry.insetPositions));
+    }
+
+    /**
+     * Liefert den Einschub an der übergebenen Einschubposition.
+     *
+     * @param insetPos Einschubposition (inklusive Umrandung)
+     * @return Einschub oder {@code null}, wenn an der Position nicht eingeschoben werden kann
+     */
+    public Entry get(Position insetPos) {
+        return entries.get(insetPos);
+    }
+
+    /**
+     * Liefert die Anzahl der Einschubpositionen.
+     *
+     * @return Anzahl der Einschubpositionen
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Unveränderliche Informationen des Einschubes an einer Einschubposition.
+     */
+    public static final class Entry {
+
+        /**
+         * Einschubposition (inklusive Umrandung).
+         */
+        private final Position insetPos;
+
+        /**
+         * Richtung des Einschubes.
+         */
+        private final Direction pushDir;
+
+        /**
+         * Betroffene Positionen (inklusive Umrandung), beginnend bei der Einschubposition.
+         */
+        private final Position[] affectedPositions;
+
+        /**
+         * Zellindizes ({@code col * rowCount + row}, ohne Umrandung) der betroffenen Positionen.
+         */
+        private final int[] affectedCells;
+
+        /**
+         * Position (inklusive Umrandung), an welche die herausgeschobene Gängekarte gelangt.
+         */
+        private final Position oppositeInsetPos;
+
+        /**
+         * Einschub an der gegenüberliegenden Einschubposition ({@code null}, wenn dort nicht
+         * eingeschoben werden kann).
+         */
+        private Entry opposite;
+
+        /**
+         * Konstruktor.
+         *
+         * @param insetPos          Einschubposition
+         * @param pushDir           Richtung des Einschubes
+         * @param affectedPositions Betroffene Positionen
+         * @param affectedCells     Zellindizes der betroffenen Positionen
+         * @param oppositeInsetPos  Gegenüberliegende Position
+         */
+        private Entry(Position insetPos, Direction pushDir, Position[] affectedPositions,
+                      int[] affectedCells, Position oppositeInsetPos) {
+            this.insetPos = insetPos;
+            this.pushDir = pushDir;
+            this.affectedPositions = affectedPositions;
+            this.affectedCells = affectedCells;
+            this.oppositeInsetPos = oppositeInsetPos;
+        }
+
+        /**
+         * Liefert die Einschubposition.
+         *
+         * @return Einschubposition (inklusive Umrandung)
+         */
+        public Position getInsetPos() {
+            return insetPos;
+        }
+
+        /**
+         * Liefert die Richtung des Einschubes.
+         *
+         * @return Richtung des Einschubes
+         */
+        public Direction getPushDir() {
+            return pushDir;
+        }
+
+        /**
+         * Liefert die betroffenen Positionen. Das Array wird von allen Einschüben an dieser
+         * Position geteilt und darf nicht verändert werden.
+         *
+         * @return Betroffene Positionen (inklusive Umrandung)
+         */
+        Position[] getAffectedPositions() {
+            return affectedPositions;
+        }
+
+        /**
+         * Liefert die Anzahl der betroffenen Gängekarten.
+         *
+         * @return Anzahl der betroffenen Gängekarten
+         */
+        public int getAffectedCount() {
+            return affectedCells.length;
+        }
+
+        /**
+         * Liefert den Zellindex der betroffenen Gängekarte mit dem übergebenen Index.
+         *
+         * @param idx Index der betroffenen Gängekarte (0 = eingeschobene Gängekarte)
+         * @return Zellindex ({@code col * rowCount + row}, ohne Umrandung)
+         */
+        public int getAffectedCell(int idx) {
+            return affectedCells[idx];
+        }
+
+        /**
+         * Liefert den Zellindex der Gängekarte, welche herausgeschoben wird.
+         *
+         * @return Zellindex ({@code col * rowCount + row}, ohne Umrandung)
+         */
+        public int getExitCell() {
+            return affectedCells[affectedCells.length - 1];
+        }
+
+        /**
+         * Liefert die gegenüberliegende Position, an welche die herausgeschobene Gängekarte
+         * als neue freie Gängekarte gelangt.
+         *
+         * @return Gegenüberliegende Position (inklusive Umrandung)
+         */
+        public Position getOppositeInsetPos() {
+            return oppositeInsetPos;
+        }
+
+        /**
+         * Liefert den Einschub an der gegenüberliegenden Einschubposition.
+         *
+         * @return Gegenüberliegender Einschub oder {@code null}, wenn dort nicht eingeschoben
+         * werden kann
+         */
+        public Entry getOpposite() {
+            return opposite;
+        }
+    }
+
+    /**
+     * Schlüssel einer Spielfeld-Geometrie.
+     */
+    private static final class Geometry {
+
+        private final int colCount;
+        private final int rowCount;
+        private final Map<Position, Direction> insetPositions;
+
+        private Geometry(int colCount, int rowCount, Map<Position, Direction> insetPositions) {
+            this.colCount = colCount;
+            this.rowCount = rowCount;
+            this.insetPositions = new HashMap<>(insetPositions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Geometry)) {
+                return false;
+            }
+            Geometry geometry = (Geometry) o;
+            return colCount == geometry.colCount && rowCount == geometry.rowCount
+                    && insetPositions.equals(geometry.insetPositions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(colCount, rowCount, insetPositions);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package logic;
+
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse enthält alle Informationen, um einen über {@link Field#applyShift(Shift)}
+ * ausgeführten Einschiebevorgang mit {@link Field#undoShift(ShiftUndo)} wieder rückgängig zu
+ * machen.
+ * <p>
+ * Einschiebevorgänge müssen in umgekehrter Reihenfolge rückgängig gemacht werden.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 11.08.2021
+ */
+public class ShiftUndo {
+
+    /**
+     * Ausgeführte Einschuboperation.
+     */
+    private final Shift shift;
+
+    /**
+     * Die durch den Einschub herausgeschobene Gängekarte.
+     */
+    private final Tile displacedTile;
+
+    /**
+     * Freie Gängekarte vor dem Einschub.
+     */
+    private final FreeWayCard oldFreeWayCard;
+
+    /**
+     * Konstruktor.
+     *
+     * @param shift          Ausgeführte Einschuboperation
+     * @param displacedTile  Herausgeschobene Gängekarte
+     * @param oldFreeWayCard Freie Gängekarte vor dem Einschub
+     */
+    ShiftUndo(Shift shift, Tile displacedTile, FreeWayCard oldFreeWayCard) {
+        this.shift = shift;
+        this.displacedTile = displacedTile;
+        this.oldFreeWayCard = oldFreeWayCard;
+    }
+
+    /**
+     * Liefert die ausgeführte Einschuboperation.
+     *
+     * @return Ausgeführte Einschuboperation
+     */
+    public Shift getShift() {
+        return shift;
+    }
+
+    /**
+     * Liefert die durch den Einschub herausgeschobene Gängekarte.
+     *
+     * @return Herausgeschobene Gängekarte
+     */
+    Tile getDisplacedTile() {
+        return displacedTile;
+    }
+
+    /**
+     * Liefert die freie Gängekarte vor dem Einschub.
+     *
+     * @return Freie Gängekarte vor dem Einschub
+     */
+    FreeWayCard getOldFreeWayCard() {
+        return oldFreeWayCard;
+    }
+}
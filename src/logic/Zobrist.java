@@ -0,0 +1,238 @@
+package logic;
+
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+import logic.tile.TileRotation;
+import logic.tile.TileShape;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse enthält die Zufallsschlüssel des <i>Zobrist-Hashings</i> für Spielfelder einer
+ * bestimmten Größe.
+ * <p>
+ * Der Hash eines Spielzustandes ist die XOR-Verknüpfung der Schlüssel aller Bestandteile: Form
+ * und Rotation sowie Schatz jeder Gängekarte, die freie Gängekarte mit ihrer Position und die
+ * Positionen der Spieler. Ändert sich ein Bestandteil, wird sein alter Schlüssel heraus- und
+ * der neue hineinverknüpft, sodass der Hash in Abhängigkeit der Anzahl der geänderten
+ * Gängekarten aktualisiert werden kann.
+ * <p>
+ * Die Schlüssel werden mit einem festen Startwert erzeugt und sind damit über Programmläufe
+ * hinweg gleich.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class Zobrist {
+
+    /**
+     * Startwert des Zufallszahlengenerators.
+     */
+    private static final long SEED = 0x4C616279726E7468L;
+
+    /**
+     * Anzahl der Rotationen.
+     */
+    private static final int ROTATIONS = TileRotation.values().length;
+
+    /**
+     * Anzahl der Kombinationen aus Form und Rotation.
+     */
+    private static final int SHAPE_ROTATIONS = TileShape.values().length * ROTATIONS;
+
+    /**
+     * Anzahl der Schätze.
+     */
+    private static final int TREASURES = Treasure.values().length;
+
+    /**
+     * Bereits erzeugte Schlüssel je Spielfeldgröße.
+     */
+    private static final Map<Long, Zobrist> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * Anzahl der Reihen des Spielfeldes.
+     */
+    private final int rowCount;
+
+    /**
+     * Anzahl der Spalten und Reihen der möglichen Positionen der freien Gängekarte (Spielfeld mit
+     * Umrandung sowie die Koordinate -1).
+     */
+    private final int freeWayCardPosCols;
+    private final int freeWayCardPosRows;
+
+    /**
+     * Schlüssel je Gängekarte und Kombination aus Form und Rotation.
+     */
+    private final long[] tileKeys;
+
+    /**
+     * Schlüssel je Gängekarte und Schatz.
+     */
+    private final long[] treasureKeys;
+
+    /**
+     * Schlüssel der freien Gängekarte je Kombination aus Form und Rotation.
+     */
+    private final long[] freeWayCardKeys;
+
+    /**
+     * Schlüssel der freien Gängekarte je Schatz.
+     */
+    private final long[] freeWayCardTreasureKeys;
+
+    /**
+     * Schlüssel der freien Gängekarte je Position.
+     */
+    private final long[] freeWayCardPosKeys;
+
+    /**
+     * Schlüssel je Spieler und Gängekarte.
+     */
+    private final long[] playerKeys;
+
+    /**
+     * Konstruktor.
+     *
+     * @param colCount Anzahl der Spalten des Spielfeldes
+     * @param rowCount Anzahl der Reihen des Spielfeldes
+     */
+    private Zobrist(int colCount, int rowCount) {
+        final int cellCount = colCount * rowCount;
+        final SplittableRandom rnd = new SplittableRandom(SEED);
+
+        this.rowCount = rowCount;
+        this.freeWayCardPosCols = colCount + 3;
+        this.freeWayCardPosRows = rowCount + 3;
+
+        this.tileKeys = rnd.longs(cellCount * SHAPE_ROTATIONS).toArray();
+        this.treasureKeys = rnd.longs(cellCount * TREASURES).toArray();
+        this.freeWayCardKeys = rnd.longs(SHAPE_ROTATIONS).toArray();
+        this.freeWayCardTreasureKeys = rnd.longs(TREASURES).toArray();
+        this.freeWayCardPosKeys = rnd.longs(freeWayCardPosCols * freeWayCardPosRows).toArray();
+        this.playerKeys = rnd.longs(Game.MAX_PLAYERS * cellCount).toArray();
+    }
+
+    /**
+     * Liefert die Schlüssel für Spielfelder der übergebenen Größe.
+     *
+     * @param colCount Anzahl der Spalten des Spielfeldes
+     * @param rowCount Anzahl der Reihen des Spielfeldes
+     * @return Schlüssel für Spielfelder dieser Größe
+     */
+    public static Zobrist forSize(int colCount, int rowCount) {
+        return INSTANCES.computeIfAbsent(((long) colCount << Integer.SIZE) | rowCount,
+                k -> new Zobrist(colCount, rowCount));
+    }
+
+    /**
+     * Liefert den Schlüssel der übergebenen Gängekarte an der übergebenen Position.
+     *
+     * @param col  Spalte (ohne Umrandung)
+     * @param row  Reihe (ohne Umrandung)
+     * @param tile Gängekarte
+     * @return Schlüssel der Gängekarte
+     */
+    public long tileKey(int col, int row, Tile tile) {
+        int cell = col * rowCount + row;
+
+        return tileKeys[cell * SHAPE_ROTATIONS + shapeRotation(tile)]
+                ^ treasureKeys[cell * TREASURES + treasure(tile)];
+    }
+
+    /**
+     * Liefert den Schlüssel der freien Gängekarte inklusive ihrer Position.
+     *
+     * @param freeWayCard Freie Gängekarte
+     * @return Schlüssel der freien Gängekarte
+     */
+    public long freeWayCardKey(FreeWayCard freeWayCard) {
+        long key = freeWayCardKeys[shapeRotation(freeWayCard)]
+                ^ freeWayCardTreasureKeys[treasure(freeWayCard)];
+
+        // Globale Position inklusive der Position (-1, -1) vor dem ersten Einschub
+        Position pos = freeWayCard.getPosition();
+        if (pos != null) {
+            int x = pos.getX() + 1;
+            int y = pos.getY() + 1;
+            if (x >= 0 && x < freeWayCardPosCols && y >= 0 && y < freeWayCardPosRows) {
+                key ^= freeWayCardPosKeys[x * freeWayCardPosRows + y];
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Liefert den Anteil der Rotation am Schlüssel der freien Gängekarte, d.h. die Differenz zum
+     * Schlüssel derselben Gängekarte ohne Rotation.
+     *
+     * @param freeWayCard Freie Gängekarte
+     * @return Schlüssel der Rotation der freien Gängekarte
+     */
+    public long freeWayCardRotationKey(FreeWayCard freeWayCard) {
+        int shapeRotation = shapeRotation(freeWayCard);
+
+        return freeWayCardKeys[shapeRotation]
+                ^ freeWayCardKeys[shapeRotation - freeWayCard.getRotated().ordinal()];
+    }
+
+    /**
+     * Liefert den Schlüssel des übergebenen Spielers auf der übergebenen Position.
+     *
+     * @param playerIdx Index des Spielers
+     * @param pos       Position des Spielers (ohne Umrandung)
+     * @return Schlüssel der Spielerposition
+     */
+    public long playerKey(int playerIdx, Position pos) {
+        int cellCount = playerKeys.length / Game.MAX_PLAYERS;
+
+        return playerKeys[playerIdx * cellCount + pos.getX() * rowCount + pos.getY()];
+    }
+
+    /**
+     * Berechnet den Hash des übergebenen Spielfeldes und der freien Gängekarte vollständig.
+     *
+     * @param board       Das Spielfeld (ohne Umrandung)
+     * @param freeWayCard Freie Gängekarte
+     * @return Hash des Spielfeldes
+     */
+    public long hash(Tile[][] board, FreeWayCard freeWayCard) {
+        long hash = freeWayCard == null ? 0 : freeWayCardKey(freeWayCard);
+
+        for (int col = 0; col < board.length; col++) {
+            for (int row = 0; row < board[col].length; row++) {
+                hash ^= tileKey(col, row, board[col][row]);
+            }
+        }
+
+        return hash;
+    }
+
+    /**
+     * Liefert den Index der Kombination aus Form und Rotation der Gängekarte.
+     *
+     * @param tile Gängekarte
+     * @return Index der Kombination aus Form und Rotation
+     */
+    private static int shapeRotation(Tile tile) {
+        return tile.getType().ordinal() * ROTATIONS + tile.getRotated().ordinal();
+    }
+
+    /**
+     * Liefert den Ordinal-Wert des Schatzes der Gängekarte ({@code EMPTY}, wenn keiner gesetzt
+     * ist).
+     *
+     * @param tile Gängekarte
+     * @return Ordinal-Wert des Schatzes
+     */
+    private static int treasure(Tile tile) {
+        return tile.getTreasure() == null ? 0 : tile.getTreasure().ordinal();
+    }
+}
@@ -0,0 +1,301 @@
+package logic.data;
+
+import logic.Message;
+import logic.Position;
+import logic.Treasure;
+import logic.player.Player;
+import logic.player.PlayerType;
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+import logic.tile.TileRotation;
+import logic.tile.TileShape;
+import logic.tile.TileState;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.Queue;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse enthält Methoden zum Lesen und Schreiben des binären Spielstandformates. Ein
+ * Spielstand eines 7x7-Spielfeldes benötigt damit etwa 200 Byte statt mehrerer Kilobyte im
+ * JSON-Format, welches als Austauschformat erhalten bleibt.
+ * <p>
+ * Aufbau (Big Endian):
+ * <ul>
+ *     <li>Kennung {@link #MAGIC} (4 Byte) und Version (1 Byte)</li>
+ *     <li>Anzahl der Spalten und Reihen (je 1 Byte)</li>
+ *     <li>Gängekarten spaltenweise, je 2 Byte (siehe {@link #packTile(Tile)})</li>
+ *     <li>Freie Gängekarte (2 Byte), gefolgt von einer Markierung und ggf. ihrer Position</li>
+ *     <li>Aktueller Spieler (1 Byte)</li>
+ *     <li>Markierung und ggf. Startwert und Zustand des Zufallszahlengenerators (je 8 Byte)</li>
+ *     <li>Anzahl der Spieler, je Spieler: Beteiligung, Spielertyp, Länge des Namens (2 Byte),
+ *     Name (UTF-8), Position und die Schatzkarten mit vorangestellter Anzahl</li>
+ * </ul>
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+final class BinarySaveFormat {
+
+    /**
+     * Kennung eines binären Spielstandes ("LBSV").
+     */
+    static final int MAGIC = 0x4C425356;
+
+    /**
+     * Version des Formates.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Kennzeichnung eines nicht gesetzten Wertes ({@code null}).
+     */
+    private static final int NONE = 0xFF;
+
+    /**
+     * Privater Konstruktor, da es sich um eine Hilfsklasse handelt.
+     */
+    private BinarySaveFormat() {
+    }
+
+    /**
+     * Gibt an, ob der Inhalt mit der Kennung eines binären Spielstandes beginnt. Die Position des
+     * Puffers wird dabei nicht verändert.
+     *
+     * @param header Anfang der Datei
+     * @return true, wenn es sich um einen binären Spielstand handelt, ansonsten false
+     */
+    static boolean isBinary(ByteBuffer header) {
+        return header.remaining() >= Integer.BYTES
+                && header.getInt(header.position()) == MAGIC;
+    }
+
+    /**
+     * Schreibt den übergebenen Spielstand binär.
+     *
+     * @param data    Spielstand
+     * @param channel Geöffnete Datei
+     * @throws IOException Fehler beim Schreiben in die Datei
+     */
+    static void write(Data data, FileChannel channel) throws IOException {
+        ByteBuffer buffer = encode(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Kodiert den übergebenen Spielstand binär.
+     *
+     * @param data Spielstand
+     * @return Puffer mit dem kodierten Spielstand, bereit zum Lesen
+     */
+    static ByteBuffer encode(Data data) {
+        Tile[][] field = data.getField();
+        FreeWayCard freeWayCard = data.getFreeWayCard();
+        byte[][] names = new byte[data.getPlayers().length][];
+
+        // Größe ermitteln, damit der Puffer nur einmal angelegt wird
+        int size = 4 + 1 + 2 + 2 * field.length * field[0].length + 2 + 3 + 1 + 17 + 1;
+        for (int playerIdx = 0; playerIdx < names.length; playerIdx++) {
+            Player player = data.getPlayers()[playerIdx];
+            names[playerIdx] = player.getName() == null ? new byte[0]
+                    : player.getName().getBytes(StandardCharsets.UTF_8);
+            size += 1 + 1 + 2 + names[playerIdx].length + 3 + 1 + player.getTreasureCards().size();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).put(VERSION);
+        buffer.put((byte) field.length).put((byte) field[0].length);
+        for (Tile[] col : field) {
+            for (Tile tile : col) {
+                buffer.putShort(packTile(tile));
+            }
+        }
+
+        buffer.putShort(packTile(freeWayCard));
+        putPosition(buffer, freeWayCard.getPosition());
+
+        buffer.put((byte) data.getCurrentPlayer());
+        if (data.getRandomSeed() != null && data.getRandomState() != null) {
+            buffer.put((byte) 1).putLong(data.getRandomSeed()).putLong(data.getRandomState());
+        } else {
+            buffer.put((byte) 0);
+        }
+
+        buffer.put((byte) names.length);
+        for (int playerIdx = 0; playerIdx < names.length; playerIdx++) {
+            Player player = data.getPlayers()[playerIdx];
+            buffer.put((byte) (player.isInvolved() ? 1 : 0))
+                    .put(ordinal(player.getDirectedBy()))
+                    .putShort((short) names[playerIdx].length)
+                    .put(names[playerIdx]);
+            putPosition(buffer, player.getPosition());
+
+            buffer.put((byte) player.getTreasureCards().size());
+            for (Treasure treasure : player.getTreasureCards()) {
+                buffer.put(ordinal(treasure));
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Liest einen binären Spielstand. Die inhaltliche Prüfung erfolgt anschließend wie bei
+     * Spielständen im JSON-Format.
+     *
+     * @param buffer Inhalt der Datei
+     * @return Gelesener Spielstand
+     * @throws InvalidGameDataException Wenn der Inhalt nicht dem Format entspricht
+     */
+    static Data read(ByteBuffer buffer) throws InvalidGameDataException {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+            }
+
+            int colCount = buffer.get() & 0xFF;
+            int rowCount = buffer.get() & 0xFF;
+            if (colCount == 0 || rowCount == 0) {
+                throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+            }
+
+            Tile[][] field = new Tile[colCount][rowCount];
+            for (int col = 0; col < colCount; col++) {
+                for (int row = 0; row < rowCount; row++) {
+                    field[col][row] = unpackTile(buffer.getShort());
+                }
+            }
+
+            Tile freeTile = unpackTile(buffer.getShort());
+            FreeWayCard freeWayCard = new FreeWayCard(freeTile, getPosition(buffer));
+
+            int currentPlayer = buffer.get();
+            Long randomSeed = null;
+            Long randomState = null;
+            if (buffer.get() == 1) {
+                randomSeed = buffer.getLong();
+                randomState = buffer.getLong();
+            }
+
+            Player[] players = new Player[buffer.get() & 0xFF];
+            for (int playerIdx = 0; playerIdx < players.length; playerIdx++) {
+                boolean involved = buffer.get() == 1;
+                PlayerType type = value(PlayerType.values(), buffer.get());
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+                Position pos = getPosition(buffer);
+
+                Queue<Treasure> treasures = new LinkedList<>();
+                int treasureCount = buffer.get() & 0xFF;
+                for (int i = 0; i < treasureCount; i++) {
+                    treasures.add(value(Treasure.values(), buffer.get()));
+                }
+
+                players[playerIdx] = new Player(involved, new String(name,
+                        StandardCharsets.UTF_8), type, pos, treasures);
+            }
+
+            return new Data(field, freeWayCard, currentPlayer, players, randomSeed, randomState);
+        } catch (BufferUnderflowException e) {
+            // Unvollständige Datei
+            throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+        }
+    }
+
+    /**
+     * Packt eine Gängekarte in zwei Byte: Form (Bit 12-13), Zustand (Bit 10-11, 3 für
+     * {@code null}), Rotation (Bit 8-9) und Schatz (Bit 0-7, {@link #NONE} für {@code null}).
+     *
+     * @param tile Gängekarte
+     * @return Gepackte Gängekarte
+     */
+    private static short packTile(Tile tile) {
+        int state = tile.getState() == null ? 3 : tile.getState().ordinal();
+        int treasure = tile.getTreasure() == null ? NONE : tile.getTreasure().ordinal();
+
+        return (short) (tile.getType().ordinal() << 12 | state << 10
+                | tile.getRotated().ordinal() << 8 | treasure);
+    }
+
+    /**
+     * Entpackt eine mit {@link #packTile(Tile)} gepackte Gängekarte.
+     *
+     * @param packed Gepackte Gängekarte
+     * @return Gängekarte
+     * @throws InvalidGameDataException Wenn die Form oder der Zustand nicht existiert
+     */
+    private static Tile unpackTile(short packed) throws InvalidGameDataException {
+        int shape = packed >> 12 & 0x3;
+        int state = packed >> 10 & 0x3;
+        if (shape >= TileShape.values().length) {
+            throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+        }
+
+        return new Tile(TileShape.values()[shape],
+                state == 3 ? null : value(TileState.values(), (byte) state),
+                TileRotation.values()[packed >> 8 & 0x3],
+                value(Treasure.values(), (byte) packed));
+    }
+
+    /**
+     * Schreibt eine Markierung und ggf. die übergebene Position.
+     *
+     * @param buffer Puffer
+     * @param pos    Position oder {@code null}
+     */
+    private static void putPosition(ByteBuffer buffer, Position pos) {
+        if (pos == null) {
+            buffer.put((byte) 0).put((byte) 0).put((byte) 0);
+        } else {
+            buffer.put((byte) 1).put((byte) pos.getX()).put((byte) pos.getY());
+        }
+    }
+
+    /**
+     * Liest eine mit {@link #putPosition(ByteBuffer, Position)} geschriebene Position.
+     *
+     * @param buffer Puffer
+     * @return Position oder {@code null}
+     */
+    private static Position getPosition(ByteBuffer buffer) {
+        boolean present = buffer.get() == 1;
+        int x = buffer.get();
+        int y = buffer.get();
+
+        return present ? Position.of(x, y) : null;
+    }
+
+    /**
+     * Liefert den Index eines Wertes eines Aufzählungstyps.
+     *
+     * @param value Wert oder {@code null}
+     * @return Index oder {@link #NONE}
+     */
+    private static byte ordinal(Enum<?> value) {
+        return (byte) (value == null ? NONE : value.ordinal());
+    }
+
+    /**
+     * Liefert den Wert eines Aufzählungstyps zu seinem Index.
+     *
+     * @param values Werte des Aufzählungstyps
+     * @param idx    Index oder {@link #NONE}
+     * @param <E>    Aufzählungstyp
+     * @return Wert oder {@code null}, wenn der Index nicht gesetzt ist oder nicht existiert
+     */
+    private static <E extends Enum<E>> E value(E[] values, byte idx) {
+        int i = idx & 0xFF;
+
+        return i < values.length ? values[i] : null;
+    }
+}
@@ -1,7 +1,10 @@
 package logic.data;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import logic.Game;
 import logic.Message;
 import logic.player.Player;
@@ -9,15 +12,22 @@ import logic.tile.FreeWayCard;
 import logic.tile.Tile;
 import logic.Treasure;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -31,6 +41,16 @@ import java.util.Set;
  */
 public class Data {
 
+    /**
+     * Dateiendung von Spielständen im binären Format.
+     */
+    public static final String BINARY_EXTENSION = ".lab";
+
+    /**
+     * Gson-Instanz zum Lesen und Schreiben der einzelnen Elemente eines Spielstandes.
+     */
+    private static final Gson GSON = new Gson();
+
     /**
      * Spielfeld des Spielstandes.
      */
@@ -51,6 +71,18 @@ public class Data {
      */
     private final Player[] players;
 
+    /**
+     * Startwert des Zufallszahlengenerators des Spiels ({@code null} bei Spielständen, die ohne
+     * diesen gespeichert wurden).
+     */
+    private final Long randomSeed;
+
+    /**
+     * Zustand des Zufallszahlengenerators des Spiels ({@code null} bei Spielständen, die ohne
+     * diesen gespeichert wurden).
+     */
+    private final Long randomState;
+
     /**
      * @param field         Spielfeld
      * @param freeWayCard   Freie Gängekarte
@@ -58,108 +90,393 @@ public class Data {
      * @param players       Spieler
      */
     public Data(Tile[][] field, FreeWayCard freeWayCard, int currentPlayer, Player[] players) {
+        this(field, freeWayCard, currentPlayer, players, null, null);
+    }
+
+    /**
+     * @param field         Spielfeld
+     * @param freeWayCard   Freie Gängekarte
+     * @param currentPlayer Index des aktuellen Spielers
+     * @param players       Spieler
+     * @param randomSeed    Startwert des Zufallszahlengenerators
+     * @param randomState   Zustand des Zufallszahlengenerators
+     */
+    public Data(Tile[][] field, FreeWayCard freeWayCard, int currentPlayer, Player[] players,
+                Long randomSeed, Long randomState) {
         this.field = field;
         this.freeWayCard = freeWayCard;
         this.currentPlayer = currentPlayer;
         this.players = players;
+        this.randomSeed = randomSeed;
+        this.randomState = randomState;
     }
 
     /**
-     * Konstruktor zum Laden eines Spielstandes.
+     * Konstruktor zum Laden eines Spielstandes. Das Format (JSON oder {@link BinarySaveFormat
+     * binär}) wird anhand des Dateianfangs erkannt. Spielstände im JSON-Format werden über einen
+     * {@link JsonReader} gelesen und bereits während des Lesens geprüft.
      *
      * @param file Spielstanddatei
      * @throws FileNotFoundException Datei konnte nicht gefunden werden
      */
     public Data(File file, int colcount, int rowcount) throws FileNotFoundException, InvalidGameDataException {
-        InputStream stream = new FileInputStream(file);
-        Reader reader = new InputStreamReader(stream);
-        Gson gson = new Gson();
+        FileInputStream stream = new FileInputStream(file);
 
         try {
-            Data data = gson.fromJson(reader, Data.class);
+            Data data;
+            FileChannel channel = stream.getChannel();
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, 0);
+            header.flip();
 
-            // Nachricht die im Falle eines fehlerhaften Ladens, an die InvalidGameDataException
-            // erzeugt und übergeben wird
-            String message;
+            if (BinarySaveFormat.isBinary(header)) {
+                ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+                while (content.hasRemaining() && channel.read(content) >= 0) {
+                    // Weiterlesen, bis die Datei vollständig gelesen wurde
+                }
+                content.flip();
+                data = fromBinary(content, colcount, rowcount);
+            } else {
+                JsonReader reader = GSON.newJsonReader(new BufferedReader(
+                        new InputStreamReader(stream)));
+                data = readJson(reader, colcount, rowcount);
+            }
 
-            // Prüfen, ob ein Spielstand geladen wurde
-            if (data == null || data.getField() == null || data.getPlayers() == null
-                    || data.getFreeWayCard() == null) {
-                throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+            this.field = data.field;
+            this.freeWayCard = data.freeWayCard;
+            this.currentPlayer = data.currentPlayer;
+            this.players = data.players;
+            this.randomSeed = data.randomSeed;
+            this.randomState = data.randomState;
+
+        } catch (IOException e) {
+            throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+        } finally {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Datei wurde bereits vollständig gelesen
             }
+        }
+    }
+
+    /**
+     * Liest einen Spielstand im {@link BinarySaveFormat binären Format} und prüft ihn.
+     *
+     * @param buffer   Kodierter Spielstand
+     * @param colcount Erwartete Anzahl der Spalten
+     * @param rowcount Erwartete Anzahl der Reihen
+     * @return Gelesener Spielstand
+     * @throws InvalidGameDataException Wenn der Spielstand ungültig ist
+     */
+    static Data fromBinary(ByteBuffer buffer, int colcount, int rowcount)
+            throws InvalidGameDataException {
+        Data data = BinarySaveFormat.read(buffer);
+        validate(data, colcount, rowcount);
 
-            // Prüfung ob Spieler einen invaliden Schatz beinhalten
-            Set<Treasure> alreadyUsed = new HashSet<>(); /* Zur Prüfung von Duplikaten */
-            for (Player player : data.getPlayers()) {
-                for (Treasure treasure : player.getTreasureCards()) {
-                    if (treasure == null || alreadyUsed.contains(treasure)) {
-                        throw new InvalidGameDataException(Message.INVALID_TREASURE.getMessage());
-                    }
+        return data;
+    }
 
-                    alreadyUsed.add(treasure);
+    /**
+     * Liest einen Spielstand im JSON-Format. Spielfeld, Spieler und der aktuelle Spieler werden
+     * geprüft, sobald sie gelesen wurden, sodass ein ungültiger Spielstand nicht vollständig
+     * gelesen wird.
+     *
+     * @param reader   Geöffnete Spielstanddatei
+     * @param colcount Erwartete Anzahl der Spalten
+     * @param rowcount Erwartete Anzahl der Reihen
+     * @return Gelesener Spielstand
+     * @throws IOException              Fehler beim Lesen der Datei
+     * @throws InvalidGameDataException Wenn der Spielstand ungültig ist
+     */
+    private static Data readJson(JsonReader reader, int colcount, int rowcount)
+            throws IOException, InvalidGameDataException {
+        Tile[][] field = null;
+        FreeWayCard freeWayCard = null;
+        int currentPlayer = 0;
+        Player[] players = null;
+        Long randomSeed = null;
+        Long randomState = null;
+
+        try {
+            reader.peek();
+        } catch (EOFException e) {
+            // Leere Datei
+            throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+        }
+
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "field":
+                        field = readField(reader, colcount, rowcount);
+                        break;
+                    case "freeWayCard":
+                        freeWayCard = GSON.fromJson(reader, FreeWayCard.class);
+                        break;
+                    case "currentPlayer":
+                        currentPlayer = reader.nextInt();
+                        checkCurrentPlayer(currentPlayer);
+                        break;
+                    case "players":
+                        players = readPlayers(reader);
+                        break;
+                    case "randomSeed":
+                        randomSeed = GSON.fromJson(reader, Long.class);
+                        break;
+                    case "randomState":
+                        randomState = GSON.fromJson(reader, Long.class);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
                 }
             }
+            reader.endObject();
+        } catch (EOFException | MalformedJsonException | IllegalStateException
+                | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
 
-            // Prüfen, ob die freie Gängekarte invalide ist
-            FreeWayCard loadedFreeWayCard = data.getFreeWayCard();
-            if (loadedFreeWayCard == null) {
-                throw new InvalidGameDataException(Message.INVALID_FREEWAYCARD.getMessage());
-            }
+        // Prüfen, ob ein Spielstand geladen wurde
+        if (field == null || players == null || freeWayCard == null) {
+            throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+        }
+
+        return new Data(field, freeWayCard, currentPlayer, players, randomSeed, randomState);
+    }
 
-            // Prüfen, ob das Spielfeld eine valide Größe hat
-            Tile[][] loadedField = data.getField();
-            if (loadedField.length != colcount || loadedField[0].length != rowcount) {
-                message = String.format(Message.INVALID_FIELDLENGTH.getMessage(), loadedField.length,
-                        loadedField[0].length, colcount, rowcount);
-                throw new InvalidGameDataException(message);
+    /**
+     * Liest das Spielfeld Gängekarte für Gängekarte und prüft dabei dessen Größe sowie die Schätze.
+     *
+     * @param reader   Geöffnete Spielstanddatei vor dem Spielfeld
+     * @param colcount Erwartete Anzahl der Spalten
+     * @param rowcount Erwartete Anzahl der Reihen
+     * @return Spielfeld
+     * @throws IOException              Fehler beim Lesen der Datei
+     * @throws InvalidGameDataException Wenn das Spielfeld ungültig ist
+     */
+    private static Tile[][] readField(JsonReader reader, int colcount, int rowcount)
+            throws IOException, InvalidGameDataException {
+        Tile[][] field = new Tile[colcount][rowcount];
+        Set<Treasure> alreadyUsedInField = new HashSet<>();
+
+        int col = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (col == colcount) { /* Zu viele Spalten */
+                throw fieldLengthException(col + 1, rowcount, colcount, rowcount);
             }
 
-            // Prüfen, ob das Spielfeld valide ist
-            Set<Treasure> alreadyUsedInField = new HashSet<>();
-            for (Tile[] tiles : data.getField()) {
-                for (Tile tile : tiles) {
-
-                    if (tile == null || tile.getTreasure() == null) { /* Prüfung auf null */
-                        throw new InvalidGameDataException(Message.INVALID_TREASURE.getMessage());
-                    } else if (alreadyUsedInField.contains(tile.getTreasure())) { /* Duplikate */
-                        message = String.format(Message.DUPLICATE_TREASURE_FIELD.getMessage(),
-                                tile.getTreasure().ordinal(), tile.getTreasure());
-                        throw new InvalidGameDataException(message);
-                    } else if (tile.getTreasure() != Treasure.EMPTY) {
-                        alreadyUsedInField.add(tile.getTreasure());
-                    }
+            int row = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (row == rowcount) { /* Zu viele Reihen */
+                    throw fieldLengthException(col + 1, row + 1, colcount, rowcount);
                 }
+
+                Tile tile = GSON.fromJson(reader, Tile.class);
+                checkTile(tile, alreadyUsedInField);
+                field[col][row++] = tile;
             }
+            reader.endArray();
 
-            // Prüfen, ob der aktuelle Spieler innerhalb der validen Spieler-Indices ist
-            if (data.getCurrentPlayer() < 0 || data.getCurrentPlayer() > Game.MAX_PLAYERS) {
-                message = String.format(
-                        Message.INVALID_CURRENTPLAYER.getMessage(), data.getCurrentPlayer());
-                throw new InvalidGameDataException(message);
+            if (row != rowcount) { /* Zu wenige Reihen */
+                throw fieldLengthException(col + 1, row, colcount, rowcount);
             }
+            col++;
+        }
+        reader.endArray();
 
+        if (col != colcount) { /* Zu wenige Spalten */
+            throw fieldLengthException(col, rowcount, colcount, rowcount);
+        }
 
-            this.field = data.field;
-            this.freeWayCard = data.freeWayCard;
-            this.currentPlayer = data.currentPlayer;
-            this.players = data.players;
+        return field;
+    }
+
+    /**
+     * Liest die Spieler und prüft dabei deren Schatzkarten.
+     *
+     * @param reader Geöffnete Spielstanddatei vor den Spielern
+     * @return Spieler
+     * @throws IOException              Fehler beim Lesen der Datei
+     * @throws InvalidGameDataException Wenn ein Spieler einen ungültigen Schatz besitzt
+     */
+    private static Player[] readPlayers(JsonReader reader)
+            throws IOException, InvalidGameDataException {
+        List<Player> players = new ArrayList<>(Game.MAX_PLAYERS);
+        Set<Treasure> alreadyUsed = new HashSet<>();
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Player player = GSON.fromJson(reader, Player.class);
+            checkTreasureCards(player, alreadyUsed);
+            players.add(player);
+        }
+        reader.endArray();
+
+        return players.toArray(new Player[0]);
+    }
+
+    /**
+     * Prüft einen vollständig geladenen Spielstand auf Gültigkeit.
+     *
+     * @param data     Geladener Spielstand
+     * @param colcount Erwartete Anzahl der Spalten
+     * @param rowcount Erwartete Anzahl der Reihen
+     * @throws InvalidGameDataException Wenn der Spielstand ungültig ist
+     */
+    private static void validate(Data data, int colcount, int rowcount) throws InvalidGameDataException {
+        // Prüfen, ob ein Spielstand geladen wurde
+        if (data == null || data.getField() == null || data.getPlayers() == null
+                || data.getFreeWayCard() == null) {
+            throw new InvalidGameDataException(Message.INVALID_GAMEDATA.getMessage());
+        }
+
+        Set<Treasure> alreadyUsed = new HashSet<>();
+        for (Player player : data.getPlayers()) {
+            checkTreasureCards(player, alreadyUsed);
+        }
+
+        // Prüfen, ob das Spielfeld eine valide Größe hat
+        Tile[][] loadedField = data.getField();
+        if (loadedField.length != colcount || loadedField[0].length != rowcount) {
+            throw fieldLengthException(loadedField.length, loadedField[0].length, colcount,
+                    rowcount);
+        }
+
+        Set<Treasure> alreadyUsedInField = new HashSet<>();
+        for (Tile[] tiles : loadedField) {
+            for (Tile tile : tiles) {
+                checkTile(tile, alreadyUsedInField);
+            }
+        }
+
+        checkCurrentPlayer(data.getCurrentPlayer());
+    }
 
-        } catch (Exception e) {
-            throw e;
+    /**
+     * Prüft, ob ein Spieler einen invaliden oder bereits verwendeten Schatz beinhaltet.
+     *
+     * @param player      Spieler
+     * @param alreadyUsed Bisher verwendete Schätze (zur Prüfung von Duplikaten)
+     * @throws InvalidGameDataException Wenn ein Schatz invalide ist
+     */
+    private static void checkTreasureCards(Player player, Set<Treasure> alreadyUsed)
+            throws InvalidGameDataException {
+        for (Treasure treasure : player.getTreasureCards()) {
+            if (treasure == null || !alreadyUsed.add(treasure)) {
+                throw new InvalidGameDataException(Message.INVALID_TREASURE.getMessage());
+            }
         }
     }
 
     /**
-     * Schreibt die Informationen dieses Spielstandes in die über {@code file} referenzierte Datei.
+     * Erzeugt die Exception für ein Spielfeld mit invalider Größe.
+     *
+     * @param cols     Gelesene Anzahl der Spalten
+     * @param rows     Gelesene Anzahl der Reihen
+     * @param colcount Erwartete Anzahl der Spalten
+     * @param rowcount Erwartete Anzahl der Reihen
+     * @return Exception mit entsprechender Nachricht
+     */
+    private static InvalidGameDataException fieldLengthException(int cols, int rows, int colcount,
+                                                                 int rowcount) {
+        return new InvalidGameDataException(String.format(Message.INVALID_FIELDLENGTH.getMessage(),
+                cols, rows, colcount, rowcount));
+    }
+
+    /**
+     * Prüft eine Gängekarte des Spielfeldes auf einen invaliden oder doppelten Schatz.
+     *
+     * @param tile               Gängekarte
+     * @param alreadyUsedInField Bisher auf dem Spielfeld verwendete Schätze
+     * @throws InvalidGameDataException Wenn der Schatz invalide ist
+     */
+    private static void checkTile(Tile tile, Set<Treasure> alreadyUsedInField)
+            throws InvalidGameDataException {
+        if (tile == null || tile.getTreasure() == null) { /* Prüfung auf null */
+            throw new InvalidGameDataException(Message.INVALID_TREASURE.getMessage());
+        } else if (alreadyUsedInField.contains(tile.getTreasure())) { /* Duplikate */
+            String message = String.format(Message.DUPLICATE_TREASURE_FIELD.getMessage(),
+                    tile.getTreasure().ordinal(), tile.getTreasure());
+            throw new InvalidGameDataException(message);
+        } else if (tile.getTreasure() != Treasure.EMPTY) {
+            alreadyUsedInField.add(tile.getTreasure());
+        }
+    }
+
+    /**
+     * Prüft, ob der aktuelle Spieler innerhalb der validen Spieler-Indices ist.
+     *
+     * @param currentPlayer Index des aktuellen Spielers
+     * @throws InvalidGameDataException Wenn der Index invalide ist
+     */
+    private static void checkCurrentPlayer(int currentPlayer) throws InvalidGameDataException {
+        if (currentPlayer < 0 || currentPlayer > Game.MAX_PLAYERS) {
+            String message = String.format(
+                    Message.INVALID_CURRENTPLAYER.getMessage(), currentPlayer);
+            throw new InvalidGameDataException(message);
+        }
+    }
+
+    /**
+     * Schreibt die Informationen dieses Spielstandes über einen {@link JsonWriter} in die über
+     * {@code file} referenzierte Datei.
      *
      * @param file Stream zum Schreiben auf die referenzierte Datei
      * @throws IOException Fehler beim Schreiben in die Datei
      */
     public void saveGame(FileOutputStream file) throws IOException {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(file)))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+
+            writer.name("field").beginArray();
+            for (Tile[] col : field) {
+                writer.beginArray();
+                for (Tile tile : col) {
+                    GSON.toJson(tile, Tile.class, writer);
+                }
+                writer.endArray();
+            }
+            writer.endArray();
+
+            writer.name("freeWayCard");
+            GSON.toJson(freeWayCard, FreeWayCard.class, writer);
+            writer.name("currentPlayer").value(currentPlayer);
 
-        file.write(gson.toJson(this).getBytes());
-        file.close();
+            writer.name("players").beginArray();
+            for (Player player : players) {
+                GSON.toJson(player, Player.class, writer);
+            }
+            writer.endArray();
+
+            if (randomSeed != null) {
+                writer.name("randomSeed").value(randomSeed);
+            }
+            if (randomState != null) {
+                writer.name("randomState").value(randomState);
+            }
+
+            writer.endObject();
+        }
+    }
+
+    /**
+     * Schreibt die Informationen dieses Spielstandes im {@link BinarySaveFormat binären Format} in
+     * die übergebene Datei.
+     *
+     * @param file Spielstanddatei
+     * @throws IOException Fehler beim Schreiben in die Datei
+     */
+    public void saveGameBinary(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            BinarySaveFormat.write(this, channel);
+        }
     }
 
     /**
@@ -197,4 +514,22 @@ public class Data {
     public Player[] getPlayers() {
         return players;
     }
+
+    /**
+     * Liefert den Startwert des Zufallszahlengenerators des Spiels.
+     *
+     * @return Startwert oder {@code null}, wenn dieser nicht gespeichert wurde
+     */
+    public Long getRandomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * Liefert den Zustand des Zufallszahlengenerators des Spiels.
+     *
+     * @return Zustand oder {@code null}, wenn dieser nicht gespeichert wurde
+     */
+    public Long getRandomState() {
+        return randomState;
+    }
 }
@@ -0,0 +1,564 @@
+package logic.data;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse speichert beliebig viele Spielstände in einer einzigen Archivdatei. Spielstände
+ * werden im {@link BinarySaveFormat binären Format} an das Ende der Datei angehängt, ein
+ * Spielstand mit bereits vorhandener Kennung ersetzt den bisherigen nur im Index. Am Ende der
+ * Datei steht ein Index (Kennung, Position, Länge), über welchen ein Spielstand ohne Durchsuchen
+ * der Datei gelesen wird. Die Datei wird nicht in den Speicher abgebildet, damit sie gekürzt und
+ * beim {@link #compact() Verdichten} ersetzt werden kann.
+ * <p>
+ * Aufbau:
+ * <ul>
+ *     <li>Kennung {@link #MAGIC} (4 Byte) und Version (1 Byte)</li>
+ *     <li>Einträge: Länge der Kennung (2 Byte), Kennung (UTF-8), Länge des Spielstandes
+ *     (4 Byte), Spielstand. Ein {@link #remove(String) entfernter} Spielstand wird durch einen
+ *     Eintrag mit der Länge {@link #TOMBSTONE} ohne Spielstand vermerkt.</li>
+ *     <li>Index: je Eintrag Länge der Kennung (2 Byte), Kennung, Position (8 Byte) und Länge
+ *     (4 Byte) des Spielstandes</li>
+ *     <li>Abschluss: Position des Index (8 Byte), Anzahl der Einträge, Prüfsumme des Index und
+ *     {@link #MAGIC} (je 4 Byte)</li>
+ * </ul>
+ * Ist der Index nach einem Absturz unvollständig, wird er beim Öffnen aus den Einträgen neu
+ * aufgebaut. Ersetzte und {@link #remove(String) entfernte} Spielstände belegen weiterhin Platz,
+ * bis das Archiv {@link #compact() verdichtet} wird.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameArchive implements Closeable {
+
+    /**
+     * Kennung einer Archivdatei ("LBAR").
+     */
+    static final int MAGIC = 0x4C424152;
+
+    /**
+     * Version des Formates.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Länge eines Eintrages, welcher das Entfernen des Spielstandes mit seiner Kennung vermerkt.
+     */
+    private static final int TOMBSTONE = -1;
+
+    /**
+     * Größe der Kennung und Version am Anfang der Datei.
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + 1;
+
+    /**
+     * Größe des Abschlusses am Ende der Datei.
+     */
+    private static final int FOOTER_SIZE = Long.BYTES + 3 * Integer.BYTES;
+
+    /**
+     * Archivdatei.
+     */
+    private final File file;
+
+    /**
+     * Index der Spielstände nach ihrer Kennung, in der Reihenfolge des Speicherns.
+     */
+    private final Map<String, Entry> index = new LinkedHashMap<>();
+
+    /**
+     * Geöffnete Archivdatei.
+     */
+    private FileChannel channel;
+
+    /**
+     * Ende des letzten Eintrages und damit Position des Index.
+     */
+    private long dataEnd;
+
+    /**
+     * Position und Länge eines Spielstandes in der Archivdatei.
+     */
+    private static final class Entry {
+
+        /**
+         * Position des Spielstandes (hinter Kennung und Länge).
+         */
+        private final long offset;
+
+        /**
+         * Länge des Spielstandes.
+         */
+        private final int length;
+
+        /**
+         * Konstruktor.
+         *
+         * @param offset Position des Spielstandes
+         * @param length Länge des Spielstandes
+         */
+        private Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Konstruktor, welcher das Archiv öffnet oder ein neues, leeres Archiv anlegt.
+     *
+     * @param file Archivdatei
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder kein Archiv ist
+     */
+    public GameArchive(File file) throws IOException {
+        this.file = file;
+        open();
+    }
+
+    /**
+     * Speichert einen Spielstand unter der übergebenen Kennung. Ein bereits vorhandener
+     * Spielstand mit derselben Kennung wird ersetzt.
+     *
+     * @param id   Kennung des Spielstandes
+     * @param data Spielstand
+     * @throws IOException Fehler beim Schreiben in die Datei
+     */
+    public synchronized void put(String id, Data data) throws IOException {
+        ByteBuffer payload = BinarySaveFormat.encode(data);
+        ByteBuffer header = entryHeader(id, payload.remaining());
+
+        long offset = dataEnd + header.remaining();
+        int length = payload.remaining();
+        writeFully(dataEnd, header, payload);
+
+        index.put(id, new Entry(offset, length));
+        dataEnd = offset + length;
+        writeIndex();
+    }
+
+    /**
+     * Lädt den Spielstand mit der übergebenen Kennung und prüft ihn wie eine Spielstanddatei.
+     *
+     * @param id       Kennung des Spielstandes
+     * @param colcount Erwartete Anzahl der Spalten
+     * @param rowcount Erwartete Anzahl der Reihen
+     * @return Spielstand oder {@code null}, wenn keiner unter der Kennung gespeichert ist
+     * @throws IOException              Fehler beim Lesen der Datei
+     * @throws InvalidGameDataException Wenn der Spielstand ungültig ist
+     */
+    public synchronized Data get(String id, int colcount, int rowcount)
+            throws IOException, InvalidGameDataException {
+        Entry entry = index.get(id);
+        if (entry == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        if (!readFully(entry.offset, buffer)) {
+            throw new IOException("Spielstand unvollständig: " + id);
+        }
+
+        return Data.fromBinary(buffer, colcount, rowcount);
+    }
+
+    /**
+     * Entfernt den Spielstand mit der übergebenen Kennung aus dem Index und vermerkt das
+     * Entfernen in den Einträgen, damit der Spielstand bei einem Neuaufbau des Index nicht
+     * zurückkehrt.
+     *
+     * @param id Kennung des Spielstandes
+     * @return true, wenn ein Spielstand entfernt wurde, ansonsten false
+     * @throws IOException Fehler beim Schreiben in die Datei
+     */
+    public synchronized boolean remove(String id) throws IOException {
+        if (index.remove(id) == null) {
+            return false;
+        }
+
+        ByteBuffer tombstone = entryHeader(id, TOMBSTONE);
+        long end = dataEnd + tombstone.remaining();
+        writeFully(dataEnd, tombstone);
+
+        dataEnd = end;
+        writeIndex();
+        return true;
+    }
+
+    /**
+     * Gibt an, ob ein Spielstand unter der übergebenen Kennung gespeichert ist.
+     *
+     * @param id Kennung des Spielstandes
+     * @return true, wenn ein Spielstand vorhanden ist, ansonsten false
+     */
+    public synchronized boolean contains(String id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * Liefert die Kennungen aller gespeicherten Spielstände.
+     *
+     * @return Kennungen in der Reihenfolge des ersten Speicherns
+     */
+    public synchronized Set<String> ids() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(index.keySet()));
+    }
+
+    /**
+     * Liefert die Anzahl der gespeicherten Spielstände.
+     *
+     * @return Anzahl der Spielstände
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Verdichtet das Archiv, d.h. schreibt nur die im Index enthaltenen Spielstände in eine neue
+     * Datei und ersetzt das Archiv durch diese. Ersetzte und entfernte Spielstände werden dabei
+     * verworfen. Schlägt das Verdichten fehl, wird die neue Datei gelöscht und das bisherige
+     * Archiv bleibt geöffnet.
+     *
+     * @return Anzahl der freigegebenen Bytes
+     * @throws IOException Fehler beim Lesen oder Schreiben der Dateien
+     */
+    public synchronized long compact() throws IOException {
+        long before = channel.size();
+        File tmp = File.createTempFile(file.getName(), ".tmp",
+                file.getAbsoluteFile().getParentFile());
+
+        boolean replaced = false;
+        try {
+            try (FileChannel out = FileChannel.open(tmp.toPath(), StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer archiveHeader = ByteBuffer.allocate(HEADER_SIZE);
+                archiveHeader.putInt(MAGIC).put(VERSION).flip();
+                while (archiveHeader.hasRemaining()) {
+                    out.write(archiveHeader);
+                }
+
+                for (Map.Entry<String, Entry> mapping : index.entrySet()) {
+                    Entry entry = mapping.getValue();
+
+                    ByteBuffer header = entryHeader(mapping.getKey(), entry.length);
+                    while (header.hasRemaining()) {
+                        out.write(header);
+                    }
+
+                    long transferred = 0;
+                    while (transferred < entry.length) {
+                        transferred += channel.transferTo(entry.offset + transferred,
+                                entry.length - transferred, out);
+                    }
+                }
+            }
+
+            channel.close();
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            replaced = true;
+        } finally {
+            if (!replaced) {
+                Files.deleteIfExists(tmp.toPath());
+                if (!channel.isOpen()) {
+                    open();
+                }
+            }
+        }
+
+        // Der Index der neuen Datei wird beim Öffnen aus den Einträgen aufgebaut und geschrieben
+        open();
+        return before - channel.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Verdichtet die übergebene Archivdatei.
+     * <p>
+     * Argumente: {@code <Archivdatei>}
+     *
+     * @param args Argumente
+     * @throws IOException Wenn die Datei nicht gelesen oder geschrieben werden kann
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Aufruf: GameArchive <Archivdatei>");
+            return;
+        }
+
+        try (GameArchive archive = new GameArchive(new File(args[0]))) {
+            long freed = archive.compact();
+            System.out.println(archive.size() + " Spielstände, " + freed + " Bytes freigegeben");
+        }
+    }
+
+    /**
+     * Öffnet die Archivdatei und liest den Index. Ist der Index nicht lesbar, wird er aus den
+     * Einträgen neu aufgebaut.
+     *
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder kein Archiv ist
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put(VERSION).flip();
+            writeFully(0, header);
+            dataEnd = HEADER_SIZE;
+            writeIndex();
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC
+                || header.get() != VERSION) {
+            channel.close();
+            throw new IOException("Datei ist kein Spielstandarchiv: " + file);
+        }
+
+        if (!readIndex()) {
+            index.clear();
+            scanEntries();
+            writeIndex();
+        }
+    }
+
+    /**
+     * Liest den Index am Ende der Datei.
+     *
+     * @return true, wenn der Index vollständig und unbeschädigt ist, ansonsten false
+     * @throws IOException Fehler beim Lesen der Datei
+     */
+    private boolean readIndex() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + FOOTER_SIZE) {
+            return false;
+        }
+
+        ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+        if (!readFully(size - FOOTER_SIZE, footer)) {
+            return false;
+        }
+
+        long indexOffset = footer.getLong();
+        int count = footer.getInt();
+        int checksum = footer.getInt();
+        if (footer.getInt() != MAGIC || indexOffset < HEADER_SIZE
+                || indexOffset > size - FOOTER_SIZE) {
+            return false;
+        }
+
+        long indexSize = size - FOOTER_SIZE - indexOffset;
+        if (indexSize > Integer.MAX_VALUE) {
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) indexSize);
+        if (!readFully(indexOffset, buffer)) {
+            return false;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+
+        try {
+            for (int i = 0; i < count; i++) {
+                byte[] idBytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(idBytes);
+                Entry entry = new Entry(buffer.getLong(), buffer.getInt());
+                if (entry.offset < HEADER_SIZE || entry.offset + entry.length > indexOffset) {
+                    return false;
+                }
+
+                index.put(new String(idBytes, StandardCharsets.UTF_8), entry);
+            }
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+
+        dataEnd = indexOffset;
+        return true;
+    }
+
+    /**
+     * Baut den Index aus den Einträgen der Datei auf. Vermerkte Entfernungen werden
+     * berücksichtigt, ein unvollständiger letzter Eintrag wird verworfen.
+     *
+     * @throws IOException Fehler beim Lesen der Datei
+     */
+    private void scanEntries() throws IOException {
+        long size = channel.size();
+        long position = HEADER_SIZE;
+        dataEnd = HEADER_SIZE;
+
+        ByteBuffer idLength = ByteBuffer.allocate(Short.BYTES);
+        while (position < size) {
+            idLength.clear();
+            if (!readFully(position, idLength)) {
+                break;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate((idLength.getShort() & 0xFFFF)
+                    + Integer.BYTES);
+            if (!readFully(position + Short.BYTES, header)) {
+                break;
+            }
+
+            byte[] idBytes = new byte[header.remaining() - Integer.BYTES];
+            header.get(idBytes);
+            int length = header.getInt();
+            long offset = position + Short.BYTES + header.limit();
+            if (length == TOMBSTONE) {
+                index.remove(new String(idBytes, StandardCharsets.UTF_8));
+                position = offset;
+                dataEnd = offset;
+                continue;
+            }
+            if (length < 0 || offset + length > size || !isEntry(offset, length)) {
+                // Unvollständiger letzter Eintrag oder Rest eines alten Index
+                break;
+            }
+
+            index.put(new String(idBytes, StandardCharsets.UTF_8), new Entry(offset, length));
+            position = offset + length;
+            dataEnd = position;
+        }
+    }
+
+    /**
+     * Gibt an, ob an der übergebenen Position ein Spielstand beginnt.
+     *
+     * @param offset Position des vermuteten Spielstandes
+     * @param length Länge des vermuteten Spielstandes
+     * @return true, wenn der Bereich mit der Kennung eines Spielstandes beginnt
+     * @throws IOException Fehler beim Lesen der Datei
+     */
+    private boolean isEntry(long offset, int length) throws IOException {
+        ByteBuffer payload = ByteBuffer.allocate(Math.min(length, Integer.BYTES));
+
+        return readFully(offset, payload) && BinarySaveFormat.isBinary(payload);
+    }
+
+    /**
+     * Schreibt den Index und den Abschluss hinter den letzten Eintrag und kürzt die Datei
+     * entsprechend.
+     *
+     * @throws IOException Fehler beim Schreiben in die Datei
+     */
+    private void writeIndex() throws IOException {
+        int size = 0;
+        for (String id : index.keySet()) {
+            size += Short.BYTES + encodeId(id).length + Long.BYTES + Integer.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size + FOOTER_SIZE);
+        for (Map.Entry<String, Entry> mapping : index.entrySet()) {
+            byte[] idBytes = encodeId(mapping.getKey());
+            buffer.putShort((short) idBytes.length).put(idBytes)
+                    .putLong(mapping.getValue().offset).putInt(mapping.getValue().length);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, size);
+        buffer.putLong(dataEnd).putInt(index.size()).putInt((int) crc.getValue()).putInt(MAGIC);
+        buffer.flip();
+
+        writeFully(dataEnd, buffer);
+        channel.truncate(dataEnd + size + FOOTER_SIZE);
+    }
+
+    /**
+     * Liest den übergebenen Puffer ab der übergebenen Position vollständig und bereitet ihn zum
+     * Lesen vor.
+     *
+     * @param position Position in der Datei
+     * @param buffer   Zu füllender Puffer
+     * @return true, wenn der Puffer vollständig gefüllt wurde, false bei vorzeitigem Dateiende
+     * @throws IOException Fehler beim Lesen der Datei
+     */
+    private boolean readFully(long position, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+        }
+
+        buffer.flip();
+        return true;
+    }
+
+    /**
+     * Schreibt die übergebenen Puffer vollständig ab der übergebenen Position.
+     *
+     * @param position Position in der Datei
+     * @param buffers  Zu schreibende Puffer
+     * @throws IOException Fehler beim Schreiben in die Datei
+     */
+    private void writeFully(long position, ByteBuffer... buffers) throws IOException {
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+    }
+
+    /**
+     * Erzeugt den Kopf eines Eintrages.
+     *
+     * @param id     Kennung des Spielstandes
+     * @param length Länge des Spielstandes oder {@link #TOMBSTONE}
+     * @return Kopf des Eintrages, zum Schreiben bereit
+     */
+    private static ByteBuffer entryHeader(String id, int length) {
+        byte[] idBytes = encodeId(id);
+
+        ByteBuffer header = ByteBuffer.allocate(Short.BYTES + idBytes.length + Integer.BYTES);
+        header.putShort((short) idBytes.length).put(idBytes).putInt(length).flip();
+        return header;
+    }
+
+    /**
+     * Kodiert eine Kennung.
+     *
+     * @param id Kennung
+     * @return Kennung als UTF-8
+     * @throws IllegalArgumentException Wenn die Kennung zu lang ist
+     */
+    private static byte[] encodeId(String id) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Kennung zu lang: " + id.length() + " Zeichen");
+        }
+
+        return idBytes;
+    }
+}
@@ -0,0 +1,274 @@
+package logic.data;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse speichert Spielstände auf einem eigenen Thread, sodass der Aufrufer (z.B. der
+ * FX-Thread) nicht auf den Datenträger wartet. Übergeben werden unveränderliche Spielstände, die
+ * der Aufrufer nach der Übergabe nicht mehr verändert.
+ * <p>
+ * Je Ziel (Datei bzw. Kennung in einem {@link GameArchive Archiv}) wird höchstens ein Spielstand
+ * vorgehalten: Wird ein Spielstand übergeben, während der vorherige desselben Zieles noch nicht
+ * geschrieben wird, ersetzt der neue den vorherigen. Dateien werden zunächst in eine temporäre
+ * Datei geschrieben, auf den Datenträger gebracht und anschließend atomar umbenannt, sodass nach
+ * einem Absturz stets ein vollständiger Spielstand vorliegt.
+ * <p>
+ * Als {@link Executor} führt der Dienst weitere Schreibvorgänge (z.B. der
+ * {@link logic.replay.AutoSave automatischen Sicherung}) ohne Zusammenfassung in der Reihenfolge
+ * ihrer Übergabe aus.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class SaveService implements Closeable, Executor {
+
+    /**
+     * Dienst der Spiele mit Oberfläche (wird bei der ersten Verwendung angelegt).
+     */
+    private static SaveService instance;
+
+    /**
+     * Thread, auf welchem gespeichert wird.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "save-service");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Noch nicht begonnene Speichervorgänge nach ihrem Ziel.
+     */
+    private final Map<Object, SaveTask> pending = new HashMap<>();
+
+    /**
+     * Anzahl der Spielstände, welche durch einen neueren ersetzt wurden, bevor sie geschrieben
+     * wurden.
+     */
+    private int coalescedCount;
+
+    /**
+     * Speichervorgang eines Spielstandes.
+     */
+    private interface SaveTask {
+
+        /**
+         * Schreibt den Spielstand.
+         *
+         * @throws IOException Fehler beim Schreiben
+         */
+        void save() throws IOException;
+    }
+
+    /**
+     * Ziel eines Spielstandes in einem Archiv.
+     */
+    private static final class ArchiveKey {
+
+        /**
+         * Archiv.
+         */
+        private final GameArchive archive;
+
+        /**
+         * Kennung des Spielstandes.
+         */
+        private final String id;
+
+        /**
+         * Konstruktor.
+         *
+         * @param archive Archiv
+         * @param id      Kennung des Spielstandes
+         */
+        private ArchiveKey(GameArchive archive, String id) {
+            this.archive = archive;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ArchiveKey)) {
+                return false;
+            }
+
+            ArchiveKey other = (ArchiveKey) o;
+            return archive == other.archive && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(archive), id);
+        }
+    }
+
+    /**
+     * Liefert den Dienst, über welchen die Spiele mit Oberfläche gespeichert werden. Beim
+     * Beenden des Programms werden die ausstehenden Spielstände noch geschrieben.
+     *
+     * @return Dienst
+     */
+    public static synchronized SaveService getInstance() {
+        if (instance == null) {
+            SaveService service = new SaveService();
+            Runtime.getRuntime().addShutdownHook(new Thread(service::close,
+                    "save-service-shutdown"));
+            instance = service;
+        }
+
+        return instance;
+    }
+
+    /**
+     * Speichert einen Spielstand in die übergebene Datei. Endet der Name der Datei auf
+     * {@link Data#BINARY_EXTENSION}, wird das binäre Format verwendet, ansonsten JSON.
+     *
+     * @param data Unveränderlicher Spielstand
+     * @param file Spielstanddatei
+     */
+    public void saveGame(Data data, File file) {
+        File target = file.getAbsoluteFile();
+
+        submit(target, () -> {
+            File tmp = new File(target.getPath() + ".tmp");
+            if (target.getName().endsWith(Data.BINARY_EXTENSION)) {
+                data.saveGameBinary(tmp);
+            } else {
+                data.saveGame(new FileOutputStream(tmp));
+            }
+
+            try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        });
+    }
+
+    /**
+     * Speichert einen Spielstand unter der übergebenen Kennung im Archiv.
+     *
+     * @param data    Unveränderlicher Spielstand
+     * @param archive Archiv
+     * @param id      Kennung des Spielstandes
+     */
+    public void saveGame(Data data, GameArchive archive, String id) {
+        submit(new ArchiveKey(archive, id), () -> archive.put(id, data));
+    }
+
+    /**
+     * Führt einen Schreibvorgang nach allen zuvor übergebenen aus. Wurde der Dienst bereits
+     * beendet, wird der Schreibvorgang direkt ausgeführt.
+     *
+     * @param task Schreibvorgang
+     */
+    @Override
+    public void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * Wartet, bis alle bisher übergebenen Spielstände geschrieben wurden.
+     *
+     * @throws InterruptedException Wenn der wartende Thread unterbrochen wurde
+     */
+    public void flush() throws InterruptedException {
+        try {
+            executor.submit(() -> {
+            }).get();
+        } catch (ExecutionException e) {
+            // Die leere Aufgabe wirft keine Exception
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Spielstände, welche durch einen neueren ersetzt wurden, bevor sie
+     * geschrieben wurden.
+     *
+     * @return Anzahl der ersetzten Spielstände
+     */
+    public synchronized int getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Schreibt die ausstehenden Spielstände und beendet den Thread.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Übergibt einen Speichervorgang. Ist für das Ziel bereits ein noch nicht begonnener
+     * Speichervorgang vorhanden, wird dieser ersetzt.
+     *
+     * @param key  Ziel des Spielstandes
+     * @param task Speichervorgang
+     */
+    private synchronized void submit(Object key, SaveTask task) {
+        if (pending.put(key, task) != null) {
+            coalescedCount++;
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                SaveTask current;
+                synchronized (this) {
+                    current = pending.remove(key);
+                }
+
+                run(current);
+            });
+        } catch (RejectedExecutionException e) {
+            // Dienst wurde bereits beendet, Spielstand direkt schreiben
+            pending.remove(key);
+            run(task);
+        }
+    }
+
+    /**
+     * Führt einen Speichervorgang aus. Fehler werden ausgegeben, aber nicht weitergereicht.
+     *
+     * @param task Speichervorgang
+     */
+    private static void run(SaveTask task) {
+        try {
+            task.save();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
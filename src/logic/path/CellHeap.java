@@ -0,0 +1,206 @@
+package logic.path;
+
+import logic.Position;
+
+import java.util.Arrays;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse stellt die offene Liste der {@link PathUtil#aStarSearch A*-Suche} als Binär-Heap
+ * über die Indices der Gängekarten ({@code col * rowCount + row}) dar.
+ * <p>
+ * Sortiert wird nach den geschätzten Gesamtkosten (bisherige Kosten + Manhattan-Distanz zum
+ * Ziel), bei Gleichstand nach der Manhattan-Distanz und zuletzt nach dem Index. Die bisherigen
+ * Kosten werden aus dem von der Suche gepflegten Array gelesen, weshalb nach einer Verringerung
+ * der Kosten {@link #pushOrDecrease(int)} aufgerufen werden muss.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 10.08.2021
+ */
+class CellHeap {
+
+    /**
+     * Indices der Gängekarten in Heap-Anordnung.
+     */
+    private final int[] heap;
+
+    /**
+     * Position jeder Gängekarte im Heap (-1 = nicht enthalten).
+     */
+    private final int[] heapIndices;
+
+    /**
+     * Bisherige Kosten je Gängekarte.
+     */
+    private final int[] gCosts;
+
+    /**
+     * Anzahl der Reihen des Spielfeldes.
+     */
+    private final int rowCount;
+
+    /**
+     * Spalte und Reihe der Zielposition.
+     */
+    private final int targetCol;
+    private final int targetRow;
+
+    /**
+     * Anzahl der Elemente im Heap.
+     */
+    private int size;
+
+    /**
+     * Konstruktor.
+     *
+     * @param cellCount Anzahl der Gängekarten des Spielfeldes
+     * @param rowCount  Anzahl der Reihen des Spielfeldes
+     * @param gCosts    Bisherige Kosten je Gängekarte
+     * @param targetPos Zielposition
+     */
+    CellHeap(int cellCount, int rowCount, int[] gCosts, Position targetPos) {
+        this.heap = new int[cellCount];
+        this.heapIndices = new int[cellCount];
+        Arrays.fill(this.heapIndices, -1);
+        this.gCosts = gCosts;
+        this.rowCount = rowCount;
+        this.targetCol = targetPos.getX();
+        this.targetRow = targetPos.getY();
+    }
+
+    /**
+     * Gibt an, ob der Heap leer ist.
+     *
+     * @return True, wenn keine Gängekarte mehr enthalten ist
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Liefert die Manhattan-Distanz der Gängekarte zum Ziel.
+     *
+     * @param cell Index der Gängekarte
+     * @return Manhattan-Distanz zum Ziel
+     */
+    int heuristic(int cell) {
+        return Math.abs(cell / rowCount - targetCol) + Math.abs(cell % rowCount - targetRow);
+    }
+
+    /**
+     * Fügt eine Gängekarte hinzu, die noch nicht im Heap enthalten ist.
+     *
+     * @param cell Index der Gängekarte
+     */
+    void push(int cell) {
+        heap[size] = cell;
+        heapIndices[cell] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Fügt eine Gängekarte hinzu oder stellt die Heap-Eigenschaft nach einer Verringerung ihrer
+     * Kosten wieder her.
+     *
+     * @param cell Index der Gängekarte
+     */
+    void pushOrDecrease(int cell) {
+        if (heapIndices[cell] == -1) {
+            push(cell);
+        } else {
+            siftUp(heapIndices[cell]);
+        }
+    }
+
+    /**
+     * Entnimmt die Gängekarte mit den geringsten geschätzten Gesamtkosten.
+     *
+     * @return Index der Gängekarte
+     */
+    int poll() {
+        int top = heap[0];
+        heapIndices[top] = -1;
+
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            heapIndices[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return top;
+    }
+
+    /**
+     * Bewegt das Element an der übergebenen Stelle nach oben, bis die Heap-Eigenschaft gilt.
+     *
+     * @param index Stelle im Heap
+     */
+    private void siftUp(int index) {
+        int cell = heap[index];
+
+        while (index > 0) {
+            int parentIndex = (index - 1) / 2;
+            int parent = heap[parentIndex];
+            if (compare(cell, parent) >= 0) {
+                break;
+            }
+            heap[index] = parent;
+            heapIndices[parent] = index;
+            index = parentIndex;
+        }
+
+        heap[index] = cell;
+        heapIndices[cell] = index;
+    }
+
+    /**
+     * Bewegt das Element an der übergebenen Stelle nach unten, bis die Heap-Eigenschaft gilt.
+     *
+     * @param index Stelle im Heap
+     */
+    private void siftDown(int index) {
+        int cell = heap[index];
+
+        while (2 * index + 1 < size) {
+            int childIndex = 2 * index + 1;
+            if (childIndex + 1 < size && compare(heap[childIndex + 1], heap[childIndex]) < 0) {
+                childIndex++;
+            }
+            int child = heap[childIndex];
+            if (compare(child, cell) >= 0) {
+                break;
+            }
+            heap[index] = child;
+            heapIndices[child] = index;
+            index = childIndex;
+        }
+
+        heap[index] = cell;
+        heapIndices[cell] = index;
+    }
+
+    /**
+     * Vergleicht zwei Gängekarten nach geschätzten Gesamtkosten, Heuristik und Index.
+     *
+     * @param a Index der ersten Gängekarte
+     * @param b Index der zweiten Gängekarte
+     * @return Negativ, wenn {@code a} vor {@code b} betrachtet wird, ansonsten positiv
+     */
+    private int compare(int a, int b) {
+        int hA = heuristic(a);
+        int hB = heuristic(b);
+
+        int result = Integer.compare(gCosts[a] + hA, gCosts[b] + hB);
+        if (result == 0) {
+            result = Integer.compare(hA, hB);
+        }
+        if (result == 0) {
+            result = Integer.compare(a, b);
+        }
+
+        return result;
+    }
+}
@@ -4,17 +4,7 @@ import logic.Position;
 import logic.Direction;
 import logic.tile.Tile;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.NavigableMap;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
-import java.util.TreeMap;
+import java.util.Arrays;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -23,88 +13,139 @@ import java.util.TreeMap;
  * Diese Klasse stellt Operationen zur Pfadfindung bereit.
  *
  * @author svnsrd  [Repo 37]
- * @version 08.08.2021
+ * @version 10.08.2021
  */
 public class PathUtil {
 
+    /**
+     * Alle Richtungen, um nicht bei jedem Aufruf ein neues Array über {@code values()} zu
+     * erzeugen.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Bits der jeweils entgegengesetzten Richtung (Index entspricht dem Ordinal-Wert der
+     * Richtung).
+     */
+    private static final int[] OPPOSITE_BITS = new int[DIRECTIONS.length];
 
+    static {
+        for (Direction dir : DIRECTIONS) {
+            OPPOSITE_BITS[dir.ordinal()] = dir.getOppositeDir().getBit();
+        }
+    }
 
     /**
-     * Pfadfindung für die KI.
+     * Pfadsuche nach dem <i>A*-Algorithmus</i>.
      * <p>
-     * Diese Methode sucht einen Pfad von der übergebenen Startposition ({@code startPos}) zu
-     * einer übergebenen Endposition ({@code targetPos}) auf dem übergebenen Array ({@code field}).
-     * Dabei ist nur relevant, ob die Position {@code targetPos} erreicht werden kann.
+     * Diese Methode sucht einen kürzesten Pfad von der übergebenen Startposition
+     * ({@code startPos}) zu einer übergebenen Endposition ({@code targetPos}) auf dem übergebenen
+     * Array ({@code field}). Jeder Schritt kostet 1, als Heuristik dient die Manhattan-Distanz,
+     * welche die tatsächlichen Kosten nie überschätzt. Die Suche endet, sobald das Ziel aus der
+     * offenen Liste entnommen wird. Liegt das Ziel außerhalb des Spielfeldes oder ist es nicht
+     * erreichbar, wird die gesamte erreichbare Region durchsucht.
      * <p>
-     * Der Algorithmus zur Pfadfindung basiert auf dem <i>A*-Algorithmus</i>, welche mit einer
-     * Heuristik arbeitet.
+     * Die offene Liste ist ein Binär-Heap über die Indices der Gängekarten. Bei gleichen
+     * geschätzten Gesamtkosten wird die Gängekarte mit der geringeren Heuristik und anschließend
+     * die mit dem kleineren Index gewählt, sodass das Ergebnis deterministisch ist.
      *
-     * <b>Heuristik: (p1.x - p2.x) + (p1.y - p2.y)</b>
+     * <b>Heuristik: |p1.x - p2.x| + |p1.y - p2.y|</b>
      *
      * @param field     Das Feld auf dem die Pfadfindung stattfindet
      * @param startPos  Startposition von der die Pfadfindung beginnt
      * @param targetPos Zielposition
-     * @return Mapping von Distanzen auf entsprechende Positionen des Feldes {@code field}
+     * @return Ergebnis der Suche mit Distanzen und der dem Ziel nächsten erreichten Position
      */
-    public static Map<Integer, Position> aStarSearch(Tile[][] field, Position startPos,
-                                                     Position targetPos) {
-
-        // Ergebnis-Map, welche sortierte Distanz-Positions-Paare enthält
-        NavigableMap<Integer, Position> distances = new TreeMap<>();
-
-        // Bereits betrachtete Positionen des Spielfeldes
-        Set<Position> closedList = new HashSet<>();
-
-        // Comparator damit die Positionen gewählt werden die bereits nahe der Zielposition sind
-        final Comparator<Position> distanceComparator = Comparator.comparingInt(
-                p -> p.distanceTo(targetPos));
+    public static SearchResult aStarSearch(Tile[][] field, Position startPos,
+                                           Position targetPos) {
+        final int colcount = field.length;
+        final int rowcount = field[0].length;
+        final int cellcount = colcount * rowcount;
 
-        // Noch zu betrachtende Positionen
-        Queue<Position> openList = new PriorityQueue<>(distanceComparator);
+        final int startCell = startPos.getX() * rowcount + startPos.getY();
+        final int targetCell = isValid(targetPos.getX(), targetPos.getY(), colcount, rowcount)
+                ? targetPos.getX() * rowcount + targetPos.getY() : -1;
 
-        // Startposition zur offenen Liste hinzufügen
-        openList.add(startPos);
+        // Tatsächliche Kosten von der Startposition (-1 = noch nicht erreicht)
+        int[] gCosts = new int[cellcount];
+        Arrays.fill(gCosts, -1);
+        gCosts[startCell] = 0;
 
-        // Solange noch zu betrachtende Knoten existieren
-        while (!openList.isEmpty()) {
+        // Elternknoten jeder erreichten Gängekarte, die Startposition verweist auf sich selbst
+        int[] parents = new int[cellcount];
+        parents[startCell] = startCell;
 
-            // Knoten mit der geringsten Distanz zum Ziel erhalten
-            Position currentPos = openList.poll();
+        // Bereits abschließend betrachtete Gängekarten
+        boolean[] closed = new boolean[cellcount];
 
-            // Knoten zur closedList hinzufügen
-            closedList.add(currentPos);
+        // Noch zu betrachtende Gängekarten
+        CellHeap openList = new CellHeap(cellcount, rowcount, gCosts, targetPos);
+        openList.push(startCell);
 
-            // Distanz berechnen und zur Ergebnis-Map hinzufügen
-            int distance = currentPos.distanceTo(targetPos);
-            distances.put(distance, currentPos);
+        // Dem Ziel nächste abschließend betrachtete Gängekarte
+        int closestCell = startCell;
+        int closestDistance = openList.heuristic(startCell);
 
-            // Haben wir das Ziel erreicht geben wir die closedList zurück
-            //if (currentPos.equals(targetPos)) {
-            //    return distances;
-            //}
-
-            // Generierung der benachbarten Positionen (Kinder)
-            List<Position> neighbours = generateValidNeighbours(field, currentPos, closedList);
+        while (!openList.isEmpty()) {
 
-            // Jeden generierten (validen) Nachbar-Knoten durchlaufen und Werte aktualisieren
-            for (Position neighbourPos : neighbours) {
+            // Knoten mit den geringsten geschätzten Gesamtkosten erhalten
+            int cell = openList.poll();
+            closed[cell] = true;
+
+            // Geringere Distanz zum Ziel, bei Gleichstand weniger Schritte bzw. kleinerer Index
+            int distance = openList.heuristic(cell);
+            if (distance < closestDistance || distance == closestDistance
+                    && (gCosts[cell] < gCosts[closestCell]
+                    || gCosts[cell] == gCosts[closestCell] && cell < closestCell)) {
+                closestCell = cell;
+                closestDistance = distance;
+            }
 
-                // Nachbar schon erkundet worden?
-                if (!closedList.contains(neighbourPos)) {
+            // Haben wir das Ziel erreicht, ist der Pfad dorthin bereits ein kürzester
+            if (cell == targetCell) {
+                break;
+            }
 
-                    // Knoten zu der offenen Liste hinzufügen
-                    openList.add(neighbourPos);
+            int col = cell / rowcount;
+            int row = cell % rowcount;
+            int exitMask = field[col][row].exitMask();
+            int neighbourCost = gCosts[cell] + 1;
+
+            // Jeden verbundenen Nachbarn durchlaufen und Kosten aktualisieren
+            for (Direction dir : DIRECTIONS) {
+                int x = col + dir.getDirPos().getX();
+                int y = row + dir.getDirPos().getY();
+
+                if (isConnected(field, exitMask, dir, x, y)) {
+                    int neighbour = x * rowcount + y;
+
+                    if (!closed[neighbour]
+                            && (gCosts[neighbour] == -1 || neighbourCost < gCosts[neighbour])) {
+                        gCosts[neighbour] = neighbourCost;
+                        parents[neighbour] = cell;
+                        openList.pushOrDecrease(neighbour);
+                    }
                 }
             }
         }
 
-        return distances;
+        // Nur abschließend betrachtete Gängekarten haben eine gesicherte Distanz
+        for (int cell = 0; cell < cellcount; cell++) {
+            if (!closed[cell]) {
+                gCosts[cell] = -1;
+            }
+        }
+
+        return new SearchResult(rowcount, gCosts, parents, targetCell, closestCell);
     }
 
     /**
      * Diese Operation generiert von einer Startposition ({@code startPos}) alle möglichen Pfade
      * inklusive der jeweiligen Speicherung von Elternknoten, sodass eine Konstruktion eines
      * Pfades über {@link PathNode} möglich ist.
+     * <p>
+     * Wird lediglich die Erreichbarkeit benötigt, sollte {@link ReachabilityUtil} genutzt
+     * werden, welche keine Pfadknoten erzeugt.
      *
      * @param field Das Spielfeld (ohne Umrandung)
      * @param startPos Position von der aus alle möglichen Positionen berechnet werden
@@ -116,45 +157,44 @@ public class PathUtil {
         final int colcount = field.length;
         final int rowcount = field[0].length;
 
-        // Speichern aller bereits besuchten Gängekarten während der Berechnung
-        Set<Position> visited = new HashSet<>();
-
-        // Speichern von Knoten an validen Positionen
+        // Speichern von Knoten an validen Positionen, ein Knoten markiert zugleich eine bereits
+        // besuchte Gängekarte
         PathNode[][] validPositions = new PathNode[colcount][rowcount];
 
-        // Aktuelle Spielerposition als "bereits besucht" markieren
-        visited.add(startPos);
-
         // Spieler darf auch stehen bleiben
         validPositions[startPos.getX()][startPos.getY()] = new PathNode(startPos, null);
 
-        // Warteschlange, welche alle Gängekarten enthält, die noch geprüft werden müssen
-        Queue<PathNode> tiles = new LinkedList<>();
+        // Warteschlange (Indices der Gängekarten), welche alle Gängekarten enthält, die noch
+        // geprüft werden müssen
+        int[] queue = new int[colcount * rowcount];
+        int head = 0;
+        int tail = 0;
 
         // Position, auf der der Spieler steht, ist valide
-        tiles.add(validPositions[startPos.getX()][startPos.getY()]);
+        queue[tail++] = startPos.getX() * rowcount + startPos.getY();
 
-
-        while (!tiles.isEmpty()) {
+        while (head < tail) {
             // Aktuellen Knoten zuweisen und gleichzeitig entfernen
-            PathNode currNode = tiles.poll();
-
-            // Nachbars-Knoten generieren
-            List<Position> neighbours = generateValidNeighbours(field, currNode.getPosition(), visited);
+            int cell = queue[head++];
+            int col = cell / rowcount;
+            int row = cell % rowcount;
+            PathNode currNode = validPositions[col][row];
 
-            // Durchlaufen aller generierten Nachbarn zur aktuellen Position
-            for (Position neighbourPos : neighbours) {
-                // Pfad-Knoten erzeugen
-                PathNode neighbourNode = new PathNode(neighbourPos, currNode);
+            // Ausgangs-Maske der aktuellen Gängekarte
+            int exitMask = field[col][row].exitMask();
 
-                // Nachbarn als bereits besucht markieren
-                visited.add(neighbourPos);
+            // Durchlaufen aller verbundenen Nachbarn der aktuellen Position
+            for (Direction dir : DIRECTIONS) {
+                int x = col + dir.getDirPos().getX();
+                int y = row + dir.getDirPos().getY();
 
-                // Knoten zu den erreichbaren Positionen hinzufügen
-                validPositions[neighbourPos.getX()][neighbourPos.getY()] = neighbourNode;
+                if (isConnected(field, exitMask, dir, x, y) && validPositions[x][y] == null) {
+                    // Pfad-Knoten erzeugen und zu den erreichbaren Positionen hinzufügen
+                    validPositions[x][y] = new PathNode(Position.of(x, y), currNode);
 
-                // Knoten zu der Warteschlange hinzufügen
-                tiles.add(neighbourNode);
+                    // Knoten zu der Warteschlange hinzufügen
+                    queue[tail++] = x * rowcount + y;
+                }
             }
         }
 
@@ -162,58 +202,47 @@ public class PathUtil {
     }
 
     /**
-     * Generiert eine Liste von <b>betretbaren</b> benachbarten Positionen.
+     * Sucht einen Pfad von der Startposition ({@code startPos}) zur Zielposition
+     * ({@code targetPos}) und erzeugt lediglich für diesen Pfad {@link PathNode Pfadknoten}.
      *
-     * @param field   Das Spielfeld
-     * @param currPos Position von der aus die betretbaren benachbarten Positionen ermittelt werden
-     *                sollen
-     * @param visited Array, welche die bereits betrachteten Positionen beinhaltet
-     * @return Liste von <b>betretbaren</b> benachbarten Positionen
+     * @param field     Das Spielfeld (ohne Umrandung)
+     * @param startPos  Startposition
+     * @param targetPos Zielposition
+     * @return Pfadknoten der Zielposition oder {@code null}, wenn diese nicht erreichbar ist
      */
-    private static List<Position> generateValidNeighbours(Tile[][] field, Position currPos,
-                                                          Set<Position> visited) {
-        List<Position> neighbours = new ArrayList<>();
-
-        // Das Gängekarten-Objekt auf der Position erhalten
-        Tile currTile = field[currPos.getX()][currPos.getY()];
-
-        // Offene Richtungen der aktuellen Gängekarten ermitteln
-        Direction[] openDirsOfCurrTile = currTile.getOpenDirections();
-
-        for (Direction dir : openDirsOfCurrTile) {
-            // x- und y-Koordinate des aktuellen Nachbarn ermitteln
-            int x = currPos.getX() + dir.getDirPos().getX();
-            int y = currPos.getY() + dir.getDirPos().getY();
+    public static PathNode findPath(Tile[][] field, Position startPos, Position targetPos) {
+        SearchResult result = aStarSearch(field, startPos, targetPos);
 
-            // Überprüfen, ob die Koordinaten noch im Spielfeld sind
-            if (isValid(x, y, field.length, field[0].length)) {
-                // Gängekarten-Objekt des Nachbarn erhalten
-                Tile toTile = field[x][y];
-
-                // Ermitteln der entgegengesetzten Richtung von der aktuellen Richtung aus
-                Direction oppositeDir = dir.getOppositeDir();
-
-                // Position erzeugen
-                Position currNeighbourPos = new Position(x, y);
-
-                // Kann der Nachbar betreten werden und ist noch nicht besucht
-                if (toTile.canBeEnteredFrom(oppositeDir) && !visited.contains(currNeighbourPos)) {
-                    neighbours.add(currNeighbourPos);
-                }
-            }
-        }
+        return result.isTargetReached() ? result.getPathNode(targetPos) : null;
+    }
 
-        return neighbours;
+    /**
+     * Gibt an, ob die Gängekarte mit der übergebenen Ausgangs-Maske über die übergebene Richtung
+     * mit der benachbarten Gängekarte an ({@code x}, {@code y}) verbunden ist.
+     *
+     * @param field    Das Spielfeld
+     * @param exitMask Ausgangs-Maske der aktuellen Gängekarte
+     * @param dir      Richtung zum Nachbarn
+     * @param x        Spalte des Nachbarn
+     * @param y        Reihe des Nachbarn
+     * @return True, wenn beide Gängekarten über passende Ausgänge verbunden sind
+     */
+    private static boolean isConnected(Tile[][] field, int exitMask, Direction dir, int x, int y) {
+        return (exitMask & dir.getBit()) != 0
+                && isValid(x, y, field.length, field[0].length)
+                && (field[x][y].exitMask() & OPPOSITE_BITS[dir.ordinal()]) != 0;
     }
 
     /**
      * Überprüft, ob die Koordinaten sich noch im Spielfeld befinden.
      *
-     * @param row Reihe
-     * @param col Spalte
+     * @param col     Spalte
+     * @param row     Reihe
+     * @param maxCols Anzahl der Spalten
+     * @param maxRows Anzahl der Reihen
      * @return True, wenn die Position sich im Spielfeld befindet, ansonsten false.
      */
-    private static boolean isValid(int row, int col, int maxCols, int maxRows) {
+    private static boolean isValid(int col, int row, int maxCols, int maxRows) {
         return row >= 0 && row < maxRows && col >= 0 && col < maxCols;
     }
 }
@@ -0,0 +1,221 @@
+package logic.path;
+
+import logic.Direction;
+import logic.tile.Tile;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse berechnet die von einer Startposition aus erreichbaren Gängekarten als
+ * <i>Bitmaske</i>.
+ * <p>
+ * Jede Gängekarte entspricht dem Bit {@code col * rowCount + row}. Für Spielfelder mit bis zu
+ * {@value #MAX_SINGLE_WORD_CELLS} Gängekarten passt die gesamte erreichbare Region in einen
+ * {@code long} und wird ohne Erzeugung von Objekten berechnet: Aus den
+ * {@link Tile#exitMask() Ausgangs-Masken} werden je Richtung die verbundenen Gängekarten als
+ * Bitmaske bestimmt und die erreichbare Region so lange um ihre Nachbarn erweitert, bis sie sich
+ * nicht mehr verändert.
+ * <p>
+ * Für größere Spielfelder steht eine Variante zur Verfügung, welche die Region in mehreren
+ * {@code long}-Werten liefert.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 10.08.2021
+ */
+public class ReachabilityUtil {
+
+    /**
+     * Maximale Anzahl an Gängekarten, deren erreichbare Region in einen {@code long} passt.
+     */
+    public static final int MAX_SINGLE_WORD_CELLS = Long.SIZE;
+
+    /**
+     * Bits der Richtungen.
+     */
+    private static final int UP = Direction.UP.getBit();
+    private static final int RIGHT = Direction.RIGHT.getBit();
+    private static final int DOWN = Direction.DOWN.getBit();
+    private static final int LEFT = Direction.LEFT.getBit();
+
+    /**
+     * Berechnet die von der übergebenen Startposition erreichbaren Gängekarten.
+     *
+     * @param board    Das Spielfeld (ohne Umrandung) mit höchstens
+     *                 {@value #MAX_SINGLE_WORD_CELLS} Gängekarten
+     * @param startCol Spalte der Startposition
+     * @param startRow Reihe der Startposition
+     * @return Bitmaske der erreichbaren Gängekarten
+     */
+    public static long reachableCells(Tile[][] board, int startCol, int startRow) {
+        final int colCount = board.length;
+        final int rowCount = board[0].length;
+        assert colCount * rowCount <= MAX_SINGLE_WORD_CELLS;
+
+        long openUp = 0;
+        long openRight = 0;
+        long openDown = 0;
+        long openLeft = 0;
+
+        for (int col = 0; col < colCount; col++) {
+            for (int row = 0; row < rowCount; row++) {
+                int exitMask = board[col][row].exitMask();
+                long bit = 1L << (col * rowCount + row);
+
+                openUp |= (exitMask & UP) != 0 ? bit : 0;
+                openRight |= (exitMask & RIGHT) != 0 ? bit : 0;
+                openDown |= (exitMask & DOWN) != 0 ? bit : 0;
+                openLeft |= (exitMask & LEFT) != 0 ? bit : 0;
+            }
+        }
+
+        return flood(openUp, openRight, openDown, openLeft, colCount, rowCount,
+                startCol * rowCount + startRow);
+    }
+
+    /**
+     * Berechnet die von der übergebenen Startposition erreichbaren Gängekarten für Spielfelder
+     * beliebiger Größe.
+     * <p>
+     * Das Ergebnis besteht aus {@code ceil(colCount * rowCount / 64)} {@code long}-Werten, Bit
+     * {@code i} befindet sich im Wert {@code i / 64} an der Stelle {@code i % 64}.
+     *
+     * @param board    Das Spielfeld (ohne Umrandung)
+     * @param startCol Spalte der Startposition
+     * @param startRow Reihe der Startposition
+     * @return Bitmaske der erreichbaren Gängekarten
+     */
+    public static long[] reachableCellsMultiWord(Tile[][] board, int startCol, int startRow) {
+        final int colCount = board.length;
+        final int rowCount = board[0].length;
+        final int cellCount = colCount * rowCount;
+
+        // Ausgangs-Masken zwischenspeichern, damit jede Gängekarte nur einmal betrachtet wird
+        byte[] exitMasks = new byte[cellCount];
+        for (int col = 0; col < colCount; col++) {
+            for (int row = 0; row < rowCount; row++) {
+                exitMasks[col * rowCount + row] = (byte) board[col][row].exitMask();
+            }
+        }
+
+        long[] reachable = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+        int[] stack = new int[cellCount];
+        int stackSize = 0;
+
+        int startCell = startCol * rowCount + startRow;
+        reachable[startCell / Long.SIZE] |= 1L << startCell;
+        stack[stackSize++] = startCell;
+
+        while (stackSize > 0) {
+            int cell = stack[--stackSize];
+            int exitMask = exitMasks[cell];
+            int row = cell % rowCount;
+
+            // Nachbarn, welche über einen passenden Ausgang verbunden sind
+            if ((exitMask & UP) != 0 && row > 0
+                    && (exitMasks[cell - 1] & DOWN) != 0) {
+                stackSize = visit(reachable, stack, stackSize, cell - 1);
+            }
+            if ((exitMask & DOWN) != 0 && row < rowCount - 1
+                    && (exitMasks[cell + 1] & UP) != 0) {
+                stackSize = visit(reachable, stack, stackSize, cell + 1);
+            }
+            if ((exitMask & LEFT) != 0 && cell >= rowCount
+                    && (exitMasks[cell - rowCount] & RIGHT) != 0) {
+                stackSize = visit(reachable, stack, stackSize, cell - rowCount);
+            }
+            if ((exitMask & RIGHT) != 0 && cell + rowCount < cellCount
+                    && (exitMasks[cell + rowCount] & LEFT) != 0) {
+                stackSize = visit(reachable, stack, stackSize, cell + rowCount);
+            }
+        }
+
+        return reachable;
+    }
+
+    /**
+     * Gibt an, ob die Gängekarte an der übergebenen Position in der Bitmaske enthalten ist.
+     *
+     * @param reachable Bitmaske der erreichbaren Gängekarten
+     * @param col       Spalte
+     * @param row       Reihe
+     * @param rowCount  Anzahl der Reihen des Spielfeldes
+     * @return True, wenn die Gängekarte erreichbar ist, ansonsten false
+     */
+    public static boolean isReachable(long reachable, int col, int row, int rowCount) {
+        return (reachable & (1L << (col * rowCount + row))) != 0;
+    }
+
+    /**
+     * Gibt an, ob die Gängekarte an der übergebenen Position in der Bitmaske enthalten ist.
+     *
+     * @param reachable Bitmaske der erreichbaren Gängekarten (mehrere {@code long}-Werte)
+     * @param col       Spalte
+     * @param row       Reihe
+     * @param rowCount  Anzahl der Reihen des Spielfeldes
+     * @return True, wenn die Gängekarte erreichbar ist, ansonsten false
+     */
+    public static boolean isReachable(long[] reachable, int col, int row, int rowCount) {
+        int cell = col * rowCount + row;
+        return (reachable[cell / Long.SIZE] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Erweitert die erreichbare Region ausgehend von der Startposition so lange um ihre
+     * verbundenen Nachbarn, bis sie sich nicht mehr verändert.
+     *
+     * @param openUp    Gängekarten mit Ausgang nach oben
+     * @param openRight Gängekarten mit Ausgang nach rechts
+     * @param openDown  Gängekarten mit Ausgang nach unten
+     * @param openLeft  Gängekarten mit Ausgang nach links
+     * @param colCount  Anzahl der Spalten
+     * @param rowCount  Anzahl der Reihen
+     * @param startCell Index der Startposition
+     * @return Bitmaske der erreichbaren Gängekarten
+     */
+    private static long flood(long openUp, long openRight, long openDown, long openLeft,
+                              int colCount, int rowCount, int startCell) {
+
+        // Gängekarten, die nicht in der letzten Reihe liegen (Übergang in die nächste Spalte)
+        long notLastRow = 0;
+        for (int col = 0; col < colCount; col++) {
+            notLastRow |= ((1L << (rowCount - 1)) - 1) << (col * rowCount);
+        }
+
+        // Gängekarten, die mit ihrem unteren bzw. rechten Nachbarn verbunden sind
+        long connDown = openDown & (openUp >>> 1) & notLastRow;
+        long connRight = colCount > 1 ? openRight & (openLeft >>> rowCount) : 0;
+
+        long reachable = 1L << startCell;
+        long previous;
+        do {
+            previous = reachable;
+            reachable |= ((reachable & connDown) << 1)
+                    | ((reachable >>> 1) & connDown)
+                    | ((reachable & connRight) << rowCount)
+                    | ((reachable >>> rowCount) & connRight);
+        } while (reachable != previous);
+
+        return reachable;
+    }
+
+    /**
+     * Markiert die übergebene Gängekarte als erreichbar und legt sie auf den Stapel, insofern
+     * sie noch nicht erreicht wurde.
+     *
+     * @param reachable Bitmaske der erreichbaren Gängekarten
+     * @param stack     Stapel der noch zu betrachtenden Gängekarten
+     * @param stackSize Aktuelle Größe des Stapels
+     * @param cell      Index der Gängekarte
+     * @return Neue Größe des Stapels
+     */
+    private static int visit(long[] reachable, int[] stack, int stackSize, int cell) {
+        long bit = 1L << cell;
+        if ((reachable[cell / Long.SIZE] & bit) == 0) {
+            reachable[cell / Long.SIZE] |= bit;
+            stack[stackSize++] = cell;
+        }
+
+        return stackSize;
+    }
+}
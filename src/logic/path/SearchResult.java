@@ -0,0 +1,128 @@
+package logic.path;
+
+import logic.Position;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse enthält das Ergebnis einer {@link PathUtil#aStarSearch Pfadsuche}.
+ * <p>
+ * Neben der Information, ob das Ziel erreicht wurde, enthält sie die Distanzen (Anzahl der
+ * Schritte) aller bis zum Abbruch der Suche erreichten Positionen sowie die erreichte Position,
+ * die dem Ziel am nächsten ist. Pfadknoten werden erst erzeugt, wenn ein Pfad angefordert wird.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 10.08.2021
+ */
+public class SearchResult {
+
+    /**
+     * Anzahl der Reihen des durchsuchten Spielfeldes.
+     */
+    private final int rowCount;
+
+    /**
+     * Anzahl der Schritte von der Startposition je Gängekarte (-1 = nicht erreicht).
+     */
+    private final int[] distances;
+
+    /**
+     * Index des Elternknotens je Gängekarte, die Startposition verweist auf sich selbst.
+     */
+    private final int[] parents;
+
+    /**
+     * Index der Zielposition (-1, wenn das Ziel außerhalb des Spielfeldes liegt).
+     */
+    private final int targetCell;
+
+    /**
+     * Index der erreichten Gängekarte, die dem Ziel am nächsten ist.
+     */
+    private final int closestCell;
+
+    /**
+     * Konstruktor.
+     *
+     * @param rowCount    Anzahl der Reihen des durchsuchten Spielfeldes
+     * @param distances   Anzahl der Schritte je Gängekarte (-1 = nicht erreicht)
+     * @param parents     Index des Elternknotens je Gängekarte
+     * @param targetCell  Index der Zielposition
+     * @param closestCell Index der erreichten Gängekarte, die dem Ziel am nächsten ist
+     */
+    SearchResult(int rowCount, int[] distances, int[] parents, int targetCell, int closestCell) {
+        this.rowCount = rowCount;
+        this.distances = distances;
+        this.parents = parents;
+        this.targetCell = targetCell;
+        this.closestCell = closestCell;
+    }
+
+    /**
+     * Gibt an, ob die Zielposition erreicht wurde.
+     *
+     * @return True, wenn das Ziel erreichbar ist, ansonsten false
+     */
+    public boolean isTargetReached() {
+        return targetCell != -1 && distances[targetCell] != -1;
+    }
+
+    /**
+     * Liefert die erreichte Position, deren Manhattan-Distanz zum Ziel am geringsten ist. Bei
+     * gleicher Distanz wird die Position mit den wenigsten Schritten und anschließend die mit dem
+     * kleinsten Index gewählt.
+     *
+     * @return Dem Ziel nächste erreichte Position
+     */
+    public Position getClosestPos() {
+        return toPosition(closestCell);
+    }
+
+    /**
+     * Liefert die Anzahl der Schritte von der Startposition zur übergebenen Position.
+     *
+     * @param pos Position
+     * @return Anzahl der Schritte oder -1, wenn die Position nicht erreicht wurde
+     */
+    public int getDistance(Position pos) {
+        return distances[pos.getX() * rowCount + pos.getY()];
+    }
+
+    /**
+     * Erzeugt die Pfadknoten von der Startposition bis zur übergebenen Position.
+     *
+     * @param pos Erreichte Position
+     * @return Pfadknoten der übergebenen Position oder {@code null}, wenn sie nicht erreicht wurde
+     */
+    public PathNode getPathNode(Position pos) {
+        int cell = pos.getX() * rowCount + pos.getY();
+        if (distances[cell] == -1) {
+            return null;
+        }
+
+        // Pfadknoten von der Startposition aus erzeugen
+        int[] pathCells = new int[distances[cell] + 1];
+        for (int i = pathCells.length - 1; i >= 0; i--) {
+            pathCells[i] = cell;
+            cell = parents[cell];
+        }
+
+        PathNode node = null;
+        for (int pathCell : pathCells) {
+            node = new PathNode(toPosition(pathCell), node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Wandelt einen Index in eine Position um.
+     *
+     * @param cell Index der Gängekarte
+     * @return Position der Gängekarte
+     */
+    private Position toPosition(int cell) {
+        return Position.of(cell / rowCount, cell % rowCount);
+    }
+}
@@ -2,9 +2,10 @@ package logic.player;
 
 
 import logic.Field;
-import logic.path.PathUtil;
+import logic.path.ReachabilityUtil;
 import logic.Position;
 import logic.Shift;
+import logic.ShiftUndo;
 import logic.Direction;
 import logic.tile.FreeWayCard;
 import logic.tile.Tile;
@@ -13,15 +14,19 @@ import logic.tile.TileState;
 import logic.Treasure;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Random;
-import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -31,7 +36,7 @@ import java.util.TreeMap;
  * zwischen einer <i>normalen</i> und <i>erweiterten</i> KI.
  *
  * @author svnsrd  [Repo: 37]
- * @version 08.08.2021
+ * @version 12.08.2021
  */
 public class AIUtil {
 
@@ -40,87 +45,221 @@ public class AIUtil {
      */
     public static final int DIAGONAL_DIST = 2;
 
+    /**
+     * Feste Reihenfolge der Einschubpositionen (nach Spalte, dann Reihe).
+     */
+    private static final Comparator<Position> INSET_ORDER =
+            Comparator.comparingInt(Position::getX).thenComparingInt(Position::getY);
+
+    /**
+     * Feste Reihenfolge der KI-Züge (nach Einschubposition, dann Rotation).
+     */
+    private static final Comparator<AIMove> MOVE_ORDER =
+            Comparator.comparing(AIMove::getInsetPos, INSET_ORDER)
+                    .thenComparing(AIMove::getFreeWayCardRot);
+
+    /**
+     * Abbruchsignal der Berechnungen, welche nicht abgebrochen werden können.
+     */
+    private static final AtomicBoolean NEVER_CANCELLED = new AtomicBoolean();
+
     /**
      * Berechnet den Pfad zum Ziel-Schatz eines KI-Spielers. Insofern das Erreichen des gesuchten
      * Schatzes nicht möglich ist, werden alle möglichen Positionen zu jedem verfügbaren
      * Einschubvorgang zurückgegeben.
+     * <p>
+     * Die Einschübe werden als {@link PossibleMovesTask} auf dem übergebenen Pool parallel
+     * ausgewertet, das übergebene Spielfeld wird dabei nicht verändert.
+     * <p>
+     * Ist eine {@link TranspositionTable} übergeben, werden die Ergebnisse je Spielfeld-Hash,
+     * Ausgangsposition und Schatz dort nachgeschlagen bzw. abgelegt. Die gelieferten KI-Züge sind
+     * in diesem Fall nicht veränderbar.
      *
      * @param field          Spielfeldinformationen
      * @param currPos        Ausgangsposition von der berechnet werden soll
      * @param treasureToFind Schatzkarte, die bei der Berechnung versucht wird zu finden
+     * @param table          Transpositionstabelle oder {@code null}
+     * @param pool           Pool, auf welchem die Einschübe ausgewertet werden
+     * @param cancelled      Abbruchsignal der Berechnung
      * @return Mapping von Distanzen auf Listen von möglichen KI-Zügen
+     * @throws CancellationException Wenn die Berechnung abgebrochen wurde
      */
     private static NavigableMap<Integer, List<AIMove>> getPossiblePos(Field field,
                                                                       Position currPos,
-                                                                      Treasure treasureToFind) {
+                                                                      Treasure treasureToFind,
+                                                                      TranspositionTable table,
+                                                                      ForkJoinPool pool,
+                                                                      AtomicBoolean cancelled) {
+        if (table != null) {
+            NavigableMap<Integer, List<AIMove>> cached = table.get(field.getHashWithoutRotation(), currPos,
+                    treasureToFind);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        // Insofern es keine Möglichkeit gibt den gesuchten Schatz zu erreichen, werden alle
-        // Positionen mit ihren Pfaden hier gespeichert
-        NavigableMap<Integer, List<AIMove>> moves = new TreeMap<>();
+        // Position der freien Gängekarte stellt Einschubposition dar, welche nicht erlaubt ist.
+        // Die Einschübe werden sortiert, damit die Reihenfolge der KI-Züge fest ist
+        List<Position> validInsetPositions = new ArrayList<>(field.getInsetPositions().keySet());
+        validInsetPositions.remove(field.getFreeWayCard().getPosition());
+        validInsetPositions.sort(INSET_ORDER);
 
-        // Zielposition bestimmen
-        Position targetPos;
+        // Alle möglichen Einschübe mit allen Rotationen der freien Gängekarte auswerten, wobei
+        // gleichwertige Einschübe nur einmal ausgewertet werden
+        ShiftCandidates candidates = ShiftCandidates.create(field, currPos, validInsetPositions);
+        int leafSize = PossibleMovesTask.leafSize(candidates.size(), pool.getParallelism());
+        NavigableMap<Integer, List<AIMove>> moves = pool.invoke(new PossibleMovesTask(field,
+                currPos, treasureToFind, candidates, 0, candidates.size(), leafSize, cancelled));
 
-        // Position der freien Gängekarte stellt Einschubposition dar, welche nicht erlaubt ist
-        Set<Position> validInsetPositions = new HashSet<>(field.getInsetPositions().keySet());
-        validInsetPositions.remove(field.getFreeWayCard().getPosition());
+        // KI-Züge gleichwertiger Einschübe wieder in die Reihenfolge der Einschübe bringen
+        moves.values().removeIf(List::isEmpty);
+        for (List<AIMove> distanceMoves : moves.values()) {
+            distanceMoves.sort(MOVE_ORDER);
+        }
 
-        // Alle möglichen Einschübe durchführen
-        for (Position currInsetPos : validInsetPositions) {
+        if (table != null) {
+            moves = table.put(field.getHashWithoutRotation(), currPos, treasureToFind, moves);
+        }
 
-            // Alle möglichen Rotationen der freien Gängekarte
-            for (int i = 0; i < TileRotation.values().length; i++) {
-                // Aktuelle Rotation auf die freie Gängekarte anwenden
-                field.getFreeWayCard().setRotated(TileRotation.values()[i]);
+        return moves;
+    }
 
-                // Aktuelle Einschieberichtung erhalten
-                Direction currPushDir = field.getInsetPositions().get(currInsetPos);
+    /**
+     * Wertet die {@link ShiftCandidates Kandidaten} {@code from} (inklusive) bis {@code to}
+     * (exklusive) aus. Je Kandidat wird nur der repräsentative Einschub ausgeführt, das Ergebnis
+     * gilt für alle gleichwertigen Einschübe des Kandidaten.
+     * <p>
+     * Jeder Einschub wird auf dem übergebenen Spielfeld ausgeführt und anschließend wieder
+     * rückgängig gemacht, sodass das Spielfeld nicht je Einschub kopiert werden muss.
+     *
+     * @param field          Spielfeld, welches während der Auswertung verändert wird
+     * @param currPos        Ausgangsposition von der berechnet werden soll
+     * @param treasureToFind Schatzkarte, die bei der Berechnung versucht wird zu finden
+     * @param candidates     Auszuwertende Einschübe
+     * @param from           Erster Kandidat (inklusive)
+     * @param to             Letzter Kandidat (exklusive)
+     * @param cancelled      Abbruchsignal der Berechnung, welches je Kandidat geprüft wird
+     * @return Mapping von Distanzen auf Listen von möglichen KI-Zügen
+     * @throws CancellationException Wenn die Berechnung abgebrochen wurde
+     */
+    static NavigableMap<Integer, List<AIMove>> evaluateShifts(Field field, Position currPos,
+                                                              Treasure treasureToFind,
+                                                              ShiftCandidates candidates,
+                                                              int from, int to,
+                                                              AtomicBoolean cancelled) {
+        NavigableMap<Integer, List<AIMove>> moves = new TreeMap<>();
 
-                // Kopie des aktuellen Feldes erzeugen
-                Tile[][] copyOfField = field.copyOfField();
-                Field copyField = new Field(copyOfField, field.getFreeWayCard(), null);
+        for (int i = from; i < to; i++) {
+            checkCancelled(cancelled);
 
-                // Einschiebeoperation erzeugen und ausführen
-                int affectedTileSize = copyField.getAffectedTileSizeOfPush(currPushDir);
-                Shift shift = new Shift(currPushDir, currInsetPos, field.getFreeWayCard(),
-                        affectedTileSize);
-                shift.executeShift(copyOfField);
+            int[] variants = candidates.getVariants(i);
+            Position currInsetPos = candidates.getInsetPos(variants[0]);
+            TileRotation rotation = candidates.getRotation(variants[0]);
 
-                // Position der KI im Rahmen der Einschuboperation aktualisieren, wenn nötig
-                Position test = currPos;
-                if (shift.isPositionAffected(currPos)) {
-                    test = shift.updatePlayerPos(currPos);
-                }
+            // Einschiebeoperation aus dem vorberechneten Einschub erzeugen und auf dem
+            // Spielfeld ausführen, anschließend wird sie wieder rückgängig gemacht
+            Shift shift = new Shift(field.shiftTable().get(currInsetPos),
+                    field.getFreeWayCard());
+            ShiftUndo undo = field.applyShift(shift, rotation);
 
-                // Startposition des Einschubs erhalten (neben insetPos)
-                Position startPos = shift.getLogicalStartPos();
-                copyOfField[startPos.getX()][startPos.getY()] = field.getFreeWayCard();
+            // Position der KI im Rahmen der Einschuboperation aktualisieren, wenn nötig
+            Position test = currPos;
+            if (shift.isPositionAffected(currPos)) {
+                test = shift.updatePlayerPos(currPos);
+            }
 
-                // Wurde die Ziel-Schatzkarte rausgeschoben keinen Pfadfindung durchführen,
-                // ansonsten Position der Schatzkarte finden
-                targetPos = copyField.getTreasurePos(treasureToFind);
-                if (targetPos != null) {
-                    // Pfad zum Schatz finden
-                    Map<Integer, Position> possibleNodes = PathUtil.aStarSearch(copyOfField, test,
-                            targetPos);
+            // Wurde die Ziel-Schatzkarte rausgeschoben keinen Pfadfindung durchführen,
+            // ansonsten Position der Schatzkarte finden
+            Position targetPos = field.getTreasurePos(treasureToFind);
+            if (targetPos != null) {
+                // Erreichbare Positionen ermitteln und je Distanz zum Schatz einen KI-Zug
+                // hinzufügen
+                addReachableMoves(moves, field.getBoard(), test, targetPos, candidates,
+                        variants);
+            }
 
-                    for (int distance : possibleNodes.keySet()) {
-                        // Aktuellen Pfadknoten und seine Position erhalten
-                        Position nodePos = possibleNodes.get(distance);
+            // Einschub rückgängig machen
+            field.undoShift(undo);
+        }
 
-                        // Neuen KI-Zug erzeugen
-                        AIMove newMove = new AIMove(TileRotation.values()[i], currInsetPos, nodePos,
-                                targetPos);
+        return moves;
+    }
 
-                        // Neuen KI-Zug zu den möglichen Zügen hinzufügen
-                        moves.computeIfAbsent(distance, k -> new ArrayList<>()).add(newMove);
-                    }
+    /**
+     * Ermittelt alle von der Startposition aus erreichbaren Positionen und fügt je Distanz zum
+     * Schatz und je gleichwertigem Einschub einen KI-Zug zu den übergebenen möglichen KI-Zügen
+     * hinzu.
+     * <p>
+     * Die Erreichbarkeit wird über {@link ReachabilityUtil} als Bitmaske berechnet, sodass je
+     * Einschub keine Pfadknoten oder Positionen für nicht benötigte Gängekarten erzeugt werden.
+     * Bei mehreren Positionen mit gleicher Distanz wird die Position mit dem kleinsten Index
+     * ({@code col * rowCount + row}) gewählt.
+     *
+     * @param moves      Mapping von Distanzen auf Listen von möglichen KI-Zügen
+     * @param board      Das Spielfeld nach dem Einschub
+     * @param startPos   Position der KI nach dem Einschub
+     * @param targetPos  Position des Schatzes nach dem Einschub
+     * @param candidates Auszuwertende Einschübe
+     * @param variants   Gleichwertige Einschübe, die zu diesem Spielfeld führen
+     */
+    private static void addReachableMoves(NavigableMap<Integer, List<AIMove>> moves,
+                                          Tile[][] board, Position startPos, Position targetPos,
+                                          ShiftCandidates candidates, int[] variants) {
+        final int colCount = board.length;
+        final int rowCount = board[0].length;
+
+        // Je Distanz zum Schatz die erste erreichbare Gängekarte
+        int[] cellPerDistance = new int[colCount + rowCount + 2];
+        Arrays.fill(cellPerDistance, -1);
+
+        if (colCount * rowCount <= ReachabilityUtil.MAX_SINGLE_WORD_CELLS) {
+            long reachable = ReachabilityUtil.reachableCells(board, startPos.getX(),
+                    startPos.getY());
+            addCells(cellPerDistance, reachable, 0, rowCount, targetPos);
+        } else {
+            long[] reachable = ReachabilityUtil.reachableCellsMultiWord(board, startPos.getX(),
+                    startPos.getY());
+            for (int word = 0; word < reachable.length; word++) {
+                addCells(cellPerDistance, reachable[word], word * Long.SIZE, rowCount, targetPos);
+            }
+        }
+
+        for (int distance = 0; distance < cellPerDistance.length; distance++) {
+            int cell = cellPerDistance[distance];
+            if (cell != -1) {
+                Position cellPos = Position.of(cell / rowCount, cell % rowCount);
+                List<AIMove> distanceMoves = moves.computeIfAbsent(distance,
+                        k -> new ArrayList<>());
+                for (int variant : variants) {
+                    distanceMoves.add(new AIMove(candidates.getRotation(variant),
+                            candidates.getInsetPos(variant), cellPos, targetPos));
                 }
             }
         }
+    }
 
-        moves.values().removeIf(List::isEmpty);
-        return moves;
+    /**
+     * Ordnet die gesetzten Bits der übergebenen Bitmaske ihrer Distanz zum Schatz zu, insofern
+     * für diese Distanz noch keine Gängekarte gefunden wurde.
+     *
+     * @param cellPerDistance Je Distanz die erste erreichbare Gängekarte (-1 = keine)
+     * @param reachable       Bitmaske erreichbarer Gängekarten
+     * @param offset          Index des ersten Bits der Bitmaske
+     * @param rowCount        Anzahl der Reihen des Spielfeldes
+     * @param targetPos       Position des Schatzes
+     */
+    private static void addCells(int[] cellPerDistance, long reachable, int offset, int rowCount,
+                                 Position targetPos) {
+        while (reachable != 0) {
+            int cell = offset + Long.numberOfTrailingZeros(reachable);
+            reachable &= reachable - 1;
+
+            int distance = Math.abs(cell / rowCount - targetPos.getX())
+                    + Math.abs(cell % rowCount - targetPos.getY());
+            if (cellPerDistance[distance] == -1) {
+                cellPerDistance[distance] = cell;
+            }
+        }
     }
 
     /**
@@ -140,13 +279,20 @@ public class AIUtil {
      * @param currPos    Ausgangsposition von der aus berechnet wird
      * @param treasure   Zu erreichender Schatz
      * @param playerType KI-Typ
+     * @param table      Transpositionstabelle oder {@code null}
+     * @param rnd        Zufallszahlengenerator
+     * @param pool       Pool, auf welchem die Einschübe ausgewertet werden
+     * @param cancelled  Abbruchsignal der Berechnung
      * @return Liste von gleichwertig guten KI-Spielzügen, gemäß des KI-Typs
      */
     private static List<AIMove> getBestAiMoves(Field field, Position currPos, Treasure treasure,
-                                               PlayerType playerType) {
+                                               PlayerType playerType, TranspositionTable table,
+                                               Random rnd, ForkJoinPool pool,
+                                               AtomicBoolean cancelled) {
 
         // Mögliche KI-Züge berechnen
-        NavigableMap<Integer, List<AIMove>> possibleMoves = getPossiblePos(field, currPos, treasure);
+        NavigableMap<Integer, List<AIMove>> possibleMoves = getPossiblePos(field, currPos, treasure,
+                table, pool, cancelled);
 
         // Liste der, für die erweiterte KI, besten KI-Züge
         List<AIMove> bestPossibleMoves = new ArrayList<>();
@@ -178,7 +324,7 @@ public class AIUtil {
 
         if (bestPossibleMoves.isEmpty()) {
             bestPossibleMoves = calcDensestMove(field, possibleMoves, currPos, treasureToFindPos,
-                    currDistance);
+                    currDistance, rnd);
         }
 
         return bestPossibleMoves;
@@ -195,9 +341,56 @@ public class AIUtil {
      */
     public static AIMove calcAIMove(Field field, Position currPos, Treasure treasure,
                                     PlayerType playerType) {
+        return calcAIMove(field, currPos, treasure, playerType, null,
+                ThreadLocalRandom.current());
+    }
 
-        List<AIMove> bestPossibleMoves = getBestAiMoves(field, currPos, treasure, playerType);
-        return randomMove(bestPossibleMoves);
+    /**
+     * Ermittelt einen KI-Zug für einen KI-gesteuerten Spieler und nutzt dabei die übergebene
+     * {@link TranspositionTable}. Zufällige Entscheidungen werden mit dem übergebenen
+     * Zufallszahlengenerator getroffen, sodass der KI-Zug reproduzierbar ist.
+     *
+     * @param field      Spielfeldinformationen
+     * @param currPos    Aktuelle Position des KI-Spielers
+     * @param treasure   Zu erreichender Schatz des Spielers
+     * @param playerType KI-Typ
+     * @param table      Transpositionstabelle oder {@code null}
+     * @param rnd        Zufallszahlengenerator
+     * @return Den für den KI-Typ besten Spielzug
+     */
+    public static AIMove calcAIMove(Field field, Position currPos, Treasure treasure,
+                                    PlayerType playerType, TranspositionTable table, Random rnd) {
+        return calcAIMove(field, currPos, treasure, playerType, table, rnd,
+                ForkJoinPool.commonPool(), NEVER_CANCELLED);
+    }
+
+    /**
+     * Ermittelt einen KI-Zug für einen KI-gesteuerten Spieler, wobei die möglichen Einschübe auf
+     * dem übergebenen Pool ausgewertet werden. Ein Pool mit der Parallelität 1 wertet alle
+     * Einschübe nacheinander aus.
+     * <p>
+     * Wird das übergebene Abbruchsignal gesetzt, bricht die Berechnung beim nächsten
+     * ausgewerteten Einschub ab, sodass der ausführende Thread umgehend wieder frei ist.
+     *
+     * @param field      Spielfeldinformationen
+     * @param currPos    Aktuelle Position des KI-Spielers
+     * @param treasure   Zu erreichender Schatz des Spielers
+     * @param playerType KI-Typ
+     * @param table      Transpositionstabelle oder {@code null}
+     * @param rnd        Zufallszahlengenerator
+     * @param pool       Pool, auf welchem die Einschübe ausgewertet werden
+     * @param cancelled  Abbruchsignal der Berechnung
+     * @return Den für den KI-Typ besten Spielzug
+     * @throws CancellationException Wenn die Berechnung abgebrochen wurde
+     */
+    public static AIMove calcAIMove(Field field, Position currPos, Treasure treasure,
+                                    PlayerType playerType, TranspositionTable table, Random rnd,
+                                    ForkJoinPool pool, AtomicBoolean cancelled) {
+        prepareTable(field, table);
+
+        List<AIMove> bestPossibleMoves = getBestAiMoves(field, currPos, treasure, playerType,
+                table, rnd, Objects.requireNonNull(pool), Objects.requireNonNull(cancelled));
+        return randomMove(bestPossibleMoves, rnd);
 
     }
 
@@ -218,16 +411,93 @@ public class AIUtil {
      */
     public static AIMove calcAIMove(Field field, Position currPos, Treasure treasure,
                                     Position nextPlayerPos, Treasure nextPlayerStartPos) {
+        return calcAIMove(field, currPos, treasure, nextPlayerPos, nextPlayerStartPos, null,
+                ThreadLocalRandom.current());
+    }
+
+    /**
+     * Berechnet bei mehreren gleichwertigen Zügen einen möglichen <b>Anti-Zug</b> und nutzt dabei
+     * die übergebene {@link TranspositionTable} sowie den übergebenen Zufallszahlengenerator.
+     *
+     * @param field              Spielfeldinformationen
+     * @param currPos            Aktuelle Position des KI-Spielers
+     * @param treasure           Der aktuell zu erreichende Schatz des Spielers
+     * @param nextPlayerPos      Position des Spielers der nach dem KI-Spieler an der Reihe ist
+     * @param nextPlayerStartPos Startposition des nächsten Spielers
+     * @param table              Transpositionstabelle oder {@code null}
+     * @param rnd                Zufallszahlengenerator
+     * @return AIMove, der möglicherweise den nächsten Spieler daran hindert, seine Startposition
+     * zu erreichen
+     */
+    public static AIMove calcAIMove(Field field, Position currPos, Treasure treasure,
+                                    Position nextPlayerPos, Treasure nextPlayerStartPos,
+                                    TranspositionTable table, Random rnd) {
+        return calcAIMove(field, currPos, treasure, nextPlayerPos, nextPlayerStartPos, table, rnd,
+                ForkJoinPool.commonPool(), NEVER_CANCELLED);
+    }
+
+    /**
+     * Berechnet bei mehreren gleichwertigen Zügen einen möglichen <b>Anti-Zug</b>, wobei die
+     * möglichen Einschübe auf dem übergebenen Pool ausgewertet werden. Die Berechnung bricht ab,
+     * sobald das übergebene Abbruchsignal gesetzt ist.
+     *
+     * @param field              Spielfeldinformationen
+     * @param currPos            Aktuelle Position des KI-Spielers
+     * @param treasure           Der aktuell zu erreichende Schatz des Spielers
+     * @param nextPlayerPos      Position des Spielers der nach dem KI-Spieler an der Reihe ist
+     * @param nextPlayerStartPos Startposition des nächsten Spielers
+     * @param table              Transpositionstabelle oder {@code null}
+     * @param rnd                Zufallszahlengenerator
+     * @param pool               Pool, auf welchem die Einschübe ausgewertet werden
+     * @param cancelled          Abbruchsignal der Berechnung
+     * @return AIMove, der möglicherweise den nächsten Spieler daran hindert, seine Startposition
+     * zu erreichen
+     * @throws CancellationException Wenn die Berechnung abgebrochen wurde
+     */
+    public static AIMove calcAIMove(Field field, Position currPos, Treasure treasure,
+                                    Position nextPlayerPos, Treasure nextPlayerStartPos,
+                                    TranspositionTable table, Random rnd, ForkJoinPool pool,
+                                    AtomicBoolean cancelled) {
+        prepareTable(field, table);
 
         List<AIMove> bestPossibleMoves = getBestAiMoves(field, currPos, treasure,
-                PlayerType.AI_EXTENDED);
+                PlayerType.AI_EXTENDED, table, rnd, Objects.requireNonNull(pool),
+                Objects.requireNonNull(cancelled));
 
         if (bestPossibleMoves.size() > 1) {
             bestPossibleMoves = calcAntiPattern(bestPossibleMoves, field, nextPlayerPos,
-                    nextPlayerStartPos);
+                    nextPlayerStartPos, table, pool, cancelled);
+        }
+
+        return randomMove(bestPossibleMoves, rnd);
+    }
+
+    /**
+     * Bereitet das Spielfeld und die Transpositionstabelle für einen KI-Zug vor: Hash und Index
+     * der Schätze des Spielfeldes werden vollständig berechnet, da das Spielfeld außerhalb der
+     * Einschuboperationen verändert worden sein kann, und es wird eine neue Generation der
+     * Tabelle begonnen.
+     *
+     * @param field Spielfeldinformationen
+     * @param table Transpositionstabelle oder {@code null}
+     */
+    private static void prepareTable(Field field, TranspositionTable table) {
+        field.recomputeHash();
+        if (table != null) {
+            table.nextGeneration();
         }
+    }
 
-        return randomMove(bestPossibleMoves);
+    /**
+     * Bricht die Berechnung eines KI-Zuges ab, insofern das Abbruchsignal gesetzt ist.
+     *
+     * @param cancelled Abbruchsignal der Berechnung
+     * @throws CancellationException Wenn das Abbruchsignal gesetzt ist
+     */
+    static void checkCancelled(AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            throw new CancellationException("Berechnung des KI-Zuges abgebrochen.");
+        }
     }
 
     /**
@@ -238,15 +508,15 @@ public class AIUtil {
      * Betracht gezogenen Optionen weiterhin mehr als ein KI-Zug zur Verfügung steht.
      *
      * @param moves KI-Züge
+     * @param rnd   Zufallszahlengenerator
      * @return Zufällig ausgewählter KI-Zug aus {@code moves}
      */
-    private static AIMove randomMove(List<AIMove> moves) {
+    private static AIMove randomMove(List<AIMove> moves, Random rnd) {
         // (Zufällig) ausgewählter KI-Zug
         AIMove res;
 
         // Enthält die übergebene Liste mehr als einen KI-Zug → zufällige Auswahl
         if (moves.size() > 1) {
-            final Random rnd = new Random();
             int move = rnd.nextInt(moves.size());
             res = moves.get(move);
         } else {
@@ -265,12 +535,13 @@ public class AIUtil {
      * @param currPos           Ausgangsposition von der berechnet wird
      * @param treasureToFindPos Position des zu erreichenden Schatzes
      * @param currDistance      Aktuelle Distanz zum Erreichen des zu erreichenden Schatzes
+     * @param rnd               Zufallszahlengenerator
      * @return Die dichteste Positionierung zum Ziel
      */
     private static List<AIMove> calcDensestMove(Field field,
                                                 NavigableMap<Integer, List<AIMove>> possibleMoves,
                                                 Position currPos, Position treasureToFindPos,
-                                                int currDistance) {
+                                                int currDistance, Random rnd) {
 
         // KI-Züge der berechnet und geliefert werden
         List<AIMove> res;
@@ -291,7 +562,6 @@ public class AIUtil {
             }
 
             // Zufällige Auswahl aus einer der verfügbaren Einschubpositionen
-            Random rnd = new Random();
             Position pos = insetPositions.get(rnd.nextInt(insetPositions.size()));
             res = Collections.singletonList(new AIMove(TileRotation.ROT_0, pos));
         } else {
@@ -372,8 +642,7 @@ public class AIUtil {
         for (AIMove move : moves) {
             int possibilityCnt = 0;
             Position posToMove = move.getTargetPos();
-            target.setRotated(move.getFreeWayCardRot());
-            openDirs = target.getOpenDirections();
+            openDirs = target.getType().getOpenDirections(move.getFreeWayCardRot());
             for (Direction dir : openDirs) {
                 if (posToMove.distanceTo(move.getTargetPos().addPos(dir.getDirPos())) == 1) {
                     possibilityCnt++;
@@ -406,27 +675,23 @@ public class AIUtil {
         // Gibt die aktuell höchste Anzahl an Möglichkeiten an
         int possibilityCnt = 0;
 
-        // Freie Gängekarte gemäß dem KI-Zug drehen
-        field.getFreeWayCard().setRotated(move.getFreeWayCardRot());
-
-        // Einschubrichtung ermitteln
-        Direction shiftDir = field.getInsetPositions().get(move.getInsetPos());
-
         // Einschuboperation erzeugen
-        Shift shift = new Shift(shiftDir, move.getInsetPos(),
-                field.getFreeWayCard(), field.getAffectedTileSizeOfPush(shiftDir));
+        Shift shift = new Shift(field.shiftTable().get(move.getInsetPos()),
+                field.getFreeWayCard());
 
-        // Spielfeld kopieren, Einschuboperation auf diesem ausführen und die Gängekarte
-        // ermitteln auf der sich die KI dann bewegt
-        Tile[][] copy = field.copyOfField();
-        shift.executeShift(copy);
-        Tile playerTile = copy[move.getTargetPos().getX()][move.getTargetPos().getY()];
+        // Einschuboperation mit der Rotation des KI-Zuges auf dem Spielfeld ausführen und die
+        // Gängekarte ermitteln auf der sich die KI dann bewegt
+        ShiftUndo undo = field.applyShift(shift, move.getFreeWayCardRot());
+        Tile playerTile = field.getBoard()[move.getTargetPos().getX()][move.getTargetPos().getY()];
 
         // Passen die Ausgänge, zählt dies als Möglichkeit
         if (playerTile.canBeEnteredFrom(dir.getOppositeDir())) {
             possibilityCnt++;
         }
 
+        // Einschub rückgängig machen
+        field.undoShift(undo);
+
         return possibilityCnt;
     }
 
@@ -440,43 +705,40 @@ public class AIUtil {
      * @param field                Spielfeldinformationen
      * @param nextPlayerPos        Position des Spielers, der nach dem Zug an der Reihe ist
      * @param startPosOfNextPlayer Schatz des Spielers, der nach dem Zug an der Reihe ist
+     * @param table                Transpositionstabelle oder {@code null}
+     * @param pool                 Pool, auf welchem die Einschübe ausgewertet werden
+     * @param cancelled            Abbruchsignal der Berechnung
      * @return Einen möglichen Anti-Zug, der dem nächsten Spieler das Erreichen seines aktuell zu
      * erreichenden Schatzes verhindert
      */
     private static List<AIMove> calcAntiPattern(List<AIMove> moves, Field field, Position
-            nextPlayerPos, Treasure startPosOfNextPlayer) {
+            nextPlayerPos, Treasure startPosOfNextPlayer, TranspositionTable table,
+                                                ForkJoinPool pool, AtomicBoolean cancelled) {
 
         List<AIMove> result = new ArrayList<>();
 
         // Alle möglichen KI-Züge durchlaufen
         for (AIMove move : moves) {
+            checkCancelled(cancelled);
 
             // Einschuboperation mit den Informationen aus dem aktuellen KI-Zug erzeugen
-            int affectedTileSize = field.getAffectedTileSizeOfPush(field.getInsetPositions()
-                    .get(move.getInsetPos()));
-            FreeWayCard freeWayCard = field.getFreeWayCard();
-            freeWayCard.setRotated(move.getFreeWayCardRot());
-            Shift shift = new Shift(field.getInsetPositions().get(move.getInsetPos()),
-                    move.getInsetPos(), freeWayCard, affectedTileSize);
-
-            // Einschuboperation ausführen und die Position des nächsten Spielers ggf. aktualisieren
-            Tile[][] gameField = field.copyOfField();
-            Tile newFreeWayCard = shift.executeShift(gameField);
+            Shift shift = new Shift(field.shiftTable().get(move.getInsetPos()),
+                    field.getFreeWayCard());
+
+            // Einschuboperation auf dem Spielfeld ausführen und die Position des nächsten
+            // Spielers ggf. aktualisieren
+            ShiftUndo undo = field.applyShift(shift, move.getFreeWayCardRot());
+            Position nextPlayerPosAfterShift = nextPlayerPos;
             if (shift.isPositionAffected(nextPlayerPos)) {
-                nextPlayerPos = shift.updatePlayerPos(nextPlayerPos);
+                nextPlayerPosAfterShift = shift.updatePlayerPos(nextPlayerPos);
             }
 
-            // Einschubpositionen aktualisieren
-            Map<Position, Direction> insetPos = new HashMap<>(field.getInsetPositions());
-            Position newFWCPos = shift.getLastAffectedPosition().addPos(shift.getPushDir().getDirPos());
-            FreeWayCard freeWayCard1 = new FreeWayCard(newFreeWayCard, newFWCPos);
-
-            // Neues Field ausgehend von dem KI-Zug erzeugen
-            Field possibleNewField = new Field(gameField, freeWayCard1, insetPos);
-
             // Möglichkeiten des nächsten Spielers berechnen
-            Map<Integer, List<AIMove>> possiblePos = getPossiblePos(possibleNewField, nextPlayerPos,
-                    startPosOfNextPlayer);
+            Map<Integer, List<AIMove>> possiblePos = getPossiblePos(field,
+                    nextPlayerPosAfterShift, startPosOfNextPlayer, table, pool, cancelled);
+
+            // Einschub rückgängig machen
+            field.undoShift(undo);
 
             // Ist die Startposition nicht erreichbar, wird dieser Spielzug gespeichert
             if (!possiblePos.containsKey(0)) {
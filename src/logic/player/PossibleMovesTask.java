@@ -0,0 +1,154 @@
+package logic.player;
+
+import logic.Field;
+import logic.Position;
+import logic.Treasure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse wertet einen Bereich der {@link ShiftCandidates möglichen Einschübe}
+ * (Einschubposition × Rotation der freien Gängekarte) im Rahmen der Berechnung eines KI-Zuges
+ * auf einem {@link java.util.concurrent.ForkJoinPool} aus.
+ * <p>
+ * Bereiche mit mehr als {@link #leafSize(int, int) leafSize} Kandidaten werden halbiert und
+ * parallel ausgewertet. Jeder sequentiell ausgewertete Bereich arbeitet auf einer eigenen
+ * {@link Field#copyForCalculation() Kopie des Spielfeldes}, die Größe der Bereiche richtet sich
+ * daher nach der Parallelität des Pools, sodass sich jede Kopie über mehrere Kandidaten
+ * amortisiert. Die Teilergebnisse werden in der
+ * Reihenfolge der Einschübe zusammengeführt, sodass das Ergebnis unabhängig von der Anzahl der
+ * Threads ist.
+ * <p>
+ * Ist das Abbruchsignal gesetzt, wirft jeder Bereich eine
+ * {@link java.util.concurrent.CancellationException}, spätestens vor dem nächsten Kandidaten.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+class PossibleMovesTask extends RecursiveTask<NavigableMap<Integer, List<AIMove>>> {
+
+    /**
+     * Versionsnummer der Serialisierung.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Mindestanzahl an Kandidaten, die ohne weitere Aufteilung ausgewertet werden.
+     */
+    private static final int MIN_LEAF_SIZE = 8;
+
+    /**
+     * Anzahl der Bereiche je Thread des Pools, damit ungleich aufwendige Bereiche zwischen den
+     * Threads ausgeglichen werden.
+     */
+    private static final int LEAVES_PER_THREAD = 4;
+
+    /**
+     * Spielfeld, welches selbst nicht verändert wird.
+     */
+    private final Field field;
+
+    /**
+     * Ausgangsposition des Spielers.
+     */
+    private final Position currPos;
+
+    /**
+     * Zu erreichender Schatz.
+     */
+    private final Treasure treasureToFind;
+
+    /**
+     * Auszuwertende Einschübe.
+     */
+    private final ShiftCandidates candidates;
+
+    /**
+     * Erster (inklusive) und letzter (exklusive) Kandidat dieses Bereiches.
+     */
+    private final int from;
+    private final int to;
+
+    /**
+     * Maximale Anzahl an Kandidaten, die ohne weitere Aufteilung ausgewertet werden.
+     */
+    private final int leafSize;
+
+    /**
+     * Abbruchsignal der Berechnung.
+     */
+    private final AtomicBoolean cancelled;
+
+    /**
+     * Konstruktor.
+     *
+     * @param field          Spielfeldinformationen
+     * @param currPos        Ausgangsposition des Spielers
+     * @param treasureToFind Zu erreichender Schatz
+     * @param candidates     Auszuwertende Einschübe
+     * @param from           Erster Kandidat des Bereiches (inklusive)
+     * @param to             Letzter Kandidat des Bereiches (exklusive)
+     * @param leafSize       Maximale Anzahl an Kandidaten, die ohne weitere Aufteilung
+     *                       ausgewertet werden
+     * @param cancelled      Abbruchsignal der Berechnung
+     */
+    PossibleMovesTask(Field field, Position currPos, Treasure treasureToFind,
+                      ShiftCandidates candidates, int from, int to, int leafSize,
+                      AtomicBoolean cancelled) {
+        this.field = field;
+        this.currPos = currPos;
+        this.treasureToFind = treasureToFind;
+        this.candidates = candidates;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Liefert die maximale Anzahl an Kandidaten eines sequentiell ausgewerteten Bereiches, sodass
+     * je Thread des Pools etwa {@value #LEAVES_PER_THREAD} Bereiche, aber nicht weniger als
+     * {@value #MIN_LEAF_SIZE} Kandidaten je Bereich entstehen.
+     *
+     * @param candidates  Anzahl aller Kandidaten
+     * @param parallelism Parallelität des Pools
+     * @return Maximale Anzahl an Kandidaten je Bereich
+     */
+    static int leafSize(int candidates, int parallelism) {
+        return Math.max(MIN_LEAF_SIZE, candidates / (LEAVES_PER_THREAD * parallelism));
+    }
+
+    @Override
+    protected NavigableMap<Integer, List<AIMove>> compute() {
+        AIUtil.checkCancelled(cancelled);
+        if (to - from <= leafSize) {
+            return AIUtil.evaluateShifts(field.copyForCalculation(), currPos, treasureToFind,
+                    candidates, from, to, cancelled);
+        }
+
+        int middle = (from + to) >>> 1;
+        PossibleMovesTask left = new PossibleMovesTask(field, currPos, treasureToFind,
+                candidates, from, middle, leafSize, cancelled);
+        PossibleMovesTask right = new PossibleMovesTask(field, currPos, treasureToFind,
+                candidates, middle, to, leafSize, cancelled);
+
+        // Rechte Hälfte abgeben und linke Hälfte selbst berechnen
+        right.fork();
+        NavigableMap<Integer, List<AIMove>> moves = left.compute();
+
+        // KI-Züge der rechten Hälfte hinter denen der linken Hälfte einfügen
+        for (Map.Entry<Integer, List<AIMove>> entry : right.join().entrySet()) {
+            moves.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+        }
+
+        return moves;
+    }
+}
@@ -0,0 +1,181 @@
+package logic.player;
+
+import logic.Direction;
+import logic.Field;
+import logic.Position;
+import logic.Shift;
+import logic.tile.TileRotation;
+import logic.tile.TileShape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse enthält die im Rahmen der Berechnung eines KI-Zuges auszuwertenden Einschübe
+ * (Einschubposition × Rotation der freien Gängekarte), wobei gleichwertige Einschübe nur einmal
+ * ausgewertet werden.
+ * <p>
+ * Rotationen mit gleicher {@link TileShape#getExitMask(TileRotation) Ausgangs-Maske} (z.B.
+ * {@code ROT_0} und {@code ROT_180} einer I-Gängekarte) werden zusammengefasst. Zusätzlich
+ * werden Einschübe, die zu denselben Gängekarten und derselben Position des Spielers führen,
+ * über den {@link Field#boardHashAfterShift Hash des resultierenden Spielfeldes} erkannt.
+ * <p>
+ * Jeder Einschub wird als Variante {@code insetIdx * 4 + rotation} kodiert. Jeder auszuwertende
+ * Kandidat besitzt eine repräsentative Variante sowie alle Varianten, die dasselbe Ergebnis
+ * liefern.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+class ShiftCandidates {
+
+    /**
+     * Alle Rotationen der freien Gängekarte.
+     */
+    private static final TileRotation[] ROTATIONS = TileRotation.values();
+
+    /**
+     * Erlaubte Einschubpositionen in fester Reihenfolge.
+     */
+    private final List<Position> insetPositions;
+
+    /**
+     * Gleichwertige Varianten je Kandidat, die erste Variante ist der Repräsentant.
+     */
+    private final int[][] variants;
+
+    /**
+     * Konstruktor.
+     *
+     * @param insetPositions Erlaubte Einschubpositionen in fester Reihenfolge
+     * @param variants       Gleichwertige Varianten je Kandidat
+     */
+    private ShiftCandidates(List<Position> insetPositions, int[][] variants) {
+        this.insetPositions = insetPositions;
+        this.variants = variants;
+    }
+
+    /**
+     * Erzeugt die auszuwertenden Kandidaten für das übergebene Spielfeld.
+     *
+     * @param field          Spielfeldinformationen
+     * @param currPos        Ausgangsposition des Spielers
+     * @param insetPositions Erlaubte Einschubpositionen in fester Reihenfolge
+     * @return Kandidaten, in der Reihenfolge ihrer repräsentativen Varianten
+     */
+    static ShiftCandidates create(Field field, Position currPos, List<Position> insetPositions) {
+        TileRotation[][] rotationClasses = rotationClasses(field.getFreeWayCard().getType());
+
+        // Hash des resultierenden Spielfeldes inklusive Spielerposition auf Kandidat
+        Map<Long, Integer> candidateByHash = new HashMap<>();
+        List<List<Integer>> candidates = new ArrayList<>();
+
+        for (int insetIdx = 0; insetIdx < insetPositions.size(); insetIdx++) {
+            Position insetPos = insetPositions.get(insetIdx);
+            Shift shift = new Shift(field.shiftTable().get(insetPos), field.getFreeWayCard());
+
+            Position posAfterShift = currPos;
+            if (shift.isPositionAffected(currPos)) {
+                posAfterShift = shift.updatePlayerPos(currPos);
+            }
+            long playerKey = field.zobrist().playerKey(0, posAfterShift);
+
+            for (TileRotation[] rotationClass : rotationClasses) {
+                long key = field.boardHashAfterShift(shift, rotationClass[0]) ^ playerKey;
+                Integer candidate = candidateByHash.get(key);
+                if (candidate == null) {
+                    candidateByHash.put(key, candidates.size());
+                    candidates.add(new ArrayList<>());
+                    candidate = candidates.size() - 1;
+                }
+
+                for (TileRotation rotation : rotationClass) {
+                    candidates.get(candidate).add(insetIdx * ROTATIONS.length + rotation.ordinal());
+                }
+            }
+        }
+
+        int[][] variants = new int[candidates.size()][];
+        for (int i = 0; i < variants.length; i++) {
+            variants[i] = candidates.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new ShiftCandidates(insetPositions, variants);
+    }
+
+    /**
+     * Fasst die Rotationen der übergebenen Form nach ihrer Ausgangs-Maske zusammen.
+     *
+     * @param shape Form der freien Gängekarte
+     * @return Rotationen je Ausgangs-Maske, in der Reihenfolge ihres ersten Auftretens
+     */
+    private static TileRotation[][] rotationClasses(TileShape shape) {
+        List<TileRotation[]> classes = new ArrayList<>();
+        int[] masks = new int[ROTATIONS.length];
+
+        for (TileRotation rotation : ROTATIONS) {
+            int mask = shape.getExitMask(rotation);
+            int classIdx = 0;
+            while (classIdx < classes.size() && masks[classIdx] != mask) {
+                classIdx++;
+            }
+
+            if (classIdx == classes.size()) {
+                masks[classIdx] = mask;
+                classes.add(new TileRotation[]{rotation});
+            } else {
+                TileRotation[] rotationClass = classes.get(classIdx);
+                rotationClass = Arrays.copyOf(rotationClass, rotationClass.length + 1);
+                rotationClass[rotationClass.length - 1] = rotation;
+                classes.set(classIdx, rotationClass);
+            }
+        }
+
+        return classes.toArray(new TileRotation[0][]);
+    }
+
+    /**
+     * Liefert die Anzahl der auszuwertenden Kandidaten.
+     *
+     * @return Anzahl der Kandidaten
+     */
+    int size() {
+        return variants.length;
+    }
+
+    /**
+     * Liefert die gleichwertigen Varianten des Kandidaten, die erste ist der Repräsentant.
+     *
+     * @param candidate Index des Kandidaten
+     * @return Varianten des Kandidaten
+     */
+    int[] getVariants(int candidate) {
+        return variants[candidate];
+    }
+
+    /**
+     * Liefert die Einschubposition der übergebenen Variante.
+     *
+     * @param variant Variante
+     * @return Einschubposition
+     */
+    Position getInsetPos(int variant) {
+        return insetPositions.get(variant / ROTATIONS.length);
+    }
+
+    /**
+     * Liefert die Rotation der freien Gängekarte der übergebenen Variante.
+     *
+     * @param variant Variante
+     * @return Rotation der freien Gängekarte
+     */
+    TileRotation getRotation(int variant) {
+        return ROTATIONS[variant % ROTATIONS.length];
+    }
+}
@@ -0,0 +1,306 @@
+package logic.player;
+
+import logic.Position;
+import logic.Treasure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse speichert die im Rahmen der Berechnung von KI-Zügen ermittelten möglichen Züge
+ * je Spielzustand (Zobrist-Hash des Spielfeldes ohne Rotation der freien Gängekarte,
+ * Startposition und gesuchter Schatz), sodass identische Spielzustände nicht erneut ausgewertet
+ * werden müssen.
+ * <p>
+ * Die Tabelle hat eine feste Anzahl an Einträgen, welche aus der übergebenen
+ * Speicherobergrenze bestimmt wird. Je Hash gibt es zwei mögliche Plätze: Der erste behält
+ * Einträge der aktuellen {@link #nextGeneration() Generation}, der zweite wird immer ersetzt.
+ * Einträge älterer Generationen bleiben nutzbar, werden aber bevorzugt verdrängt, sodass die
+ * Tabelle über mehrere Züge eines Spiels hinweg erhalten bleibt. Überschreitet ein neuer Eintrag
+ * die Speicherobergrenze, wird er nicht gespeichert.
+ * <p>
+ * Einträge sind unveränderlich, die Tabelle kann daher von mehreren Threads gleichzeitig
+ * genutzt werden.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class TranspositionTable {
+
+    /**
+     * Geschätzte Größe eines Eintrages ohne KI-Züge in Byte.
+     */
+    private static final int ENTRY_BYTES = 96;
+
+    /**
+     * Geschätzte Größe einer Liste von KI-Zügen je Distanz in Byte.
+     */
+    private static final int DISTANCE_BYTES = 64;
+
+    /**
+     * Geschätzte Größe eines KI-Zuges inklusive seiner Positionen in Byte.
+     */
+    private static final int MOVE_BYTES = 72;
+
+    /**
+     * Angenommene durchschnittliche Größe eines Eintrages, aus welcher die Anzahl der Plätze
+     * bestimmt wird.
+     */
+    private static final int AVERAGE_ENTRY_BYTES = 1024;
+
+    /**
+     * Plätze der Tabelle, je zwei bilden einen Bucket.
+     */
+    private final AtomicReferenceArray<Entry> slots;
+
+    /**
+     * Maske zur Bestimmung des Buckets aus einem Hash.
+     */
+    private final int bucketMask;
+
+    /**
+     * Speicherobergrenze in Byte.
+     */
+    private final long maxBytes;
+
+    /**
+     * Geschätzter belegter Speicher in Byte.
+     */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /**
+     * Zähler für Treffer, Fehlschläge, gespeicherte und verdrängte Einträge.
+     */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong replacements = new AtomicLong();
+
+    /**
+     * Aktuelle Generation.
+     */
+    private volatile int generation;
+
+    /**
+     * Konstruktor.
+     *
+     * @param maxBytes Speicherobergrenze in Byte
+     */
+    public TranspositionTable(long maxBytes) {
+        long buckets = Math.max(1, maxBytes / (2L * AVERAGE_ENTRY_BYTES));
+        int bucketCount = Integer.highestOneBit((int) Math.min(buckets, 1 << 24));
+
+        this.slots = new AtomicReferenceArray<>(2 * bucketCount);
+        this.bucketMask = bucketCount - 1;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Beginnt eine neue Generation. Aufgerufen wird dies vor jeder Berechnung eines KI-Zuges,
+     * damit Einträge vorheriger Züge bevorzugt verdrängt werden.
+     */
+    public void nextGeneration() {
+        generation++;
+    }
+
+    /**
+     * Liefert die gespeicherten möglichen KI-Züge zum übergebenen Spielzustand.
+     *
+     * @param boardHash Zobrist-Hash des Spielfeldes
+     * @param startPos  Startposition des Spielers
+     * @param treasure  Gesuchter Schatz
+     * @return Unveränderliches Mapping von Distanzen auf KI-Züge oder {@code null}, wenn der
+     * Spielzustand nicht enthalten ist
+     */
+    public NavigableMap<Integer, List<AIMove>> get(long boardHash, Position startPos,
+                                                   Treasure treasure) {
+        int bucket = bucket(boardHash, startPos, treasure);
+
+        for (int i = 0; i < 2; i++) {
+            Entry entry = slots.get(bucket + i);
+            if (entry != null && entry.matches(boardHash, startPos, treasure)) {
+                hits.incrementAndGet();
+                return entry.moves;
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Speichert die möglichen KI-Züge zum übergebenen Spielzustand.
+     *
+     * @param boardHash Zobrist-Hash des Spielfeldes
+     * @param startPos  Startposition des Spielers
+     * @param treasure  Gesuchter Schatz
+     * @param moves     Mapping von Distanzen auf KI-Züge
+     * @return Unveränderliche Kopie der übergebenen KI-Züge, wie sie in der Tabelle abgelegt wird
+     */
+    public NavigableMap<Integer, List<AIMove>> put(long boardHash, Position startPos,
+                                                   Treasure treasure,
+                                                   NavigableMap<Integer, List<AIMove>> moves) {
+        Entry newEntry = new Entry(boardHash, startPos, treasure, moves, generation);
+        int bucket = bucket(boardHash, startPos, treasure);
+
+        // Erster Platz, wenn dieser frei, veraltet oder bereits mit dem Spielzustand belegt ist,
+        // ansonsten wird der zweite Platz ersetzt
+        int slot = bucket + 1;
+        Entry first = slots.get(bucket);
+        Entry second = slots.get(bucket + 1);
+        boolean secondMatches = second != null && second.matches(boardHash, startPos, treasure);
+        if (!secondMatches && (first == null || first.generation != generation
+                || first.matches(boardHash, startPos, treasure))) {
+            slot = bucket;
+        }
+
+        Entry oldEntry = slots.get(slot);
+        long oldBytes = oldEntry == null ? 0 : oldEntry.bytes;
+
+        // Speicherobergrenze einhalten
+        if (usedBytes.get() - oldBytes + newEntry.bytes > maxBytes) {
+            return newEntry.moves;
+        }
+
+        if (slots.compareAndSet(slot, oldEntry, newEntry)) {
+            usedBytes.addAndGet(newEntry.bytes - oldBytes);
+            stores.incrementAndGet();
+            if (oldEntry != null) {
+                replacements.incrementAndGet();
+            }
+        }
+
+        return newEntry.moves;
+    }
+
+    /**
+     * Entfernt alle Einträge.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            Entry entry = slots.getAndSet(i, null);
+            if (entry != null) {
+                usedBytes.addAndGet(-entry.bytes);
+            }
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Treffer.
+     *
+     * @return Anzahl der Treffer
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Liefert die Anzahl der Fehlschläge.
+     *
+     * @return Anzahl der Fehlschläge
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Liefert die Anzahl der gespeicherten Einträge (inklusive ersetzter).
+     *
+     * @return Anzahl der gespeicherten Einträge
+     */
+    public long getStores() {
+        return stores.get();
+    }
+
+    /**
+     * Liefert die Anzahl der Einträge, welche durch einen neuen Eintrag ersetzt wurden.
+     *
+     * @return Anzahl der ersetzten Einträge
+     */
+    public long getReplacements() {
+        return replacements.get();
+    }
+
+    /**
+     * Liefert den geschätzten belegten Speicher.
+     *
+     * @return Belegter Speicher in Byte
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Liefert die Anzahl der Plätze der Tabelle.
+     *
+     * @return Anzahl der Plätze
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Bestimmt den ersten Platz des Buckets zum übergebenen Spielzustand.
+     *
+     * @param boardHash Zobrist-Hash des Spielfeldes
+     * @param startPos  Startposition des Spielers
+     * @param treasure  Gesuchter Schatz
+     * @return Index des ersten Platzes des Buckets
+     */
+    private int bucket(long boardHash, Position startPos, Treasure treasure) {
+        long key = boardHash
+                ^ (startPos.getX() * 0x9E3779B97F4A7C15L)
+                ^ (startPos.getY() * 0xC2B2AE3D27D4EB4FL)
+                ^ ((treasure.ordinal() + 1) * 0x165667B19E3779F9L);
+        key ^= key >>> 32;
+
+        return ((int) key & bucketMask) * 2;
+    }
+
+    /**
+     * Unveränderlicher Eintrag der Tabelle.
+     */
+    private static final class Entry {
+
+        private final long boardHash;
+        private final int startX;
+        private final int startY;
+        private final Treasure treasure;
+        private final NavigableMap<Integer, List<AIMove>> moves;
+        private final int generation;
+        private final long bytes;
+
+        private Entry(long boardHash, Position startPos, Treasure treasure,
+                      NavigableMap<Integer, List<AIMove>> moves, int generation) {
+            this.boardHash = boardHash;
+            this.startX = startPos.getX();
+            this.startY = startPos.getY();
+            this.treasure = treasure;
+            this.generation = generation;
+
+            // Unveränderliche Kopie, da die Züge von mehreren Berechnungen gelesen werden
+            NavigableMap<Integer, List<AIMove>> copy = new TreeMap<>();
+            long size = ENTRY_BYTES;
+            for (Map.Entry<Integer, List<AIMove>> e : moves.entrySet()) {
+                copy.put(e.getKey(), Collections.unmodifiableList(new ArrayList<>(e.getValue())));
+                size += DISTANCE_BYTES + (long) e.getValue().size() * MOVE_BYTES;
+            }
+            this.moves = Collections.unmodifiableNavigableMap(copy);
+            this.bytes = size;
+        }
+
+        private boolean matches(long boardHash, Position startPos, Treasure treasure) {
+            return this.boardHash == boardHash && this.startX == startPos.getX()
+                    && this.startY == startPos.getY() && this.treasure == treasure;
+        }
+    }
+}
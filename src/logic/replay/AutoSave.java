@@ -0,0 +1,390 @@
+package logic.replay;
+
+import logic.Field;
+import logic.Position;
+import logic.Treasure;
+import logic.player.Player;
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+import logic.tile.TileRotation;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse sichert ein laufendes Spiel nach jedem Zug. Zu Beginn und anschließend alle
+ * {@link #getCheckpointInterval() n} Züge wird ein vollständiger {@link EventType#SNAPSHOT
+ * Spielzustand} in eine neue Datei geschrieben, welche die bisherige Sicherung atomar ersetzt.
+ * Dazwischen werden nur die Ereignisse der Züge (Einschub, Rotation, Bewegung und eingesammelte
+ * Schätze) angehängt, sodass je Zug nur wenige Bytes geschrieben werden.
+ * <p>
+ * Zu Beginn jedes Zuges werden die gesammelten Ereignisse in die Datei geschrieben. Eine
+ * Sicherung wird daher mit {@link #load(File)} bis zum Beginn des letzten Zuges nachgespielt,
+ * ein zum Zeitpunkt eines Absturzes unvollständiger Zug wird verworfen. Der Sieg eines Spielers
+ * wird sofort geschrieben, ein beendetes Spiel wird daher samt seines letzten Zuges nachgespielt.
+ * <p>
+ * Geschrieben wird über einen {@link Executor}, welcher die übergebenen Aufgaben nacheinander in
+ * der Reihenfolge der Übergabe ausführt (z.B. der {@link logic.data.SaveService}). Der Aufrufer
+ * kopiert für einen vollständigen Spielzustand lediglich Spielfeld und Spieler und wartet weder auf
+ * das Schreiben noch auf den Datenträger.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class AutoSave implements Closeable {
+
+    /**
+     * Standardmäßige Anzahl der Züge zwischen zwei vollständigen Spielzuständen.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 50;
+
+    /**
+     * Sicherungsdatei.
+     */
+    private final File file;
+
+    /**
+     * Anzahl der Züge zwischen zwei vollständigen Spielzuständen.
+     */
+    private final int checkpointInterval;
+
+    /**
+     * Ausführung der Schreibvorgänge in der Reihenfolge ihrer Übergabe.
+     */
+    private final Executor writeExecutor;
+
+    /**
+     * Ereignisdatei des aktuellen Spielzustandes ({@code null} vor dem ersten Spielzustand). Wird
+     * ausschließlich von den Schreibvorgängen verwendet.
+     */
+    private EventLogWriter writer;
+
+    /**
+     * Anzahl der Züge seit dem letzten vollständigen Spielzustand.
+     */
+    private int turnsSinceCheckpoint;
+
+    /**
+     * Gibt an, ob zu Beginn des nächsten Zuges ein vollständiger Spielzustand geschrieben werden
+     * muss (vor dem ersten Zug, nach {@link #reset()} oder nachdem das Schreiben fehlgeschlagen ist).
+     */
+    private volatile boolean checkpointRequired = true;
+
+    /**
+     * Konstruktor mit {@link #DEFAULT_CHECKPOINT_INTERVAL}, welcher auf dem aufrufenden Thread
+     * schreibt.
+     *
+     * @param file Sicherungsdatei
+     */
+    public AutoSave(File file) {
+        this(file, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Konstruktor, welcher auf dem aufrufenden Thread schreibt.
+     *
+     * @param file               Sicherungsdatei
+     * @param checkpointInterval Anzahl der Züge zwischen zwei vollständigen Spielzuständen
+     */
+    public AutoSave(File file, int checkpointInterval) {
+        this(file, checkpointInterval, Runnable::run);
+    }
+
+    /**
+     * Konstruktor mit {@link #DEFAULT_CHECKPOINT_INTERVAL}.
+     *
+     * @param file          Sicherungsdatei
+     * @param writeExecutor Ausführung der Schreibvorgänge in der Reihenfolge ihrer Übergabe
+     */
+    public AutoSave(File file, Executor writeExecutor) {
+        this(file, DEFAULT_CHECKPOINT_INTERVAL, writeExecutor);
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param file               Sicherungsdatei
+     * @param checkpointInterval Anzahl der Züge zwischen zwei vollständigen Spielzuständen
+     * @param writeExecutor      Ausführung der Schreibvorgänge in der Reihenfolge ihrer Übergabe
+     */
+    public AutoSave(File file, int checkpointInterval, Executor writeExecutor) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Ungültiger Abstand: " + checkpointInterval);
+        }
+
+        this.file = file;
+        this.checkpointInterval = checkpointInterval;
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Sichert den Beginn eines Zuges. Die Ereignisse des vorherigen Zuges werden dabei in die
+     * Datei geschrieben bzw. nach {@link #getCheckpointInterval() n} Zügen durch einen
+     * vollständigen Spielzustand ersetzt. Für diesen werden Spielfeld und Spieler kopiert, sodass
+     * das Spiel unmittelbar fortgesetzt werden kann.
+     *
+     * @param field         Spielfeld
+     * @param players       Spieler
+     * @param currentPlayer Spieler, welcher nun am Zug ist
+     */
+    public synchronized void turnStart(Field field, Player[] players, int currentPlayer) {
+        if (checkpointRequired || turnsSinceCheckpoint >= checkpointInterval) {
+            // Vor der Übergabe zurücksetzen, damit ein Fehlschlag nicht überschrieben wird
+            checkpointRequired = false;
+            turnsSinceCheckpoint = 0;
+
+            Field fieldCopy = copyField(field);
+            Player[] playersCopy = copyPlayers(players);
+            writeExecutor.execute(() -> checkpoint(fieldCopy, playersCopy, currentPlayer));
+        } else {
+            write(log -> {
+                log.turnStart(currentPlayer);
+                log.flush();
+            });
+        }
+
+        turnsSinceCheckpoint++;
+    }
+
+    /**
+     * Sichert einen Einschub der freien Gängekarte.
+     *
+     * @param insetPos Einschubposition (inklusive Umrandung)
+     * @param rotation Rotation der freien Gängekarte
+     */
+    public synchronized void shift(Position insetPos, TileRotation rotation) {
+        write(log -> log.shift(insetPos, rotation));
+    }
+
+    /**
+     * Sichert eine Bewegung eines Spielers.
+     *
+     * @param playerIdx Index des Spielers
+     * @param from      Startposition (ohne Umrandung)
+     * @param to        Zielposition (ohne Umrandung)
+     */
+    public synchronized void move(int playerIdx, Position from, Position to) {
+        write(log -> log.move(playerIdx, from, to));
+    }
+
+    /**
+     * Sichert, dass ein Spieler einen Schatz eingesammelt hat.
+     *
+     * @param playerIdx Index des Spielers
+     * @param treasure  Eingesammelter Schatz
+     */
+    public synchronized void treasureCollected(int playerIdx, Treasure treasure) {
+        write(log -> log.treasureCollected(playerIdx, treasure));
+    }
+
+    /**
+     * Sichert, dass ein Spieler gewonnen hat.
+     *
+     * @param playerIdx Index des Spielers
+     */
+    public synchronized void playerWon(int playerIdx) {
+        write(log -> {
+            log.playerWon(playerIdx);
+            log.flush();
+        });
+    }
+
+    /**
+     * Erzwingt zu Beginn des nächsten Zuges einen vollständigen Spielzustand, z.B. nachdem ein
+     * Spielstand geladen wurde. Die bisherige Sicherung wird bis dahin nicht mehr fortgesetzt,
+     * sodass sie für ein geladenes, bereits beendetes Spiel unverändert bleibt.
+     */
+    public synchronized void reset() {
+        checkpointRequired = true;
+        writeExecutor.execute(this::closeWriter);
+    }
+
+    /**
+     * Liefert die Anzahl der Züge zwischen zwei vollständigen Spielzuständen.
+     *
+     * @return Anzahl der Züge
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Schließt die Sicherungsdatei, nachdem alle zuvor übergebenen Ereignisse geschrieben wurden.
+     */
+    @Override
+    public synchronized void close() {
+        writeExecutor.execute(this::closeWriter);
+    }
+
+    /**
+     * Spielt eine Sicherung bis zum Beginn des letzten gesicherten Zuges nach. Endet die Sicherung
+     * mit dem Sieg eines Spielers, wird sie vollständig nachgespielt.
+     *
+     * @param file Sicherungsdatei
+     * @return Nachgespieltes Spiel, dessen {@link GameReplay#getCurrentPlayer() aktueller Spieler}
+     * am Zug ist bzw. dessen {@link GameReplay#getWinner() Gewinner} feststeht
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder keinen Spielzustand enthält
+     */
+    public static GameReplay load(File file) throws IOException {
+        // Anzahl der seit dem letzten Spielzustand begonnenen Züge ermitteln, ohne sie auszuführen
+        int turns = 0;
+        boolean finished = false;
+        try (EventLogReader reader = new EventLogReader(file)) {
+            EventType type;
+            while ((type = reader.next()) != null) {
+                finished = type == EventType.PLAYER_WON;
+                if (type == EventType.SNAPSHOT) {
+                    turns = 0;
+                } else if (type == EventType.TURN_START) {
+                    turns++;
+                }
+            }
+        }
+
+        try (EventLogReader reader = new EventLogReader(file)) {
+            GameReplay replay = new GameReplay(reader);
+            if (turns == 0 || finished) {
+                while (replay.step() != null) {
+                    // Nur der Spielzustand ist gesichert bzw. das Spiel ist beendet
+                }
+            } else {
+                replay.replayToTurn(turns);
+            }
+
+            if (replay.getField() == null) {
+                throw new IOException("Sicherung enthält keinen Spielzustand: " + file);
+            }
+
+            return replay;
+        }
+    }
+
+    /**
+     * Schließt die aktuelle Ereignisdatei. Wird ausschließlich als Schreibvorgang ausgeführt.
+     */
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Übergibt einen Schreibvorgang in die aktuelle Ereignisdatei. Existiert (noch) keine, wird das
+     * Ereignis verworfen.
+     *
+     * @param event Schreibvorgang
+     */
+    private void write(Consumer<EventLogWriter> event) {
+        writeExecutor.execute(() -> {
+            if (writer != null) {
+                event.accept(writer);
+            }
+        });
+    }
+
+    /**
+     * Schreibt einen vollständigen Spielzustand in eine neue Datei und ersetzt mit dieser die
+     * bisherige Sicherung. Schlägt dies fehl, wird die bisherige Sicherung fortgesetzt und zu
+     * Beginn des nächsten Zuges erneut ein vollständiger Spielzustand geschrieben.
+     *
+     * @param field         Spielfeld
+     * @param players       Spieler
+     * @param currentPlayer Spieler, welcher nun am Zug ist
+     */
+    private void checkpoint(Field field, Player[] players, int currentPlayer) {
+        File tmp = new File(file.getPath() + ".tmp");
+        EventLogWriter checkpoint = null;
+
+        try {
+            checkpoint = new EventLogWriter(tmp);
+            checkpoint.snapshot(field, players, currentPlayer);
+            checkpoint.turnStart(currentPlayer);
+            checkpoint.force();
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            EventLogWriter previous = writer;
+            writer = checkpoint;
+            if (previous != null) {
+                try {
+                    previous.close();
+                } catch (IOException closeException) {
+                    // Die bisherige Sicherung wurde bereits ersetzt
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            checkpointRequired = true;
+            if (checkpoint != null && checkpoint != writer) {
+                try {
+                    checkpoint.close();
+                } catch (IOException closeException) {
+                    // Unvollständiger Spielzustand wird verworfen
+                }
+            }
+            if (writer != null) {
+                writer.turnStart(currentPlayer);
+                writer.flush();
+            }
+        }
+    }
+
+    /**
+     * Kopiert Gängekarten und freie Gängekarte des Spielfeldes, sodass das Spielfeld während des
+     * Schreibens weiter verändert werden kann.
+     *
+     * @param field Spielfeld
+     * @return Kopie des Spielfeldes
+     */
+    private static Field copyField(Field field) {
+        Tile[][] board = field.getBoard();
+        Tile[][] copy = new Tile[board.length][];
+        for (int col = 0; col < board.length; col++) {
+            copy[col] = new Tile[board[col].length];
+            for (int row = 0; row < board[col].length; row++) {
+                Tile tile = board[col][row];
+                copy[col][row] = new Tile(tile.getType(), tile.getState(), tile.getRotated(),
+                        tile.getTreasure());
+            }
+        }
+
+        FreeWayCard freeWayCard = field.getFreeWayCard();
+        FreeWayCard freeWayCardCopy = new FreeWayCard(new Tile(freeWayCard.getType(),
+                freeWayCard.getState(), freeWayCard.getRotated(), freeWayCard.getTreasure()),
+                freeWayCard.getPosition());
+
+        return new Field(copy, freeWayCardCopy, field.getInsetPositions());
+    }
+
+    /**
+     * Kopiert die Spieler samt ihrer Schatzkarten.
+     *
+     * @param players Spieler
+     * @return Kopie der Spieler
+     */
+    private static Player[] copyPlayers(Player[] players) {
+        Player[] copy = new Player[players.length];
+        for (int playerIdx = 0; playerIdx < players.length; playerIdx++) {
+            Player player = players[playerIdx];
+            copy[playerIdx] = new Player(player.isInvolved(), player.getName(),
+                    player.getDirectedBy(), player.getPosition(),
+                    new LinkedList<>(player.getTreasureCards()));
+        }
+
+        return copy;
+    }
+}
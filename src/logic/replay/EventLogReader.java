@@ -0,0 +1,317 @@
+package logic.replay;
+
+import logic.Direction;
+import logic.Field;
+import logic.Position;
+import logic.Treasure;
+import logic.player.Player;
+import logic.player.PlayerType;
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+import logic.tile.TileRotation;
+import logic.tile.TileShape;
+import logic.tile.TileState;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse liest eine vom {@link EventLogWriter} geschriebene Ereignisdatei. Die Datei wird
+ * dazu in den Speicher abgebildet und Ereignis für Ereignis über {@link #next()} gelesen. Die
+ * Felder des aktuellen Ereignisses werden über die Getter dieser Klasse geliefert, sodass je
+ * Ereignis keine Objekte erzeugt werden (mit Ausnahme des {@link EventType#SNAPSHOT
+ * Spielzustandes}).
+ * <p>
+ * Ein unvollständiges Ereignis am Ende der Datei (z.B. nach einem Absturz) wird wie das Ende
+ * der Datei behandelt.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class EventLogReader implements Closeable {
+
+    /**
+     * Geöffnete Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * In den Speicher abgebildeter Inhalt der Datei.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Einschubpositionen des letzten Spielzustandes, nach ihrem Index.
+     */
+    private final List<Position> insetPositions = new ArrayList<>();
+
+    /**
+     * Anzahl der Reihen des letzten Spielzustandes.
+     */
+    private int rowCount;
+
+    /**
+     * Felder des aktuellen Ereignisses.
+     */
+    private int player;
+    private int insetIdx;
+    private TileRotation rotation;
+    private int fromCell;
+    private int toCell;
+    private Treasure treasure;
+
+    /**
+     * Spielzustand des letzten {@link EventType#SNAPSHOT}-Ereignisses.
+     */
+    private Field field;
+    private Player[] players;
+
+    /**
+     * Konstruktor, welcher die Datei öffnet und die Kennung prüft.
+     *
+     * @param file Ereignisdatei
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder keine Ereignisdatei ist
+     */
+    public EventLogReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        if (buffer.remaining() < 5 || buffer.getInt() != EventLogWriter.MAGIC) {
+            channel.close();
+            throw new IOException("Datei ist keine Ereignisdatei: " + file);
+        }
+        if (buffer.get() != EventLogWriter.VERSION) {
+            channel.close();
+            throw new IOException("Version der Ereignisdatei wird nicht unterstützt: " + file);
+        }
+    }
+
+    /**
+     * Liest das nächste Ereignis.
+     *
+     * @return Art des gelesenen Ereignisses oder {@code null} am Ende der Datei
+     * @throws IOException Wenn die Datei ein unbekanntes Ereignis enthält
+     */
+    public EventType next() throws IOException {
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+
+        int start = buffer.position();
+        EventType type = EventType.fromCode(buffer.get());
+        if (type == null) {
+            throw new IOException("Unbekanntes Ereignis an Stelle " + start);
+        }
+
+        try {
+            switch (type) {
+                case SNAPSHOT:
+                    readSnapshot();
+                    break;
+                case TURN_START:
+                case PLAYER_WON:
+                    player = buffer.get();
+                    break;
+                case SHIFT:
+                    insetIdx = buffer.get() & 0xFF;
+                    rotation = TileRotation.values()[buffer.get()];
+                    break;
+                case MOVE:
+                    player = buffer.get();
+                    fromCell = buffer.getShort() & 0xFFFF;
+                    toCell = buffer.getShort() & 0xFFFF;
+                    break;
+                case TREASURE_COLLECTED:
+                    player = buffer.get();
+                    treasure = Treasure.values()[buffer.get()];
+                    break;
+                default:
+                    throw new IOException("Unbekanntes Ereignis an Stelle " + start);
+            }
+        } catch (BufferUnderflowException e) {
+            // Unvollständiges letztes Ereignis
+            buffer.position(buffer.limit());
+            return null;
+        }
+
+        return type;
+    }
+
+    /**
+     * Liefert den Spieler des aktuellen Ereignisses.
+     *
+     * @return Index des Spielers
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Liefert die Einschubposition des aktuellen {@link EventType#SHIFT}-Ereignisses.
+     *
+     * @return Einschubposition (inklusive Umrandung)
+     */
+    public Position getInsetPos() {
+        return insetPositions.get(insetIdx);
+    }
+
+    /**
+     * Liefert die Rotation der freien Gängekarte des aktuellen {@link EventType#SHIFT}-Ereignisses.
+     *
+     * @return Rotation der eingeschobenen Gängekarte
+     */
+    public TileRotation getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Liefert die Startposition des aktuellen {@link EventType#MOVE}-Ereignisses.
+     *
+     * @return Startposition (ohne Umrandung)
+     */
+    public Position getFrom() {
+        return Position.of(fromCell / rowCount, fromCell % rowCount);
+    }
+
+    /**
+     * Liefert die Zielposition des aktuellen {@link EventType#MOVE}-Ereignisses.
+     *
+     * @return Zielposition (ohne Umrandung)
+     */
+    public Position getTo() {
+        return Position.of(toCell / rowCount, toCell % rowCount);
+    }
+
+    /**
+     * Liefert den Schatz des aktuellen {@link EventType#TREASURE_COLLECTED}-Ereignisses.
+     *
+     * @return Eingesammelter Schatz
+     */
+    public Treasure getTreasure() {
+        return treasure;
+    }
+
+    /**
+     * Liefert das Spielfeld des letzten {@link EventType#SNAPSHOT}-Ereignisses.
+     *
+     * @return Neu erzeugtes Spielfeld
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Liefert die Spieler des letzten {@link EventType#SNAPSHOT}-Ereignisses.
+     *
+     * @return Neu erzeugte Spieler
+     */
+    public Player[] getPlayers() {
+        return players;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Liest einen vollständigen Spielzustand. Der Spieler des Ereignisses ist der Spieler, welcher
+     * zuletzt am Zug war.
+     */
+    private void readSnapshot() {
+        int colCount = buffer.get() & 0xFF;
+        rowCount = buffer.get() & 0xFF;
+
+        Tile[][] board = new Tile[colCount][rowCount];
+        for (int col = 0; col < colCount; col++) {
+            for (int row = 0; row < rowCount; row++) {
+                board[col][row] = readTile();
+            }
+        }
+        FreeWayCard freeWayCard = new FreeWayCard(readTile(), readPosition());
+
+        int insetCount = buffer.get() & 0xFF;
+        Map<Position, Direction> insets = new HashMap<>();
+        insetPositions.clear();
+        for (int i = 0; i < insetCount; i++) {
+            Position insetPos = readPosition();
+            insetPositions.add(insetPos);
+            insets.put(insetPos, Direction.values()[buffer.get()]);
+        }
+
+        player = buffer.get();
+        Player[] players = new Player[buffer.get()];
+        for (int playerIdx = 0; playerIdx < players.length; playerIdx++) {
+            boolean involved = buffer.get() == 1;
+            PlayerType type = value(PlayerType.values(), buffer.get());
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            Position pos = readPosition();
+
+            Queue<Treasure> treasures = new LinkedList<>();
+            int treasureCount = buffer.get() & 0xFF;
+            for (int i = 0; i < treasureCount; i++) {
+                treasures.add(value(Treasure.values(), buffer.get()));
+            }
+
+            players[playerIdx] = new Player(involved, new String(name, StandardCharsets.UTF_8),
+                    type, pos, treasures);
+        }
+
+        this.field = new Field(board, freeWayCard, insets);
+        this.players = players;
+    }
+
+    /**
+     * Liest eine Gängekarte.
+     *
+     * @return Gängekarte
+     */
+    private Tile readTile() {
+        TileShape shape = value(TileShape.values(), buffer.get());
+        TileState state = value(TileState.values(), buffer.get());
+        TileRotation rotation = value(TileRotation.values(), buffer.get());
+        Treasure treasure = value(Treasure.values(), buffer.get());
+
+        return new Tile(shape, state, rotation, treasure);
+    }
+
+    /**
+     * Liest eine Position.
+     *
+     * @return Position
+     */
+    private Position readPosition() {
+        int x = buffer.get();
+        int y = buffer.get();
+
+        return Position.of(x, y);
+    }
+
+    /**
+     * Liefert den Wert eines Aufzählungstyps zu seinem Index.
+     *
+     * @param values Werte des Aufzählungstyps
+     * @param idx    Index oder {@link EventLogWriter#NONE}
+     * @param <E>    Aufzählungstyp
+     * @return Wert oder {@code null}
+     */
+    private static <E extends Enum<E>> E value(E[] values, byte idx) {
+        return idx == EventLogWriter.NONE ? null : values[idx];
+    }
+}
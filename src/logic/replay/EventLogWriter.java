@@ -0,0 +1,393 @@
+package logic.replay;
+
+import logic.Field;
+import logic.Position;
+import logic.Treasure;
+import logic.player.Player;
+import logic.tile.FreeWayCard;
+import logic.tile.Tile;
+import logic.tile.TileRotation;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse schreibt den Spielverlauf als kompakte binäre Ereignisdatei, welche mit dem
+ * {@link EventLogReader} gelesen und mit dem {@link GameReplay} nachgespielt werden kann.
+ * <p>
+ * Die Datei beginnt mit einer Kennung und einer Version, anschließend folgen die Ereignisse,
+ * jeweils mit dem {@link EventType#getCode() Code} des Ereignisses und festen Feldern:
+ * <ul>
+ *     <li>{@link EventType#SNAPSHOT}: vollständiger Spielzustand</li>
+ *     <li>{@link EventType#TURN_START}: Spieler (1 Byte)</li>
+ *     <li>{@link EventType#SHIFT}: Index der Einschubposition und Rotation (je 1 Byte)</li>
+ *     <li>{@link EventType#MOVE}: Spieler (1 Byte), Start- und Zielzelle (je 2 Byte)</li>
+ *     <li>{@link EventType#TREASURE_COLLECTED}: Spieler und Schatz (je 1 Byte)</li>
+ *     <li>{@link EventType#PLAYER_WON}: Spieler (1 Byte)</li>
+ * </ul>
+ * Zellen werden als {@code col * rowCount + row} ohne Umrandung angegeben, Einschubpositionen
+ * über ihren Index in den nach Spalte und Reihe sortierten Einschubpositionen des letzten
+ * {@link EventType#SNAPSHOT Spielzustandes}.
+ * <p>
+ * Die Ereignisse werden in einem Puffer gesammelt und erst geschrieben, wenn dieser voll ist,
+ * ein Spieler gewonnen hat oder {@link #flush()} bzw. {@link #close()} aufgerufen wird. Tritt
+ * beim Schreiben ein Fehler auf, wird die Aufzeichnung beendet, das Spiel selbst aber nicht
+ * beeinträchtigt.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class EventLogWriter implements Closeable {
+
+    /**
+     * Kennung einer Ereignisdatei ("LBEV").
+     */
+    static final int MAGIC = 0x4C424556;
+
+    /**
+     * Version des Dateiformates.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Kennzeichnung eines nicht gesetzten Wertes ({@code null}) eines Aufzählungstyps.
+     */
+    static final byte NONE = -1;
+
+    /**
+     * Größe des Puffers.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Ereignisdatei der Spiele mit Oberfläche (wird bei der ersten Verwendung angelegt).
+     */
+    private static EventLogWriter instance;
+
+    /**
+     * Geöffnete Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Puffer der noch nicht geschriebenen Ereignisse.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Index je Einschubposition des letzten Spielzustandes.
+     */
+    private final Map<Position, Integer> insetIndices = new HashMap<>();
+
+    /**
+     * Anzahl der Reihen des letzten Spielzustandes.
+     */
+    private int rowCount;
+
+    /**
+     * Gibt an, ob die Aufzeichnung aufgrund eines Fehlers beendet wurde.
+     */
+    private boolean failed;
+
+    /**
+     * Konstruktor, welcher die Datei neu anlegt und die Kennung schreibt.
+     *
+     * @param file Ereignisdatei
+     * @throws IOException Wenn die Datei nicht angelegt werden kann
+     */
+    public EventLogWriter(File file) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).put(VERSION);
+    }
+
+    /**
+     * Liefert die Ereignisdatei <i>./log/events.bin</i>, in welche die Spiele mit Oberfläche
+     * aufgezeichnet werden. Die Datei wird bei der ersten Verwendung neu angelegt und beim
+     * Beenden des Programms geschlossen.
+     *
+     * @return Ereignisdatei oder {@code null}, wenn sie nicht angelegt werden kann
+     */
+    public static synchronized EventLogWriter getInstance() {
+        if (instance == null) {
+            try {
+                EventLogWriter writer = new EventLogWriter(new File(
+                        System.getProperty("user.dir") + '/' + "log/" + "events.bin"));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        writer.close();
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }, "event-log-shutdown"));
+                instance = writer;
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return instance;
+    }
+
+    /**
+     * Schreibt den vollständigen Spielzustand, auf welchen sich die nachfolgenden Ereignisse
+     * beziehen.
+     *
+     * @param field         Spielfeld
+     * @param players       Spieler
+     * @param currentPlayer Spieler, welcher zuletzt am Zug war
+     */
+    public synchronized void snapshot(Field field, Player[] players, int currentPlayer) {
+        if (failed) {
+            return;
+        }
+
+        rowCount = field.getRowCount();
+        List<Position> insets = sortedInsetPositions(field.getInsetPositions().keySet());
+        insetIndices.clear();
+        for (int insetIdx = 0; insetIdx < insets.size(); insetIdx++) {
+            insetIndices.put(insets.get(insetIdx), insetIdx);
+        }
+
+        ensure(3);
+        buffer.put(EventType.SNAPSHOT.getCode())
+                .put((byte) field.getColCount())
+                .put((byte) rowCount);
+
+        Tile[][] board = field.getBoard();
+        for (Tile[] col : board) {
+            for (Tile tile : col) {
+                putTile(tile);
+            }
+        }
+
+        FreeWayCard freeWayCard = field.getFreeWayCard();
+        putTile(freeWayCard);
+        ensure(2);
+        putPosition(freeWayCard.getPosition());
+
+        ensure(1);
+        buffer.put((byte) insets.size());
+        for (Position insetPos : insets) {
+            ensure(3);
+            putPosition(insetPos);
+            buffer.put((byte) field.getInsetPositions().get(insetPos).ordinal());
+        }
+
+        ensure(2);
+        buffer.put((byte) currentPlayer).put((byte) players.length);
+        for (Player player : players) {
+            byte[] name = player.getName() == null ? new byte[0]
+                    : player.getName().getBytes(StandardCharsets.UTF_8);
+
+            ensure(6 + name.length);
+            buffer.put((byte) (player.isInvolved() ? 1 : 0))
+                    .put(ordinal(player.getDirectedBy()))
+                    .putShort((short) name.length)
+                    .put(name);
+            putPosition(player.getPosition());
+
+            ensure(1 + player.getTreasureCards().size());
+            buffer.put((byte) player.getTreasureCards().size());
+            for (Treasure treasure : player.getTreasureCards()) {
+                buffer.put(ordinal(treasure));
+            }
+        }
+    }
+
+    /**
+     * Schreibt, dass der übergebene Spieler am Zug ist.
+     *
+     * @param playerIdx Index des Spielers
+     */
+    public synchronized void turnStart(int playerIdx) {
+        if (!failed && ensure(2)) {
+            buffer.put(EventType.TURN_START.getCode()).put((byte) playerIdx);
+        }
+    }
+
+    /**
+     * Schreibt einen Einschub der freien Gängekarte.
+     *
+     * @param insetPos Einschubposition (inklusive Umrandung)
+     * @param rotation Rotation der freien Gängekarte
+     */
+    public synchronized void shift(Position insetPos, TileRotation rotation) {
+        if (!failed && ensure(3)) {
+            buffer.put(EventType.SHIFT.getCode())
+                    .put((byte) (int) insetIndices.get(insetPos))
+                    .put((byte) rotation.ordinal());
+        }
+    }
+
+    /**
+     * Schreibt eine Bewegung eines Spielers.
+     *
+     * @param playerIdx Index des Spielers
+     * @param from      Startposition (ohne Umrandung)
+     * @param to        Zielposition (ohne Umrandung)
+     */
+    public synchronized void move(int playerIdx, Position from, Position to) {
+        if (!failed && ensure(6)) {
+            buffer.put(EventType.MOVE.getCode())
+                    .put((byte) playerIdx)
+                    .putShort((short) (from.getX() * rowCount + from.getY()))
+                    .putShort((short) (to.getX() * rowCount + to.getY()));
+        }
+    }
+
+    /**
+     * Schreibt, dass ein Spieler einen Schatz eingesammelt hat.
+     *
+     * @param playerIdx Index des Spielers
+     * @param treasure  Eingesammelter Schatz
+     */
+    public synchronized void treasureCollected(int playerIdx, Treasure treasure) {
+        if (!failed && ensure(3)) {
+            buffer.put(EventType.TREASURE_COLLECTED.getCode())
+                    .put((byte) playerIdx)
+                    .put((byte) treasure.ordinal());
+        }
+    }
+
+    /**
+     * Schreibt, dass ein Spieler gewonnen hat, und schreibt alle gesammelten Ereignisse in die
+     * Datei.
+     *
+     * @param playerIdx Index des Spielers
+     */
+    public synchronized void playerWon(int playerIdx) {
+        if (!failed && ensure(2)) {
+            buffer.put(EventType.PLAYER_WON.getCode()).put((byte) playerIdx);
+            flush();
+        }
+    }
+
+    /**
+     * Schreibt alle gesammelten Ereignisse in die Datei.
+     */
+    public synchronized void flush() {
+        if (failed) {
+            return;
+        }
+
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            failed = true;
+            buffer.clear();
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Schreibt alle gesammelten Ereignisse in die Datei und stellt sicher, dass diese auf dem
+     * Datenträger gespeichert sind.
+     *
+     * @throws IOException Wenn die Ereignisse nicht geschrieben werden konnten
+     */
+    public synchronized void force() throws IOException {
+        flush();
+        if (failed) {
+            throw new IOException("Aufzeichnung wurde aufgrund eines Fehlers beendet");
+        }
+
+        channel.force(false);
+    }
+
+    /**
+     * Schreibt alle gesammelten Ereignisse und schließt die Datei.
+     *
+     * @throws IOException Wenn die Datei nicht geschlossen werden kann
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        failed = true;
+        channel.close();
+    }
+
+    /**
+     * Stellt sicher, dass im Puffer Platz für die übergebene Anzahl an Bytes ist, und schreibt
+     * ihn andernfalls zuvor in die Datei.
+     *
+     * @param bytes Anzahl der Bytes
+     * @return true, wenn geschrieben werden kann, ansonsten false
+     */
+    private boolean ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+
+        return !failed;
+    }
+
+    /**
+     * Schreibt eine Gängekarte in den Puffer.
+     *
+     * @param tile Gängekarte
+     */
+    private void putTile(Tile tile) {
+        ensure(4);
+        buffer.put(ordinal(tile.getType()))
+                .put(ordinal(tile.getState()))
+                .put(ordinal(tile.getRotated()))
+                .put(ordinal(tile.getTreasure()));
+    }
+
+    /**
+     * Schreibt eine Position in den Puffer.
+     *
+     * @param pos Position
+     */
+    private void putPosition(Position pos) {
+        buffer.put((byte) pos.getX()).put((byte) pos.getY());
+    }
+
+    /**
+     * Liefert den Index eines Wertes eines Aufzählungstyps für die Datei.
+     *
+     * @param value Wert oder {@code null}
+     * @return Index des Wertes oder {@link #NONE}
+     */
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? NONE : (byte) value.ordinal();
+    }
+
+    /**
+     * Sortiert die Einschubpositionen nach Spalte und Reihe, sodass ihr Index unabhängig von der
+     * Reihenfolge der {@link java.util.HashMap} ist.
+     *
+     * @param insetPositions Einschubpositionen
+     * @return Sortierte Einschubpositionen
+     */
+    private static List<Position> sortedInsetPositions(Iterable<Position> insetPositions) {
+        List<Position> sorted = new ArrayList<>();
+        insetPositions.forEach(sorted::add);
+        sorted.sort(Comparator.comparingInt(Position::getX).thenComparingInt(Position::getY));
+
+        return sorted;
+    }
+}
@@ -0,0 +1,89 @@
+package logic.replay;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Arten der Ereignisse der binären Ereignisdatei eines Spiels. Jedes Ereignis beginnt in der
+ * Datei mit seinem Code, welcher unabhängig von der Reihenfolge der Konstanten festgelegt ist.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public enum EventType {
+
+    /**
+     * Vollständiger Spielzustand (Spielfeld, Einschubpositionen und Spieler), mit welchem ein
+     * Spiel beginnt oder nach dem Laden eines Spielstandes fortgesetzt wird.
+     */
+    SNAPSHOT(1),
+
+    /**
+     * Ein Spieler ist am Zug.
+     */
+    TURN_START(2),
+
+    /**
+     * Die freie Gängekarte wird mit einer Rotation an einer Einschubposition eingeschoben.
+     */
+    SHIFT(3),
+
+    /**
+     * Ein Spieler bewegt sich von einer Zelle zu einer anderen.
+     */
+    MOVE(4),
+
+    /**
+     * Ein Spieler sammelt einen Schatz ein.
+     */
+    TREASURE_COLLECTED(5),
+
+    /**
+     * Ein Spieler hat gewonnen.
+     */
+    PLAYER_WON(6);
+
+    /**
+     * Ereignisse nach ihrem Code.
+     */
+    private static final EventType[] BY_CODE = new EventType[7];
+
+    static {
+        for (EventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    /**
+     * Code des Ereignisses in der Datei.
+     */
+    private final byte code;
+
+    /**
+     * Konstruktor.
+     *
+     * @param code Code des Ereignisses in der Datei
+     */
+    EventType(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * Liefert den Code des Ereignisses in der Datei.
+     *
+     * @return Code des Ereignisses
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Liefert das Ereignis zum übergebenen Code.
+     *
+     * @param code Code des Ereignisses
+     * @return Ereignis oder {@code null}, wenn der Code unbekannt ist
+     */
+    public static EventType fromCode(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,248 @@
+package logic.replay;
+
+import logic.Field;
+import logic.Position;
+import logic.Shift;
+import logic.Treasure;
+import logic.player.Player;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse spielt eine Ereignisdatei auf einem {@link Field Spielfeld} und den
+ * {@link Player Spielern} nach. Es werden weder KI-Züge berechnet noch eine Oberfläche
+ * aktualisiert, sodass ein Spiel mit voller Geschwindigkeit bis zu einem beliebigen Zug
+ * nachgespielt werden kann, z.B. um den Spielzustand vor einem langsamen KI-Zug zu erhalten.
+ * <p>
+ * Ein {@link EventType#SNAPSHOT Spielzustand} ersetzt den bisherigen Zustand vollständig. Weicht
+ * ein Ereignis vom nachgespielten Zustand ab (z.B. ein anderer eingesammelter Schatz), wird eine
+ * {@link IllegalStateException} geworfen.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameReplay {
+
+    /**
+     * Gelesene Ereignisdatei.
+     */
+    private final EventLogReader reader;
+
+    /**
+     * Aktuelles Spielfeld.
+     */
+    private Field field;
+
+    /**
+     * Aktuelle Spieler.
+     */
+    private Player[] players;
+
+    /**
+     * Spieler, welcher am Zug ist.
+     */
+    private int currentPlayer = -1;
+
+    /**
+     * Gewinner des Spiels (-1, wenn noch kein Spieler gewonnen hat).
+     */
+    private int winner = -1;
+
+    /**
+     * Anzahl der begonnenen Züge seit dem letzten Spielzustand.
+     */
+    private int turns;
+
+    /**
+     * Konstruktor.
+     *
+     * @param reader Ereignisdatei
+     */
+    public GameReplay(EventLogReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Spielt die übergebene Ereignisdatei bis zu ihrem Ende nach.
+     *
+     * @param file Ereignisdatei
+     * @return Nachgespieltes Spiel
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static GameReplay replay(File file) throws IOException {
+        try (EventLogReader reader = new EventLogReader(file)) {
+            GameReplay replay = new GameReplay(reader);
+            while (replay.step() != null) {
+                // Nächstes Ereignis
+            }
+
+            return replay;
+        }
+    }
+
+    /**
+     * Liest das nächste Ereignis und führt es aus.
+     *
+     * @return Art des ausgeführten Ereignisses oder {@code null} am Ende der Datei
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public EventType step() throws IOException {
+        EventType type = reader.next();
+        if (type == null) {
+            return null;
+        }
+
+        if (type != EventType.SNAPSHOT && field == null) {
+            throw new IllegalStateException("Ereignis " + type + " vor dem ersten Spielzustand");
+        }
+
+        switch (type) {
+            case SNAPSHOT:
+                field = reader.getField();
+                players = reader.getPlayers();
+                currentPlayer = reader.getPlayer();
+                winner = -1;
+                turns = 0;
+                break;
+            case TURN_START:
+                currentPlayer = reader.getPlayer();
+                turns++;
+                break;
+            case SHIFT:
+                shift(reader.getInsetPos());
+                break;
+            case MOVE:
+                move(reader.getPlayer(), reader.getFrom(), reader.getTo());
+                break;
+            case TREASURE_COLLECTED:
+                collectTreasure(reader.getPlayer(), reader.getTreasure());
+                break;
+            case PLAYER_WON:
+                winner = reader.getPlayer();
+                break;
+            default:
+                break;
+        }
+
+        return type;
+    }
+
+    /**
+     * Spielt bis zum Beginn des übergebenen Zuges nach, d.h. das Spiel befindet sich anschließend
+     * in dem Zustand, in welchem der Spieler dieses Zuges am Zug ist.
+     *
+     * @param turn Zug (beginnend bei 1, seit dem letzten Spielzustand)
+     * @return true, wenn der Zug erreicht wurde, false, wenn die Datei vorher endet
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public boolean replayToTurn(int turn) throws IOException {
+        while (turns < turn) {
+            if (step() == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Führt einen Einschub mit der aktuellen freien Gängekarte aus und verschiebt betroffene
+     * Spieler wie im Spiel.
+     *
+     * @param insetPos Einschubposition (inklusive Umrandung)
+     */
+    private void shift(Position insetPos) {
+        Shift shift = new Shift(field.shiftTable().get(insetPos), field.getFreeWayCard());
+
+        for (Player player : players) {
+            if (player.isInvolved() && shift.isPositionAffected(player.getPosition())) {
+                player.setPosition(shift.updatePlayerPos(player.getPosition()));
+            }
+        }
+
+        field.applyShift(shift, reader.getRotation());
+    }
+
+    /**
+     * Bewegt einen Spieler.
+     *
+     * @param playerIdx Index des Spielers
+     * @param from      Startposition
+     * @param to        Zielposition
+     */
+    private void move(int playerIdx, Position from, Position to) {
+        Player player = players[playerIdx];
+        if (!player.getPosition().equals(from)) {
+            throw new IllegalStateException("player" + playerIdx + " steht auf "
+                    + player.getPosition() + " statt auf " + from);
+        }
+
+        player.setPosition(to);
+    }
+
+    /**
+     * Lässt einen Spieler seinen aktuellen Schatz einsammeln und entfernt ihn vom Spielfeld.
+     *
+     * @param playerIdx Index des Spielers
+     * @param treasure  Eingesammelter Schatz
+     */
+    private void collectTreasure(int playerIdx, Treasure treasure) {
+        Player player = players[playerIdx];
+        if (player.getCurrTreasure() != treasure) {
+            throw new IllegalStateException("player" + playerIdx + " sucht "
+                    + player.getCurrTreasure() + " statt " + treasure);
+        }
+
+        player.getTreasureCards().poll();
+        field.setTreasure(player.getPosition(), Treasure.EMPTY);
+    }
+
+    /**
+     * Liefert das aktuelle Spielfeld.
+     *
+     * @return Spielfeld ({@code null}, wenn noch kein Spielzustand gelesen wurde)
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Liefert die aktuellen Spieler.
+     *
+     * @return Spieler ({@code null}, wenn noch kein Spielzustand gelesen wurde)
+     */
+    public Player[] getPlayers() {
+        return players;
+    }
+
+    /**
+     * Liefert den Spieler, welcher am Zug ist.
+     *
+     * @return Index des Spielers
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Liefert den Gewinner.
+     *
+     * @return Index des Gewinners oder -1, wenn noch kein Spieler gewonnen hat
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Liefert die Anzahl der begonnenen Züge seit dem letzten Spielzustand.
+     *
+     * @return Anzahl der Züge
+     */
+    public int getTurns() {
+        return turns;
+    }
+}
@@ -78,30 +78,25 @@ public class Tile {
     /**
      * Liefert die offenen Ausgänge dieser Gängekarte unter Berücksichtigung ihrer derzeitigen
      * Rotation.
+     * <p>
+     * Die Ausgänge werden je Form und Rotation in {@link TileShape} vorberechnet, das gelieferte
+     * Array darf daher nicht verändert werden.
      *
      * @return Offenen Ausgänge der Gängekarte
      */
     public Direction[] getOpenDirections() {
-        // Anzahl der möglichen Ausgänge dieser Gängekarte
-        final int openDirLen = this.type.getOpenDirections().length;
-
-        // Ergebnis-Array, welches die offenen Ausgänge in Relation zur Rotation beinhaltet
-        Direction[] openDirs = new Direction[openDirLen];
-
-        // Initiale offene Ausgänge der Gängekarte, wenn sie 0° rotiert ist
-        Direction[] initialDirs = this.type.getOpenDirections();
-
-        // Ermittlung der offenen Ausgänge
-        if (this.rotated == TileRotation.ROT_0) { /* Keine Rotation */
-            openDirs = initialDirs;
-        } else { /* Rotation vorhanden */
-            for (int i = 0; i < openDirLen; i++) {
-                openDirs[i] = Direction.values()[(initialDirs[i].ordinal()
-                        + rotated.ordinal()) % Direction.values().length];
-            }
-        }
-
-        return openDirs;
+        return this.type.getOpenDirections(rotated);
+    }
+
+    /**
+     * Liefert die offenen Ausgänge dieser Gängekarte als 4-Bit-Maske unter Berücksichtigung ihrer
+     * derzeitigen Rotation. Jeder offene Ausgang ist als {@link Direction#getBit() Bit} der
+     * entsprechenden Richtung gesetzt.
+     *
+     * @return Ausgangs-Maske der Gängekarte
+     */
+    public int exitMask() {
+        return this.type.getExitMask(rotated);
     }
 
     /**
@@ -111,15 +106,7 @@ public class Tile {
      * @return true, wenn das Eintreten funktioniert, ansonsten false
      */
     public boolean canBeEnteredFrom(Direction dir) {
-        Direction[] openDirs = this.getOpenDirections();
-        int openDirLen = openDirs.length;
-
-        int i = 0;
-        while (i < openDirLen && openDirs[i] != dir) {
-            i++;
-        }
-
-        return i < openDirLen;
+        return (exitMask() & dir.getBit()) != 0;
     }
 
     /**
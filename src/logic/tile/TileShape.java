@@ -22,13 +22,40 @@ public enum TileShape {
      */
     private final Direction[] openDirections;
 
+    /**
+     * Offene Ausgänge dieser Form je {@link TileRotation Rotation} (Index entspricht dem
+     * Ordinal-Wert der Rotation).
+     */
+    private final Direction[][] rotatedOpenDirections;
+
+    /**
+     * Ausgangs-Masken dieser Form je {@link TileRotation Rotation}. Jeder offene Ausgang ist als
+     * {@link Direction#getBit() Bit} der entsprechenden Richtung gesetzt.
+     */
+    private final int[] exitMasks;
+
     /**
      * Erzeugt eine Form mit ihren entsprechenden Ausgängen.
+     * <p>
+     * Die offenen Ausgänge und Ausgangs-Masken werden für alle Rotationen einmalig vorberechnet.
      *
      * @param openDirections Offene Ausgänge dieser Form
      */
     TileShape(Direction[] openDirections) {
+        final Direction[] dirs = Direction.values();
+        final int rotationsLen = TileRotation.values().length;
+
         this.openDirections = openDirections;
+        this.rotatedOpenDirections = new Direction[rotationsLen][openDirections.length];
+        this.exitMasks = new int[rotationsLen];
+
+        for (int rot = 0; rot < rotationsLen; rot++) {
+            for (int i = 0; i < openDirections.length; i++) {
+                Direction rotatedDir = dirs[(openDirections[i].ordinal() + rot) % dirs.length];
+                rotatedOpenDirections[rot][i] = rotatedDir;
+                exitMasks[rot] |= rotatedDir.getBit();
+            }
+        }
     }
 
     /**
@@ -40,4 +67,27 @@ public enum TileShape {
         return openDirections;
     }
 
+    /**
+     * Liefert die offenen Ausgänge dieser Form unter Berücksichtigung der übergebenen Rotation.
+     * <p>
+     * Das gelieferte Array wird geteilt und darf nicht verändert werden.
+     *
+     * @param rotation Rotation der Form
+     * @return Offene Ausgänge der rotierten Form
+     */
+    public Direction[] getOpenDirections(TileRotation rotation) {
+        return rotatedOpenDirections[rotation.ordinal()];
+    }
+
+    /**
+     * Liefert die 4-Bit-Ausgangs-Maske dieser Form unter Berücksichtigung der übergebenen
+     * Rotation.
+     *
+     * @param rotation Rotation der Form
+     * @return Ausgangs-Maske der rotierten Form
+     */
+    public int getExitMask(TileRotation rotation) {
+        return exitMasks[rotation.ordinal()];
+    }
+
 }
@@ -0,0 +1,311 @@
+package logic.tournament;
+
+import logic.Game;
+import logic.GameEngine;
+import logic.player.PlayerType;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Diese Klasse spielt für eine Menge von {@link TournamentConfig Konfigurationen} jeweils eine
+ * feste Anzahl an Spielen mit der {@link GameEngine} und schreibt die aggregierten Ergebnisse
+ * als CSV.
+ * <p>
+ * Die Spiele werden auf einem {@link ForkJoinPool} mit einem Thread je Prozessorkern gespielt.
+ * Derselbe Pool wird den Spielen auch für die {@link GameEngine#setAIPool parallele
+ * Auswertung der KI-Züge} übergeben, sodass freie Threads Teile der KI-Berechnungen anderer
+ * Spiele übernehmen. Jedes Spiel erhält einen aus dem Startwert des Turniers, dem Index der
+ * Konfiguration und dem Index des Spiels abgeleiteten Startwert und ist damit unabhängig von
+ * der Anzahl der Threads reproduzierbar.
+ * <p>
+ * Die Zeile einer Konfiguration wird geschrieben, sobald alle ihre Spiele beendet sind.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class Tournament {
+
+    /**
+     * Kopfzeile der CSV-Ausgabe.
+     */
+    public static final String CSV_HEADER = "players,playerTypes,cardsPerPlayer,games,aborted,"
+            + "winRatePlayer0,winRatePlayer1,winRatePlayer2,winRatePlayer3,"
+            + "winRateAiNormal,winRateAiExtended,meanTurns,"
+            + "turnP50Micros,turnP90Micros,turnP99Micros,turnMaxMicros";
+
+    /**
+     * Zu spielende Konfigurationen.
+     */
+    private final List<TournamentConfig> configs;
+
+    /**
+     * Anzahl der Spiele je Konfiguration.
+     */
+    private final int gamesPerConfig;
+
+    /**
+     * Startwert des Turniers.
+     */
+    private final long seed;
+
+    /**
+     * Anzahl der Threads.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximale Anzahl an Zügen eines Spiels.
+     */
+    private int maxTurns = GameEngine.DEFAULT_MAX_TURNS;
+
+    /**
+     * Verzeichnis der Logdateien der Spiele ({@code null}, wenn nicht protokolliert wird).
+     */
+    private File logDirectory;
+
+    /**
+     * Konstruktor.
+     *
+     * @param configs        Zu spielende Konfigurationen
+     * @param gamesPerConfig Anzahl der Spiele je Konfiguration
+     * @param seed           Startwert des Turniers
+     */
+    public Tournament(List<TournamentConfig> configs, int gamesPerConfig, long seed) {
+        this.configs = new ArrayList<>(configs);
+        this.gamesPerConfig = gamesPerConfig;
+        this.seed = seed;
+    }
+
+    /**
+     * Setzt die Anzahl der Threads, auf denen die Spiele gespielt werden.
+     *
+     * @param parallelism Anzahl der Threads
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Setzt die maximale Anzahl an Zügen, nach welcher ein Spiel abgebrochen wird.
+     *
+     * @param maxTurns Maximale Anzahl an Zügen
+     */
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Setzt das Verzeichnis, in welches jedes Spiel eine eigene Logdatei schreibt.
+     *
+     * @param logDirectory Verzeichnis der Logdateien oder {@code null}, wenn nicht protokolliert
+     *                     werden soll
+     */
+    public void setLogDirectory(File logDirectory) {
+        this.logDirectory = logDirectory;
+    }
+
+    /**
+     * Spielt alle Konfigurationen und schreibt je Konfiguration eine Zeile in die übergebene
+     * Ausgabe.
+     *
+     * @param out Ausgabe der CSV-Datei
+     * @return Ergebnisse je Konfiguration in der Reihenfolge der Konfigurationen
+     * @throws IOException Wenn die Ausgabe nicht geschrieben werden kann
+     */
+    public List<TournamentStatistics> run(Writer out) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            // Alle Konfigurationen einreihen, damit keine Threads am Ende einer Konfiguration
+            // ungenutzt bleiben
+            List<TournamentStatistics> statistics = new ArrayList<>();
+            List<ForkJoinTask<Void>> tasks = new ArrayList<>();
+            for (int configIdx = 0; configIdx < configs.size(); configIdx++) {
+                TournamentConfig config = configs.get(configIdx);
+                GameEngine engine = new GameEngine(config.getSeatTypes(),
+                        config.getCardsPerPlayer());
+                engine.setMaxTurns(maxTurns);
+                engine.setLogDirectory(logDirectory);
+                engine.setAIPool(pool);
+
+                TournamentStatistics stats = new TournamentStatistics(config);
+                statistics.add(stats);
+                tasks.add(pool.submit(new GamesTask(engine, stats, configIdx, 0,
+                        gamesPerConfig)));
+            }
+
+            out.write(CSV_HEADER);
+            out.write(System.lineSeparator());
+            out.flush();
+
+            for (int configIdx = 0; configIdx < configs.size(); configIdx++) {
+                tasks.get(configIdx).join();
+                out.write(toCsvLine(statistics.get(configIdx)));
+                out.write(System.lineSeparator());
+                out.flush();
+            }
+
+            return statistics;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Leitet den Startwert eines Spiels ab.
+     *
+     * @param seed      Startwert des Turniers
+     * @param configIdx Index der Konfiguration
+     * @param gameIdx   Index des Spiels innerhalb der Konfiguration
+     * @return Startwert des Spiels
+     */
+    static long gameSeed(long seed, int configIdx, int gameIdx) {
+        long z = seed + configIdx * 0x9E3779B97F4A7C15L + gameIdx * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Erzeugt die CSV-Zeile der übergebenen Ergebnisse.
+     *
+     * @param stats Ergebnisse einer Konfiguration
+     * @return CSV-Zeile ohne Zeilenumbruch
+     */
+    static String toCsvLine(TournamentStatistics stats) {
+        TournamentConfig config = stats.getConfig();
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(config.getPlayerCount()).append(',');
+        for (int playerIdx = 0; playerIdx < config.getPlayerCount(); playerIdx++) {
+            sb.append(playerIdx == 0 ? "" : "|")
+                    .append(config.getPlayerTypes().get(playerIdx).name());
+        }
+        sb.append(',').append(config.getCardsPerPlayer());
+        sb.append(',').append(stats.getGames());
+        sb.append(',').append(stats.getAborted());
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            sb.append(',').append(format(stats.getWinRate(playerIdx)));
+        }
+        sb.append(',').append(format(stats.getWinRate(PlayerType.AI_NORMAL)));
+        sb.append(',').append(format(stats.getWinRate(PlayerType.AI_EXTENDED)));
+        sb.append(',').append(format(stats.getMeanTurns()));
+        sb.append(',').append(stats.getTurnNanosPercentile(50) / 1000);
+        sb.append(',').append(stats.getTurnNanosPercentile(90) / 1000);
+        sb.append(',').append(stats.getTurnNanosPercentile(99) / 1000);
+        sb.append(',').append(stats.getMaxTurnNanos() / 1000);
+
+        return sb.toString();
+    }
+
+    /**
+     * Formatiert eine Kommazahl unabhängig von der eingestellten Sprache.
+     *
+     * @param value Kommazahl
+     * @return Kommazahl mit vier Nachkommastellen
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    /**
+     * Startet ein Turnier über alle Kombinationen aus 2 bis 4 Spielern mit normaler und
+     * erweiterter KI und 3 bzw. 6 Schatzkarten je Spieler.
+     * <p>
+     * Argumente: {@code <Spiele je Konfiguration> <CSV-Datei> [Startwert]}
+     *
+     * @param args Argumente
+     * @throws IOException Wenn die CSV-Datei nicht geschrieben werden kann
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Aufruf: Tournament <Spiele je Konfiguration> <CSV-Datei> "
+                    + "[Startwert]");
+            return;
+        }
+
+        int games = Integer.parseInt(args[0]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        Tournament tournament = new Tournament(TournamentConfig.sweep(new int[]{2, 3, 4},
+                new int[]{3, 6}), games, seed);
+        try (Writer out = new FileWriter(args[1])) {
+            tournament.run(out);
+        }
+    }
+
+    /**
+     * Spielt einen Bereich der Spiele einer Konfiguration, größere Bereiche werden halbiert und
+     * parallel gespielt.
+     */
+    private class GamesTask extends RecursiveAction {
+
+        /**
+         * Versionsnummer der Serialisierung.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Engine der Konfiguration.
+         */
+        private final GameEngine engine;
+
+        /**
+         * Ergebnisse der Konfiguration.
+         */
+        private final TournamentStatistics stats;
+
+        /**
+         * Index der Konfiguration.
+         */
+        private final int configIdx;
+
+        /**
+         * Erstes (inklusive) und letztes (exklusive) Spiel dieses Bereiches.
+         */
+        private final int from;
+        private final int to;
+
+        /**
+         * Konstruktor.
+         *
+         * @param engine    Engine der Konfiguration
+         * @param stats     Ergebnisse der Konfiguration
+         * @param configIdx Index der Konfiguration
+         * @param from      Erstes Spiel (inklusive)
+         * @param to        Letztes Spiel (exklusive)
+         */
+        private GamesTask(GameEngine engine, TournamentStatistics stats, int configIdx,
+                          int from, int to) {
+            this.engine = engine;
+            this.stats = stats;
+            this.configIdx = configIdx;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                stats.add(engine.play(gameSeed(seed, configIdx, from)));
+            } else if (to > from) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GamesTask(engine, stats, configIdx, from, mid),
+                        new GamesTask(engine, stats, configIdx, mid, to));
+            }
+        }
+    }
+}
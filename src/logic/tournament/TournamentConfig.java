@@ -0,0 +1,127 @@
+package logic.tournament;
+
+import logic.Game;
+import logic.player.PlayerType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Konfiguration der Spiele eines {@link Tournament Turniers}: KI-Typ je Spieler und Anzahl der
+ * Schatzkarten je Spieler. Es nehmen jeweils die ersten Spieler (in der Reihenfolge der
+ * Startpositionen) teil.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class TournamentConfig {
+
+    /**
+     * KI-Typen der teilnehmenden Spieler.
+     */
+    private final List<PlayerType> playerTypes;
+
+    /**
+     * Anzahl der Schatzkarten je Spieler.
+     */
+    private final int cardsPerPlayer;
+
+    /**
+     * Konstruktor.
+     *
+     * @param playerTypes    KI-Typen der teilnehmenden Spieler
+     * @param cardsPerPlayer Anzahl der Schatzkarten je Spieler
+     */
+    public TournamentConfig(List<PlayerType> playerTypes, int cardsPerPlayer) {
+        this.playerTypes = Collections.unmodifiableList(new ArrayList<>(playerTypes));
+        this.cardsPerPlayer = cardsPerPlayer;
+    }
+
+    /**
+     * Erzeugt alle Konfigurationen aus den übergebenen Spieleranzahlen und Anzahlen an
+     * Schatzkarten je Spieler. Je Spieleranzahl wird jede Kombination aus normaler und
+     * erweiterter KI auf den Startpositionen gebildet. Kombinationen, für die nicht genügend
+     * Schätze existieren, werden ausgelassen.
+     *
+     * @param playerCounts   Anzahlen der teilnehmenden Spieler
+     * @param cardsPerPlayer Anzahlen der Schatzkarten je Spieler
+     * @return Konfigurationen in fester Reihenfolge
+     */
+    public static List<TournamentConfig> sweep(int[] playerCounts, int[] cardsPerPlayer) {
+        List<TournamentConfig> configs = new ArrayList<>();
+
+        for (int playerCount : playerCounts) {
+            for (int cards : cardsPerPlayer) {
+                if (playerCount * cards > Game.MAX_TREASURESIZE) {
+                    continue;
+                }
+
+                // Bit i gibt an, ob Spieler i eine erweiterte KI ist
+                for (int combination = 0; combination < 1 << playerCount; combination++) {
+                    List<PlayerType> types = new ArrayList<>();
+                    for (int playerIdx = 0; playerIdx < playerCount; playerIdx++) {
+                        types.add((combination >> playerIdx & 1) == 0
+                                ? PlayerType.AI_NORMAL : PlayerType.AI_EXTENDED);
+                    }
+                    configs.add(new TournamentConfig(types, cards));
+                }
+            }
+        }
+
+        return configs;
+    }
+
+    /**
+     * Liefert die KI-Typen aller {@link Game#MAX_PLAYERS Spieler}, wobei nicht teilnehmende
+     * Spieler {@code null} sind.
+     *
+     * @return KI-Typen je Spieler
+     */
+    public List<PlayerType> getSeatTypes() {
+        PlayerType[] types = new PlayerType[Game.MAX_PLAYERS];
+        for (int playerIdx = 0; playerIdx < playerTypes.size(); playerIdx++) {
+            types[playerIdx] = playerTypes.get(playerIdx);
+        }
+
+        return Arrays.asList(types);
+    }
+
+    /**
+     * Liefert die KI-Typen der teilnehmenden Spieler.
+     *
+     * @return KI-Typen der teilnehmenden Spieler
+     */
+    public List<PlayerType> getPlayerTypes() {
+        return playerTypes;
+    }
+
+    /**
+     * Liefert die Anzahl der teilnehmenden Spieler.
+     *
+     * @return Anzahl der Spieler
+     */
+    public int getPlayerCount() {
+        return playerTypes.size();
+    }
+
+    /**
+     * Liefert die Anzahl der Schatzkarten je Spieler.
+     *
+     * @return Anzahl der Schatzkarten je Spieler
+     */
+    public int getCardsPerPlayer() {
+        return cardsPerPlayer;
+    }
+
+    @Override
+    public String toString() {
+        return playerTypes.stream().map(PlayerType::name).collect(Collectors.joining("|"))
+                + " x" + cardsPerPlayer;
+    }
+}
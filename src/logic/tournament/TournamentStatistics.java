@@ -0,0 +1,230 @@
+package logic.tournament;
+
+import logic.Game;
+import logic.GameResult;
+import logic.player.PlayerType;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Aggregierte Ergebnisse aller Spiele einer {@link TournamentConfig Konfiguration}: Siegquoten
+ * je Spieler und je KI-Typ, durchschnittliche Anzahl an Zügen und Perzentile der Dauer der
+ * KI-Züge.
+ * <p>
+ * Die Dauer der Züge wird in einem Histogramm mit logarithmisch wachsenden Klassen gezählt
+ * (32 Klassen je Zweierpotenz, relative Abweichung unter 4%), sodass der Speicherbedarf nicht
+ * von der Anzahl der Spiele abhängt. Ergebnisse können von mehreren Threads gleichzeitig
+ * {@link #add(GameResult) hinzugefügt} werden.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class TournamentStatistics {
+
+    /**
+     * Anzahl der Bits der Klassen innerhalb einer Zweierpotenz.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Anzahl der Werte, die exakt gezählt werden.
+     */
+    private static final int LINEAR_BUCKETS = 2 << SUB_BUCKET_BITS;
+
+    /**
+     * Anzahl der Klassen des Histogramms.
+     */
+    private static final int BUCKETS = LINEAR_BUCKETS
+            + (Long.SIZE - SUB_BUCKET_BITS - 2) * (1 << SUB_BUCKET_BITS);
+
+    /**
+     * Konfiguration der Spiele.
+     */
+    private final TournamentConfig config;
+
+    /**
+     * Anzahl der gespielten und der abgebrochenen Spiele.
+     */
+    private long games;
+    private long aborted;
+
+    /**
+     * Siege je Spieler und je KI-Typ.
+     */
+    private final long[] winsPerPlayer = new long[Game.MAX_PLAYERS];
+    private final long[] winsPerType = new long[PlayerType.values().length];
+
+    /**
+     * Summe der Züge aller beendeten Spiele.
+     */
+    private long finishedTurns;
+
+    /**
+     * Anzahl der Züge je Klasse der Dauer.
+     */
+    private final long[] turnHistogram = new long[BUCKETS];
+
+    /**
+     * Anzahl aller Züge und längste Dauer eines Zuges.
+     */
+    private long turnCount;
+    private long maxTurnNanos;
+
+    /**
+     * Konstruktor.
+     *
+     * @param config Konfiguration der Spiele
+     */
+    public TournamentStatistics(TournamentConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Fügt das Ergebnis eines Spiels hinzu.
+     *
+     * @param result Ergebnis eines Spiels dieser Konfiguration
+     */
+    public synchronized void add(GameResult result) {
+        games++;
+
+        if (result.isAborted()) {
+            aborted++;
+        } else {
+            winsPerPlayer[result.getWinner()]++;
+            winsPerType[config.getPlayerTypes().get(result.getWinner()).ordinal()]++;
+            finishedTurns += result.getTurns();
+        }
+
+        for (int turn = 0; turn < result.getTurns(); turn++) {
+            long nanos = result.getTurnNanos(turn);
+            turnHistogram[bucket(nanos)]++;
+            maxTurnNanos = Math.max(maxTurnNanos, nanos);
+        }
+        turnCount += result.getTurns();
+    }
+
+    /**
+     * Liefert die Konfiguration der Spiele.
+     *
+     * @return Konfiguration
+     */
+    public TournamentConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Liefert die Anzahl der gespielten Spiele.
+     *
+     * @return Anzahl der Spiele
+     */
+    public synchronized long getGames() {
+        return games;
+    }
+
+    /**
+     * Liefert die Anzahl der ohne Gewinner abgebrochenen Spiele.
+     *
+     * @return Anzahl der abgebrochenen Spiele
+     */
+    public synchronized long getAborted() {
+        return aborted;
+    }
+
+    /**
+     * Liefert den Anteil der Spiele, die der übergebene Spieler gewonnen hat.
+     *
+     * @param playerIdx Index des Spielers
+     * @return Siegquote zwischen 0 und 1
+     */
+    public synchronized double getWinRate(int playerIdx) {
+        return games == 0 ? 0 : (double) winsPerPlayer[playerIdx] / games;
+    }
+
+    /**
+     * Liefert den Anteil der Spiele, die von einem Spieler des übergebenen KI-Typs gewonnen
+     * wurden.
+     *
+     * @param type KI-Typ
+     * @return Siegquote zwischen 0 und 1
+     */
+    public synchronized double getWinRate(PlayerType type) {
+        return games == 0 ? 0 : (double) winsPerType[type.ordinal()] / games;
+    }
+
+    /**
+     * Liefert die durchschnittliche Anzahl an Zügen aller Spieler der beendeten Spiele.
+     *
+     * @return Durchschnittliche Anzahl an Zügen
+     */
+    public synchronized double getMeanTurns() {
+        long finished = games - aborted;
+        return finished == 0 ? 0 : (double) finishedTurns / finished;
+    }
+
+    /**
+     * Liefert das übergebene Perzentil der Dauer der Züge.
+     *
+     * @param percentile Perzentil zwischen 0 und 100
+     * @return Untere Grenze der Klasse des Perzentils in Nanosekunden
+     */
+    public synchronized long getTurnNanosPercentile(double percentile) {
+        if (turnCount == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * turnCount));
+        long seen = 0;
+        int bucket = 0;
+        while (seen + turnHistogram[bucket] < rank) {
+            seen += turnHistogram[bucket++];
+        }
+
+        return Math.min(lowerBound(bucket), maxTurnNanos);
+    }
+
+    /**
+     * Liefert die längste Dauer eines Zuges.
+     *
+     * @return Längste Dauer in Nanosekunden
+     */
+    public synchronized long getMaxTurnNanos() {
+        return maxTurnNanos;
+    }
+
+    /**
+     * Bestimmt die Klasse des Histogramms der übergebenen Dauer.
+     *
+     * @param nanos Dauer in Nanosekunden
+     * @return Index der Klasse
+     */
+    private static int bucket(long nanos) {
+        if (nanos < LINEAR_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS))
+                & ((1 << SUB_BUCKET_BITS) - 1);
+
+        return LINEAR_BUCKETS + (exponent - SUB_BUCKET_BITS - 1) * (1 << SUB_BUCKET_BITS)
+                + subBucket;
+    }
+
+    /**
+     * Liefert die kleinste Dauer der übergebenen Klasse.
+     *
+     * @param bucket Index der Klasse
+     * @return Untere Grenze in Nanosekunden
+     */
+    private static long lowerBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = (bucket - LINEAR_BUCKETS) / (1 << SUB_BUCKET_BITS) + SUB_BUCKET_BITS + 1;
+        long subBucket = (bucket - LINEAR_BUCKETS) % (1 << SUB_BUCKET_BITS);
+
+        return (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+    }
+}
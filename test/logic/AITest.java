@@ -4,6 +4,7 @@ import javafx.geometry.Pos;
 import logic.player.AIUtil;
 import logic.player.AIMove;
 import logic.player.PlayerType;
+import logic.player.TranspositionTable;
 import logic.tile.FreeWayCard;
 import logic.tile.Tile;
 import logic.tile.TileRotation;
@@ -13,7 +14,10 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -258,4 +262,111 @@ public class AITest {
         Assert.assertEquals(new Position(2, 0), moveExtended.getTargetPos());
         Assert.assertEquals(new Position(2, 0), moveNormal.getTargetPos());
     }
+
+    /**
+     * Testet, ob die Berechnung eines KI-Zuges auf einem Pool mit nur einem Thread das
+     * Spielfeld und die freie Gängekarte unverändert lässt.
+     */
+    @Test
+    public void AI_singleThreadPoolLeavesFieldUnchanged() {
+
+        // Freie Gängekarte
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.T, TileRotation.ROT_90, new Position(-1, -1));
+
+        Field field = new Field(
+                "I100,I100,I100,I100,L200\n" +
+                        "I100,L200,I100,I100,I000\n" +
+                        "I100,I000,I123,I100,I000\n" +
+                        "L000,L300,I100,I100,I000\n" +
+                        "I100,I100,I100,I100,L300", freeWayCard);
+        Treasure treasure = Treasure.values()[23];
+        String boardBefore = Arrays.deepToString(field.getBoard());
+
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            AIMove move = AIUtil.calcAIMove(field, new Position(0, 0), treasure, PlayerType.AI_EXTENDED, null, new Random(), pool, new AtomicBoolean());
+            Assert.assertNotNull(move);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assert.assertEquals(boardBefore, Arrays.deepToString(field.getBoard()));
+        Assert.assertSame(freeWayCard, field.getFreeWayCard());
+        Assert.assertEquals(TileRotation.ROT_90, freeWayCard.getRotated());
+    }
+
+    @Test
+    public void AI_transpositionTableReusedForSameState() {
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.T, TileRotation.ROT_90, new Position(-1, -1));
+
+        Field field = new Field(
+                "I100,I100,I100,I100,L200\n" +
+                        "I100,L200,I100,I100,I000\n" +
+                        "I100,I000,I123,I100,I000\n" +
+                        "L000,L300,I100,I100,I000\n" +
+                        "I100,I100,I100,I100,L300", freeWayCard);
+        Treasure treasure = Treasure.values()[23];
+        TranspositionTable table = new TranspositionTable(1024 * 1024);
+
+        Assert.assertNotNull(AIUtil.calcAIMove(field, new Position(0, 0), treasure, PlayerType.AI_NORMAL, table, new Random()));
+        Assert.assertEquals(0, table.getHits());
+        Assert.assertEquals(1, table.getMisses());
+        Assert.assertEquals(1, table.getStores());
+
+        Assert.assertNotNull(AIUtil.calcAIMove(field, new Position(0, 0), treasure, PlayerType.AI_NORMAL, table, new Random()));
+        Assert.assertEquals(1, table.getHits());
+        Assert.assertEquals(1, table.getStores());
+
+        // Andere Startposition ist ein anderer Spielzustand
+        Assert.assertNotNull(AIUtil.calcAIMove(field, new Position(4, 4), treasure, PlayerType.AI_NORMAL, table, new Random()));
+        Assert.assertEquals(2, table.getMisses());
+        Assert.assertTrue(table.getUsedBytes() > 0);
+    }
+
+    @Test
+    public void AI_transpositionTableIgnoresFreeWayCardRotation() {
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.T, TileRotation.ROT_90, new Position(-1, -1));
+
+        Field field = new Field(
+                "I100,I100,I100,I100,L200\n" +
+                        "I100,L200,I100,I100,I000\n" +
+                        "I100,I000,I123,I100,I000\n" +
+                        "L000,L300,I100,I100,I000\n" +
+                        "I100,I100,I100,I100,L300", freeWayCard);
+        Treasure treasure = Treasure.values()[23];
+        TranspositionTable table = new TranspositionTable(1024 * 1024);
+
+        Assert.assertNotNull(AIUtil.calcAIMove(field, new Position(0, 0), treasure, PlayerType.AI_NORMAL, table, new Random(3)));
+        long hash = field.getHash();
+        long hashWithoutRotation = field.getHashWithoutRotation();
+
+        // Nur die Rotation der freien Gängekarte unterscheidet die Spielzustände
+        field.setFreeWayCardRotation(TileRotation.ROT_180);
+        Assert.assertNotEquals(hash, field.getHash());
+        Assert.assertEquals(hashWithoutRotation, field.getHashWithoutRotation());
+
+        AIMove cached = AIUtil.calcAIMove(field, new Position(0, 0), treasure, PlayerType.AI_NORMAL, table, new Random(3));
+        Assert.assertEquals(1, table.getHits());
+        Assert.assertEquals(1, table.getStores());
+        AIMove computed = AIUtil.calcAIMove(field, new Position(0, 0), treasure, PlayerType.AI_NORMAL, null, new Random(3));
+        Assert.assertEquals(computed.toString(), cached.toString());
+    }
+
+    @Test
+    public void AI_transpositionTableRespectsMemoryCap() {
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.T, TileRotation.ROT_90, new Position(-1, -1));
+
+        Field field = new Field(
+                "I100,I100,I100,I100,L200\n" +
+                        "I100,L200,I100,I100,I000\n" +
+                        "I100,I000,I123,I100,I000\n" +
+                        "L000,L300,I100,I100,I000\n" +
+                        "I100,I100,I100,I100,L300", freeWayCard);
+        TranspositionTable table = new TranspositionTable(64);
+
+        Assert.assertNotNull(AIUtil.calcAIMove(field, new Position(0, 0), Treasure.values()[23], PlayerType.AI_NORMAL, table, new Random()));
+        Assert.assertEquals(0, table.getStores());
+        Assert.assertEquals(0, table.getUsedBytes());
+        Assert.assertEquals(2, table.getCapacity());
+    }
 }
@@ -0,0 +1,202 @@
+package logic;
+
+import logic.player.Player;
+import logic.replay.AutoSave;
+import logic.replay.EventLogReader;
+import logic.replay.EventLogWriter;
+import logic.replay.GameReplay;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Tests für die {@link AutoSave automatische Sicherung} aus vollständigen Spielzuständen und den
+ * Ereignissen der Züge.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class AutoSaveTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void load_matchesStartOfLastTurn() throws IOException {
+        File events = new File(folder.getRoot(), "game.events");
+        File save = new File(folder.getRoot(), "game.save");
+        playWithAutoSave(events, save, 5, 11);
+
+        // Erwarteter Zustand: vollständige Aufzeichnung bis zum Beginn des letzten Zuges
+        GameReplay full = GameReplay.replay(events);
+        Assert.assertEquals(-1, full.getWinner());
+        int turns = full.getTurns();
+        GameReplay expected;
+        try (EventLogReader reader = new EventLogReader(events)) {
+            expected = new GameReplay(reader);
+            Assert.assertTrue(expected.replayToTurn(turns));
+        }
+
+        GameReplay actual = AutoSave.load(save);
+
+        Assert.assertTrue(GameReplay.replay(save).getTurns() <= 5);
+        Assert.assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+        Assert.assertEquals(Arrays.deepToString(expected.getField().getBoard()),
+                Arrays.deepToString(actual.getField().getBoard()));
+        Assert.assertEquals(expected.getField().getFreeWayCard().toString(),
+                actual.getField().getFreeWayCard().toString());
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            Player expectedPlayer = expected.getPlayers()[playerIdx];
+            Player actualPlayer = actual.getPlayers()[playerIdx];
+            Assert.assertEquals(expectedPlayer.getPosition(), actualPlayer.getPosition());
+            Assert.assertEquals(new ArrayList<>(expectedPlayer.getTreasureCards()),
+                    new ArrayList<>(actualPlayer.getTreasureCards()));
+        }
+    }
+
+    @Test
+    public void truncatedSave_dropsIncompleteTurn() throws IOException {
+        File save = new File(folder.getRoot(), "game.save");
+        playWithAutoSave(new File(folder.getRoot(), "game.events"), save, 50, 12);
+        int turns = GameReplay.replay(save).getTurns();
+        int currentPlayer = AutoSave.load(save).getCurrentPlayer();
+
+        // Letztes Ereignis des zuletzt begonnenen Zuges abschneiden
+        try (RandomAccessFile raf = new RandomAccessFile(save, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        Assert.assertEquals(turns, GameReplay.replay(save).getTurns());
+        Assert.assertEquals(currentPlayer, AutoSave.load(save).getCurrentPlayer());
+    }
+
+    @Test
+    public void loadAutoSave_continuesGameAtStartOfLastTurn() throws IOException {
+        File save = new File(folder.getRoot(), "game.save");
+        playWithAutoSave(new File(folder.getRoot(), "game.events"), save, 4, 9);
+        GameReplay expected = AutoSave.load(save);
+
+        // KI-Züge des geladenen Spiels nicht ausführen, um den Zustand zu Beginn des Zuges zu prüfen
+        Queue<Runnable> aiTasks = new LinkedList<>();
+        Game game = TestFixtures.aiGame(new HeadlessConnector(), 5, null, aiTasks::add);
+        game.loadAutoSave(save);
+
+        Assert.assertEquals(Arrays.deepToString(expected.getField().getBoard()),
+                Arrays.deepToString(game.getField().getBoard()));
+        Assert.assertEquals(expected.getField().getFreeWayCard().toString(),
+                game.getField().getFreeWayCard().toString());
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            Player expectedPlayer = expected.getPlayers()[playerIdx];
+            Player actualPlayer = game.getPlayer(playerIdx);
+            Assert.assertEquals(expectedPlayer.getPosition(), actualPlayer.getPosition());
+            Assert.assertEquals(new ArrayList<>(expectedPlayer.getTreasureCards()),
+                    new ArrayList<>(actualPlayer.getTreasureCards()));
+        }
+        Assert.assertEquals(expected.getCurrentPlayer(), game.getCurrentPlayer());
+    }
+
+    @Test
+    public void finishedGame_loadedWithWinningTurn() throws IOException {
+        File events = new File(folder.getRoot(), "game.events");
+        File save = new File(folder.getRoot(), "game.save");
+        playWithAutoSave(events, save, 5, Integer.MAX_VALUE);
+
+        GameReplay expected = GameReplay.replay(events);
+        Assert.assertNotEquals(-1, expected.getWinner());
+
+        GameReplay actual = AutoSave.load(save);
+        Assert.assertEquals(expected.getWinner(), actual.getWinner());
+        Assert.assertEquals(Arrays.deepToString(expected.getField().getBoard()),
+                Arrays.deepToString(actual.getField().getBoard()));
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            Assert.assertEquals(expected.getPlayers()[playerIdx].getPosition(),
+                    actual.getPlayers()[playerIdx].getPosition());
+        }
+
+        // Das geladene Spiel wird nicht fortgesetzt
+        Queue<Runnable> aiTasks = new LinkedList<>();
+        Game game = TestFixtures.aiGame(new HeadlessConnector(), 5, null, aiTasks::add);
+        aiTasks.clear();
+        game.loadAutoSave(save);
+        Assert.assertEquals(expected.getWinner(), game.getWinner());
+        Assert.assertTrue(aiTasks.isEmpty());
+    }
+
+    @Test
+    public void turnStart_writesOnExecutorFromCopies() throws IOException {
+        File expected = new File(folder.getRoot(), "expected.save");
+        playWithAutoSave(new File(folder.getRoot(), "expected.events"), expected, 5, 23);
+
+        // Schreibvorgänge erst nach Ende des Spiels ausführen
+        File save = new File(folder.getRoot(), "game.save");
+        Queue<Runnable> writes = new LinkedList<>();
+        playWithAutoSave(new File(folder.getRoot(), "game.events"), save, 5, 23, writes::add);
+        Assert.assertFalse(save.exists());
+
+        while (!writes.isEmpty()) {
+            writes.poll().run();
+        }
+        Assert.assertArrayEquals(Files.readAllBytes(expected.toPath()),
+                Files.readAllBytes(save.toPath()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidInterval() {
+        new AutoSave(new File("game.save"), 0);
+    }
+
+    /**
+     * Spielt die übergebene Anzahl an Zügen zweier KI-Spieler, zeichnet diese vollständig auf und
+     * sichert sie automatisch auf dem aufrufenden Thread.
+     *
+     * @param events             Ereignisdatei der vollständigen Aufzeichnung
+     * @param save               Sicherungsdatei
+     * @param checkpointInterval Anzahl der Züge zwischen zwei vollständigen Spielzuständen
+     * @param turns              Anzahl der Züge
+     * @throws IOException Wenn die Dateien nicht geschrieben werden können
+     */
+    private static void playWithAutoSave(File events, File save, int checkpointInterval,
+                                         int turns) throws IOException {
+        playWithAutoSave(events, save, checkpointInterval, turns, Runnable::run);
+    }
+
+    /**
+     * Spielt die übergebene Anzahl an Zügen zweier KI-Spieler, zeichnet diese vollständig auf und
+     * sichert sie automatisch.
+     *
+     * @param events             Ereignisdatei der vollständigen Aufzeichnung
+     * @param save               Sicherungsdatei
+     * @param checkpointInterval Anzahl der Züge zwischen zwei vollständigen Spielzuständen
+     * @param turns              Anzahl der Züge
+     * @param writeExecutor      Ausführung der Schreibvorgänge der Sicherung
+     * @throws IOException Wenn die Dateien nicht geschrieben werden können
+     */
+    private static void playWithAutoSave(File events, File save, int checkpointInterval,
+                                         int turns, Executor writeExecutor) throws IOException {
+        HeadlessConnector connector = new HeadlessConnector();
+        try (EventLogWriter eventLog = new EventLogWriter(events);
+             AutoSave autoSave = new AutoSave(save, checkpointInterval, writeExecutor)) {
+            Game game = TestFixtures.aiGame(connector, 17, eventLog);
+            game.setAutoSave(autoSave);
+
+            int turn = 0;
+            while (game.getWinner() == -1 && connector.pollTurnCompleted() && turn++ < turns) {
+                game.nextTurn();
+            }
+        }
+    }
+}
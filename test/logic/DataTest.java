@@ -3,10 +3,19 @@ package logic;
 import com.google.gson.JsonSyntaxException;
 import logic.data.Data;
 import logic.data.InvalidGameDataException;
+import logic.player.Player;
+import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -18,6 +27,9 @@ import java.io.FileNotFoundException;
  */
 public class DataTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test (expected = InvalidGameDataException.class)
     public void invalidCurrentPlayer() throws FileNotFoundException, InvalidGameDataException {
         String path = new File("").getAbsolutePath();
@@ -61,4 +73,109 @@ public class DataTest {
         path = path.concat("/test/logic/dataTestFiles/invalidTreasure.json");
         Data data = new Data(new File(path), 7, 7);
     }
+
+    @Test
+    public void savedGameWithoutRandom() throws FileNotFoundException, InvalidGameDataException {
+        String path = new File("").getAbsolutePath();
+        path = path.concat("/test/logic/dataTestFiles/Labyrinth.json");
+        Data data = new Data(new File(path), 7, 7);
+
+        Assert.assertNull(data.getRandomSeed());
+        Assert.assertNull(data.getRandomState());
+    }
+
+    @Test
+    public void binarySave_roundTrip() throws IOException, InvalidGameDataException {
+        Data json = TestFixtures.loadLabyrinth();
+        Data saved = TestFixtures.withRandom(json, 42L, -7L);
+        File file = folder.newFile("labyrinth" + Data.BINARY_EXTENSION);
+        saved.saveGameBinary(file);
+
+        Data loaded = new Data(file, 7, 7);
+
+        Assert.assertTrue(file.length() < 300);
+        Assert.assertEquals(Arrays.deepToString(saved.getField()),
+                Arrays.deepToString(loaded.getField()));
+        Assert.assertEquals(saved.getFreeWayCard().toString(), loaded.getFreeWayCard().toString());
+        Assert.assertEquals(saved.getFreeWayCard().getPosition(),
+                loaded.getFreeWayCard().getPosition());
+        Assert.assertEquals(saved.getCurrentPlayer(), loaded.getCurrentPlayer());
+        Assert.assertEquals(Long.valueOf(42L), loaded.getRandomSeed());
+        Assert.assertEquals(Long.valueOf(-7L), loaded.getRandomState());
+        for (int playerIdx = 0; playerIdx < saved.getPlayers().length; playerIdx++) {
+            Player expected = saved.getPlayers()[playerIdx];
+            Player actual = loaded.getPlayers()[playerIdx];
+            Assert.assertEquals(expected.isInvolved(), actual.isInvolved());
+            Assert.assertEquals(expected.getName(), actual.getName());
+            Assert.assertEquals(expected.getDirectedBy(), actual.getDirectedBy());
+            Assert.assertEquals(expected.getPosition(), actual.getPosition());
+            Assert.assertEquals(new ArrayList<>(expected.getTreasureCards()),
+                    new ArrayList<>(actual.getTreasureCards()));
+        }
+    }
+
+    @Test (expected = InvalidGameDataException.class)
+    public void binarySave_truncated() throws IOException, InvalidGameDataException {
+        Data json = TestFixtures.loadLabyrinth();
+        File file = folder.newFile("labyrinth" + Data.BINARY_EXTENSION);
+        json.saveGameBinary(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        new Data(file, 7, 7);
+    }
+
+    @Test (expected = InvalidGameDataException.class)
+    public void binarySave_invalidFieldLength() throws IOException, InvalidGameDataException {
+        Data json = TestFixtures.loadLabyrinth();
+        File file = folder.newFile("labyrinth" + Data.BINARY_EXTENSION);
+        json.saveGameBinary(file);
+
+        new Data(file, 9, 9);
+    }
+
+    @Test
+    public void jsonSave_roundTrip() throws IOException, InvalidGameDataException {
+        Data json = TestFixtures.loadLabyrinth();
+        Data saved = TestFixtures.withRandom(json, 42L, -7L);
+        File file = folder.newFile("labyrinth.json");
+        saved.saveGame(new FileOutputStream(file));
+
+        Data loaded = new Data(file, 7, 7);
+
+        Assert.assertEquals(Arrays.deepToString(saved.getField()),
+                Arrays.deepToString(loaded.getField()));
+        Assert.assertEquals(saved.getFreeWayCard().getPosition(),
+                loaded.getFreeWayCard().getPosition());
+        Assert.assertEquals(saved.getCurrentPlayer(), loaded.getCurrentPlayer());
+        Assert.assertEquals(Long.valueOf(42L), loaded.getRandomSeed());
+        Assert.assertEquals(Long.valueOf(-7L), loaded.getRandomState());
+        Assert.assertEquals(saved.getPlayers().length, loaded.getPlayers().length);
+        for (int playerIdx = 0; playerIdx < saved.getPlayers().length; playerIdx++) {
+            Assert.assertEquals(saved.getPlayers()[playerIdx].getName(),
+                    loaded.getPlayers()[playerIdx].getName());
+            Assert.assertEquals(new ArrayList<>(saved.getPlayers()[playerIdx].getTreasureCards()),
+                    new ArrayList<>(loaded.getPlayers()[playerIdx].getTreasureCards()));
+        }
+    }
+
+    @Test
+    public void invalidField_failsOnShortColumn() throws FileNotFoundException {
+        String path = new File("").getAbsolutePath();
+        path = path.concat("/test/logic/dataTestFiles/invalidField.json");
+
+        try {
+            new Data(new File(path), 7, 7);
+            Assert.fail();
+        } catch (InvalidGameDataException e) {
+            Assert.assertEquals(String.format(Message.INVALID_FIELDLENGTH.getMessage(), 3, 6, 7, 7),
+                    e.getMessage());
+        }
+    }
+
+    @Test (expected = InvalidGameDataException.class)
+    public void emptyFile() throws IOException, InvalidGameDataException {
+        new Data(folder.newFile("labyrinth.json"), 7, 7);
+    }
 }
@@ -112,4 +112,9 @@ public class FakeGUI implements GUIConnector {
     public void loadField(Tile[][] board, Map<Position, Direction> insetPositions, FreeWayCard freeWayCard) {
 
     }
+
+    @Override
+    public void runLater(Runnable action) {
+        action.run();
+    }
 }
@@ -6,6 +6,9 @@ import logic.tile.TileShape;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Map;
+
 /**
  * Fachhochschule Wedel, Sommersemester 2021
  * Programmierpraktikum - Labyrinth
@@ -68,4 +71,169 @@ public class FieldTest {
         Assert.assertEquals(field.getBoard()[0].length, downSize);
     }
 
+    @Test
+    public void undoShift_restoresExactState() {
+        String boardBefore = Arrays.deepToString(field.getBoard());
+        FreeWayCard freeWayCardBefore = field.getFreeWayCard();
+
+        for (Map.Entry<Position, Direction> inset : field.getInsetPositions().entrySet()) {
+            Direction dir = inset.getValue();
+            Shift shift = new Shift(dir, inset.getKey(), field.getFreeWayCard(),
+                    field.getAffectedTileSizeOfPush(dir));
+
+            ShiftUndo undo = field.applyShift(shift, TileRotation.ROT_270);
+            Assert.assertNotSame(freeWayCardBefore, field.getFreeWayCard());
+            Assert.assertEquals(TileRotation.ROT_270,
+                    field.getBoard()[shift.getLogicalStartPos().getX()][shift.getLogicalStartPos().getY()].getRotated());
+
+            // Die freie Gängekarte selbst wird nicht rotiert
+            Assert.assertEquals(TileRotation.ROT_0, freeWayCardBefore.getRotated());
+
+            field.undoShift(undo);
+            Assert.assertEquals(boardBefore, Arrays.deepToString(field.getBoard()));
+            Assert.assertSame(freeWayCardBefore, field.getFreeWayCard());
+            Assert.assertEquals(TileRotation.ROT_0, field.getFreeWayCard().getRotated());
+        }
+    }
+
+    @Test
+    public void applyShift_likeShift() {
+        Position insetPos = new Position(0, 2);
+        Direction dir = field.getInsetPositions().get(insetPos);
+
+        Field expField = new Field(
+                "I100,I100,I100,I100,I100\n" +
+                        "I100,L200,I100,I100,I100\n" +
+                        "I100,I000,I123,I100,I100\n" +
+                        "L000,L300,I100,I100,I100\n" +
+                        "I100,I100,I100,I100,I100", new FreeWayCard(TileShape.I, TileRotation.ROT_0,
+                new Position(-1, -1)));
+        expField.shift(new Shift(dir, insetPos, expField.getFreeWayCard(),
+                expField.getAffectedTileSizeOfPush(dir)));
+
+        field.applyShift(new Shift(dir, insetPos, field.getFreeWayCard(),
+                field.getAffectedTileSizeOfPush(dir)));
+
+        Assert.assertEquals(Arrays.deepToString(expField.getBoard()),
+                Arrays.deepToString(field.getBoard()));
+        Assert.assertEquals(expField.getFreeWayCard().toString(), field.getFreeWayCard().toString());
+        Assert.assertEquals(expField.getFreeWayCard().getPosition(),
+                field.getFreeWayCard().getPosition());
+    }
+
+    @Test
+    public void hash_updatedIncrementally() {
+        long hashBefore = field.getHash();
+
+        for (Map.Entry<Position, Direction> inset : field.getInsetPositions().entrySet()) {
+            Direction dir = inset.getValue();
+            Shift shift = new Shift(dir, inset.getKey(), field.getFreeWayCard(),
+                    field.getAffectedTileSizeOfPush(dir));
+
+            // Einschub und Rückgängigmachen
+            ShiftUndo undo = field.applyShift(shift, TileRotation.ROT_90);
+            long hashAfterShift = field.getHash();
+            Assert.assertNotEquals(hashBefore, hashAfterShift);
+            Assert.assertEquals(hashAfterShift, field.recomputeHash());
+
+            field.undoShift(undo);
+            Assert.assertEquals(hashBefore, field.getHash());
+            Assert.assertEquals(hashBefore, field.recomputeHash());
+        }
+
+        // Tatsächlicher Einschub
+        Position insetPos = new Position(0, 2);
+        Direction dir = field.getInsetPositions().get(insetPos);
+        field.shift(new Shift(dir, insetPos, field.getFreeWayCard(),
+                field.getAffectedTileSizeOfPush(dir)));
+        long hashAfterShift = field.getHash();
+        Assert.assertEquals(hashAfterShift, field.recomputeHash());
+
+        // Schatz und Rotation der freien Gängekarte
+        field.setTreasure(new Position(1, 1), Treasure.GOLD);
+        field.setFreeWayCardRotation(TileRotation.ROT_180);
+        Assert.assertNotEquals(hashAfterShift, field.getHash());
+        Assert.assertEquals(field.getHash(), field.recomputeHash());
+    }
+
+    @Test
+    public void boardHashAfterShift_matchesAppliedShift() {
+        for (Map.Entry<Position, Direction> inset : field.getInsetPositions().entrySet()) {
+            Direction dir = inset.getValue();
+            Shift shift = new Shift(dir, inset.getKey(), field.getFreeWayCard(),
+                    field.getAffectedTileSizeOfPush(dir));
+
+            for (TileRotation rotation : TileRotation.values()) {
+                long expected = field.boardHashAfterShift(shift, rotation);
+
+                ShiftUndo undo = field.applyShift(shift, rotation);
+                Assert.assertEquals(expected,
+                        field.getHash() ^ field.zobrist().freeWayCardKey(field.getFreeWayCard()));
+                field.undoShift(undo);
+            }
+        }
+    }
+
+    @Test
+    public void copyForCalculation_sharesShiftTable() {
+        Field copy = field.copyForCalculation();
+
+        Assert.assertSame(field.shiftTable(), copy.shiftTable());
+        Assert.assertSame(field.zobrist(), copy.zobrist());
+        Assert.assertEquals(field.getHash(), copy.getHash());
+    }
+
+    @Test
+    public void treasurePos_followsShiftsAndDirectChanges() {
+        Treasure treasure = Treasure.values()[23];
+
+        // Einschub in die dritte Spalte von oben schiebt den Schatz eine Reihe nach unten
+        Position insetPos = new Position(3, 0);
+        Shift shift = new Shift(Direction.DOWN, insetPos, field.getFreeWayCard(),
+                field.getAffectedTileSizeOfPush(Direction.DOWN));
+        ShiftUndo undo = field.applyShift(shift);
+        Assert.assertEquals(new Position(2, 3), field.getTreasurePos(treasure));
+
+        field.undoShift(undo);
+        Assert.assertEquals(new Position(2, 2), field.getTreasurePos(treasure));
+
+        // Dreimaliger Einschub schiebt den Schatz auf die freie Gängekarte heraus
+        field.shift(shift);
+        field.shift(new Shift(Direction.DOWN, insetPos, field.getFreeWayCard(),
+                field.getAffectedTileSizeOfPush(Direction.DOWN)));
+        field.shift(new Shift(Direction.DOWN, insetPos, field.getFreeWayCard(),
+                field.getAffectedTileSizeOfPush(Direction.DOWN)));
+        Assert.assertEquals(new Position(-1, -1), field.getTreasurePos(treasure));
+        Assert.assertEquals(Field.FREE_WAY_CARD_CELL, field.getTreasureCell(treasure));
+
+        // Direkt auf die freie Gängekarte gelegter Schatz wird gefunden
+        Treasure freeTreasure = Treasure.values()[3];
+        field.getFreeWayCard().setTreasure(freeTreasure);
+        Assert.assertEquals(Field.FREE_WAY_CARD_CELL, field.getTreasureCell(freeTreasure));
+        Assert.assertEquals(Field.FREE_WAY_CARD_CELL, field.getTreasureCell(freeTreasure));
+
+        // Direkte Änderung der Gängekarten wird erkannt
+        field.getFreeWayCard().setTreasure(Treasure.EMPTY);
+        field.getBoard()[0][0].setTreasure(freeTreasure);
+        Assert.assertEquals(new Position(0, 0), field.getTreasurePos(freeTreasure));
+    }
+
+    @Test
+    public void treasureCell_missingTreasureNotSearchedAgain() {
+        Treasure missing = Treasure.values()[2];
+        Assert.assertEquals(Field.FREE_WAY_CARD_CELL, field.getTreasureCell(missing));
+        Assert.assertEquals(Field.FREE_WAY_CARD_CELL, field.getTreasureCell(Treasure.EMPTY));
+
+        // Ein fehlender Schatz wird erst nach vollständigem Neuaufbau des Index erneut gesucht
+        field.getBoard()[0][0].setTreasure(missing);
+        Assert.assertEquals(Field.FREE_WAY_CARD_CELL, field.getTreasureCell(missing));
+        field.recomputeHash();
+        Assert.assertEquals(new Position(0, 0), field.getTreasurePos(missing));
+
+        // Über das Spielfeld gesetzte Schätze sind sofort bekannt
+        Treasure placed = Treasure.values()[4];
+        Assert.assertEquals(Field.FREE_WAY_CARD_CELL, field.getTreasureCell(placed));
+        field.setTreasure(new Position(1, 0), placed);
+        Assert.assertEquals(new Position(1, 0), field.getTreasurePos(placed));
+    }
 }
@@ -0,0 +1,129 @@
+package logic;
+
+import logic.data.Data;
+import logic.data.GameArchive;
+import logic.data.InvalidGameDataException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Tests für das {@link GameArchive Spielstandarchiv}.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameArchiveTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void putAndGet_afterReopen() throws IOException, InvalidGameDataException {
+        File file = new File(folder.getRoot(), "games.lar");
+        Data data = TestFixtures.loadLabyrinth();
+
+        try (GameArchive archive = new GameArchive(file)) {
+            for (int i = 0; i < 10; i++) {
+                archive.put("game-" + i, TestFixtures.withSeed(data, i));
+            }
+        }
+
+        try (GameArchive archive = new GameArchive(file)) {
+            Assert.assertEquals(10, archive.size());
+            Assert.assertTrue(archive.contains("game-7"));
+            Assert.assertNull(archive.get("game-10", 7, 7));
+
+            Data loaded = archive.get("game-7", 7, 7);
+            Assert.assertEquals(Long.valueOf(7), loaded.getRandomSeed());
+            Assert.assertEquals(Arrays.deepToString(data.getField()),
+                    Arrays.deepToString(loaded.getField()));
+        }
+    }
+
+    @Test
+    public void compact_dropsReplacedAndRemovedGames() throws IOException, InvalidGameDataException {
+        File file = new File(folder.getRoot(), "games.lar");
+        Data data = TestFixtures.loadLabyrinth();
+
+        try (GameArchive archive = new GameArchive(file)) {
+            for (int i = 0; i < 5; i++) {
+                archive.put("game", TestFixtures.withSeed(data, i));
+                archive.put("other-" + i, TestFixtures.withSeed(data, 100 + i));
+            }
+            archive.remove("other-0");
+            long size = file.length();
+
+            Assert.assertTrue(archive.compact() > 0);
+            Assert.assertTrue(file.length() < size);
+            Assert.assertEquals(5, archive.size());
+            Assert.assertFalse(archive.contains("other-0"));
+            Assert.assertEquals(Long.valueOf(4), archive.get("game", 7, 7).getRandomSeed());
+            Assert.assertEquals(Long.valueOf(103), archive.get("other-3", 7, 7).getRandomSeed());
+        }
+    }
+
+    @Test
+    public void damagedIndex_isRebuiltFromEntries() throws IOException, InvalidGameDataException {
+        File file = new File(folder.getRoot(), "games.lar");
+        Data data = TestFixtures.loadLabyrinth();
+
+        try (GameArchive archive = new GameArchive(file)) {
+            archive.put("a", TestFixtures.withSeed(data, 1));
+            archive.put("b", TestFixtures.withSeed(data, 2));
+            archive.put("a", TestFixtures.withSeed(data, 3));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        try (GameArchive archive = new GameArchive(file)) {
+            Assert.assertEquals(2, archive.size());
+            Assert.assertEquals(Long.valueOf(3), archive.get("a", 7, 7).getRandomSeed());
+            Assert.assertEquals(Long.valueOf(2), archive.get("b", 7, 7).getRandomSeed());
+        }
+    }
+
+    @Test
+    public void damagedIndex_keepsRemovedGamesRemoved() throws IOException,
+            InvalidGameDataException {
+        File file = new File(folder.getRoot(), "games.lar");
+        Data data = TestFixtures.loadLabyrinth();
+
+        try (GameArchive archive = new GameArchive(file)) {
+            archive.put("a", TestFixtures.withSeed(data, 1));
+            archive.put("b", TestFixtures.withSeed(data, 2));
+            Assert.assertTrue(archive.remove("a"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        try (GameArchive archive = new GameArchive(file)) {
+            Assert.assertEquals(Collections.singleton("b"), archive.ids());
+            Assert.assertNull(archive.get("a", 7, 7));
+
+            archive.put("a", TestFixtures.withSeed(data, 4));
+            Assert.assertEquals(Long.valueOf(4), archive.get("a", 7, 7).getRandomSeed());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void noArchive_throwsIOException() throws IOException {
+        File file = folder.newFile("games.lar");
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6});
+
+        new GameArchive(file).close();
+    }
+}
@@ -0,0 +1,83 @@
+package logic;
+
+import logic.player.PlayerType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Tests für die {@link GameEngine Simulation von Spielen ohne Oberfläche}.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameEngineTest {
+
+    @Test
+    public void play_aiGameEndsWithWinner() {
+        GameEngine engine = new GameEngine(Arrays.asList(PlayerType.AI_NORMAL, null,
+                PlayerType.AI_EXTENDED, null), 2);
+
+        GameResult result = engine.play();
+
+        Assert.assertFalse(result.isAborted());
+        Assert.assertTrue(result.getWinner() == 0 || result.getWinner() == 2);
+        Assert.assertEquals("player" + result.getWinner(), result.getWinnerName());
+        Assert.assertTrue(result.getTurns() >= 3);
+        Assert.assertTrue(result.getTotalNanos() > 0);
+    }
+
+    @Test
+    public void play_abortedAfterMaxTurns() {
+        GameEngine engine = new GameEngine(Arrays.asList(PlayerType.AI_NORMAL,
+                PlayerType.AI_NORMAL, PlayerType.AI_NORMAL, PlayerType.AI_NORMAL), 6);
+        engine.setMaxTurns(2);
+
+        GameResult result = engine.play();
+
+        Assert.assertTrue(result.isAborted());
+        Assert.assertNull(result.getWinnerName());
+        Assert.assertEquals(2, result.getTurns());
+    }
+
+    @Test
+    public void play_sameSeedSameGame() {
+        GameEngine engine = new GameEngine(Arrays.asList(PlayerType.AI_NORMAL,
+                PlayerType.AI_EXTENDED, PlayerType.AI_NORMAL, null), 3);
+
+        GameResult first = engine.play(42);
+        GameResult second = engine.play(42);
+
+        Assert.assertEquals(42, first.getSeed());
+        Assert.assertEquals(first.getWinner(), second.getWinner());
+        Assert.assertEquals(first.getTurns(), second.getTurns());
+    }
+
+    @Test
+    public void play_sameGameOnOwnPool() {
+        GameEngine engine = new GameEngine(Arrays.asList(PlayerType.AI_NORMAL,
+                PlayerType.AI_EXTENDED, PlayerType.AI_NORMAL, null), 3);
+        GameResult expected = engine.play(42);
+
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            engine.setAIPool(pool);
+            GameResult actual = engine.play(42);
+
+            Assert.assertEquals(expected.getWinner(), actual.getWinner());
+            Assert.assertEquals(expected.getTurns(), actual.getTurns());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_humanPlayerRejected() {
+        new GameEngine(Arrays.asList(PlayerType.HUMAN, PlayerType.AI_NORMAL, null, null), 2);
+    }
+}
@@ -0,0 +1,54 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Tests für den {@link GameRandom Zufallszahlengenerator eines Spiels}.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameRandomTest {
+
+    @Test
+    public void sameSeedSameSequence() {
+        GameRandom first = new GameRandom(17);
+        GameRandom second = new GameRandom(17);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(first.nextInt(24), second.nextInt(24));
+        }
+        Assert.assertEquals(17, first.getSeed());
+    }
+
+    @Test
+    public void copy_predictsSplit() {
+        GameRandom random = new GameRandom(3);
+        random.nextLong();
+
+        long predicted = random.copy().split().nextLong();
+        long stateBefore = random.getState();
+
+        Assert.assertEquals(predicted, random.split().nextLong());
+        Assert.assertNotEquals(stateBefore, random.getState());
+    }
+
+    @Test
+    public void restore_continuesSequence() {
+        GameRandom random = new GameRandom(5);
+        random.nextLong();
+        long seed = random.getSeed();
+        long state = random.getState();
+        long expected = random.nextLong();
+
+        GameRandom restored = new GameRandom();
+        restored.restore(seed, state);
+
+        Assert.assertEquals(expected, restored.nextLong());
+        Assert.assertEquals(5, restored.getSeed());
+    }
+}
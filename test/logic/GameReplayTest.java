@@ -0,0 +1,130 @@
+package logic;
+
+import logic.player.Player;
+import logic.replay.EventLogReader;
+import logic.replay.EventLogWriter;
+import logic.replay.EventType;
+import logic.replay.GameReplay;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Tests für die Aufzeichnung eines Spiels in einer Ereignisdatei und das
+ * {@link GameReplay Nachspielen} dieser Datei.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class GameReplayTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replay_reproducesFinalState() throws IOException {
+        File file = new File(folder.getRoot(), "game.events");
+        Game game = playRecorded(file, 7);
+
+        GameReplay replay = GameReplay.replay(file);
+
+        Assert.assertEquals(game.getWinner(), replay.getWinner());
+        Assert.assertEquals(Arrays.deepToString(game.getField().getBoard()),
+                Arrays.deepToString(replay.getField().getBoard()));
+        Assert.assertEquals(game.getField().getFreeWayCard().toString(),
+                replay.getField().getFreeWayCard().toString());
+        Assert.assertEquals(game.getField().getHash(), replay.getField().getHash());
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            Player expected = game.getPlayer(playerIdx);
+            Player actual = replay.getPlayers()[playerIdx];
+            Assert.assertEquals(expected.getPosition(), actual.getPosition());
+            Assert.assertEquals(new ArrayList<>(expected.getTreasureCards()),
+                    new ArrayList<>(actual.getTreasureCards()));
+        }
+    }
+
+    @Test
+    public void replayToTurn_stopsAtTurnStart() throws IOException {
+        File file = new File(folder.getRoot(), "game.events");
+        playRecorded(file, 11);
+
+        try (EventLogReader reader = new EventLogReader(file)) {
+            GameReplay replay = new GameReplay(reader);
+
+            Assert.assertTrue(replay.replayToTurn(3));
+            Assert.assertEquals(3, replay.getTurns());
+            Assert.assertEquals(EventType.SHIFT, replay.step());
+        }
+    }
+
+    @Test
+    public void truncatedFile_endsAtLastCompleteEvent() throws IOException {
+        File file = new File(folder.getRoot(), "game.events");
+        playRecorded(file, 13);
+
+        List<EventType> events = new ArrayList<>();
+        try (EventLogReader reader = new EventLogReader(file)) {
+            EventType type;
+            while ((type = reader.next()) != null) {
+                events.add(type);
+            }
+        }
+        Assert.assertEquals(EventType.SNAPSHOT, events.get(0));
+        Assert.assertEquals(EventType.PLAYER_WON, events.get(events.size() - 1));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        try (EventLogReader reader = new EventLogReader(file)) {
+            int count = 0;
+            while (reader.next() != null) {
+                count++;
+            }
+            Assert.assertEquals(events.size() - 1, count);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void noEventFile_throwsIOException() throws IOException {
+        File file = folder.newFile("game.events");
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6});
+
+        new EventLogReader(file).close();
+    }
+
+    /**
+     * Spielt ein Spiel zweier KI-Spieler und zeichnet es in der übergebenen Datei auf.
+     *
+     * @param file Ereignisdatei
+     * @param seed Startwert des Spiels
+     * @return Beendetes Spiel
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann
+     */
+    private static Game playRecorded(File file, long seed) throws IOException {
+        HeadlessConnector connector = new HeadlessConnector();
+        Game game;
+        try (EventLogWriter eventLog = new EventLogWriter(file)) {
+            game = TestFixtures.aiGame(connector, seed, eventLog);
+
+            int turns = 0;
+            while (game.getWinner() == -1 && connector.pollTurnCompleted() && turns++ < 1000) {
+                game.nextTurn();
+            }
+        }
+
+        Assert.assertNotEquals(-1, game.getWinner());
+        return game;
+    }
+}
@@ -1,15 +1,28 @@
 package logic;
 
+import logic.player.AIMove;
+import logic.player.AIUtil;
 import logic.player.Player;
 import logic.player.PlayerType;
 import logic.tile.FreeWayCard;
+import logic.tile.Tile;
 import logic.tile.TileRotation;
 import logic.tile.TileShape;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -99,4 +112,377 @@ public class GameTest {
         Assert.assertEquals(TileRotation.ROT_90, field.getFreeWayCard().getRotated());
 
     }
+
+    @Test
+    public void aiMove_computedOnExecutor() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            Queue<Treasure> stack = new LinkedList<>();
+            stack.add(Treasure.values()[23]);
+            stack.add(Treasure.GOLD);
+            players[i] = new Player(true, "0", i == 1 ? PlayerType.AI_NORMAL : PlayerType.HUMAN,
+                    new Position(0, 0), stack);
+        }
+        FreeWayCard freeWayCardBefore = field.getFreeWayCard();
+
+        Queue<Runnable> pending = new LinkedList<>();
+        Game game = new Game(new FakeGUI(), field, players, 0, pending::add);
+
+        // Die Berechnung wird lediglich übergeben, das Spielfeld bleibt unverändert
+        game.nextTurn();
+        Assert.assertEquals(1, pending.size());
+        Assert.assertSame(freeWayCardBefore, field.getFreeWayCard());
+
+        // Nach der Berechnung wird der KI-Zug ausgeführt
+        pending.poll().run();
+        Assert.assertNotSame(freeWayCardBefore, field.getFreeWayCard());
+
+        // Der inkrementell aktualisierte Hash entspricht dem neu berechneten
+        long stateHash = game.getStateHash();
+        long playerHash = 0;
+        for (int i = 0; i < 4; i++) {
+            playerHash ^= field.zobrist().playerKey(i, players[i].getPosition());
+        }
+        Assert.assertEquals(field.recomputeHash() ^ playerHash, stateHash);
+    }
+
+    @Test
+    public void interruptGame_discardsAiMove() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            Queue<Treasure> stack = new LinkedList<>();
+            stack.add(Treasure.values()[23]);
+            stack.add(Treasure.GOLD);
+            players[i] = new Player(true, "0", i == 1 ? PlayerType.AI_NORMAL : PlayerType.HUMAN,
+                    new Position(0, 0), stack);
+        }
+        FreeWayCard freeWayCardBefore = field.getFreeWayCard();
+
+        Queue<Runnable> pending = new LinkedList<>();
+        Game game = new Game(new FakeGUI(), field, players, 0, pending::add);
+
+        game.nextTurn();
+        game.interruptGame();
+        pending.poll().run();
+
+        Assert.assertSame(freeWayCardBefore, field.getFreeWayCard());
+    }
+
+    @Test
+    public void interruptGame_releasesExecutor() throws Exception {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            Queue<Treasure> stack = new LinkedList<>();
+            stack.add(Treasure.values()[23]);
+            stack.add(Treasure.GOLD);
+            players[i] = new Player(true, "0", i == 1 ? PlayerType.AI_NORMAL : PlayerType.HUMAN,
+                    new Position(0, 0), stack);
+        }
+
+        // Anzahl der ausgewerteten Einschübe einer vollständigen Berechnung
+        BlockingField reference = new BlockingField(field);
+        AIUtil.calcAIMove(reference.copyForCalculation(), new Position(0, 0),
+                Treasure.values()[23], PlayerType.AI_NORMAL);
+        int evaluatedCompletely = reference.evaluated.get();
+
+        BlockingField blockingField = new BlockingField(field);
+        CountDownLatch release = blockingField.block();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Game game = new Game(new FakeGUI(), blockingField, players, 0, executor);
+
+            // Berechnung des KI-Zuges während des ersten Einschubes abbrechen
+            game.nextTurn();
+            Assert.assertTrue(blockingField.entered.get().await(10, TimeUnit.SECONDS));
+            game.interruptGame();
+            release.countDown();
+
+            // Der Executor steht dem nächsten Spiel sofort wieder zur Verfügung
+            executor.submit(() -> {
+            }).get(10, TimeUnit.SECONDS);
+            Assert.assertTrue(blockingField.evaluated.get() < evaluatedCompletely);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void pondering_reusedOnlyForUnchangedState() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            Queue<Treasure> stack = new LinkedList<>();
+            stack.add(Treasure.values()[23]);
+            stack.add(Treasure.GOLD);
+            players[i] = new Player(true, "0", i == 1 || i == 2 ? PlayerType.AI_NORMAL : PlayerType.HUMAN,
+                    new Position(0, 0), stack);
+        }
+
+        Queue<Runnable> pending = new LinkedList<>();
+        Game game = new Game(new FakeGUI(), field, players, 0, pending::add);
+
+        // Zug von Spieler 1 ausführen, anschließend wird der Zug von Spieler 2 vorausberechnet
+        game.nextTurn();
+        pending.poll().run();
+        Assert.assertEquals(1, pending.size());
+
+        // Die Vorausberechnung wird ohne erneute Berechnung genutzt
+        game.nextTurn();
+        Assert.assertEquals(2, game.getCurrentPlayer());
+        Assert.assertEquals(1, pending.size());
+        FreeWayCard freeWayCardBefore = field.getFreeWayCard();
+        pending.poll().run();
+        Assert.assertNotSame(freeWayCardBefore, field.getFreeWayCard());
+        Assert.assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void pondering_discardedAfterStateChange() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            Queue<Treasure> stack = new LinkedList<>();
+            stack.add(Treasure.values()[23]);
+            stack.add(Treasure.GOLD);
+            players[i] = new Player(true, "0", i == 1 || i == 2 ? PlayerType.AI_NORMAL : PlayerType.HUMAN,
+                    new Position(0, 0), stack);
+        }
+
+        Queue<Runnable> pending = new LinkedList<>();
+        Game game = new Game(new FakeGUI(), field, players, 0, pending::add);
+
+        game.nextTurn();
+        pending.poll().run();
+        Assert.assertEquals(1, pending.size());
+
+        // Änderung des Spielzustandes macht die Vorausberechnung ungültig
+        game.rotateFreeWayCard(RotateDirection.CLOCKWISE);
+        game.nextTurn();
+        Assert.assertEquals(2, pending.size());
+    }
+
+    @Test
+    public void pondering_staleSearchStopsBeforeFallback() throws InterruptedException {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            Queue<Treasure> stack = new LinkedList<>();
+            stack.add(Treasure.values()[23]);
+            stack.add(Treasure.GOLD);
+            players[i] = new Player(true, "0", i == 1 || i == 2 ? PlayerType.AI_NORMAL : PlayerType.HUMAN,
+                    new Position(0, 0), stack);
+        }
+
+        BlockingField blockingField = new BlockingField(field);
+        Queue<Runnable> pending = new LinkedList<>();
+        Game game = new Game(new FakeGUI(), blockingField, players, 0, pending::add);
+
+        // Zug von Spieler 1 ausführen, anschließend wird der Zug von Spieler 2 vorausberechnet
+        game.nextTurn();
+        pending.poll().run();
+        Runnable ponder = pending.poll();
+        Assert.assertNotNull(ponder);
+
+        // Anzahl der ausgewerteten Einschübe einer vollständigen Vorausberechnung
+        int evaluatedBefore = blockingField.evaluated.get();
+        AIUtil.calcAIMove(blockingField.copyForCalculation(), players[2].getPosition(),
+                players[2].getCurrTreasure(), PlayerType.AI_NORMAL);
+        int evaluatedCompletely = blockingField.evaluated.get() - evaluatedBefore;
+
+        // Vorausberechnung während des ersten Einschubes durch eine Änderung veralten lassen
+        CountDownLatch release = blockingField.block();
+        blockingField.evaluated.set(0);
+        Thread ponderThread = new Thread(ponder);
+        ponderThread.start();
+        try {
+            Assert.assertTrue(blockingField.entered.get().await(10, TimeUnit.SECONDS));
+            game.rotateFreeWayCard(RotateDirection.CLOCKWISE);
+            game.nextTurn();
+        } finally {
+            release.countDown();
+        }
+
+        // Die Vorausberechnung endet ohne die übrigen Einschübe auszuwerten
+        ponderThread.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(ponderThread.isAlive());
+        Assert.assertTrue(blockingField.evaluated.get() < evaluatedCompletely);
+
+        // Die neue Berechnung führt den Zug aus
+        Assert.assertEquals(1, pending.size());
+        FreeWayCard freeWayCardBefore = blockingField.getFreeWayCard();
+        pending.poll().run();
+        Assert.assertNotSame(freeWayCardBefore, blockingField.getFreeWayCard());
+    }
+
+    @Test
+    public void failedAIMove_reportedAndReplacedByFallback() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            Queue<Treasure> stack = new LinkedList<>();
+            stack.add(Treasure.values()[23]);
+            stack.add(Treasure.GOLD);
+            players[i] = new Player(true, "0", i == 1 ? PlayerType.AI_NORMAL : PlayerType.HUMAN,
+                    new Position(0, 0), stack);
+        }
+
+        List<String> errors = new ArrayList<>();
+        AtomicReference<AIMove> executed = new AtomicReference<>();
+        FakeGUI gui = new FakeGUI() {
+            @Override
+            public void showErrorAlert(String message) {
+                errors.add(message);
+            }
+
+            @Override
+            public void aiMove(Shift shift, AIMove aiMove, int playerIdx, Treasure collected,
+                               Treasure nextTreasure, List<Position> path, Game game) {
+                executed.set(aiMove);
+            }
+        };
+        FailingField failingField = new FailingField(field);
+        Queue<Runnable> pending = new LinkedList<>();
+        Game game = new Game(gui, failingField, players, 0, pending::add);
+
+        // Die Berechnung des KI-Zuges von Spieler 1 schlägt fehl
+        game.nextTurn();
+        FreeWayCard freeWayCardBefore = failingField.getFreeWayCard();
+        pending.poll().run();
+
+        // Der Fehler wird gemeldet und der Zug durch einen Ersatzzug beendet
+        Assert.assertEquals(1, errors.size());
+        Assert.assertNotNull(executed.get());
+        Assert.assertNull(executed.get().getTargetPos());
+        Assert.assertNotSame(freeWayCardBefore, failingField.getFreeWayCard());
+        Assert.assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void loadGame_discardsRunningAIMove() {
+        Queue<Runnable> pending = new LinkedList<>();
+        Game game = TestFixtures.aiGame(new HeadlessConnector(), 3, null, pending::add);
+        Assert.assertFalse(pending.isEmpty());
+
+        // Im geladenen Spiel ist ein menschlicher Spieler am Zug
+        game.loadGame(TestFixtures.labyrinthFile());
+        Assert.assertEquals(1, game.getCurrentPlayer());
+        String board = Arrays.deepToString(game.getField().getBoard());
+
+        // Der KI-Zug des bisherigen Spiels wird nicht mehr ausgeführt
+        while (!pending.isEmpty()) {
+            pending.poll().run();
+        }
+        Assert.assertEquals(board, Arrays.deepToString(game.getField().getBoard()));
+    }
+
+    /**
+     * Spielfeld, dessen Kopien für die KI bei jeder Suche eines Schatzes einen Fehler werfen.
+     */
+    private static class FailingField extends Field {
+
+        /**
+         * Gibt an, ob es sich um eine Kopie für die KI handelt.
+         */
+        private final boolean copy;
+
+        FailingField(Field field) {
+            this(field.copyOfField(), field.getFreeWayCard(), field.getInsetPositions(), false);
+        }
+
+        private FailingField(Tile[][] board, FreeWayCard freeWayCard,
+                             Map<Position, Direction> insetPositions, boolean copy) {
+            super(board, freeWayCard, insetPositions);
+            this.copy = copy;
+        }
+
+        @Override
+        public Field copyForCalculation() {
+            return new FailingField(copyOfField(), getFreeWayCard(), getInsetPositions(), true);
+        }
+
+        @Override
+        public Position getTreasurePos(Treasure treasure) {
+            if (copy) {
+                throw new IllegalStateException("Fehler der KI");
+            }
+
+            return super.getTreasurePos(treasure);
+        }
+    }
+
+    /**
+     * Spielfeld, dessen Kopien für die KI bei jeder Suche eines Schatzes (d.h. je ausgewertetem
+     * Einschub) die Suchen zählen und, sobald das Spielfeld {@link #block() gesperrt} ist, auf
+     * die Freigabe warten.
+     */
+    private static class BlockingField extends Field {
+
+        /**
+         * Freigabe der Suchen.
+         */
+        private final AtomicReference<CountDownLatch> release;
+
+        /**
+         * Wird bei jeder Suche einer Kopie ausgelöst.
+         */
+        private final AtomicReference<CountDownLatch> entered;
+
+        /**
+         * Anzahl der Suchen aller Kopien.
+         */
+        private final AtomicInteger evaluated;
+
+        /**
+         * Gibt an, ob es sich um eine Kopie für die KI handelt.
+         */
+        private final boolean copy;
+
+        BlockingField(Field field) {
+            this(field.copyOfField(), field.getFreeWayCard(), field.getInsetPositions(),
+                    new AtomicReference<>(new CountDownLatch(0)),
+                    new AtomicReference<>(new CountDownLatch(1)), new AtomicInteger(), false);
+        }
+
+        private BlockingField(Tile[][] board, FreeWayCard freeWayCard,
+                              Map<Position, Direction> insetPositions,
+                              AtomicReference<CountDownLatch> release,
+                              AtomicReference<CountDownLatch> entered, AtomicInteger evaluated,
+                              boolean copy) {
+            super(board, freeWayCard, insetPositions);
+            this.release = release;
+            this.entered = entered;
+            this.evaluated = evaluated;
+            this.copy = copy;
+        }
+
+        /**
+         * Sperrt die Suchen aller Kopien bis zur Freigabe.
+         *
+         * @return Freigabe der Suchen
+         */
+        CountDownLatch block() {
+            CountDownLatch latch = new CountDownLatch(1);
+            entered.set(new CountDownLatch(1));
+            release.set(latch);
+            return latch;
+        }
+
+        @Override
+        public Field copyForCalculation() {
+            return new BlockingField(copyOfField(), getFreeWayCard(), getInsetPositions(), release,
+                    entered, evaluated, true);
+        }
+
+        @Override
+        public Position getTreasurePos(Treasure treasure) {
+            if (copy) {
+                evaluated.incrementAndGet();
+                entered.get().countDown();
+                try {
+                    release.get().await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            return super.getTreasurePos(treasure);
+        }
+    }
 }
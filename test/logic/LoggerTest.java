@@ -0,0 +1,143 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ *
+ * Tests, zur Überprüfung der Funktionalität der Klasse {@link Logger}.
+ *
+ * @author svnsrd  [Repo 37]
+ */
+public class LoggerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Überprüft, ob die Einträge mehrerer Threads vollständig und je Thread in ihrer Reihenfolge
+     * in die Datei geschrieben werden, auch wenn der Ringpuffer kleiner als die Anzahl der
+     * Einträge ist.
+     */
+    @Test
+    public void concurrentEntries_allWrittenInOrder() throws Exception {
+        File file = new File(folder.getRoot(), "log.txt");
+        Logger logger = new Logger(file, 8, Logger.OverflowPolicy.BLOCK, false);
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int threadIdx = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    logger.log("thread %d entry %d", threadIdx, i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        logger.close();
+
+        List<String> lines = readLines(file);
+        Assert.assertEquals(2000, lines.size());
+        Assert.assertEquals(0, logger.getDroppedCount());
+
+        int[] next = new int[threads.length];
+        for (String line : lines) {
+            String[] parts = line.split(" ");
+            int threadIdx = Integer.parseInt(parts[1]);
+            Assert.assertEquals(next[threadIdx]++, Integer.parseInt(parts[3]));
+        }
+    }
+
+    /**
+     * Überprüft, ob die Nachrichten gleich denen von {@code String.format} sind und Einträge nach
+     * dem Schließen verworfen werden.
+     */
+    @Test
+    public void messagesFormattedLikeStringFormat() throws IOException {
+        File file = new File(folder.getRoot(), "log.txt");
+        Logger logger = new Logger(file, 16, Logger.OverflowPolicy.BLOCK, false);
+
+        logger.log(Logger.PLAYER_ONTURN, 3);
+        logger.log(Logger.MOVE, 1, new Position(0, 1), new Position(2, 1));
+        logger.log(Logger.TREASURE_COLLECTED, 2, 10, Treasure.values()[10], "1, 2");
+        logger.log("100% ohne Vorlage");
+        logger.close();
+        logger.log(Logger.PLAYER_WON, 0);
+
+        List<String> lines = readLines(file);
+        Assert.assertEquals(4, lines.size());
+        Assert.assertEquals(String.format(Logger.PLAYER_ONTURN, 3), lines.get(0));
+        Assert.assertEquals(String.format(Logger.MOVE, 1, new Position(0, 1),
+                new Position(2, 1)), lines.get(1));
+        Assert.assertEquals(String.format(Logger.TREASURE_COLLECTED, 2, 10,
+                Treasure.values()[10], "1, 2"), lines.get(2));
+        Assert.assertEquals("100% ohne Vorlage", lines.get(3));
+    }
+
+    /**
+     * Überprüft, ob eine ungültige Vorlage unformatiert geschrieben wird und nachfolgende
+     * Einträge weiterhin geschrieben werden.
+     */
+    @Test
+    public void invalidTemplate_writtenRawAndWriterSurvives() throws IOException {
+        File file = new File(folder.getRoot(), "log.txt");
+        Logger logger = new Logger(file, 16, Logger.OverflowPolicy.BLOCK, false);
+
+        logger.log(Logger.PLAYER_ONTURN, "zwei");
+        logger.log("player%o moves from %s to %s %s", 1, 2);
+        logger.log(Logger.PLAYER_WON, 0);
+        logger.close();
+
+        List<String> lines = readLines(file);
+        Assert.assertEquals(3, lines.size());
+        Assert.assertTrue(lines.get(0).endsWith(Logger.PLAYER_ONTURN + " [zwei]"));
+        Assert.assertTrue(lines.get(1).endsWith("player%o moves from %s to %s %s [1, 2]"));
+        Assert.assertEquals(String.format(Logger.PLAYER_WON, 0), lines.get(2));
+    }
+
+    /**
+     * Überprüft, ob bei vollem Ringpuffer und verwerfendem Verhalten jeder Eintrag entweder
+     * geschrieben oder gezählt wird.
+     */
+    @Test
+    public void dropPolicy_countsDroppedEntries() throws Exception {
+        File file = new File(folder.getRoot(), "log.txt");
+        Logger logger = new Logger(file, 4, Logger.OverflowPolicy.DROP, false);
+
+        for (int i = 0; i < 10_000; i++) {
+            logger.log("entry %d", i);
+        }
+        logger.close();
+
+        List<String> lines = readLines(file);
+        Assert.assertEquals(10_000, lines.size() + logger.getDroppedCount());
+        Set<String> unique = new HashSet<>(lines);
+        Assert.assertEquals(lines.size(), unique.size());
+    }
+
+    /**
+     * Liest die Zeilen der übergebenen Datei, eine nicht vorhandene Datei enthält keine Zeilen.
+     *
+     * @param file Datei
+     * @return Zeilen der Datei
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    private static List<String> readLines(File file) throws IOException {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+}
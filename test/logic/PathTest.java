@@ -2,13 +2,15 @@ package logic;
 
 import logic.path.PathNode;
 import logic.path.PathUtil;
+import logic.path.ReachabilityUtil;
+import logic.path.SearchResult;
 import logic.tile.FreeWayCard;
 import logic.tile.TileRotation;
 import logic.tile.TileShape;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -59,10 +61,11 @@ public class PathTest {
                         "L000,L300,I100,I100,I000\n" +
                         "I100,I100,I100,I100,L300", freeWayCard);
 
-        Map<Integer, Position> result = PathUtil.aStarSearch(field.getBoard(), new Position(0, 0), new Position(3, 4));
+        SearchResult result = PathUtil.aStarSearch(field.getBoard(), new Position(0, 0), new Position(3, 4));
 
-        Assert.assertTrue(result.containsValue(new Position(3, 4)));
-        Assert.assertFalse(result.containsValue(new Position(1, 1)));
+        Assert.assertTrue(result.isTargetReached());
+        Assert.assertEquals(new Position(3, 4), result.getClosestPos());
+        Assert.assertEquals(-1, result.getDistance(new Position(1, 1)));
     }
 
 
@@ -80,8 +83,96 @@ public class PathTest {
                         "L000,L300,I100,I100,I000\n" +
                         "I100,I100,I100,I100,L300", freeWayCard);
 
-        Map<Integer, Position> result = PathUtil.aStarSearch(field.getBoard(), new Position(0, 0), new Position(2, 2));
+        SearchResult result = PathUtil.aStarSearch(field.getBoard(), new Position(0, 0), new Position(2, 2));
 
-        Assert.assertFalse(result.containsValue(new Position(2, 2)));
+        Assert.assertFalse(result.isTargetReached());
+        Assert.assertEquals(-1, result.getDistance(new Position(2, 2)));
+    }
+
+    @Test
+    public void reachableCells_likePossiblePositions() {
+
+        // Freie Gängekarte
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.I, TileRotation.ROT_0, new Position(-1, -1));
+
+        Field field = new Field(
+                "I100,I100,I100,I100,L200\n" +
+                        "I100,L200,I100,I100,I000\n" +
+                        "I100,I000,I123,I100,I000\n" +
+                        "L000,L300,I100,I100,I000\n" +
+                        "I100,I100,I100,I100,L300", freeWayCard);
+
+        for (int col = 0; col < field.getColCount(); col++) {
+            for (int row = 0; row < field.getRowCount(); row++) {
+                PathNode[][] nodes = PathUtil.getPossiblePositions(field.getBoard(), new Position(col, row));
+                long reachable = ReachabilityUtil.reachableCells(field.getBoard(), col, row);
+                long[] reachableMultiWord = ReachabilityUtil.reachableCellsMultiWord(field.getBoard(), col, row);
+
+                for (int x = 0; x < field.getColCount(); x++) {
+                    for (int y = 0; y < field.getRowCount(); y++) {
+                        Assert.assertEquals(nodes[x][y] != null,
+                                ReachabilityUtil.isReachable(reachable, x, y, field.getRowCount()));
+                        Assert.assertEquals(nodes[x][y] != null,
+                                ReachabilityUtil.isReachable(reachableMultiWord, x, y, field.getRowCount()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void findPath_onlyToReachableTarget() {
+
+        // Freie Gängekarte
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.I, TileRotation.ROT_0, new Position(-1, -1));
+
+        Field field = new Field(
+                "I100,I100,I100,I100,L200\n" +
+                        "I100,L200,I100,I100,I000\n" +
+                        "I100,I000,I123,I100,I000\n" +
+                        "L000,L300,I100,I100,I000\n" +
+                        "I100,I100,I100,I100,L300", freeWayCard);
+
+        PathNode node = PathUtil.findPath(field.getBoard(), new Position(0, 0), new Position(3, 4));
+        Assert.assertNotNull(node);
+
+        List<Position> path = node.createPath();
+        Assert.assertEquals(new Position(3, 4), path.get(0));
+        Assert.assertEquals(new Position(0, 0), path.get(path.size() - 1));
+
+        Assert.assertNull(PathUtil.findPath(field.getBoard(), new Position(0, 0), new Position(2, 2)));
+    }
+
+    @Test
+    public void aStarSearch_shortestDistanceLikeBreadthFirst() {
+
+        // Freie Gängekarte
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.I, TileRotation.ROT_0, new Position(-1, -1));
+
+        Field field = new Field(
+                "I100,I100,I100,I100,L200\n" +
+                        "I100,L200,I100,I100,I000\n" +
+                        "I100,I000,I123,I100,I000\n" +
+                        "L000,L300,I100,I100,I000\n" +
+                        "I100,I100,I100,I100,L300", freeWayCard);
+
+        Position startPos = new Position(0, 0);
+        PathNode[][] nodes = PathUtil.getPossiblePositions(field.getBoard(), startPos);
+
+        for (int x = 0; x < field.getColCount(); x++) {
+            for (int y = 0; y < field.getRowCount(); y++) {
+                Position targetPos = new Position(x, y);
+                SearchResult result = PathUtil.aStarSearch(field.getBoard(), startPos, targetPos);
+
+                Assert.assertEquals(nodes[x][y] != null, result.isTargetReached());
+                if (nodes[x][y] != null) {
+                    // Breitensuche liefert ebenfalls einen kürzesten Pfad
+                    int expectedDistance = nodes[x][y].createPath().size() - 1;
+                    Assert.assertEquals(expectedDistance, result.getDistance(targetPos));
+                    Assert.assertEquals(expectedDistance + 1,
+                            result.getPathNode(targetPos).createPath().size());
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,41 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Testet Methoden der {@link Position}.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class PositionTest {
+
+    @Test
+    public void of_returnsCachedInstances() {
+        Assert.assertSame(Position.of(3, 4), Position.of(3, 4));
+        Assert.assertSame(Position.of(-1, -1), new Position(0, 0).getLogicalPos());
+        Assert.assertSame(Position.of(4, 5), Position.of(3, 4).getGlobalPos());
+        Assert.assertSame(Position.of(3, 5), Position.of(3, 4).addPos(Direction.DOWN.getDirPos()));
+    }
+
+    @Test
+    public void of_outsideCacheEqualsConstructed() {
+        Assert.assertEquals(new Position(1000, -50), Position.of(1000, -50));
+        Assert.assertEquals(new Position(1001, -49), Position.of(1000, -50).getGlobalPos());
+    }
+
+    @Test
+    public void isPositionAffected_comparesLogicalPositions() {
+        // Einschub von links in die zweite Reihe eines 7x7-Spielfeldes (logische Reihe 1)
+        Shift shift = new Shift(Direction.RIGHT, new Position(0, 2), null, 7);
+
+        Assert.assertTrue(shift.isPositionAffected(new Position(0, 1)));
+        Assert.assertTrue(shift.isPositionAffected(new Position(6, 1)));
+        Assert.assertFalse(shift.isPositionAffected(new Position(0, 2)));
+        Assert.assertFalse(shift.isPositionAffected(new Position(1, 0)));
+    }
+}
@@ -0,0 +1,122 @@
+package logic;
+
+import logic.data.Data;
+import logic.data.GameArchive;
+import logic.data.InvalidGameDataException;
+import logic.data.SaveService;
+import logic.tile.Tile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Tests für das {@link Game#createSnapshot() Abbild} eines Spiels und das Speichern im
+ * Hintergrund über den {@link SaveService}.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class SaveServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void createSnapshot_leavesGameUntouched() {
+        Game game = createGame();
+        String board = Arrays.deepToString(game.getField().getBoard());
+        List<List<Treasure>> treasureCards = treasureCards(game);
+        long hash = game.getField().getHash();
+
+        Data data = game.createSnapshot();
+        data.getField()[1][1].setTreasure(Treasure.GENIE);
+        data.getPlayers()[0].getTreasureCards().clear();
+
+        Assert.assertEquals(board, Arrays.deepToString(game.getField().getBoard()));
+        Assert.assertEquals(treasureCards, treasureCards(game));
+        Assert.assertEquals(hash, game.getField().getHash());
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            Position startPos = Game.START_POSITIONS[playerIdx];
+            Assert.assertEquals(Treasure.EMPTY, data.getField()[startPos.getX()][startPos.getY()]
+                    .getTreasure());
+            Assert.assertNotEquals(Treasure.EMPTY, game.getField().getBoard()[startPos.getX()]
+                    [startPos.getY()].getTreasure());
+        }
+        Assert.assertEquals(treasureCards.get(1).size() - 1,
+                data.getPlayers()[1].getTreasureCards().size());
+    }
+
+    @Test
+    public void saveGame_writesInBackground() throws IOException, InvalidGameDataException,
+            InterruptedException {
+        Game game = createGame();
+        File file = new File(folder.getRoot(), "game.json");
+
+        game.saveGame(file);
+        SaveService.getInstance().flush();
+
+        Data data = new Data(file, 7, 7);
+        Tile[][] expected = game.createSnapshot().getField();
+        Assert.assertEquals(Arrays.deepToString(expected), Arrays.deepToString(data.getField()));
+        Assert.assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void pendingSaves_areCoalesced() throws IOException, InvalidGameDataException,
+            InterruptedException {
+        File file = new File(folder.getRoot(), "game" + Data.BINARY_EXTENSION);
+        Data data = createGame().createSnapshot();
+        SaveService service = new SaveService();
+
+        try (GameArchive archive = new GameArchive(new File(folder.getRoot(), "games.lar"))) {
+            // Den Thread des Dienstes blockieren, bis alle Spielstände übergeben wurden
+            synchronized (archive) {
+                service.saveGame(data, archive, "blocker");
+                for (long seed = 1; seed <= 3; seed++) {
+                    service.saveGame(TestFixtures.withSeed(data, seed), file);
+                }
+            }
+            service.flush();
+
+            Assert.assertEquals(2, service.getCoalescedCount());
+            Assert.assertEquals(Long.valueOf(3), new Data(file, 7, 7).getRandomSeed());
+            Assert.assertTrue(archive.contains("blocker"));
+        } finally {
+            service.close();
+        }
+    }
+
+    /**
+     * Erzeugt ein Spiel zweier KI-Spieler.
+     *
+     * @return Spiel
+     */
+    private static Game createGame() {
+        return TestFixtures.aiGame(new HeadlessConnector(), 23, null);
+    }
+
+    /**
+     * Liefert Kopien der Schatzkarten aller Spieler.
+     *
+     * @param game Spiel
+     * @return Schatzkarten je Spieler
+     */
+    private static List<List<Treasure>> treasureCards(Game game) {
+        List<List<Treasure>> treasureCards = new ArrayList<>();
+        for (int playerIdx = 0; playerIdx < Game.MAX_PLAYERS; playerIdx++) {
+            treasureCards.add(new ArrayList<>(game.getPlayer(playerIdx).getTreasureCards()));
+        }
+
+        return treasureCards;
+    }
+}
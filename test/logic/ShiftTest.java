@@ -7,6 +7,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Map;
 
 /**
  * Fachhochschule Wedel, Sommersemester 2021
@@ -70,4 +71,41 @@ public class ShiftTest {
         Assert.assertEquals(expPos, updatedDownPos);
 
     }
+
+    /**
+     * Überprüft, ob die vorberechneten Einschübe der {@link ShiftTable} mit den schrittweise
+     * ermittelten Einschüben übereinstimmen und die Tabelle je Geometrie nur einmal erzeugt wird.
+     */
+    @Test
+    public void shiftTable_matchesWalkedShifts() {
+        FreeWayCard freeWayCard = new FreeWayCard(TileShape.T, TileRotation.ROT_0, null);
+        Field field = new Field("I000,I000,I000\nI000,I000,I000", freeWayCard);
+        ShiftTable table = field.shiftTable();
+
+        Assert.assertSame(table, field.copyForCalculation().shiftTable());
+        Assert.assertEquals(field.getInsetPositions().size(), table.size());
+
+        for (Map.Entry<Position, Direction> inset : field.getInsetPositions().entrySet()) {
+            Direction dir = inset.getValue();
+            Shift walked = new Shift(dir, inset.getKey(), freeWayCard,
+                    field.getAffectedTileSizeOfPush(dir));
+            ShiftTable.Entry entry = table.get(inset.getKey());
+
+            Assert.assertEquals(dir, entry.getPushDir());
+            Assert.assertArrayEquals(walked.getAffectedPositions(),
+                    new Shift(entry, freeWayCard).getAffectedPositions());
+
+            for (int i = 0; i < entry.getAffectedCount(); i++) {
+                Position pos = walked.getAffectedPositions()[i].getLogicalPos();
+                Assert.assertEquals(pos.getX() * field.getRowCount() + pos.getY(),
+                        entry.getAffectedCell(i));
+            }
+            Assert.assertEquals(entry.getAffectedCell(entry.getAffectedCount() - 1),
+                    entry.getExitCell());
+            Assert.assertEquals(walked.getLastAffectedPosition().addPos(dir.getDirPos()),
+                    entry.getOppositeInsetPos());
+            Assert.assertSame(entry, entry.getOpposite().getOpposite());
+            Assert.assertEquals(dir.getOppositeDir(), entry.getOpposite().getPushDir());
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package logic;
+
+import logic.data.Data;
+import logic.data.InvalidGameDataException;
+import logic.player.PlayerType;
+import logic.replay.EventLogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Gemeinsame Testdaten der Tests für Spielstände, Archive und Aufzeichnungen.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+final class TestFixtures {
+
+    /**
+     * Pfad des Spielstandes der Testdateien (relativ zum Projektverzeichnis).
+     */
+    private static final String LABYRINTH_JSON = "/test/logic/dataTestFiles/Labyrinth.json";
+
+    /**
+     * Keine Instanzen.
+     */
+    private TestFixtures() {
+    }
+
+    /**
+     * Lädt den Spielstand der Testdatei <i>Labyrinth.json</i>.
+     *
+     * @return Spielstand
+     * @throws IOException              Wenn die Datei nicht gelesen werden kann
+     * @throws InvalidGameDataException Wenn der Spielstand ungültig ist
+     */
+    static Data loadLabyrinth() throws IOException, InvalidGameDataException {
+        return new Data(labyrinthFile(), 7, 7);
+    }
+
+    /**
+     * Liefert die Testdatei <i>Labyrinth.json</i>, in welcher der menschliche Spieler 1 am Zug ist.
+     *
+     * @return Spielstanddatei
+     */
+    static File labyrinthFile() {
+        return new File(new File("").getAbsolutePath().concat(LABYRINTH_JSON));
+    }
+
+    /**
+     * Liefert eine Kopie des Spielstandes mit dem übergebenen Zustand des
+     * Zufallszahlengenerators.
+     *
+     * @param data  Spielstand
+     * @param seed  Startwert des Zufallszahlengenerators
+     * @param state Zustand des Zufallszahlengenerators
+     * @return Spielstand mit Zufallszahlengenerator
+     */
+    static Data withRandom(Data data, long seed, long state) {
+        return new Data(data.getField(), data.getFreeWayCard(), data.getCurrentPlayer(),
+                data.getPlayers(), seed, state);
+    }
+
+    /**
+     * Liefert eine Kopie des Spielstandes mit dem übergebenen Startwert.
+     *
+     * @param data Spielstand
+     * @param seed Startwert des Zufallszahlengenerators
+     * @return Spielstand mit Startwert
+     */
+    static Data withSeed(Data data, long seed) {
+        return withRandom(data, seed, seed);
+    }
+
+    /**
+     * Erzeugt ein Spiel zweier KI-Spieler ohne Oberfläche, dessen KI-Züge auf dem aufrufenden
+     * Thread berechnet werden.
+     *
+     * @param connector Oberfläche ohne Darstellung
+     * @param seed      Startwert des Spiels
+     * @param eventLog  Ereignisdatei ({@code null}, wenn nicht aufgezeichnet wird)
+     * @return Spiel, dessen erster Zug bereits begonnen hat
+     */
+    static Game aiGame(HeadlessConnector connector, long seed, EventLogWriter eventLog) {
+        return aiGame(connector, seed, eventLog, Runnable::run);
+    }
+
+    /**
+     * Erzeugt ein Spiel zweier KI-Spieler ohne Oberfläche.
+     *
+     * @param connector  Oberfläche ohne Darstellung
+     * @param seed       Startwert des Spiels
+     * @param eventLog   Ereignisdatei ({@code null}, wenn nicht aufgezeichnet wird)
+     * @param aiExecutor Ausführung der KI-Berechnungen
+     * @return Spiel, dessen erster Zug bereits begonnen hat
+     */
+    static Game aiGame(HeadlessConnector connector, long seed, EventLogWriter eventLog,
+                       Executor aiExecutor) {
+        return new Game(connector, Arrays.asList("player0", "player1", "player2", "player3"),
+                6, 3, Arrays.asList(PlayerType.AI_NORMAL, PlayerType.AI_EXTENDED,
+                PlayerType.AI_NORMAL, PlayerType.AI_NORMAL),
+                Arrays.asList(true, true, false, false), 7, 7, aiExecutor, false,
+                new GameRandom(seed), Logger.disabled(), eventLog);
+    }
+}
@@ -80,4 +80,29 @@ public class TileTest {
         Assert.assertTrue(T_tile_270.canBeEnteredFrom(Direction.DOWN));
         Assert.assertTrue(T_tile_270.canBeEnteredFrom(Direction.RIGHT));
     }
+
+    @Test
+    public void exitMask_matchesOpenDirections() {
+        for (TileShape shape : TileShape.values()) {
+            for (TileRotation rotation : TileRotation.values()) {
+                Tile tile = new Tile(shape, TileState.STATIC, rotation);
+
+                int expMask = 0;
+                for (Direction dir : tile.getOpenDirections()) {
+                    expMask |= dir.getBit();
+                }
+
+                Assert.assertEquals(expMask, tile.exitMask());
+            }
+        }
+    }
+
+    @Test
+    public void exitMask_I() {
+        Tile I_tile_0 = new Tile(TileShape.I, TileState.STATIC, TileRotation.ROT_0);
+        Tile I_tile_90 = new Tile(TileShape.I, TileState.STATIC, TileRotation.ROT_90);
+
+        Assert.assertEquals(Direction.UP.getBit() | Direction.DOWN.getBit(), I_tile_0.exitMask());
+        Assert.assertEquals(Direction.LEFT.getBit() | Direction.RIGHT.getBit(), I_tile_90.exitMask());
+    }
 }
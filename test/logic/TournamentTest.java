@@ -0,0 +1,60 @@
+package logic;
+
+import logic.player.PlayerType;
+import logic.tournament.Tournament;
+import logic.tournament.TournamentConfig;
+import logic.tournament.TournamentStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fachhochschule Wedel, Sommersemester 2021
+ * Programmierpraktikum - Labyrinth
+ * <p>
+ * Tests für das {@link Tournament Turnier} zwischen KI-Spielern.
+ *
+ * @author svnsrd  [Repo 37]
+ * @version 12.08.2021
+ */
+public class TournamentTest {
+
+    @Test
+    public void sweep_skipsTooManyTreasures() {
+        List<TournamentConfig> configs = TournamentConfig.sweep(new int[]{2, 4}, new int[]{6, 12});
+
+        // 2 Spieler: 4 Kombinationen je Kartenanzahl, 4 Spieler: 16 Kombinationen nur mit 6 Karten
+        Assert.assertEquals(4 + 4 + 16, configs.size());
+    }
+
+    @Test
+    public void run_writesOneLinePerConfig() throws IOException {
+        List<TournamentConfig> configs = Arrays.asList(
+                new TournamentConfig(Arrays.asList(PlayerType.AI_NORMAL,
+                        PlayerType.AI_EXTENDED), 2),
+                new TournamentConfig(Arrays.asList(PlayerType.AI_EXTENDED, PlayerType.AI_NORMAL,
+                        PlayerType.AI_NORMAL), 2));
+        Tournament tournament = new Tournament(configs, 3, 7);
+        tournament.setParallelism(2);
+        StringWriter out = new StringWriter();
+
+        List<TournamentStatistics> statistics = tournament.run(out);
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        Assert.assertEquals(3, lines.length);
+        Assert.assertEquals(Tournament.CSV_HEADER, lines[0]);
+        Assert.assertTrue(lines[1].startsWith("2,AI_NORMAL|AI_EXTENDED,2,3,"));
+        Assert.assertTrue(lines[2].startsWith("3,AI_EXTENDED|AI_NORMAL|AI_NORMAL,2,3,"));
+
+        for (TournamentStatistics stats : statistics) {
+            Assert.assertEquals(3, stats.getGames());
+            Assert.assertEquals(1.0, stats.getWinRate(PlayerType.AI_NORMAL)
+                    + stats.getWinRate(PlayerType.AI_EXTENDED)
+                    + (double) stats.getAborted() / stats.getGames(), 1e-9);
+        }
+    }
+}